@@ -1,11 +1,16 @@
 package com.finsight.api;
 
+import com.finsight.api.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication        // @Configuration + @EnableAutoConfiguration + @ComponentScan
 @EnableCaching
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class FinanceTrackerApplication {
 
     public static void main(String[] args) {
@@ -1,12 +1,25 @@
 package com.finsight.api.config;
 
+import com.finsight.api.model.JobType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "app")
@@ -16,6 +29,22 @@ public class AppProperties {
     private Auth0 auth0 = new Auth0();
     private Cors cors = new Cors();
     private RateLimit rateLimit = new RateLimit();
+    private QueryGuard queryGuard = new QueryGuard();
+    private Jobs jobs = new Jobs();
+    private Outbox outbox = new Outbox();
+    private Stream stream = new Stream();
+    private Balances balances = new Balances();
+    private Dashboard dashboard = new Dashboard();
+    private Rules rules = new Rules();
+    private Duplicates duplicates = new Duplicates();
+    private Recurring recurring = new Recurring();
+    private Budgets budgets = new Budgets();
+    private Compression compression = new Compression();
+    private Coalescing coalescing = new Coalescing();
+    private LoadShedding loadShedding = new LoadShedding();
+    private Pools pools = new Pools();
+    private Caches caches = new Caches();
+    private Jdbc jdbc = new Jdbc();
 
     @Data
     public static class Auth0 {
@@ -24,6 +53,12 @@ public class AppProperties {
         
         @NotBlank
         private String audience;
+
+        /**
+         * Where the signing keys are published, e.g. {@code https://tenant.auth0.com/.well-known/jwks.json}.
+         * Set it to skip OIDC discovery of the issuer; keys are fetched with the first token either way.
+         */
+        private String jwkSetUri;
     }
 
     @Data
@@ -40,4 +75,346 @@ public class AppProperties {
         @Positive
         private int windowMinutes = 5;
     }
-} 
\ No newline at end of file
+
+    @Data
+    public static class QueryGuard {
+        /** Requests executing more statements than this are counted and may be logged. */
+        @Positive
+        private int warnThreshold = 10;
+
+        /** Fraction (0..1) of over-threshold requests that are logged. */
+        @DecimalMin("0.0") @DecimalMax("1.0")
+        private double logSampleRate = 0.1;
+    }
+
+    @Data
+    public static class Jobs {
+        /** Run workers on this instance. The queue and status API work either way. */
+        private boolean enabled = true;
+
+        /** How often idle worker slots look for ready jobs. */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /** A claimed job is handed to another worker if its lease is not renewed in time. */
+        private Duration lease = Duration.ofMinutes(5);
+
+        /** How often running jobs renew their lease; keep well below {@code lease}. */
+        private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+        /** How often expired leases are swept back onto the queue. */
+        private Duration recoveryInterval = Duration.ofMinutes(1);
+
+        /** Worker threads per job type unless overridden in {@code concurrency}. */
+        @Positive
+        private int defaultConcurrency = 2;
+
+        /** Per-type worker threads, e.g. {@code app.jobs.concurrency.ACCOUNT_DELETION=1}. */
+        private Map<JobType, Integer> concurrency = new EnumMap<>(JobType.class);
+
+        @Positive
+        private int maxAttempts = 5;
+
+        /** Retry n waits roughly {@code backoffBase * 2^(n-1)}, capped at {@code backoffMax}. */
+        private Duration backoffBase = Duration.ofSeconds(10);
+
+        private Duration backoffMax = Duration.ofMinutes(30);
+
+        /** How long shutdown waits for running jobs before leaving them to lease recovery. */
+        private Duration shutdownGrace = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Outbox {
+        /** Where relayed events go: {@code none}, {@code file}, {@code http} or {@code memory} (tests). */
+        private String sink = "none";
+
+        /** Events per sink call. */
+        @Positive
+        private int batchSize = 500;
+
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        /** Longest pause between retries while the sink keeps failing. */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+
+        /** How long published events are kept for replay before being purged. */
+        private Duration retention = Duration.ofDays(7);
+
+        private Duration cleanupInterval = Duration.ofHours(1);
+
+        private File file = new File();
+        private Http http = new Http();
+
+        @Data
+        public static class File {
+            private String path = "outbox/transaction-events.jsonl";
+        }
+
+        @Data
+        public static class Http {
+            private String url;
+
+            private Duration timeout = Duration.ofSeconds(10);
+
+            /** Sent verbatim as the {@code Authorization} header, if set. */
+            private String authorization;
+        }
+    }
+
+    @Data
+    public static class Stream {
+        /** Changes for one user within this window are sent as one burst with one totals update. */
+        private Duration coalesceWindow = Duration.ofMillis(250);
+
+        /** Comment frames keep idle connections open through proxies and detect dead clients. */
+        private Duration heartbeatInterval = Duration.ofSeconds(20);
+
+        /** Clients are expected to reconnect after this. */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        @Positive
+        private int maxConnections = 10_000;
+
+        @Positive
+        private int maxConnectionsPerUser = 5;
+
+        /** A subscriber further behind than this gets a {@code resync} event instead of the backlog. */
+        @Positive
+        private int maxQueuedEvents = 64;
+
+        /** More changes than this in one window are replaced by a single {@code resync} event. */
+        @Positive
+        private int maxChangesPerFlush = 100;
+
+        /** Relay changes between replicas with Postgres LISTEN/NOTIFY. */
+        private boolean postgresNotify = true;
+
+        /**
+         * How often each replica publishes which users it streams and reads which
+         * users others stream; writes notify only for the latter.
+         */
+        private Duration presenceInterval = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Balances {
+        /** When to queue the job that checks maintained totals against transactions; {@code -} disables it. */
+        @NotBlank
+        private String reconcileCron = "0 30 3 * * *";
+    }
+
+    @Data
+    public static class Dashboard {
+        /** Sections not loaded by then are left out and listed as unavailable. */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        @Positive
+        private int recentTransactions = 10;
+
+        /** Expense categories of the current month shown with their latest transactions. */
+        @Positive
+        private int topCategories = 3;
+
+        @Positive
+        private int categoryTransactions = 5;
+
+        @Positive
+        private int maxCategories = 100;
+
+        /** Queries one dashboard runs at once; well below the interactive pool size. */
+        @Positive
+        private int parallelism = 3;
+    }
+
+    @Data
+    public static class Rules {
+        @Positive
+        private int maxPerUser = 500;
+
+        /** Transactions read and updated per statement by the category backfill. */
+        @Positive
+        private int backfillChunkSize = 10_000;
+    }
+
+    @Data
+    public static class Duplicates {
+        /** What creating or importing a likely duplicate does. */
+        @NotNull
+        private Mode onWrite = Mode.FLAG;
+
+        /** Same content this many days apart still counts as a duplicate. */
+        @Min(0)
+        @Max(7)
+        private int windowDays = 1;
+
+        /** Most clusters returned by the duplicate scan, newest first. */
+        @Positive
+        private int maxClusters = 500;
+
+        public enum Mode {
+            /** No write-time check */
+            OFF,
+            /** Save it and set {@code duplicateOf} on the response */
+            FLAG,
+            /** Refuse it with 409 Conflict */
+            REJECT
+        }
+    }
+
+    @Data
+    public static class Recurring {
+        /** When replicas try to materialise due occurrences; {@code -} disables it. */
+        @NotBlank
+        private String cron = "0 5 * * * *";
+
+        /** Templates locked and materialised per transaction. */
+        @Positive
+        private int batchSize = 1_000;
+
+        /** Missed occurrences of one template inserted per batch; the rest follow in later batches of the run. */
+        @Positive
+        private int maxCatchUp = 31;
+
+        @Positive
+        private int maxPerUser = 100;
+    }
+
+    @Data
+    public static class Budgets {
+        @Positive
+        private int maxPerUser = 50;
+    }
+
+    @Data
+    public static class Compression {
+        private boolean enabled = true;
+
+        /** Smaller bodies go out as they are: gzip saves little there and still costs a buffer and a header. */
+        @Min(0)
+        private int minResponseBytes = 1_024;
+
+        /** Bodies at least this large use {@link #largeLevel}, so big exports do not spend their time compressing. */
+        @Positive
+        private int largeResponseBytes = 256 * 1_024;
+
+        @Min(1) @Max(9)
+        private int level = 6;
+
+        @Min(1) @Max(9)
+        private int largeLevel = 1;
+
+        /** Content types worth compressing; {@code text/event-stream} is never compressed. */
+        private List<String> mimeTypes = List.of("application/json", "application/*+json",
+                "application/cbor", "application/*+cbor");
+    }
+
+    @Data
+    public static class Coalescing {
+        private boolean enabled = true;
+
+        /** Longest a caller waits for an identical call in flight before failing with 503. */
+        @NotNull
+        private Duration timeout = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class LoadShedding {
+        private boolean enabled = true;
+
+        /** Concurrent API requests admitted at startup, before any latency has been seen. */
+        @Positive
+        private int initialLimit = 20;
+
+        @Positive
+        private int minLimit = 4;
+
+        @Positive
+        private int maxLimit = 200;
+
+        /** How far latency may rise above its baseline before the limit shrinks. */
+        @DecimalMin("1.0")
+        private double tolerance = 2.0;
+
+        /** Weight of each new estimate in the limit; lower reacts more slowly. */
+        @DecimalMin("0.01") @DecimalMax("1.0")
+        private double smoothing = 0.2;
+
+        /** Longest a write or small read waits for a permit; bulk reads never wait. */
+        @NotNull
+        private Duration maxQueueWait = Duration.ofMillis(50);
+
+        /** Requests allowed to wait for a permit at once; beyond that they are shed at once. */
+        @Min(0)
+        private int maxQueued = 100;
+
+        @NotNull
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /** Listings asking for more rows than this per page count as bulk reads. */
+        @Positive
+        private int bulkPageSize = 100;
+
+        /** Requests to these paths, whatever the method, count as bulk. */
+        private List<String> bulkPaths = List.of("/api/transactions/duplicates", "/api/transactions/import");
+    }
+
+    @Data
+    public static class Pools {
+        /** Request-path CRUD; its timeouts bound what a slow query can do to p99. */
+        private Pool interactive = new Pool(10, 10, Duration.ofSeconds(5), Duration.ofSeconds(2));
+
+        /** Heavy reads; a full pool makes them wait, not the interactive requests. */
+        private Pool reporting = new Pool(4, 1, Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+        /** Jobs, schedulers and the change listener; at least the job concurrency plus a few. */
+        private Pool background = new Pool(12, 1, Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+        public Pool of(Workload workload) {
+            return switch (workload) {
+                case INTERACTIVE -> interactive;
+                case REPORTING -> reporting;
+                case BACKGROUND -> background;
+            };
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+        @Positive
+        private int maxSize;
+
+        @Min(0)
+        private int minIdle;
+
+        /** Longest a statement may run on Postgres; zero for no limit. */
+        @NotNull
+        private Duration statementTimeout;
+
+        /** Longest a caller waits for a free connection before failing. */
+        @NotNull
+        private Duration connectionTimeout;
+    }
+
+    @Data
+    public static class Caches {
+        /** Hibernate second-level and query caches for categories and users. */
+        private boolean secondLevel = true;
+
+        /** Most entries per cache; the least recently used go first. */
+        @Positive
+        private long maxEntries = 10_000;
+
+        /** Bounds how stale an entry can get if its row is changed outside the application. */
+        @NotNull
+        private Duration timeToLive = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Jdbc {
+        /** Inserts and updates Hibernate sends per JDBC batch; matches the transaction id block. */
+        @Positive
+        private int batchSize = 50;
+    }
+}
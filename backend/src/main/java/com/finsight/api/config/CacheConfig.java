@@ -0,0 +1,91 @@
+package com.finsight.api.config;
+
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * One bounded Caffeine {@link CacheManager} behind both cache layers:
+ * <ul>
+ *   <li>Hibernate's second-level cache holds {@link Category} and
+ *       {@link AppUser}, plus the query cache that turns the per-request
+ *       {@code findByAuth0Sub} and the {@code Uncategorized} lookup into
+ *       cache hits. Writes through JPA keep it current; native updates name
+ *       the tables they touch, so they do not clear it.</li>
+ *   <li>Spring's {@code @Cacheable} caches, which Spring Boot puts on this
+ *       manager when {@code spring.cache.type} is not set.</li>
+ * </ul>
+ * Every cache is created here, with {@code app.caches.max-entries} and
+ * {@code time-to-live}; Hibernate fails fast on a region that is not listed.
+ * Statistics are on, so Actuator shows {@code hibernate.second.level.cache.*}
+ * and {@code hibernate.query.cache.*} next to the Spring {@code cache.*} meters.
+ */
+@Configuration
+public class CacheConfig {
+
+    /** Caches named in {@code @Cacheable} and {@code CacheManager.getCache} calls */
+    static final List<String> SPRING_CACHES = List.of("categories", "category-rules");
+
+    /** Hibernate's default region names for the cached entities and queries */
+    static final List<String> HIBERNATE_REGIONS = List.of(
+            Category.class.getName(),
+            AppUser.class.getName(),
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    CacheManager jCacheCacheManager(AppProperties appProperties) {
+        AppProperties.Caches props = appProperties.getCaches();
+        // A provider of our own rather than the static registry, so each application context gets its own caches
+        CachingProvider provider = new CaffeineCachingProvider();
+        CacheManager manager = provider.getCacheManager(provider.getDefaultURI(), CacheConfig.class.getClassLoader());
+        for (String name : SPRING_CACHES) {
+            manager.createCache(name, bounded(props, true));
+        }
+        for (String name : HIBERNATE_REGIONS) {
+            manager.createCache(name, bounded(props, true));
+        }
+        // One entry per table; the query cache is wrong if these expire before the results they guard
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, bounded(props, false));
+        return manager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(AppProperties appProperties, CacheManager jCacheCacheManager) {
+        boolean enabled = appProperties.getCaches().isSecondLevel();
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, jCacheCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(AppProperties.Caches props, boolean expires) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setMaximumSize(OptionalLong.of(props.getMaxEntries()));
+        if (expires) {
+            config.setExpireAfterWrite(OptionalLong.of(props.getTimeToLive().toNanos()));
+        }
+        // By reference, as the in-memory Spring caches always were; Hibernate stores its own copies anyway
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+}
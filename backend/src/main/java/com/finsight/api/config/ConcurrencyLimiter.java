@@ -0,0 +1,156 @@
+package com.finsight.api.config;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps concurrent requests at a limit that follows observed latency, in the
+ * style of a gradient limiter: while latency stays near its long-run
+ * baseline the limit grows by about its square root per sample; when it
+ * rises above {@code tolerance} times the baseline the limit shrinks in
+ * proportion. The limit therefore settles near the concurrency the database
+ * can serve without queueing, instead of a fixed guess.
+ * <p>
+ * Each {@link Priority} may use only its share of the limit, so as the limit
+ * falls bulk reads are refused first and writes last. Callers above their
+ * share wait up to a bounded time for a permit; {@link Priority#LOW} never
+ * waits.
+ */
+final class ConcurrencyLimiter {
+
+    /** Request classes, and the share of the limit each may fill */
+    enum Priority {
+        /** Writes */
+        HIGH(1.0),
+        /** Small reads */
+        NORMAL(0.9),
+        /** Large pages, scans and imports */
+        LOW(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    /** Samples averaged into the latency the limit reacts to */
+    private static final int SHORT_WINDOW = 10;
+
+    /** Samples averaged into the no-load baseline */
+    private static final int LONG_WINDOW = 600;
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int maxQueued;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int inFlight;
+    private int queued;
+
+    private final Object estimate = new Object();
+    private volatile double limit;
+    private double shortRtt;
+    private double longRtt;
+    private long samples;
+
+    ConcurrencyLimiter(AppProperties.LoadShedding props) {
+        this.minLimit = props.getMinLimit();
+        this.maxLimit = props.getMaxLimit();
+        this.tolerance = props.getTolerance();
+        this.smoothing = props.getSmoothing();
+        this.maxQueued = props.getMaxQueued();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, props.getInitialLimit()));
+    }
+
+    /**
+     * Takes a permit, waiting up to {@code maxWaitNanos} for one unless
+     * {@code priority} is {@link Priority#LOW}.
+     *
+     * @return the requests in flight including this one, or {@code -1} if refused
+     */
+    int acquire(Priority priority, long maxWaitNanos) {
+        lock.lock();
+        try {
+            long remaining = priority == Priority.LOW ? 0 : maxWaitNanos;
+            while (inFlight >= allowance(priority)) {
+                if (remaining <= 0 || queued >= maxQueued) {
+                    return -1;
+                }
+                queued++;
+                try {
+                    remaining = released.awaitNanos(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return -1;
+                } finally {
+                    queued--;
+                }
+            }
+            return ++inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a permit and feeds the call's latency into the limit.
+     *
+     * @param inFlightAtStart what {@link #acquire} returned for the call
+     */
+    void release(long rttNanos, int inFlightAtStart) {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        onSample(rttNanos, inFlightAtStart);
+    }
+
+    private int allowance(Priority priority) {
+        return Math.max(1, (int) (limit * priority.share));
+    }
+
+    void onSample(long rttNanos, int inFlightAtStart) {
+        double rtt = Math.max(1, rttNanos);
+        synchronized (estimate) {
+            if (samples++ == 0) {
+                shortRtt = rtt;
+                longRtt = rtt;
+                return;
+            }
+            shortRtt += (rtt - shortRtt) / SHORT_WINDOW;
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+            // once a slow spell is over, let the baseline come back down quickly
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= 0.95;
+            }
+            // a limit that is not being used says nothing about capacity
+            if (inFlightAtStart < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double target = limit * gradient + Math.sqrt(limit);
+            double next = limit * (1 - smoothing) + target * smoothing;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
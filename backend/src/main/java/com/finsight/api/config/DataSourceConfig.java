@@ -0,0 +1,87 @@
+package com.finsight.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkheaded connection pools: one Hikari pool per {@link Workload}, all on
+ * the {@code spring.datasource} database, behind a single routing
+ * {@link DataSource}. Each pool is sized and timed out under
+ * {@code app.pools.<workload>}; on Postgres its connections also get that
+ * pool's {@code statement_timeout}. Pools connect on first use, so startup
+ * does no I/O, and publish Hikari's {@code hikaricp.connections.*} meters
+ * tagged with {@code pool}.
+ * <p>
+ * Hibernate groups inserts and updates into JDBC batches of
+ * {@code app.jdbc.batch-size}, ordered by entity so one batch holds one
+ * statement, and the Postgres driver sends each insert batch as multi-row
+ * {@code INSERT}s.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    WorkloadPools workloadPools(DataSourceProperties dataSource,
+                                AppProperties appProperties,
+                                ObjectProvider<MeterRegistry> registry) {
+        MeterRegistry meters = registry.getIfAvailable();
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            pools.put(workload, pool(dataSource, workload, appProperties.getPools().of(workload), meters));
+        }
+        return new WorkloadPools(pools);
+    }
+
+    @Bean
+    DataSource dataSource(WorkloadPools pools) {
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    /** Migrations can run far longer than an interactive statement may */
+    @Bean
+    FlywayConfigurationCustomizer flywayOnBackgroundPool(WorkloadPools pools) {
+        return configuration -> configuration.dataSource(pools.get(Workload.BACKGROUND));
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer jdbcBatching(AppProperties appProperties) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, appProperties.getJdbc().getBatchSize());
+            properties.put(AvailableSettings.ORDER_INSERTS, true);
+            properties.put(AvailableSettings.ORDER_UPDATES, true);
+            properties.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    private static HikariDataSource pool(DataSourceProperties dataSource, Workload workload,
+                                         AppProperties.Pool cfg, MeterRegistry meters) {
+        HikariDataSource pool = dataSource.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("finsight-" + workload.name().toLowerCase());
+        pool.setMaximumPoolSize(cfg.getMaxSize());
+        pool.setMinimumIdle(Math.min(cfg.getMinIdle(), cfg.getMaxSize()));
+        pool.setConnectionTimeout(cfg.getConnectionTimeout().toMillis());
+        String url = pool.getJdbcUrl();
+        if (url != null && url.startsWith("jdbc:postgresql:")) {
+            pool.addDataSourceProperty("reWriteBatchedInserts", "true");
+            if (!cfg.getStatementTimeout().isZero()) {
+                pool.setConnectionInitSql("SET statement_timeout = " + cfg.getStatementTimeout().toMillis());
+            }
+        }
+        if (meters != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meters));
+        }
+        return pool;
+    }
+}
@@ -32,7 +32,7 @@ public class IpRateLimitFilter extends OncePerRequestFilter {
     private volatile Bandwidth cachedBandwidth;
 
     @PostConstruct
-    private void initializeBandwidth() {
+    void initializeBandwidth() {
         int requestsPerWindow = appProperties.getRateLimit().getRequestsPerWindow();
         int windowMinutes = appProperties.getRateLimit().getWindowMinutes();
         this.cachedBandwidth = Bandwidth.builder()
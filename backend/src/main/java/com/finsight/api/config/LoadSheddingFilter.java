@@ -0,0 +1,174 @@
+package com.finsight.api.config;
+
+import com.finsight.api.config.ConcurrencyLimiter.Priority;
+import com.finsight.api.dto.TransactionColumnsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds API requests before they reach the connection pool once latency
+ * shows the database is saturated. Admission goes through a
+ * {@link ConcurrencyLimiter} whose limit tracks observed request latency;
+ * refused requests get {@code 503} with {@code Retry-After} straight away
+ * rather than queueing on a pool connection. Writes outrank small reads, and
+ * both outrank bulk reads: pages larger than
+ * {@code app.load-shedding.bulk-page-size}, columnar listings and
+ * {@code bulk-paths}. Bulk requests also run as {@link Workload#REPORTING}, so
+ * they draw from the reporting pool. The transaction stream is not limited,
+ * as its connections stay open by design.
+ * <p>
+ * Publishes {@code finsight.load.limit}, {@code finsight.load.in-flight} and
+ * {@code finsight.load.shed} (tagged with the priority).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final String STREAM_PATH = "/api/transactions/stream";
+
+    private final AppProperties.LoadShedding props;
+    private final ConcurrencyLimiter limiter;
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public LoadSheddingFilter(AppProperties appProperties, ObjectProvider<MeterRegistry> registry) {
+        this.props = appProperties.getLoadShedding();
+        this.limiter = new ConcurrencyLimiter(props);
+        MeterRegistry meters = registry.getIfAvailable();
+        if (meters != null) {
+            Gauge.builder("finsight.load.limit", limiter, ConcurrencyLimiter::limit)
+                    .description("Concurrent API requests currently admitted before shedding")
+                    .register(meters);
+            Gauge.builder("finsight.load.in-flight", limiter, ConcurrencyLimiter::inFlight)
+                    .description("API requests holding a permit")
+                    .register(meters);
+            for (Priority priority : Priority.values()) {
+                shed.put(priority, Counter.builder("finsight.load.shed")
+                        .description("API requests refused with 503 while the limit was reached")
+                        .tag("priority", priority.name().toLowerCase())
+                        .register(meters));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest req) {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        return !props.isEnabled() || !path.startsWith("/api/") || path.startsWith(STREAM_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest req,
+                                    @NonNull HttpServletResponse res,
+                                    @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = classify(req);
+        int inFlight = limiter.acquire(priority, props.getMaxQueueWait().toNanos());
+        if (inFlight < 0) {
+            reject(res, priority);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        // bulk requests take their connection from the reporting pool
+        Workload previous = priority == Priority.LOW ? Workload.REPORTING.enter() : null;
+        try {
+            chain.doFilter(req, res);
+            if (req.isAsyncStarted()) {
+                async = true;
+                req.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        limiter.release(System.nanoTime() - start, inFlight);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            }
+        } finally {
+            if (priority == Priority.LOW) {
+                Workload.restore(previous);
+            }
+            if (!async) {
+                limiter.release(System.nanoTime() - start, inFlight);
+            }
+        }
+    }
+
+    Priority classify(HttpServletRequest req) {
+        String path = req.getRequestURI().substring(req.getContextPath().length());
+        if (props.getBulkPaths().contains(path)) {
+            return Priority.LOW;
+        }
+        if (!"GET".equals(req.getMethod()) && !"HEAD".equals(req.getMethod())) {
+            return Priority.HIGH;
+        }
+        String accept = req.getHeader(HttpHeaders.ACCEPT);
+        if (accept != null && (accept.contains(TransactionColumnsDTO.JSON) || accept.contains(TransactionColumnsDTO.CBOR))) {
+            return Priority.LOW;
+        }
+        String size = req.getParameter("size");
+        if (size != null) {
+            try {
+                if (Integer.parseInt(size.trim()) > props.getBulkPageSize()) {
+                    return Priority.LOW;
+                }
+            } catch (NumberFormatException ignored) {
+                // left for the handler to reject
+            }
+        }
+        return Priority.NORMAL;
+    }
+
+    private void reject(HttpServletResponse res, Priority priority) throws IOException {
+        Counter counter = shed.get(priority);
+        if (counter != null) {
+            counter.increment();
+        }
+        long retryAfter = Math.max(1, props.getRetryAfter().toSeconds());
+        res.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        res.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        res.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        res.getWriter().write(String.format("""
+            { "type": "https://api.finsight.com/errors/503",
+              "title": "Service Unavailable",
+              "status": 503,
+              "detail": "The server is busy. Retry after %d seconds.",
+              "timestamp": "%s" }""",
+            retryAfter, LocalDateTime.now()));
+    }
+
+    ConcurrencyLimiter limiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,48 @@
+package com.finsight.api.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Latency metrics for the data and service layers.
+ *
+ * <ul>
+ *   <li>{@code spring.data.repository.invocations} – recorded by Spring Boot for every
+ *       repository method; tags {@code repository}, {@code method}, {@code state}, {@code exception}.</li>
+ *   <li>{@code finsight.service} – recorded by {@link ServiceTimingAspect} for every public
+ *       service method; tags {@code service}, {@code method}, {@code outcome}, {@code exception}.</li>
+ * </ul>
+ * Both get percentile histograms (1 ms – 10 s buckets) plus p50/p95/p99 gauges
+ * visible under {@code /actuator/metrics}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+    static final String SERVICE_TIMER = "finsight.service";
+
+    @Bean
+    MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                String name = id.getName();
+                if (!name.equals(REPOSITORY_TIMER) && !name.equals(SERVICE_TIMER)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(10).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
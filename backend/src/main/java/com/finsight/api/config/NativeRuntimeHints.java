@@ -0,0 +1,85 @@
+package com.finsight.api.config;
+
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.outbox.OutboxMessage;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.TargetAware;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the native image ({@code mvn -Pnative native:compile}) needs beyond
+ * what Spring AOT infers. Spring already covers controller request and
+ * response types, repositories, {@code @ConfigurationProperties}, the JPA
+ * entities it manages and the CGLIB proxies behind {@code @PreAuthorize},
+ * {@code @Transactional} and {@code @Cacheable}. Types private to a component
+ * are registered on it with {@code @RegisterReflectionForBinding}.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /** Hibernate reads every model type reflectively: entities, id classes, enums, converters */
+    static final String MODEL_PACKAGE = "com.finsight.api.model";
+
+    /** Also serialized nested, cached or streamed, not only in controller signatures */
+    static final String DTO_PACKAGE = "com.finsight.api.dto";
+
+    /** Written with the ObjectMapper by the outbox and its sinks */
+    private static final Class<?>[] EVENT_TYPES = {
+            TransactionChangedEvent.class, BudgetThresholdEvent.class, OutboxMessage.class
+    };
+
+    /** Interface projections, which Spring Data implements with JDK proxies at runtime */
+    private static final Class<?>[] PROJECTIONS = {
+            TransactionRepository.FingerprintMatch.class,
+            TransactionRepository.CategoryTotal.class,
+            TransactionRepository.UserTypeTotal.class,
+            TransactionRepository.UserMonthTypeTotal.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : typesIn(MODEL_PACKAGE, classLoader)) {
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        BindingReflectionHintsRegistrar binding = new BindingReflectionHintsRegistrar();
+        binding.registerReflectionHints(hints.reflection(), typesIn(DTO_PACKAGE, classLoader).toArray(Class<?>[]::new));
+        binding.registerReflectionHints(hints.reflection(), EVENT_TYPES);
+
+        for (Class<?> projection : PROJECTIONS) {
+            hints.proxies().registerJdkProxy(AopProxyUtils.completeJdkProxyInterfaces(projection, TargetAware.class));
+            hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // SpEL cache keys in CategoryServiceImpl read #pageable.pageNumber, .pageSize and .sort
+        hints.reflection().registerType(PageRequest.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(Sort.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // Caffeine's JCache provider reads its defaults from this Typesafe Config file when CacheConfig creates it
+        hints.resources().registerPattern("reference.conf");
+    }
+
+    /** Every top-level and nested class, record and enum in the package, resolved at build time */
+    static List<Class<?>> typesIn(String basePackage, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        List<Class<?>> types = new ArrayList<>();
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+        return types;
+    }
+}
@@ -0,0 +1,81 @@
+package com.finsight.api.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records how many JDBC statements each HTTP request executed
+ * ({@code finsight.http.statements}) and flags requests above
+ * {@code app.query-guard.warn-threshold}: they are counted in
+ * {@code finsight.http.statements.exceeded} and a sampled fraction is logged
+ * with the matched route, so an N+1 regression shows up in production
+ * without logging every request.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final AppProperties appProperties;
+    private final DistributionSummary statements;
+    private final Counter exceeded;
+
+    public QueryCountFilter(AppProperties appProperties, ObjectProvider<MeterRegistry> registry) {
+        this.appProperties = appProperties;
+        MeterRegistry meters = registry.getIfAvailable();
+        this.statements = meters == null ? null : DistributionSummary.builder("finsight.http.statements")
+                .description("JDBC statements executed per HTTP request")
+                .publishPercentiles(0.5, 0.99)
+                .register(meters);
+        this.exceeded = meters == null ? null : Counter.builder("finsight.http.statements.exceeded")
+                .description("Requests that executed more statements than the warn threshold")
+                .register(meters);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest req,
+                                    @NonNull HttpServletResponse res,
+                                    @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            record(req, StatementCounter.count());
+        }
+    }
+
+    private void record(HttpServletRequest req, long count) {
+        if (statements != null) {
+            statements.record(count);
+        }
+        AppProperties.QueryGuard guard = appProperties.getQueryGuard();
+        if (count <= guard.getWarnThreshold()) {
+            return;
+        }
+        if (exceeded != null) {
+            exceeded.increment();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < guard.getLogSampleRate()) {
+            Object route = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            log.warn("{} {} executed {} SQL statements (threshold {})", req.getMethod(),
+                    route != null ? route : req.getRequestURI(), count, guard.getWarnThreshold());
+        }
+    }
+}
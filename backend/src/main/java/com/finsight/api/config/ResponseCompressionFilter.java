@@ -0,0 +1,334 @@
+package com.finsight.api.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips API responses for clients that accept it, choosing by size: bodies
+ * under {@code app.compression.min-response-bytes} go out as they are, bodies
+ * up to {@code large-response-bytes} are buffered and compressed at
+ * {@code level} with an exact {@code Content-Length}, and anything larger is
+ * streamed at the cheaper {@code large-level} once the buffer fills.
+ * <p>
+ * Only the configured content types are touched, so Server-Sent Events pass
+ * straight through and are flushed as they are written.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String GZIP = "gzip";
+
+    private final AppProperties.Compression props;
+    private final List<MediaType> mimeTypes;
+
+    public ResponseCompressionFilter(AppProperties appProperties) {
+        this.props = appProperties.getCompression();
+        this.mimeTypes = MediaType.parseMediaTypes(props.getMimeTypes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest req) {
+        return !props.isEnabled() || "HEAD".equals(req.getMethod())
+                || !acceptsGzip(req.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest req,
+                                    @NonNull HttpServletResponse res,
+                                    @NonNull FilterChain chain)
+            throws ServletException, IOException {
+        CompressingResponse wrapped = new CompressingResponse(res);
+        chain.doFilter(req, wrapped);
+        if (req.isAsyncStarted()) {
+            req.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) throws IOException {
+                    wrapped.finish();
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            wrapped.finish();
+        }
+    }
+
+    /** {@code true} when the header lists {@code gzip} or {@code *} without {@code q=0} */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException ex) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType type = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(m -> m.includes(type));
+        } catch (InvalidMediaTypeException ex) {
+            return false;
+        }
+    }
+
+    private enum State {
+        /** Nothing written yet, so the content type may still change */
+        UNDECIDED,
+        /** Written through unchanged */
+        PASS,
+        /** Held back until the size is known or the buffer fills */
+        BUFFER,
+        /** Streamed through gzip at the large-body level */
+        STREAM
+    }
+
+    /**
+     * Defers the choice until the first byte, when the content type is known.
+     * {@code Content-Length} set by the application is held back too, since
+     * it is only right for an uncompressed body.
+     */
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private State state = State.UNDECIDED;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private GZIPOutputStream gzip;
+        private long contentLength = -1;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        private CompressingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                        CompressingResponse.this.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        // Message converters flush after every body; only pass-through honours it
+                        if (state == State.PASS) {
+                            getResponse().getOutputStream().flush();
+                        }
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        throw new UnsupportedOperationException("non-blocking writes are not compressed");
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                        Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (state == State.PASS) {
+                super.setContentLengthLong(len);
+            } else {
+                contentLength = len;
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (state == State.UNDECIDED) {
+                decide();
+            }
+            if (state == State.BUFFER) {
+                startStream();
+            }
+            if (state == State.STREAM) {
+                gzip.flush();
+            }
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            buffer.reset();
+            if (state == State.BUFFER) {
+                state = State.UNDECIDED;
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            buffer.reset();
+            contentLength = -1;
+            if (state == State.BUFFER) {
+                state = State.UNDECIDED;
+            }
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            if (state == State.UNDECIDED) {
+                decide();
+            }
+            switch (state) {
+                case PASS -> getResponse().getOutputStream().write(b, off, len);
+                case STREAM -> gzip.write(b, off, len);
+                default -> {
+                    if (buffer.size() + len > props.getLargeResponseBytes()) {
+                        startStream();
+                        gzip.write(b, off, len);
+                    } else {
+                        buffer.write(b, off, len);
+                    }
+                }
+            }
+        }
+
+        private void decide() {
+            boolean eligible = compressible(getContentType()) && !containsHeader(HttpHeaders.CONTENT_ENCODING)
+                    && (contentLength < 0 || contentLength >= props.getMinResponseBytes());
+            state = eligible ? State.BUFFER : State.PASS;
+            if (state == State.PASS && contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        private void startStream() throws IOException {
+            markCompressed();
+            gzip = gzip(getResponse().getOutputStream(), props.getLargeLevel(), true);
+            buffer.writeTo(gzip);
+            buffer.reset();
+            state = State.STREAM;
+        }
+
+        /** Writes out whatever is still held back; called once the handler is done */
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            switch (state) {
+                case STREAM -> gzip.finish();
+                case BUFFER -> {
+                    if (buffer.size() < props.getMinResponseBytes()) {
+                        super.setContentLengthLong(buffer.size());
+                        buffer.writeTo(getResponse().getOutputStream());
+                    } else {
+                        ByteArrayOutputStream compressed = new ByteArrayOutputStream(buffer.size() / 4 + 64);
+                        try (GZIPOutputStream out = gzip(compressed, props.getLevel(), false)) {
+                            buffer.writeTo(out);
+                        }
+                        markCompressed();
+                        super.setContentLengthLong(compressed.size());
+                        compressed.writeTo(getResponse().getOutputStream());
+                    }
+                    buffer.reset();
+                }
+                default -> {
+                    if (state == State.UNDECIDED && contentLength >= 0) {
+                        super.setContentLengthLong(contentLength);
+                    }
+                }
+            }
+        }
+
+        private void markCompressed() {
+            setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private static GZIPOutputStream gzip(OutputStream out, int level, boolean syncFlush) throws IOException {
+        return new GZIPOutputStream(out, 8 * 1_024, syncFlush) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+}
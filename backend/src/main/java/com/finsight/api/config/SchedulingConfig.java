@@ -0,0 +1,21 @@
+package com.finsight.api.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot's default scheduler has a single thread. Job polling, lease
+ * heartbeats and the outbox relay would then wait behind each other, and a
+ * slow sink could delay heartbeats until job leases expire.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    static final int MIN_SCHEDULER_THREADS = 4;
+
+    @Bean
+    ThreadPoolTaskSchedulerCustomizer schedulerPoolSize() {
+        return scheduler -> scheduler.setPoolSize(Math.max(scheduler.getPoolSize(), MIN_SCHEDULER_THREADS));
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.security.oauth2.core.*;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.time.Duration;
@@ -85,14 +86,16 @@ public class SecurityConfig {
         return http.build();
     }
 
-    /** Validates iss, exp/nbf, aud *and* azp (authorised party) */
+    /**
+     * Validates iss, exp/nbf, aud *and* azp (authorised party). Does no I/O at
+     * startup: keys come from {@code app.auth0.jwk-set-uri} when set, else from
+     * OIDC discovery of the issuer, and either is fetched with the first token.
+     */
     @Bean
     JwtDecoder jwtDecoder() {
         String issuerUri = appProperties.getAuth0().getIssuerUri();
         String audience = appProperties.getAuth0().getAudience();
-        
-        NimbusJwtDecoder decoder =
-                (NimbusJwtDecoder) JwtDecoders.fromOidcIssuerLocation(issuerUri);
+        String jwkSetUri = appProperties.getAuth0().getJwkSetUri();
 
         OAuth2TokenValidator<Jwt> aud = new JwtClaimValidator<List<String>>(
                 "aud", list -> list.contains(audience));
@@ -100,8 +103,17 @@ public class SecurityConfig {
         OAuth2TokenValidator<Jwt> issuer =
                 JwtValidators.createDefaultWithIssuer(issuerUri);
 
-        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(issuer, aud));
-        return decoder;
+        OAuth2TokenValidator<Jwt> validator = new DelegatingOAuth2TokenValidator<>(issuer, aud);
+        if (StringUtils.hasText(jwkSetUri)) {
+            NimbusJwtDecoder decoder = NimbusJwtDecoder.withJwkSetUri(jwkSetUri).build();
+            decoder.setJwtValidator(validator);
+            return decoder;
+        }
+        return new SupplierJwtDecoder(() -> {
+            NimbusJwtDecoder decoder = (NimbusJwtDecoder) JwtDecoders.fromOidcIssuerLocation(issuerUri);
+            decoder.setJwtValidator(validator);
+            return decoder;
+        });
     }
 
 }
@@ -0,0 +1,56 @@
+package com.finsight.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the service implementations as
+ * {@code finsight.service}. The success timer is resolved once per method and
+ * cached, so the hot path is a map lookup plus two {@code nanoTime} calls;
+ * error timers are looked up in the registry only when a call fails.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTimingAspect {
+
+    private final MeterRegistry registry;
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.finsight.api.service.impl..*(..))")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            Object result = pjp.proceed();
+            Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+            successTimers.computeIfAbsent(method, m -> timer(pjp, "success", "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(pjp, "error", ex.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint pjp, String outcome, String exception) {
+        return Timer.builder(MetricsConfig.SERVICE_TIMER)
+                .description("Service method latency")
+                .tag("service", pjp.getSignature().getDeclaringType().getSimpleName())
+                .tag("method", pjp.getSignature().getName())
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.finsight.api.config;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-thread count of JDBC statements executed through
+ * {@link QueryCountingDataSource}. {@link QueryCountFilter} resets it at the
+ * start of every HTTP request; tests reset it around the code under test:
+ *
+ * <pre>
+ * StatementCounter.reset();
+ * txService.getAllTransactions(PageRequest.of(0, 20));
+ * assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+ * </pre>
+ * Work a request hands to other threads is counted against the request when
+ * wrapped with {@link #propagate}.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<AtomicLong> COUNT = ThreadLocal.withInitial(AtomicLong::new);
+
+    private StatementCounter() {
+    }
+
+    /** Starts a new count for the current thread. */
+    public static void reset() {
+        COUNT.set(new AtomicLong());   // a fresh counter, so late tasks of the last request cannot add to it
+    }
+
+    /** Statements executed on the current thread since the last {@link #reset()}. */
+    public static long count() {
+        return COUNT.get().get();
+    }
+
+    /** Wraps a task so statements it runs on another thread count towards the caller's current count. */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        AtomicLong owner = COUNT.get();
+        return () -> {
+            AtomicLong previous = COUNT.get();
+            COUNT.set(owner);
+            try {
+                return task.call();
+            } finally {
+                COUNT.set(previous);
+            }
+        };
+    }
+
+    static void increment() {
+        COUNT.get().incrementAndGet();
+    }
+}
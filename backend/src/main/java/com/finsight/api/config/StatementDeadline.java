@@ -0,0 +1,61 @@
+package com.finsight.api.config;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs reads in a read-only transaction whose statements Postgres cancels at
+ * a caller's deadline. Interrupting a thread blocked in JDBC does not stop
+ * its statement, so work abandoned at a deadline would otherwise keep its
+ * connection until the pool's own {@code statement_timeout}.
+ * <p>
+ * The limit is a {@code SET LOCAL statement_timeout} of whatever time is
+ * left, which ends with the transaction and so never outlives the borrowed
+ * connection. Other databases get the transaction alone.
+ */
+@Component
+public class StatementDeadline {
+
+    private final TransactionTemplate readOnly;
+    private final JdbcTemplate        jdbc;
+    private volatile Boolean          postgres;
+
+    public StatementDeadline(PlatformTransactionManager txManager, JdbcTemplate jdbc) {
+        this.readOnly = new TransactionTemplate(txManager);
+        this.readOnly.setReadOnly(true);
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Runs {@code query} with its statements cut off at {@code deadline}, a
+     * {@link System#nanoTime()} value. Fails fast if the deadline has passed.
+     */
+    public <T> T call(long deadline, Supplier<T> query) throws TimeoutException {
+        long millis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (millis <= 0) {
+            throw new TimeoutException("Deadline passed before the query started");
+        }
+        return readOnly.execute(status -> {
+            jdbc.execute((ConnectionCallback<Void>) con -> {
+                if (postgres == null) {
+                    postgres = con.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+                }
+                if (postgres) {
+                    try (Statement statement = con.createStatement()) {
+                        statement.execute("SET LOCAL statement_timeout = " + millis);
+                    }
+                }
+                return null;
+            });
+            return query.get();
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.finsight.api.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean method, or every public method of a bean, as the given
+ * {@link Workload}. The pool is chosen when a connection is first taken, so
+ * this only matters where a transaction starts: a method called inside an
+ * existing transaction keeps using that transaction's connection. A method
+ * annotation overrides the one on its class.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface UsePool {
+
+    Workload value();
+}
@@ -1,16 +1,36 @@
 package com.finsight.api.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.finsight.api.dto.TransactionColumnsDTO;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
 
 /**
- * Tells Spring Data to serialize Page objects via a stable DTO
- * instead of the internal PageImpl class.
+ * Tells Spring Data to serialize Page objects via a stable DTO
+ * instead of the internal PageImpl class, and adds CBOR as a response
+ * encoding next to JSON.
  */
 @Configuration
 @EnableSpringDataWebSupport(pageSerializationMode = PageSerializationMode.VIA_DTO)
 public class WebConfig {
-    // no code needed – the annotation does all the work
-}
 
+    /**
+     * CBOR built from the application's Jackson settings, so both encodings
+     * carry the same fields. Also writes the columnar transaction layout.
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        MappingJackson2CborHttpMessageConverter converter =
+                new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+        converter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR,
+                MediaType.parseMediaType(TransactionColumnsDTO.CBOR)));
+        return converter;
+    }
+}
@@ -0,0 +1,52 @@
+package com.finsight.api.config;
+
+/**
+ * The kind of work a thread is doing, and so which connection pool it draws
+ * from (see {@link UsePool}). Each workload has its own pool, size and
+ * statement timeout under {@code app.pools}, so a long report or a job
+ * cannot take the connections that request-path lookups need. Threads start
+ * out {@link #INTERACTIVE}.
+ */
+public enum Workload {
+
+    /** Request-path CRUD and small reads */
+    INTERACTIVE,
+
+    /** Scans, large pages and other heavy reads made on a user's behalf */
+    REPORTING,
+
+    /** Job workers, schedulers and listeners */
+    BACKGROUND;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload == null ? INTERACTIVE : workload;
+    }
+
+    /** Runs {@code task} with connections from this workload's pool */
+    public void run(Runnable task) {
+        Workload previous = enter();
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /** Makes this the thread's workload; pass the result to {@link #restore} */
+    Workload enter() {
+        Workload previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.finsight.api.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets the thread's {@link Workload} around {@link UsePool} methods. Ordered
+ * before the transaction interceptor, which takes the connection.
+ */
+@Aspect
+@Component
+@Order(WorkloadAspect.ORDER)
+public class WorkloadAspect {
+
+    /** After request coalescing, so waiting callers take no connection; before caching and transactions */
+    public static final int ORDER = 2_000;
+
+    @Around("@annotation(usePool)")
+    public Object onMethod(ProceedingJoinPoint pjp, UsePool usePool) throws Throwable {
+        return proceed(pjp, usePool.value());
+    }
+
+    @Around("@within(usePool) && !@annotation(com.finsight.api.config.UsePool)")
+    public Object onType(ProceedingJoinPoint pjp, UsePool usePool) throws Throwable {
+        return proceed(pjp, usePool.value());
+    }
+
+    private static Object proceed(ProceedingJoinPoint pjp, Workload workload) throws Throwable {
+        Workload previous = workload.enter();
+        try {
+            return pjp.proceed();
+        } finally {
+            Workload.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.finsight.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** One Hikari pool per {@link Workload}; closed with the application context */
+public class WorkloadPools implements AutoCloseable {
+
+    private final Map<Workload, HikariDataSource> pools;
+
+    public WorkloadPools(Map<Workload, HikariDataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+    }
+
+    public HikariDataSource get(Workload workload) {
+        return pools.get(workload);
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,25 @@
+package com.finsight.api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Hands out connections from the pool of the thread's current {@link Workload} */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(WorkloadPools pools) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (Workload workload : Workload.values()) {
+            targets.put(workload, pools.get(workload));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(pools.get(Workload.INTERACTIVE));
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+}
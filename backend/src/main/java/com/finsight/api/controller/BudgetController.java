@@ -0,0 +1,49 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.BudgetDTO;
+import com.finsight.api.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+public class BudgetController {
+
+    private final BudgetService budgetService;
+
+    /** The authenticated user's budgets with their spend this period */
+    @GetMapping
+    public ResponseEntity<List<BudgetDTO>> list() {
+        return ResponseEntity.ok(budgetService.getBudgets());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BudgetDTO> get(@PathVariable Long id) {
+        return ResponseEntity.ok(budgetService.getBudget(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<BudgetDTO> create(@Valid @RequestBody BudgetDTO dto) {
+        BudgetDTO saved = budgetService.createBudget(dto);
+        URI location = URI.create("/api/budgets/" + saved.getId());
+        return ResponseEntity.created(location).body(saved);
+    }
+
+    /** Changes the limit or warning percentage */
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetDTO> update(@PathVariable Long id, @Valid @RequestBody BudgetDTO dto) {
+        return ResponseEntity.ok(budgetService.updateBudget(id, dto));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        budgetService.deleteBudget(id);
+        return ResponseEntity.noContent().build();
+    }
+}
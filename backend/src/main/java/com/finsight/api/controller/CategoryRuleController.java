@@ -0,0 +1,47 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.CategoryRuleDTO;
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.service.CategoryRuleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/category-rules")
+@RequiredArgsConstructor
+public class CategoryRuleController {
+
+    private final CategoryRuleService ruleService;
+
+    /** The authenticated user’s categorisation rules */
+    @GetMapping
+    public ResponseEntity<List<CategoryRuleDTO>> list() {
+        return ResponseEntity.ok(ruleService.getRules());
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryRuleDTO> create(@Valid @RequestBody CategoryRuleDTO dto) {
+        CategoryRuleDTO saved = ruleService.createRule(dto);
+        URI location = URI.create("/api/category-rules/" + saved.getId());
+        return ResponseEntity.created(location).body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        ruleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** Apply the rules to existing uncategorised transactions; runs as a background job */
+    @PostMapping("/backfill")
+    public ResponseEntity<JobDTO> backfill() {
+        JobDTO job = ruleService.requestBackfill();
+        URI location = URI.create("/api/jobs/" + job.getId());
+        return ResponseEntity.accepted().location(location).body(job);
+    }
+}
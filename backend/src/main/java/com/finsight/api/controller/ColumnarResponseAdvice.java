@@ -0,0 +1,59 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.SliceDTO;
+import com.finsight.api.dto.TransactionColumnsDTO;
+import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Serves transaction listings in the {@link TransactionColumnsDTO} layout when
+ * the client negotiated {@value TransactionColumnsDTO#JSON} or
+ * {@value TransactionColumnsDTO#CBOR}. Every other response, errors included,
+ * keeps its usual shape and is labelled {@code application/json} (or
+ * {@code problem+json}) or {@code application/cbor}, so a client can send the
+ * columnar type on every request.
+ */
+@RestControllerAdvice
+public class ColumnarResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    static final MediaType COLUMNAR_JSON = MediaType.parseMediaType(TransactionColumnsDTO.JSON);
+    static final MediaType COLUMNAR_CBOR = MediaType.parseMediaType(TransactionColumnsDTO.CBOR);
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request,
+                                  @NonNull ServerHttpResponse response) {
+        boolean json = COLUMNAR_JSON.equalsTypeAndSubtype(selectedContentType);
+        if (!json && !COLUMNAR_CBOR.equalsTypeAndSubtype(selectedContentType)) {
+            return body;
+        }
+        if (returnType.getContainingClass() == TransactionController.class) {
+            if (body instanceof Page<?> page) {
+                return TransactionColumnsDTO.of(page);
+            }
+            if (body instanceof SliceDTO<?> slice) {
+                return TransactionColumnsDTO.of(slice);
+            }
+        }
+        response.getHeaders().setContentType(!json ? MediaType.APPLICATION_CBOR
+                : body instanceof ProblemDetail ? MediaType.APPLICATION_PROBLEM_JSON : MediaType.APPLICATION_JSON);
+        return body;
+    }
+}
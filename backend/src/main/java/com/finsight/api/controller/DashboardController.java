@@ -0,0 +1,23 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.DashboardDTO;
+import com.finsight.api.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /** Home screen data in one call; late sections are listed in {@code unavailable} */
+    @GetMapping
+    public ResponseEntity<DashboardDTO> getDashboard() {
+        return ResponseEntity.ok(dashboardService.getDashboard());
+    }
+}
@@ -0,0 +1,21 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.service.JobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+
+    /** Status and progress of one of the authenticated user’s background jobs */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDTO> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+}
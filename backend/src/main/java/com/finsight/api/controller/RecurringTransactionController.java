@@ -0,0 +1,39 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.RecurringTransactionDTO;
+import com.finsight.api.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+public class RecurringTransactionController {
+
+    private final RecurringTransactionService recurringService;
+
+    /** The authenticated user's recurring transactions */
+    @GetMapping
+    public ResponseEntity<List<RecurringTransactionDTO>> list() {
+        return ResponseEntity.ok(recurringService.getRecurringTransactions());
+    }
+
+    @PostMapping
+    public ResponseEntity<RecurringTransactionDTO> create(@Valid @RequestBody RecurringTransactionDTO dto) {
+        RecurringTransactionDTO saved = recurringService.createRecurringTransaction(dto);
+        URI location = URI.create("/api/recurring-transactions/" + saved.getId());
+        return ResponseEntity.created(location).body(saved);
+    }
+
+    /** Stops the schedule; transactions already created are kept */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        recurringService.deleteRecurringTransaction(id);
+        return ResponseEntity.noContent().build();
+    }
+}
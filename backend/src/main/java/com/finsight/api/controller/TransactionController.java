@@ -1,7 +1,15 @@
 package com.finsight.api.controller;
 
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.DuplicateScanDTO;
+import com.finsight.api.dto.SliceDTO;
+import com.finsight.api.dto.SparseTransactionDTO;
+import com.finsight.api.dto.TransactionBatchDTO;
 import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
 import com.finsight.api.model.TransactionType;
+import com.finsight.api.service.DuplicateService;
 import com.finsight.api.service.TransactionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,16 +21,24 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springdoc.core.annotations.ParameterObject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -32,7 +48,17 @@ import java.time.LocalDateTime;
 @SecurityRequirement(name = "Bearer Authentication")
 public class TransactionController {
 
+    /** Set on responses whose total comes from the cached per-user counter. */
+    static final String APPROXIMATE_TOTAL_HEADER = "X-Total-Count-Approximate";
+
+    /** Most rows accepted by one import request. */
+    static final int MAX_IMPORT = 1_000;
+
+    /** Most ids accepted by one batch fetch. */
+    static final int MAX_BATCH_GET = 100;
+
     private final TransactionService txService;
+    private final DuplicateService   duplicateService;
 
     /* ---------- READ ENDPOINTs ---------- */
 
@@ -43,9 +69,22 @@ public class TransactionController {
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
         @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
     })
-    public ResponseEntity<Page<TransactionDTO>> getAll(
+    public ResponseEntity<?> getAll(
+            @Parameter(description = "Total count mode: EXACT (default), NONE (slice, no COUNT query) or APPROXIMATE (cached per-user total)")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Comma-separated fields to read and return, e.g. date,amount,categoryName; id is always included. Default: all")
+            @RequestParam(required = false) String fields,
             @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(txService.getAllTransactions(pageable));
+        if (fields != null) {
+            return sparse(TransactionFilter.NONE, fields, count, pageable);
+        }
+        return switch (count) {
+            case EXACT -> ResponseEntity.ok(txService.getAllTransactions(pageable));
+            case NONE -> ResponseEntity.ok(SliceDTO.of(txService.getAllTransactionsSlice(pageable)));
+            case APPROXIMATE -> ResponseEntity.ok()
+                    .header(APPROXIMATE_TOTAL_HEADER, "true")
+                    .body(txService.getAllTransactionsApproximate(pageable));
+        };
     }
 
     @GetMapping("/{id}")
@@ -61,32 +100,110 @@ public class TransactionController {
         return ResponseEntity.ok(txService.getTransactionById(id));
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get transactions by IDs",
+               description = "Fetch up to 100 of the user's transactions in one query. Ids that do not exist or belong to someone else are listed in notFound.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Found transactions, in request order"),
+        @ApiResponse(responseCode = "400", description = "No ids or more than 100", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public ResponseEntity<TransactionBatchDTO> getByIds(
+            @Parameter(description = "Comma-separated transaction IDs", required = true)
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_GET) List<@NotNull Long> ids) {
+        return ResponseEntity.ok(txService.getTransactionsByIds(ids));
+    }
+
     @GetMapping("/type/{type}")
     @Operation(summary = "Get transactions by type", description = "Retrieve transactions filtered by type (INCOME, EXPENSE, TRANSFER)")
-    public ResponseEntity<Page<TransactionDTO>> byType(
+    public ResponseEntity<?> byType(
             @Parameter(description = "Transaction type", required = true, schema = @Schema(implementation = TransactionType.class)) 
             @PathVariable TransactionType type,
+            @Parameter(description = "Total count mode: EXACT (default) or NONE")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Comma-separated fields to read and return, e.g. date,amount,categoryName; id is always included. Default: all")
+            @RequestParam(required = false) String fields,
             @ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(txService.getTransactionsByType(type, pageable));
+        if (fields != null) {
+            return sparse(TransactionFilter.ofType(type), fields, count, pageable);
+        }
+        return exactOrSlice(count,
+                () -> txService.getTransactionsByType(type, pageable),
+                () -> txService.getTransactionsByTypeSlice(type, pageable));
     }
 
     @GetMapping("/date-range")
     @Operation(summary = "Get transactions by date range", description = "Retrieve transactions within a specific date range")
-    public ResponseEntity<Page<TransactionDTO>> byDateRange(
+    public ResponseEntity<?> byDateRange(
             @Parameter(description = "Start date (ISO format)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "End date (ISO format)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Total count mode: EXACT (default) or NONE")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Comma-separated fields to read and return, e.g. date,amount,categoryName; id is always included. Default: all")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Pagination parameters") Pageable pageable) {
-        return ResponseEntity.ok(txService.getTransactionsByDateRange(startDate, endDate, pageable));
+        if (fields != null) {
+            return sparse(TransactionFilter.between(startDate, endDate), fields, count, pageable);
+        }
+        return exactOrSlice(count,
+                () -> txService.getTransactionsByDateRange(startDate, endDate, pageable),
+                () -> txService.getTransactionsByDateRangeSlice(startDate, endDate, pageable));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get transactions by category", description = "Retrieve transactions filtered by category")
-    public ResponseEntity<Page<TransactionDTO>> byCategory(
+    public ResponseEntity<?> byCategory(
             @Parameter(description = "Category ID", required = true) @PathVariable Long categoryId,
+            @Parameter(description = "Total count mode: EXACT (default) or NONE")
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @Parameter(description = "Comma-separated fields to read and return, e.g. date,amount,categoryName; id is always included. Default: all")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Pagination parameters") Pageable pageable) {
-        return ResponseEntity.ok(txService.getTransactionsByCategory(categoryId, pageable));
+        if (fields != null) {
+            return sparse(TransactionFilter.inCategory(categoryId), fields, count, pageable);
+        }
+        return exactOrSlice(count,
+                () -> txService.getTransactionsByCategory(categoryId, pageable),
+                () -> txService.getTransactionsByCategorySlice(categoryId, pageable));
+    }
+
+    @GetMapping("/duplicates")
+    @Operation(summary = "Find likely duplicates",
+               description = "Clusters of transactions with the same amount, type and normalised description on the same or nearby days")
+    public ResponseEntity<DuplicateScanDTO> duplicates() {
+        return ResponseEntity.ok(duplicateService.findDuplicateClusters());
+    }
+
+    /** Filtered listings have no cached counter, so only EXACT and NONE apply. */
+    private ResponseEntity<?> exactOrSlice(CountMode count,
+                                           Supplier<Page<TransactionDTO>> exact,
+                                           Supplier<Slice<TransactionDTO>> slice) {
+        return switch (count) {
+            case EXACT -> ResponseEntity.ok(exact.get());
+            case NONE -> ResponseEntity.ok(SliceDTO.of(slice.get()));
+            case APPROXIMATE -> throw new IllegalArgumentException(
+                    "count=APPROXIMATE is only supported on GET /api/transactions");
+        };
+    }
+
+    /**
+     * A listing narrowed to {@code fields}: the query reads only those columns
+     * and each row is written through the cached serialiser for that field set.
+     */
+    private ResponseEntity<?> sparse(TransactionFilter filter, String fields, CountMode count, Pageable pageable) {
+        Set<TransactionField> selected = TransactionField.parse(fields);
+        SparseTransactionDTO.Shape shape = SparseTransactionDTO.shape(selected);
+        Slice<TransactionDTO> rows = txService.findTransactions(filter, selected, count, pageable);
+        if (!(rows instanceof Page<TransactionDTO> page)) {
+            return ResponseEntity.ok(SliceDTO.of(rows.map(shape::of)));
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (count == CountMode.APPROXIMATE) {
+            ok.header(APPROXIMATE_TOTAL_HEADER, "true");
+        }
+        return ok.body(page.map(shape::of));
     }
 
     /* ---------- WRITE ENDPOINTS ---------- */
@@ -96,7 +213,8 @@ public class TransactionController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Transaction created successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
-        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Likely duplicate, when duplicates are rejected", content = @Content)
     })
     public ResponseEntity<TransactionDTO> create(
             @Parameter(description = "Transaction data", required = true)
@@ -106,6 +224,21 @@ public class TransactionController {
         return ResponseEntity.created(location).body(saved);
     }
 
+    @PostMapping("/import")
+    @Operation(summary = "Import transactions",
+               description = "Create up to 1000 transactions in one request, all or none. Rows without a categoryId are categorised by rules.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Transactions created"),
+        @ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Likely duplicate, when duplicates are rejected", content = @Content)
+    })
+    public ResponseEntity<List<TransactionDTO>> importTransactions(
+            @Parameter(description = "Transactions to create", required = true)
+            @RequestBody @NotEmpty @Size(max = MAX_IMPORT) List<@Valid TransactionDTO> dtos) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(txService.importTransactions(dtos));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update transaction", description = "Update an existing transaction")
     @ApiResponses(value = {
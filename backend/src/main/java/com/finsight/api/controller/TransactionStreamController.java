@@ -0,0 +1,23 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.service.TransactionStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/transactions/stream")
+@RequiredArgsConstructor
+public class TransactionStreamController {
+
+    private final TransactionStreamService streamService;
+
+    /** Server-Sent Events: `transaction`, `totals` and `resync` events for the authenticated user */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return streamService.subscribe();
+    }
+}
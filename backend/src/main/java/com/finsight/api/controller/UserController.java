@@ -1,18 +1,26 @@
 package com.finsight.api.controller;
 
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.dto.PeriodTotalsDTO;
+import com.finsight.api.dto.TotalsDTO;
 import com.finsight.api.dto.UserDTO;
+import com.finsight.api.service.BalanceService;
 import com.finsight.api.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.YearMonth;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
 
-    private final UserService userService;
+    private final UserService    userService;
+    private final BalanceService balanceService;
 
     /** Fetch the authenticated user’s profile */
     @GetMapping("/me")
@@ -28,10 +36,23 @@ public class UserController {
         return ResponseEntity.ok(updated);
     }
 
-    /** Delete the authenticated user’s account */
+    /** Delete the authenticated user’s account; runs as a background job */
     @DeleteMapping("/me")
-    public ResponseEntity<Void> deleteMe() {
-        userService.deleteCurrentUser();
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<JobDTO> deleteMe() {
+        JobDTO job = userService.requestCurrentUserDeletion();
+        URI location = URI.create("/api/jobs/" + job.getId());
+        return ResponseEntity.accepted().location(location).body(job);   // 202 + Location of the job
+    }
+
+    /** The authenticated user’s balance and all-time totals */
+    @GetMapping("/me/balance")
+    public ResponseEntity<TotalsDTO> getBalance() {
+        return ResponseEntity.ok(balanceService.getCurrentUserTotals());
+    }
+
+    /** The authenticated user’s totals for one month (yyyy-MM), default the current one */
+    @GetMapping("/me/totals/monthly")
+    public ResponseEntity<PeriodTotalsDTO> getMonthlyTotals(@RequestParam(required = false) YearMonth month) {
+        return ResponseEntity.ok(balanceService.getCurrentUserMonthlyTotals(month));
     }
 }
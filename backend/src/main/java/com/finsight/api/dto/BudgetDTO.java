@@ -0,0 +1,45 @@
+package com.finsight.api.dto;
+
+import com.finsight.api.model.BudgetPeriod;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+
+    private Long id;
+
+    /** Fixed once created */
+    @NotNull(message = "Category is required")
+    private Long categoryId;
+
+    /** Fixed once created */
+    @NotNull(message = "Period is required")
+    private BudgetPeriod period;
+
+    /** Limit per period */
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    /** Percentage of the limit that raises a warning; 80 if null */
+    @Min(value = 1, message = "Warning percentage must be between 1 and 100")
+    @Max(value = 100, message = "Warning percentage must be between 1 and 100")
+    private Integer warnPercent;
+
+    /** Response only: first day of the current period */
+    private LocalDate periodStart;
+
+    /** Response only: expenses in the category so far this period */
+    private BigDecimal spent;
+}
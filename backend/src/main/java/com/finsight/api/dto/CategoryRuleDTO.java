@@ -0,0 +1,40 @@
+package com.finsight.api.dto;
+
+import com.finsight.api.model.TransactionType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryRuleDTO {
+
+    private Long id;
+
+    /** Matched anywhere in the description, ignoring case */
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 100, message = "Pattern must be at most 100 characters")
+    private String pattern;
+
+    @NotNull(message = "Category is required")
+    private Long categoryId;
+
+    /** Only transactions of this type; any type if null */
+    private TransactionType type;
+
+    @PositiveOrZero(message = "Minimum amount must not be negative")
+    private BigDecimal minAmount;
+
+    @PositiveOrZero(message = "Maximum amount must not be negative")
+    private BigDecimal maxAmount;
+
+    /** Higher wins when several rules match */
+    private int priority;
+}
@@ -0,0 +1,27 @@
+package com.finsight.api.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Spending in one category with its latest transactions. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySpendDTO {
+
+    private Long categoryId;
+
+    private String categoryName;
+
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    private Long spent;
+
+    /** Null if they could not be loaded in time */
+    private List<TransactionDTO> transactions;
+}
@@ -0,0 +1,11 @@
+package com.finsight.api.dto;
+
+/** How a listing endpoint computes its total, selected with {@code ?count=}. */
+public enum CountMode {
+    /** Page with an exact total from {@code COUNT(*)} (default). */
+    EXACT,
+    /** Slice without any total; one query per page. */
+    NONE,
+    /** Page whose total comes from a cached per-user counter. */
+    APPROXIMATE
+}
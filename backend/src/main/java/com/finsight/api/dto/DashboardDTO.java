@@ -0,0 +1,36 @@
+package com.finsight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the home screen shows, in one response. Sections that failed or
+ * missed the deadline are {@code null} and named in {@link #unavailable}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+
+    private UserDTO user;
+
+    private TotalsDTO totals;
+
+    private PeriodTotalsDTO monthToDate;
+
+    private List<TransactionDTO> recentTransactions;
+
+    private List<TransactionDTO> recentIncome;
+
+    private List<TransactionDTO> recentExpenses;
+
+    /** This month's largest expense categories */
+    private List<CategorySpendDTO> topCategories;
+
+    private List<CategoryDTO> categories;
+
+    private List<String> unavailable;
+}
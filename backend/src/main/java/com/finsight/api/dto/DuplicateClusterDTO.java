@@ -0,0 +1,16 @@
+package com.finsight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Transactions that look like repeats of one another, oldest first. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateClusterDTO {
+
+    private List<TransactionDTO> transactions;
+}
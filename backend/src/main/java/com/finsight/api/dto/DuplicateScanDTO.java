@@ -0,0 +1,22 @@
+package com.finsight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** Likely duplicates in a user's whole history, most recent cluster first. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateScanDTO {
+
+    /** Transactions examined */
+    private long scanned;
+
+    /** More clusters were found than returned */
+    private boolean truncated;
+
+    private List<DuplicateClusterDTO> clusters;
+}
@@ -0,0 +1,40 @@
+package com.finsight.api.dto;
+
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobDTO {
+
+    private Long id;
+
+    private JobType type;
+
+    private JobStatus status;
+
+    /** 0–100 */
+    private int progress;
+
+    private String progressMessage;
+
+    private int attempts;
+
+    private int maxAttempts;
+
+    private String lastError;
+
+    private String result;
+
+    private Instant createdAt;
+
+    private Instant updatedAt;
+
+    private Instant finishedAt;
+}
@@ -0,0 +1,57 @@
+package com.finsight.api.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.finsight.api.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Jackson boundary for cents-valued DTO fields: a {@code long} of minor units
+ * is written as a plain decimal number ({@code 1234} → {@code 12.34}) and
+ * read back exactly, so clients see the same shape as {@link TransactionDTO#getAmount()}.
+ *
+ * <pre>
+ * &#64;JsonSerialize(using = MoneyJson.Serializer.class)
+ * &#64;JsonDeserialize(using = MoneyJson.Deserializer.class)
+ * private Long balance;
+ * </pre>
+ */
+public final class MoneyJson {
+
+    private MoneyJson() {
+    }
+
+    public static class Serializer extends StdSerializer<Long> {
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long cents, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(Money.toAmount(cents));
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<Long> {
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctx) throws IOException {
+            try {
+                return Money.toCents(p.getDecimalValue());
+            } catch (ArithmeticException ex) {
+                return (Long) ctx.handleWeirdNumberValue(Long.class, p.getNumberValue(),
+                        "amount must have at most two decimal places");
+            }
+        }
+    }
+}
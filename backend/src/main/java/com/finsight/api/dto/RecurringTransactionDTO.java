@@ -0,0 +1,49 @@
+package com.finsight.api.dto;
+
+import com.finsight.api.model.RecurrenceFrequency;
+import com.finsight.api.model.TransactionType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionDTO {
+
+    private Long id;
+
+    @NotBlank(message = "Description is required")
+    private String description;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Transaction type is required")
+    private TransactionType type;
+
+    /** Chosen by the categorisation rules if null */
+    private Long categoryId;
+
+    private String notes;
+
+    @NotNull(message = "Frequency is required")
+    private RecurrenceFrequency frequency;
+
+    /** Date of the first occurrence; past dates are caught up on the next run */
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    /** Last day an occurrence may fall on; open-ended if null */
+    private LocalDate endDate;
+
+    /** Response only: date of the next occurrence, null once the schedule has ended */
+    private LocalDate nextRun;
+}
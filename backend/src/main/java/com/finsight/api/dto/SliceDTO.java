@@ -0,0 +1,33 @@
+package com.finsight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Stable JSON shape for a {@link Slice}: the page content plus enough
+ * metadata for infinite scroll, without a total count.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceDTO<T> {
+
+    private List<T> content;
+
+    private int number;
+
+    private int size;
+
+    private int numberOfElements;
+
+    private boolean hasNext;
+
+    public static <T> SliceDTO<T> of(Slice<T> slice) {
+        return new SliceDTO<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+                slice.getNumberOfElements(), slice.hasNext());
+    }
+}
@@ -0,0 +1,114 @@
+package com.finsight.api.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.finsight.api.model.TransactionField;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link TransactionDTO} written with only the fields a listing asked for
+ * with {@code ?fields=}; the others are left out, not written as {@code null}.
+ * Fields appear with the same names, values and order as in the full DTO.
+ * <p>
+ * The writer for each field set ({@link Shape}) is built once and cached, so
+ * serialising a page is a loop over pre-resolved field writers rather than a
+ * per-request property filter.
+ */
+@JsonSerialize(using = SparseTransactionDTO.Serializer.class)
+public record SparseTransactionDTO(TransactionDTO row, Shape shape) {
+
+    /** At most one per subset of {@link TransactionField}, so the cache stays small */
+    private static final Map<Set<TransactionField>, Shape> SHAPES = new ConcurrentHashMap<>();
+
+    public static Shape shape(Set<TransactionField> fields) {
+        return SHAPES.computeIfAbsent(EnumSet.copyOf(fields), Shape::new);
+    }
+
+    public static final class Shape {
+
+        private final Set<TransactionField> fields;
+        private final FieldWriter[] writers;
+
+        private Shape(Set<TransactionField> fields) {
+            this.fields = Collections.unmodifiableSet(EnumSet.copyOf(fields));
+            this.writers = this.fields.stream().map(SparseTransactionDTO::writer).toArray(FieldWriter[]::new);
+        }
+
+        public Set<TransactionField> fields() {
+            return fields;
+        }
+
+        public SparseTransactionDTO of(TransactionDTO row) {
+            return new SparseTransactionDTO(row, this);
+        }
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(TransactionDTO row, JsonGenerator gen, SerializerProvider provider) throws IOException;
+    }
+
+    private static FieldWriter writer(TransactionField field) {
+        SerializedString name = new SerializedString(field.getJsonName());
+        return switch (field) {
+            case ID -> (row, gen, provider) -> number(gen, name, row.getId());
+            case DESCRIPTION -> (row, gen, provider) -> string(gen, name, row.getDescription());
+            case AMOUNT -> (row, gen, provider) -> {
+                gen.writeFieldName(name);
+                if (row.getAmount() == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(row.getAmount());
+                }
+            };
+            case DATE -> (row, gen, provider) -> {
+                gen.writeFieldName(name);
+                provider.defaultSerializeValue(row.getDate(), gen);
+            };
+            case TYPE -> (row, gen, provider) -> string(gen, name, row.getType() == null ? null : row.getType().name());
+            case CATEGORY_ID -> (row, gen, provider) -> number(gen, name, row.getCategoryId());
+            case CATEGORY_NAME -> (row, gen, provider) -> string(gen, name, row.getCategoryName());
+            case NOTES -> (row, gen, provider) -> string(gen, name, row.getNotes());
+        };
+    }
+
+    private static void number(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void string(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    public static class Serializer extends StdSerializer<SparseTransactionDTO> {
+
+        public Serializer() {
+            super(SparseTransactionDTO.class);
+        }
+
+        @Override
+        public void serialize(SparseTransactionDTO value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartObject(value);
+            for (FieldWriter writer : value.shape().writers) {
+                writer.write(value.row(), gen, provider);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.finsight.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Transactions fetched by id, in the order requested. An id that does not
+ * exist and one that belongs to another user are both just listed in
+ * {@code notFound}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchDTO {
+
+    private List<TransactionDTO> transactions;
+
+    private List<Long> notFound;
+}
@@ -0,0 +1,41 @@
+package com.finsight.api.dto;
+
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One change to a transaction as pushed to stream subscribers. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionChangeDTO {
+
+    private TransactionChangedEvent.ChangeType changeType;
+
+    private Long transactionId;
+
+    /** State after the change; null for deletes. {@code categoryName} is not filled in. */
+    private TransactionDTO transaction;
+
+    public static TransactionChangeDTO of(TransactionChangedEvent event) {
+        return new TransactionChangeDTO(event.changeType(), event.transactionId(), toDto(event.after()));
+    }
+
+    private static TransactionDTO toDto(TransactionSnapshot s) {
+        if (s == null) {
+            return null;
+        }
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(s.id());
+        dto.setDescription(s.description());
+        dto.setAmount(Money.toAmount(s.amountCents()));
+        dto.setDate(s.date());
+        dto.setType(s.type());
+        dto.setCategoryId(s.categoryId());
+        dto.setNotes(s.notes());
+        return dto;
+    }
+}
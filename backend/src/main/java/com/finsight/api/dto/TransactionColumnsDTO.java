@@ -0,0 +1,124 @@
+package com.finsight.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A page of transactions laid out by column, served to clients that accept
+ * {@value #JSON} or {@value #CBOR}. Row {@code i} is the {@code i}-th entry
+ * of every column list. Types and categories are dictionary-encoded: the
+ * {@code type} and {@code category} columns hold indexes into {@code types}
+ * and {@code categories}, so each category name is sent once per page.
+ * Amounts are cents and dates are seconds since {@code 1970-01-01T00:00} on
+ * the same local clock as {@link TransactionDTO#getDate()}. A listing narrowed
+ * with {@code ?fields=} leaves out the other columns.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionColumnsDTO {
+
+    public static final String JSON = "application/vnd.finsight.columnar+json";
+    public static final String CBOR = "application/vnd.finsight.columnar+cbor";
+
+    private List<Long> id;
+
+    private List<String> description;
+
+    private List<Long> amountCents;
+
+    private List<Long> date;
+
+    /** Index into {@link #types} */
+    private List<Integer> type;
+
+    private List<TransactionType> types;
+
+    /** Index into {@link #categories}; {@code null} for an uncategorised row */
+    private List<Integer> category;
+
+    private List<Category> categories;
+
+    private List<String> notes;
+
+    private PageInfo page;
+
+    public record Category(Long id, String name) {
+    }
+
+    /** Page position; {@code totalElements} and {@code totalPages} are absent for a slice */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record PageInfo(int number, int size, Long totalElements, Integer totalPages, Boolean hasNext) {
+    }
+
+    /** Columns of a page of {@link TransactionDTO} or {@link SparseTransactionDTO} rows */
+    public static TransactionColumnsDTO of(Page<?> page) {
+        return of(page.getContent(), new PageInfo(page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.getTotalPages(), null));
+    }
+
+    public static TransactionColumnsDTO of(SliceDTO<?> slice) {
+        return of(slice.getContent(), new PageInfo(slice.getNumber(), slice.getSize(),
+                null, null, slice.isHasNext()));
+    }
+
+    private static TransactionColumnsDTO of(List<?> content, PageInfo page) {
+        int n = content.size();
+        Set<TransactionField> fields = content.isEmpty() || !(content.get(0) instanceof SparseTransactionDTO sparse)
+                ? TransactionField.ALL : sparse.shape().fields();
+        boolean categories = fields.contains(TransactionField.CATEGORY_ID) || fields.contains(TransactionField.CATEGORY_NAME);
+        TransactionColumnsDTO out = new TransactionColumnsDTO(new ArrayList<>(n),
+                column(fields, TransactionField.DESCRIPTION, n), column(fields, TransactionField.AMOUNT, n),
+                column(fields, TransactionField.DATE, n), column(fields, TransactionField.TYPE, n),
+                column(fields, TransactionField.TYPE, 2), categories ? new ArrayList<>(n) : null,
+                categories ? new ArrayList<>() : null, column(fields, TransactionField.NOTES, n), page);
+        Map<TransactionType, Integer> typeIndex = new HashMap<>();
+        Map<Category, Integer> categoryIndex = new HashMap<>();
+        for (Object element : content) {
+            TransactionDTO row = element instanceof SparseTransactionDTO sparse ? sparse.row() : (TransactionDTO) element;
+            out.id.add(row.getId());
+            add(out.description, row.getDescription());
+            add(out.amountCents, row.getAmount() == null ? null : Money.toCents(row.getAmount()));
+            add(out.date, row.getDate() == null ? null : row.getDate().toEpochSecond(ZoneOffset.UTC));
+            if (out.type != null) {
+                out.type.add(row.getType() == null ? null : typeIndex.computeIfAbsent(row.getType(), t -> {
+                    out.types.add(t);
+                    return out.types.size() - 1;
+                }));
+            }
+            if (categories) {
+                Category key = new Category(row.getCategoryId(), row.getCategoryName());
+                out.category.add(key.id() == null && key.name() == null ? null : categoryIndex.computeIfAbsent(key, c -> {
+                    out.categories.add(c);
+                    return out.categories.size() - 1;
+                }));
+            }
+            add(out.notes, row.getNotes());
+        }
+        return out;
+    }
+
+    private static <T> List<T> column(Set<TransactionField> fields, TransactionField field, int capacity) {
+        return fields.contains(field) ? new ArrayList<>(capacity) : null;
+    }
+
+    private static <T> void add(List<T> column, T value) {
+        if (column != null) {
+            column.add(value);
+        }
+    }
+}
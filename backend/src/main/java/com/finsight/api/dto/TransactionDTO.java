@@ -35,4 +35,7 @@ public class TransactionDTO {
     private String categoryName;
     
     private String notes;
+
+    /** Response only: an existing transaction this one looks like a duplicate of */
+    private Long duplicateOf;
 } 
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.finsight.api.event;
+
+import com.finsight.api.model.BudgetPeriod;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@code BudgetLedger} just before a transaction write commits,
+ * when it takes a budget's spend for one period up to or past a threshold.
+ * Dropping back below and crossing again publishes it again.
+ *
+ * @param thresholdPercent the budget's warning percentage, or 100 for the limit itself
+ */
+public record BudgetThresholdEvent(
+        Long budgetId,
+        Long userId,
+        Long categoryId,
+        BudgetPeriod period,
+        LocalDate periodStart,
+        int thresholdPercent,
+        long limitCents,
+        long spentCents
+) {
+}
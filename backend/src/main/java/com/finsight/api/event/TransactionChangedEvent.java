@@ -0,0 +1,37 @@
+package com.finsight.api.event;
+
+/**
+ * Published by {@code TransactionServiceImpl} inside the write transaction for
+ * every create, update and delete. Synchronous listeners run in that same
+ * transaction, so what they write commits or rolls back with the change.
+ * Use {@code @TransactionalEventListener} for anything that should happen only after commit.
+ *
+ * @param before state before the write; null for {@link ChangeType#CREATED}
+ * @param after  state after the write; null for {@link ChangeType#DELETED}
+ */
+public record TransactionChangedEvent(
+        ChangeType changeType,
+        Long transactionId,
+        Long userId,
+        TransactionSnapshot before,
+        TransactionSnapshot after
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TransactionChangedEvent created(TransactionSnapshot after) {
+        return new TransactionChangedEvent(ChangeType.CREATED, after.id(), after.userId(), null, after);
+    }
+
+    public static TransactionChangedEvent updated(TransactionSnapshot before, TransactionSnapshot after) {
+        return new TransactionChangedEvent(ChangeType.UPDATED, after.id(), after.userId(), before, after);
+    }
+
+    public static TransactionChangedEvent deleted(TransactionSnapshot before) {
+        return new TransactionChangedEvent(ChangeType.DELETED, before.id(), before.userId(), before, null);
+    }
+}
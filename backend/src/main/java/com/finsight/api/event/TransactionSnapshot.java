@@ -0,0 +1,39 @@
+package com.finsight.api.event;
+
+import com.finsight.api.model.Money;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionType;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a transaction's columns at one point in a write, with the
+ * amount in cents. Taken eagerly so it is safe to read after the entity is
+ * modified, deleted or detached.
+ */
+public record TransactionSnapshot(
+        Long id,
+        Long userId,
+        String description,
+        long amountCents,
+        LocalDateTime date,
+        TransactionType type,
+        Long categoryId,
+        String notes
+) {
+
+    public static TransactionSnapshot of(Transaction tx) {
+        return new TransactionSnapshot(
+                tx.getId(),
+                tx.getUser() != null ? tx.getUser().getId() : null,
+                tx.getDescription(),
+                // NUMERIC(12,2) rounds half-up on write; mirror it so the event matches the stored row
+                Money.toCents(tx.getAmount().setScale(Money.SCALE, RoundingMode.HALF_UP)),
+                tx.getDate(),
+                tx.getType(),
+                tx.getCategory() != null ? tx.getCategory().getId() : null,
+                tx.getNotes()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.finsight.api.exception;
+
+/** A caller waited longer than {@code app.coalescing.timeout} for an identical in-flight read. */
+public class CoalescedCallTimeoutException extends RuntimeException {
+
+    public CoalescedCallTimeoutException(String message) {
+        super(message);
+    }
+}
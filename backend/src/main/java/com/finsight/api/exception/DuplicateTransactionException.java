@@ -0,0 +1,16 @@
+package com.finsight.api.exception;
+
+import lombok.Getter;
+
+/** A new transaction looks like one the user already has, and duplicates are being rejected. */
+@Getter
+public class DuplicateTransactionException extends RuntimeException {
+
+    /** The existing transaction, or {@code null} when the duplicate is another row of the same request */
+    private final Long duplicateOf;
+
+    public DuplicateTransactionException(String message, Long duplicateOf) {
+        super(message);
+        this.duplicateOf = duplicateOf;
+    }
+}
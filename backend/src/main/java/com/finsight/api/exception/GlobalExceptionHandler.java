@@ -27,6 +27,23 @@ public class GlobalExceptionHandler {
         return buildProblem(HttpStatus.NOT_FOUND, ex.getMessage());
     }
 
+    @ExceptionHandler(StreamLimitExceededException.class)
+    public ProblemDetail handleStreamLimit(StreamLimitExceededException ex) {
+        return buildProblem(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+    }
+
+    @ExceptionHandler(CoalescedCallTimeoutException.class)
+    public ProblemDetail handleCoalescedCallTimeout(CoalescedCallTimeoutException ex) {
+        return buildProblem(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(DuplicateTransactionException.class)
+    public ProblemDetail handleDuplicateTransaction(DuplicateTransactionException ex) {
+        ProblemDetail detail = buildProblem(HttpStatus.CONFLICT, ex.getMessage());
+        detail.setProperty("duplicateOf", ex.getDuplicateOf());
+        return detail;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ProblemDetail handleIllegalArgument(IllegalArgumentException ex) {
         return buildProblem(HttpStatus.BAD_REQUEST, ex.getMessage());
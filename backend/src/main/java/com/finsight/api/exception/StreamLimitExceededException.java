@@ -0,0 +1,9 @@
+package com.finsight.api.exception;
+
+/** A new event stream would exceed the per-user or per-instance connection limit. */
+public class StreamLimitExceededException extends RuntimeException {
+
+    public StreamLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A spending limit for one user's expenses in one category per
+ * {@link BudgetPeriod}. What has been spent is kept in {@link BudgetSpend}.
+ */
+@Entity
+@Table(name = "budgets")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BudgetPeriod period;
+
+    /** Limit per period */
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    /** Percentage of {@link #amount} at which a warning is raised; reaching 100 raises another */
+    @Column(name = "warn_percent", nullable = false)
+    private int warnPercent;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,24 @@
+package com.finsight.api.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The span a {@link Budget}'s limit applies to. Periods are calendar based:
+ * weeks start on Monday, as Postgres' {@code date_trunc('week', ...)} does.
+ */
+public enum BudgetPeriod {
+    WEEKLY,
+    MONTHLY,
+    YEARLY;
+
+    /** First day of the period containing {@code day} */
+    public LocalDate start(LocalDate day) {
+        return switch (this) {
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> day.withDayOfMonth(1);
+            case YEARLY -> day.withDayOfYear(1);
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** Expenses counted against one budget in one period, in cents. Written only by {@code BudgetLedger}. */
+@Entity
+@Table(name = "budget_spend")
+@IdClass(BudgetSpend.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BudgetSpend {
+
+    @Id
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    /** First day of the period */
+    @Id
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "spent_cents", nullable = false)
+    private long spentCents;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long budgetId;
+        private LocalDate periodStart;
+    }
+}
@@ -0,0 +1,48 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Assigns {@link #categoryId} to transactions whose description contains
+ * {@link #pattern}, ignoring case. Type and amount bounds are optional
+ * filters. Rules without a user apply to everyone.
+ */
+@Entity
+@Table(name = "category_rules")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CategoryRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Null for global rules */
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String pattern;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionType type;
+
+    @Column(name = "min_amount", precision = 12, scale = 2)
+    private BigDecimal minAmount;
+
+    @Column(name = "max_amount", precision = 12, scale = 2)
+    private BigDecimal maxAmount;
+
+    /** Higher wins when several rules match */
+    @Column(nullable = false)
+    private int priority;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
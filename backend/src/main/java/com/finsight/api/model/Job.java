@@ -0,0 +1,70 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "jobs")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class Job {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobStatus status;
+
+    /** Auth0 `sub` of the requesting user; null for system jobs. Not a FK so the row outlives the user. */
+    @Column(name = "owner_sub", length = 60)
+    private String ownerSub;
+
+    /** Handler-specific input, opaque to the engine */
+    @Column(length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private int maxAttempts;
+
+    /** Earliest time the job may be claimed; pushed forward by retry backoff */
+    @Column(name = "run_at", nullable = false)
+    private Instant runAt;
+
+    /** Worker currently holding the lease, and until when */
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    /** 0–100, reported by the handler */
+    @Column(nullable = false)
+    private int progress;
+
+    @Column(name = "progress_message", length = 4000)
+    private String progressMessage;
+
+    @Column(name = "last_error", length = 4000)
+    private String lastError;
+
+    @Column(length = 4000)
+    private String result;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.finsight.api.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.finsight.api.model;
+
+/** Kinds of background work; each has exactly one {@code JobHandler}. */
+public enum JobType {
+    ACCOUNT_DELETION,
+    BALANCE_RECONCILIATION,
+    CATEGORY_BACKFILL,
+    FINGERPRINT_BACKFILL
+}
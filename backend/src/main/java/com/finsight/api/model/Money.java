@@ -0,0 +1,60 @@
+package com.finsight.api.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Internal representation of an amount as a primitive {@code long} of minor
+ * units (cents). Summary, aggregation and caching paths work on these values
+ * so that summing a user's history does not allocate a {@link BigDecimal}
+ * per row. Conversion to and from {@code NUMERIC(12,2)} happens only at the
+ * JPA ({@link MoneyConverter}) and JSON boundaries and is always exact.
+ */
+public final class Money {
+
+    /** Number of fractional digits stored in the database. */
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount to cents.
+     *
+     * @throws ArithmeticException if the amount has sub-cent digits or does not fit in a long
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    /** Converts cents back to a decimal amount with scale 2. */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /** Overflow-checked addition. */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    /** Overflow-checked subtraction. */
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /** Overflow-checked negation. */
+    public static long negate(long cents) {
+        return Math.negateExact(cents);
+    }
+
+    /** Overflow-checked sum of a cents array. */
+    public static long sum(long[] cents) {
+        long total = 0L;
+        for (long c : cents) {
+            total = Math.addExact(total, c);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps a {@code long} cents attribute onto a {@code NUMERIC(12,2)} column.
+ * Apply explicitly with {@code @Convert(converter = MoneyConverter.class)};
+ * it is not auto-applied because most {@code Long} attributes are ids.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long cents) {
+        return cents == null ? null : Money.toAmount(cents);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.toCents(amount);
+    }
+}
@@ -0,0 +1,39 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OutboxEvent {
+
+    /** Monotonic per insert; consumers use it for ordering and de-duplication */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 40)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 40)
+    private String eventType;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** JSON body, serialized at write time */
+    @Column(nullable = false, length = 10000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /** Set by the relay once the sink has accepted the event */
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
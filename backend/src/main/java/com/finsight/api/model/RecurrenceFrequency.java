@@ -0,0 +1,27 @@
+package com.finsight.api.model;
+
+import java.time.LocalDate;
+
+/** How often a {@link RecurringTransaction} repeats. */
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    QUARTERLY,
+    YEARLY;
+
+    /**
+     * Date of occurrence {@code n}, counting the start as 0. Always measured
+     * from the start, so a schedule starting on the 31st lands on the last day
+     * of shorter months and returns to the 31st afterwards.
+     */
+    public LocalDate occurrence(LocalDate start, int n) {
+        return switch (this) {
+            case DAILY -> start.plusDays(n);
+            case WEEKLY -> start.plusWeeks(n);
+            case MONTHLY -> start.plusMonths(n);
+            case QUARTERLY -> start.plusMonths(3L * n);
+            case YEARLY -> start.plusYears(n);
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Template for a transaction that repeats, such as rent or a salary.
+ * Occurrences are inserted by {@code RecurringTransactionScheduler} once
+ * their date arrives; {@link #nextIndex} and {@link #nextRun} are only
+ * advanced by it.
+ */
+@Entity
+@Table(name = "recurring_transactions")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RecurringTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /** Last day an occurrence may fall on; open-ended if null */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /** Occurrences materialised so far */
+    @Column(name = "next_index", nullable = false)
+    private int nextIndex;
+
+    /** Date of occurrence {@link #nextIndex}; null once the schedule has ended */
+    @Column(name = "next_run")
+    private LocalDate nextRun;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -10,11 +10,12 @@ import java.time.LocalDateTime;
 @Table(name = "transactions")
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class Transaction {
 
+    /** Pooled ids, so imports go out as JDBC batches; see {@code V11__pooled_id_sequences.sql} */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,4 +40,25 @@ public class Transaction {
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private AppUser user;
+
+    /** See {@link TransactionFingerprint}; derived from the fields above on every insert and update */
+    private Long fingerprint;
+
+    public Transaction(Long id, String description, BigDecimal amount, LocalDateTime date, TransactionType type,
+                       Category category, String notes, AppUser user) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.date = date;
+        this.type = type;
+        this.category = category;
+        this.notes = notes;
+        this.user = user;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateFingerprint() {
+        fingerprint = TransactionFingerprint.of(this);
+    }
 }
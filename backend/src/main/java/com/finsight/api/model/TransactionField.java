@@ -0,0 +1,61 @@
+package com.finsight.api.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A field a transaction listing can be narrowed to with {@code ?fields=}.
+ * Names are the {@code TransactionDTO} property names and declaration order
+ * is the order they are written in. {@link #ID} is always included.
+ */
+public enum TransactionField {
+    ID("id"),
+    DESCRIPTION("description"),
+    AMOUNT("amount"),
+    DATE("date"),
+    TYPE("type"),
+    CATEGORY_ID("categoryId"),
+    CATEGORY_NAME("categoryName"),
+    NOTES("notes");
+
+    public static final Set<TransactionField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TransactionField.class));
+
+    private final String jsonName;
+
+    TransactionField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code "date,amount,categoryName"}.
+     *
+     * @throws IllegalArgumentException for a name that is not a field
+     */
+    public static Set<TransactionField> parse(String csv) {
+        EnumSet<TransactionField> fields = EnumSet.of(ID);
+        for (String token : csv.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            fields.add(byJsonName(name));
+        }
+        return fields;
+    }
+
+    private static TransactionField byJsonName(String name) {
+        for (TransactionField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "'; expected any of "
+                + ALL.stream().map(TransactionField::getJsonName).collect(Collectors.joining(", ")));
+    }
+}
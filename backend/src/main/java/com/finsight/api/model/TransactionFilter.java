@@ -0,0 +1,28 @@
+package com.finsight.api.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional restrictions on a listing of the current user's transactions;
+ * {@code null} components do not restrict. The date range is inclusive.
+ */
+public record TransactionFilter(TransactionType type, LocalDateTime start, LocalDateTime end, Long categoryId) {
+
+    public static final TransactionFilter NONE = new TransactionFilter(null, null, null, null);
+
+    public static TransactionFilter ofType(TransactionType type) {
+        return new TransactionFilter(type, null, null, null);
+    }
+
+    public static TransactionFilter between(LocalDateTime start, LocalDateTime end) {
+        return new TransactionFilter(null, start, end, null);
+    }
+
+    public static TransactionFilter inCategory(Long categoryId) {
+        return new TransactionFilter(null, null, null, categoryId);
+    }
+
+    public boolean isEmpty() {
+        return type == null && start == null && end == null && categoryId == null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.finsight.api.model;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 64-bit content hash used to spot likely duplicate transactions without
+ * comparing rows pairwise. Two transactions of one user share a fingerprint
+ * when they have the same day, amount, type and <em>normalised</em>
+ * description (case, digits, punctuation, spacing and payment-rail words such
+ * as {@code CARD} or {@code POS} ignored), so
+ * {@code "CARD 4411 TESCO STORES 3021"} and {@code "Tesco  stores"} match.
+ * <p>
+ * Fingerprints are stored in {@code transactions.fingerprint}: changing the
+ * hash or the normalisation means clearing that column in a migration so the
+ * backfill job recomputes it.
+ */
+public final class TransactionFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME  = 0x100000001b3L;
+
+    /**
+     * Words banks and card schemes add around the merchant name: payment-rail
+     * prefixes and web-domain parts, so {@code "NETFLIX.COM"} is {@code "netflix"}
+     */
+    private static final Set<String> NOISE = Set.of(
+            "card", "pos", "visa", "debit", "contactless", "purchase", "www", "com");
+
+    private TransactionFingerprint() {
+    }
+
+    /** The fingerprint of an entity, or {@code null} while a field it depends on is unset */
+    public static Long of(Transaction tx) {
+        if (tx.getUser() == null || tx.getUser().getId() == null || tx.getDate() == null
+                || tx.getAmount() == null || tx.getType() == null || tx.getDescription() == null) {
+            return null;
+        }
+        return of(tx.getUser().getId(), tx.getDate().toLocalDate(),
+                Money.toCents(tx.getAmount().setScale(Money.SCALE, RoundingMode.HALF_UP)),
+                tx.getType(), tx.getDescription());
+    }
+
+    public static long of(long userId, LocalDate day, long amountCents, TransactionType type, String description) {
+        return withDay(userId, day, contentHash(description, amountCents, type));
+    }
+
+    /** The fingerprint a transaction with this content hash would have on {@code day} */
+    public static long withDay(long userId, LocalDate day, long contentHash) {
+        long h = feed(contentHash, userId);
+        h = feed(h, day.toEpochDay());
+        return finish(h);
+    }
+
+    /**
+     * Hash of everything but the user and the day. Rows of one user sharing it
+     * are the candidates for a duplicate cluster whatever their dates.
+     */
+    public static long contentHash(String description, long amountCents, TransactionType type) {
+        long h = FNV_OFFSET;
+        String text = normalize(description);
+        for (int i = 0; i < text.length(); i++) {
+            h = (h ^ text.charAt(i)) * FNV_PRIME;
+        }
+        h = feed(h, amountCents);
+        String name = type.name();
+        for (int i = 0; i < name.length(); i++) {
+            h = (h ^ name.charAt(i)) * FNV_PRIME;
+        }
+        return finish(h);
+    }
+
+    /**
+     * Lower-case letter runs separated by single spaces. Digits and punctuation
+     * split words and are dropped, as are {@link #NOISE} words.
+     */
+    public static String normalize(String description) {
+        StringBuilder out = new StringBuilder(description.length());
+        int i = 0;
+        while (i < description.length()) {
+            if (!Character.isLetter(description.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < description.length() && Character.isLetter(description.charAt(i))) {
+                i++;
+            }
+            String word = description.substring(start, i).toLowerCase(Locale.ROOT);
+            if (!NOISE.contains(word)) {
+                if (!out.isEmpty()) {
+                    out.append(' ');
+                }
+                out.append(word);
+            }
+        }
+        return out.toString();
+    }
+
+    private static long feed(long h, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            h = (h ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /** MurmurHash3 finaliser, so nearby inputs do not give nearby fingerprints */
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb3fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,32 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** All-time totals for one user, in cents. Maintained by {@code BalanceLedger}; never written through JPA on the hot path. */
+@Entity
+@Table(name = "user_balances")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UserBalance {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "income_cents", nullable = false)
+    private long incomeCents;
+
+    @Column(name = "expense_cents", nullable = false)
+    private long expenseCents;
+
+    @Column(name = "transfer_cents", nullable = false)
+    private long transferCents;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
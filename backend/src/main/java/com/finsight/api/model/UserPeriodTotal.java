@@ -0,0 +1,48 @@
+package com.finsight.api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** One user's totals for one calendar month of transaction dates, in cents. */
+@Entity
+@Table(name = "user_period_totals")
+@IdClass(UserPeriodTotal.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class UserPeriodTotal {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /** First day of the month */
+    @Id
+    @Column(name = "period")
+    private LocalDate period;
+
+    @Column(name = "income_cents", nullable = false)
+    private long incomeCents;
+
+    @Column(name = "expense_cents", nullable = false)
+    private long expenseCents;
+
+    @Column(name = "transfer_cents", nullable = false)
+    private long transferCents;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate period;
+    }
+}
@@ -1,10 +1,23 @@
 package com.finsight.api.repository;
 
 import com.finsight.api.model.AppUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+    /** Runs on every request; answered from the query cache until a user row changes */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AppUser> findByAuth0Sub(String sub);
+
+    /** Keyset page of user ids; pass the last id seen, or 0 to start */
+    @Query("SELECT u.id FROM AppUser u WHERE u.id > :after ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable pageable);
 }
@@ -0,0 +1,168 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.BudgetPeriod;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The budget side of a transaction write: one statement that applies a
+ * commit's expense changes to whichever budgets they fall under. Also the
+ * set-based check and repair of {@code budget_spend} against the
+ * transactions table. Postgres only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BudgetBulkRepository {
+
+    /** What every budget of the users in the first parameter has actually spent, per period */
+    private static final String TRUE_SPEND = """
+            SELECT b.id AS budget_id,
+                   date_trunc(CASE b.period WHEN 'WEEKLY' THEN 'week' WHEN 'MONTHLY' THEN 'month' ELSE 'year' END,
+                              t.date)::date AS period_start,
+                   SUM(t.amount * 100)::bigint AS spent_cents
+            FROM budgets b
+            JOIN transactions t ON t.user_id = b.user_id AND t.category_id = b.category_id AND t.type = 'EXPENSE'
+            WHERE b.user_id = ANY(?::bigint[])
+            GROUP BY 1, 2""";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Row-locks the users' {@code user_balances} rows, creating any that are
+     * missing, in user order. Budgets are created and seeded under the same
+     * lock, so no delta commits between a budget's seed and its creation.
+     */
+    public void lockBalances(Long[] userIds) {
+        jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO user_balances AS b (user_id)
+                    SELECT DISTINCT u FROM unnest(?::bigint[]) AS u ORDER BY 1
+                    ON CONFLICT (user_id) DO UPDATE SET updated_at = b.updated_at""");
+            ps.setArray(1, con.createArrayOf("bigint", userIds));
+            return ps;
+        });
+    }
+
+    /** Users in the batch with a budget whose stored spend differs from their expenses in some period */
+    public List<Long> findDriftedSpend(Long[] userIds) {
+        List<Long> drifted = new ArrayList<>();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    WITH truth AS (%s),
+                    stored AS (
+                        SELECT s.budget_id, s.period_start, s.spent_cents
+                        FROM budget_spend s JOIN budgets b ON b.id = s.budget_id
+                        WHERE b.user_id = ANY(?::bigint[])
+                    )
+                    SELECT DISTINCT b.user_id
+                    FROM truth FULL JOIN stored USING (budget_id, period_start)
+                    JOIN budgets b ON b.id = budget_id
+                    WHERE COALESCE(truth.spent_cents, 0) <> COALESCE(stored.spent_cents, 0)""".formatted(TRUE_SPEND));
+            ps.setArray(1, con.createArrayOf("bigint", userIds));
+            ps.setArray(2, con.createArrayOf("bigint", userIds));
+            return ps;
+        }, rs -> {
+            drifted.add(rs.getLong(1));
+        });
+        return drifted;
+    }
+
+    /**
+     * Overwrites a user's stored spend with the sums over their expenses;
+     * periods with no expenses left go to zero. Run under the user's balance
+     * row lock, which every budget writer also takes. Returns the rows changed.
+     */
+    public int repairSpend(long userId) {
+        Integer changed = jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    WITH truth AS (%s),
+                    fixed AS (
+                        INSERT INTO budget_spend AS s (budget_id, period_start, spent_cents, updated_at)
+                        SELECT budget_id, period_start, spent_cents, now() FROM truth
+                        ON CONFLICT (budget_id, period_start) DO UPDATE SET
+                            spent_cents = EXCLUDED.spent_cents,
+                            updated_at  = EXCLUDED.updated_at
+                        WHERE s.spent_cents <> EXCLUDED.spent_cents
+                        RETURNING 1
+                    ), cleared AS (
+                        UPDATE budget_spend s SET spent_cents = 0, updated_at = now()
+                        FROM budgets b
+                        WHERE b.id = s.budget_id AND b.user_id = ? AND s.spent_cents <> 0
+                          AND NOT EXISTS (SELECT 1 FROM truth
+                                          WHERE truth.budget_id = s.budget_id AND truth.period_start = s.period_start)
+                        RETURNING 1
+                    )
+                    SELECT (SELECT count(*) FROM fixed) + (SELECT count(*) FROM cleared)""".formatted(TRUE_SPEND));
+            ps.setArray(1, con.createArrayOf("bigint", new Long[]{userId}));
+            ps.setLong(2, userId);
+            return ps;
+        }, rs -> rs.next() ? rs.getInt(1) : 0);
+        return changed == null ? 0 : changed;
+    }
+
+    /** A budget period whose spend changed, with its total before and after */
+    public record Applied(long budgetId, long userId, long categoryId, BudgetPeriod period, LocalDate periodStart,
+                          BigDecimal amount, int warnPercent, long spentBefore, long spentAfter) {
+    }
+
+    /**
+     * Adds {@code deltas[i]} cents of expenses on {@code days[i]} in
+     * {@code categoryIds[i]} of {@code userIds[i]} to every budget of that user
+     * and category, in the period containing the day. Changes to categories
+     * without a budget cost one index probe and return nothing. Rows are
+     * upserted in (budget, period) order, so concurrent writers cannot deadlock
+     * on them.
+     */
+    public List<Applied> applyDeltas(Long[] userIds, Long[] categoryIds, LocalDate[] days, Long[] deltas) {
+        Date[] dates = new Date[days.length];
+        for (int i = 0; i < days.length; i++) {
+            dates[i] = Date.valueOf(days[i]);
+        }
+        List<Applied> applied = new ArrayList<>();
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    WITH changed AS (
+                        SELECT b.id AS budget_id,
+                               date_trunc(CASE b.period WHEN 'WEEKLY' THEN 'week'
+                                                        WHEN 'MONTHLY' THEN 'month' ELSE 'year' END,
+                                          d.day::timestamp)::date AS period_start,
+                               SUM(d.delta) AS delta
+                        FROM unnest(?::bigint[], ?::bigint[], ?::date[], ?::bigint[])
+                                 AS d(user_id, category_id, day, delta)
+                        JOIN budgets b ON b.user_id = d.user_id AND b.category_id = d.category_id
+                        GROUP BY 1, 2
+                        HAVING SUM(d.delta) <> 0
+                    ), up AS (
+                        INSERT INTO budget_spend AS s (budget_id, period_start, spent_cents, updated_at)
+                        SELECT budget_id, period_start, delta, now() FROM changed ORDER BY budget_id, period_start
+                        ON CONFLICT (budget_id, period_start) DO UPDATE SET
+                            spent_cents = s.spent_cents + EXCLUDED.spent_cents,
+                            updated_at  = EXCLUDED.updated_at
+                        RETURNING budget_id, period_start, spent_cents
+                    )
+                    SELECT b.id, b.user_id, b.category_id, b.period, up.period_start, b.amount, b.warn_percent,
+                           up.spent_cents - changed.delta, up.spent_cents
+                    FROM up
+                    JOIN changed USING (budget_id, period_start)
+                    JOIN budgets b ON b.id = up.budget_id""");
+            ps.setArray(1, con.createArrayOf("bigint", userIds));
+            ps.setArray(2, con.createArrayOf("bigint", categoryIds));
+            ps.setArray(3, con.createArrayOf("date", dates));
+            ps.setArray(4, con.createArrayOf("bigint", deltas));
+            return ps;
+        }, rs -> {
+            applied.add(new Applied(rs.getLong(1), rs.getLong(2), rs.getLong(3), BudgetPeriod.valueOf(rs.getString(4)),
+                    rs.getObject(5, LocalDate.class), rs.getBigDecimal(6), rs.getInt(7), rs.getLong(8),
+                    rs.getLong(9)));
+        });
+        return applied;
+    }
+}
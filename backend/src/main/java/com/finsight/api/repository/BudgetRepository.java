@@ -0,0 +1,19 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.Budget;
+import com.finsight.api.model.BudgetPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    List<Budget> findByUserIdOrderByIdAsc(Long userId);
+
+    Optional<Budget> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    boolean existsByUserIdAndCategoryIdAndPeriod(Long userId, Long categoryId, BudgetPeriod period);
+}
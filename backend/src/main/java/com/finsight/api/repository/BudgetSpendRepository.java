@@ -0,0 +1,41 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.BudgetSpend;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface BudgetSpendRepository extends JpaRepository<BudgetSpend, BudgetSpend.Key> {
+
+    /** Rows for any of the budgets in any of the periods; callers pick each budget's own period */
+    List<BudgetSpend> findByBudgetIdInAndPeriodStartIn(Collection<Long> budgetIds, Collection<LocalDate> periodStarts);
+
+    /**
+     * Fills a new budget's spend for every period from the user's existing
+     * expenses. The one scan a budget ever costs; from then on
+     * {@code BudgetLedger} keeps the rows current.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "budget_spend"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO budget_spend (budget_id, period_start, spent_cents, updated_at)
+            SELECT b.id,
+                   date_trunc(CASE b.period WHEN 'WEEKLY' THEN 'week' WHEN 'MONTHLY' THEN 'month' ELSE 'year' END,
+                              t.date)::date,
+                   SUM(t.amount * 100)::bigint,
+                   now()
+            FROM budgets b
+            JOIN transactions t ON t.user_id = b.user_id AND t.category_id = b.category_id AND t.type = 'EXPENSE'
+            WHERE b.id = :budgetId
+            GROUP BY 1, 2
+            """, nativeQuery = true)
+    int seed(@Param("budgetId") Long budgetId);
+}
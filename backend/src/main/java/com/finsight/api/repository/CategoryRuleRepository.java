@@ -0,0 +1,19 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+
+    /** Rules that apply to everyone */
+    List<CategoryRule> findByUserIdIsNull();
+
+    List<CategoryRule> findByUserIdOrderByIdAsc(Long userId);
+
+    Optional<CategoryRule> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+}
@@ -0,0 +1,99 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    /**
+     * Row-locks up to {@code limit} ready jobs of one type. Rows already locked by
+     * another worker's claim are skipped rather than waited on, so concurrent
+     * replicas never block each other or receive the same job.
+     */
+    @Query(value = """
+            SELECT * FROM jobs
+            WHERE status = 'QUEUED' AND type = :type AND run_at <= :now
+            ORDER BY run_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Job> lockReady(@Param("type") String type, @Param("now") Instant now, @Param("limit") int limit);
+
+    /** A job visible to its owner */
+    Optional<Job> findByIdAndOwnerSub(Long id, String ownerSub);
+
+    /** An owner's job of the given type that is still queued or running */
+    Optional<Job> findFirstByOwnerSubAndTypeAndStatusIn(String ownerSub, JobType type, Collection<JobStatus> statuses);
+
+    /**
+     * Queues a job unless the owner already has an active one of that type,
+     * in one statement against uq_jobs_active: a concurrent enqueue of the same
+     * key waits for this one and then inserts nothing. Returns 0 on conflict.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "jobs"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO jobs (type, status, owner_sub, payload, max_attempts, run_at, created_at, updated_at)
+            VALUES (:type, 'QUEUED', CAST(:ownerSub AS VARCHAR), CAST(:payload AS TEXT), :maxAttempts, :now, :now, :now)
+            ON CONFLICT (type, COALESCE(owner_sub, '')) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING
+            """, nativeQuery = true)
+    int insertIfNoneActive(@Param("type") String type, @Param("ownerSub") String ownerSub,
+                           @Param("payload") String payload, @Param("maxAttempts") int maxAttempts,
+                           @Param("now") Instant now);
+
+    /** Records handler progress; also renews the lease. Returns 0 if the lease was lost. */
+    @Modifying
+    @Query("""
+            UPDATE Job j SET j.progress = :progress, j.progressMessage = :message,
+                             j.lockedUntil = :until, j.updatedAt = :now
+            WHERE j.id = :id AND j.lockedBy = :worker
+              AND j.status = com.finsight.api.model.JobStatus.RUNNING
+            """)
+    int updateProgress(@Param("id") Long id, @Param("worker") String worker, @Param("progress") int progress,
+                       @Param("message") String message, @Param("until") Instant until, @Param("now") Instant now);
+
+    /** Renews the leases of jobs this worker is still running */
+    @Modifying
+    @Query("""
+            UPDATE Job j SET j.lockedUntil = :until
+            WHERE j.id IN :ids AND j.lockedBy = :worker
+              AND j.status = com.finsight.api.model.JobStatus.RUNNING
+            """)
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("worker") String worker, @Param("until") Instant until);
+
+    /** Fails expired jobs that have no attempts left */
+    @Modifying
+    @Query("""
+            UPDATE Job j SET j.status = com.finsight.api.model.JobStatus.FAILED,
+                             j.lockedBy = null, j.lockedUntil = null,
+                             j.lastError = 'Lease expired on final attempt',
+                             j.finishedAt = :now, j.updatedAt = :now
+            WHERE j.status = com.finsight.api.model.JobStatus.RUNNING
+              AND j.lockedUntil < :now AND j.attempts >= j.maxAttempts
+            """)
+    int failExpired(@Param("now") Instant now);
+
+    /** Puts expired jobs back on the queue; the lost attempt still counts */
+    @Modifying
+    @Query("""
+            UPDATE Job j SET j.status = com.finsight.api.model.JobStatus.QUEUED,
+                             j.lockedBy = null, j.lockedUntil = null,
+                             j.lastError = 'Lease expired', j.runAt = :now, j.updatedAt = :now
+            WHERE j.status = com.finsight.api.model.JobStatus.RUNNING
+              AND j.lockedUntil < :now
+            """)
+    int requeueExpired(@Param("now") Instant now);
+}
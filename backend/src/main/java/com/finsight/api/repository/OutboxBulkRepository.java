@@ -0,0 +1,40 @@
+package com.finsight.api.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Outbox rows for changes made in bulk: one statement per batch instead of
+ * one insert per event. Ids are assigned in array order. Postgres only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxBulkRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /** Appends one unpublished event per index, all of {@code aggregateType} and created at {@code now} */
+    public int insertAll(String aggregateType, Long[] aggregateIds, String[] eventTypes, Long[] userIds,
+                         String[] payloads, Instant now) {
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, user_id, payload, created_at)
+                    SELECT ?, e.aggregate_id, e.event_type, e.user_id, e.payload, ?
+                    FROM unnest(?::bigint[], ?::text[], ?::bigint[], ?::text[]) WITH ORDINALITY
+                             AS e(aggregate_id, event_type, user_id, payload, n)
+                    ORDER BY e.n""");
+            ps.setString(1, aggregateType);
+            ps.setTimestamp(2, Timestamp.from(now));
+            ps.setArray(3, con.createArrayOf("bigint", aggregateIds));
+            ps.setArray(4, con.createArrayOf("text", eventTypes));
+            ps.setArray(5, con.createArrayOf("bigint", userIds));
+            ps.setArray(6, con.createArrayOf("text", payloads));
+            return ps;
+        });
+    }
+}
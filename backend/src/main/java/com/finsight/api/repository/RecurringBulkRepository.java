@@ -0,0 +1,134 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.RecurrenceFrequency;
+import com.finsight.api.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based statements behind recurring transaction materialisation: one
+ * statement per batch for reading due templates, inserting their
+ * occurrences and advancing them. Postgres only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RecurringBulkRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /** A template with at least one occurrence due */
+    public record Due(long id, long userId, String description, BigDecimal amount, TransactionType type,
+                      long categoryId, String notes, RecurrenceFrequency frequency, LocalDate startDate,
+                      LocalDate endDate, int nextIndex) {
+    }
+
+    /** A transaction row to create for occurrence {@code day} of template {@code recurringId} */
+    public record Occurrence(long recurringId, long userId, String description, BigDecimal amount, LocalDate day,
+                             TransactionType type, long categoryId, String notes, long fingerprint) {
+    }
+
+    public record Inserted(long id, long recurringId, LocalDate day) {
+    }
+
+    /**
+     * Up to {@code limit} templates due by {@code today}, earliest first, locked
+     * until commit so a template deleted meanwhile is either skipped or waits.
+     * Walks idx_recurring_due; materialised templates move past {@code today}
+     * and drop out, so repeated calls need no cursor.
+     */
+    public List<Due> lockDue(LocalDate today, int limit) {
+        List<Due> due = new ArrayList<>(limit);
+        jdbc.query("""
+                SELECT id, user_id, description, amount, type, category_id, notes, frequency,
+                       start_date, end_date, next_index
+                FROM recurring_transactions
+                WHERE next_run <= ?
+                ORDER BY next_run, id
+                LIMIT ?
+                FOR UPDATE""", rs -> {
+            due.add(new Due(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getBigDecimal(4),
+                    TransactionType.valueOf(rs.getString(5)), rs.getLong(6), rs.getString(7),
+                    RecurrenceFrequency.valueOf(rs.getString(8)), rs.getObject(9, LocalDate.class),
+                    rs.getObject(10, LocalDate.class), rs.getInt(11)));
+        }, Date.valueOf(today), limit);
+        return due;
+    }
+
+    /**
+     * Inserts all occurrences in one statement. Occurrences that already exist
+     * (a retried batch) are skipped; only the rows actually created are returned.
+     */
+    public List<Inserted> insertOccurrences(List<Occurrence> occurrences) {
+        int n = occurrences.size();
+        Long[] userIds = new Long[n], categoryIds = new Long[n], fingerprints = new Long[n], recurringIds = new Long[n];
+        String[] descriptions = new String[n], types = new String[n], notes = new String[n];
+        BigDecimal[] amounts = new BigDecimal[n];
+        Timestamp[] dates = new Timestamp[n];
+        Date[] days = new Date[n];
+        for (int i = 0; i < n; i++) {
+            Occurrence o = occurrences.get(i);
+            userIds[i] = o.userId();
+            descriptions[i] = o.description();
+            amounts[i] = o.amount();
+            dates[i] = Timestamp.valueOf(o.day().atStartOfDay());
+            types[i] = o.type().name();
+            categoryIds[i] = o.categoryId();
+            notes[i] = o.notes();
+            fingerprints[i] = o.fingerprint();
+            recurringIds[i] = o.recurringId();
+            days[i] = Date.valueOf(o.day());
+        }
+
+        List<Inserted> inserted = new ArrayList<>(n);
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO transactions (user_id, description, amount, date, type, category_id, notes,
+                                              fingerprint, recurring_id, recurring_occurrence)
+                    SELECT * FROM unnest(?::bigint[], ?::text[], ?::numeric[], ?::timestamp[], ?::text[],
+                                         ?::bigint[], ?::text[], ?::bigint[], ?::bigint[], ?::date[])
+                    ON CONFLICT (recurring_id, recurring_occurrence) WHERE recurring_id IS NOT NULL DO NOTHING
+                    RETURNING id, recurring_id, recurring_occurrence""");
+            ps.setArray(1, con.createArrayOf("bigint", userIds));
+            ps.setArray(2, con.createArrayOf("text", descriptions));
+            ps.setArray(3, con.createArrayOf("numeric", amounts));
+            ps.setArray(4, con.createArrayOf("timestamp", dates));
+            ps.setArray(5, con.createArrayOf("text", types));
+            ps.setArray(6, con.createArrayOf("bigint", categoryIds));
+            ps.setArray(7, con.createArrayOf("text", notes));
+            ps.setArray(8, con.createArrayOf("bigint", fingerprints));
+            ps.setArray(9, con.createArrayOf("bigint", recurringIds));
+            ps.setArray(10, con.createArrayOf("date", days));
+            return ps;
+        }, rs -> {
+            inserted.add(new Inserted(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDate.class)));
+        });
+        return inserted;
+    }
+
+    /** Moves each template to {@code nextIndex[i]} / {@code nextRun[i]} (null: ended), never backwards */
+    public int advance(Long[] ids, Integer[] nextIndex, LocalDate[] nextRun) {
+        Date[] runs = new Date[nextRun.length];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = nextRun[i] == null ? null : Date.valueOf(nextRun[i]);
+        }
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE recurring_transactions r SET next_index = u.next_index, next_run = u.next_run
+                    FROM unnest(?::bigint[], ?::int[], ?::date[]) AS u(id, next_index, next_run)
+                    WHERE r.id = u.id AND r.next_index < u.next_index""");
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("int", nextIndex));
+            ps.setArray(3, con.createArrayOf("date", runs));
+            return ps;
+        });
+    }
+}
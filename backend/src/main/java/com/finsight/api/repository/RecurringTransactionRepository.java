@@ -0,0 +1,22 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.RecurringTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
+
+    List<RecurringTransaction> findByUserIdOrderByIdAsc(Long userId);
+
+    Optional<RecurringTransaction> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserId(Long userId);
+
+    /** Transaction-scoped Postgres advisory lock; released on commit or rollback */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+}
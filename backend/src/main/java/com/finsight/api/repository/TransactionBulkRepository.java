@@ -0,0 +1,167 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Set-based reads and writes over {@code transactions} for background passes
+ * that touch millions of rows: plain JDBC, no entities, one statement per
+ * chunk. Postgres only.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionBulkRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /** The columns a categorisation pass needs */
+    public record Row(long id, long userId, String description, long amountCents, TransactionType type) {
+    }
+
+    /** A row a categorisation pass moved, now in {@code categoryId} */
+    public record Moved(long id, long userId, LocalDate day, long amountCents, TransactionType type,
+                        long categoryId) {
+    }
+
+    /** The columns a {@link com.finsight.api.model.TransactionFingerprint} is computed from */
+    public record ContentRow(long id, long userId, LocalDate day, long amountCents, TransactionType type,
+                             String description) {
+    }
+
+    private static final String CONTENT_COLUMNS =
+            "id, user_id, date::date, (amount * 100)::bigint AS amount_cents, type, description";
+
+    public long countInCategory(long categoryId, Long userId) {
+        Long count = userId == null
+                ? jdbc.queryForObject("SELECT count(*) FROM transactions WHERE category_id = ?", Long.class, categoryId)
+                : jdbc.queryForObject("SELECT count(*) FROM transactions WHERE category_id = ? AND user_id = ?",
+                        Long.class, categoryId, userId);
+        return count == null ? 0 : count;
+    }
+
+    /** Next rows of a category in id order, optionally for one user; walks idx_transactions_category_id */
+    public List<Row> findInCategoryAfter(long categoryId, Long userId, long afterId, int limit) {
+        String sql = "SELECT id, user_id, description, (amount * 100)::bigint AS amount_cents, type"
+                + " FROM transactions WHERE category_id = ? AND id > ?"
+                + (userId != null ? " AND user_id = ?" : "")
+                + " ORDER BY id LIMIT ?";
+        Object[] args = userId != null
+                ? new Object[]{categoryId, afterId, userId, limit}
+                : new Object[]{categoryId, afterId, limit};
+        List<Row> rows = new ArrayList<>(limit);
+        jdbc.query(sql, rs -> {
+            rows.add(new Row(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getLong(4),
+                    TransactionType.valueOf(rs.getString(5))));
+        }, args);
+        return rows;
+    }
+
+    /**
+     * Moves {@code ids[i]} to {@code categoryIds[i]} in one statement, skipping
+     * rows no longer in {@code fromCategoryId} (edited since they were read).
+     * Returns the rows actually moved, for the budget spend they carry.
+     */
+    public List<Moved> reassignCategories(Long[] ids, Long[] categoryIds, long fromCategoryId) {
+        List<Moved> moved = new ArrayList<>(ids.length);
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE transactions t SET category_id = u.category_id
+                    FROM unnest(?::bigint[], ?::bigint[]) AS u(id, category_id)
+                    WHERE t.id = u.id AND t.category_id = ?
+                    RETURNING t.id, t.user_id, t.date::date, (t.amount * 100)::bigint, t.type, t.category_id""");
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", categoryIds));
+            ps.setLong(3, fromCategoryId);
+            return ps;
+        }, rs -> {
+            moved.add(new Moved(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDate.class), rs.getLong(4),
+                    TransactionType.valueOf(rs.getString(5)), rs.getLong(6)));
+        });
+        return moved;
+    }
+
+    /** Streams every transaction of a user, in no particular order */
+    public void forEachOfUser(long userId, Consumer<ContentRow> action) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT " + CONTENT_COLUMNS + " FROM transactions WHERE user_id = ?");
+            ps.setFetchSize(5_000);
+            ps.setLong(1, userId);
+            return ps;
+        }, rs -> {
+            action.accept(contentRow(rs));
+        });
+    }
+
+    public boolean existsWithoutFingerprint() {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM transactions WHERE fingerprint IS NULL)", Boolean.class));
+    }
+
+    public long countWithoutFingerprint() {
+        Long count = jdbc.queryForObject("SELECT count(*) FROM transactions WHERE fingerprint IS NULL", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /** Next rows with no fingerprint in id order; walks idx_transactions_fingerprint_missing */
+    public List<ContentRow> findWithoutFingerprintAfter(long afterId, int limit) {
+        List<ContentRow> rows = new ArrayList<>(limit);
+        jdbc.query("SELECT " + CONTENT_COLUMNS + " FROM transactions WHERE fingerprint IS NULL AND id > ? ORDER BY id LIMIT ?",
+                rs -> {
+                    rows.add(contentRow(rs));
+                }, afterId, limit);
+        return rows;
+    }
+
+    /** Sets {@code fingerprints[i]} on {@code ids[i]} in one statement, skipping rows saved with one meanwhile */
+    public int setFingerprints(Long[] ids, Long[] fingerprints) {
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE transactions t SET fingerprint = u.fingerprint
+                    FROM unnest(?::bigint[], ?::bigint[]) AS u(id, fingerprint)
+                    WHERE t.id = u.id AND t.fingerprint IS NULL""");
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("bigint", fingerprints));
+            return ps;
+        });
+    }
+
+    /**
+     * Deletes up to {@code limit} of a user's transactions and returns what
+     * they held, so the caller can publish their deletion in the same transaction.
+     */
+    public List<TransactionSnapshot> deleteBatchOfUser(long userId, int limit) {
+        List<TransactionSnapshot> deleted = new ArrayList<>(limit);
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    DELETE FROM transactions
+                    WHERE id IN (SELECT id FROM transactions WHERE user_id = ? LIMIT ?)
+                    RETURNING id, user_id, description, (amount * 100)::bigint, date, type, category_id, notes""");
+            ps.setLong(1, userId);
+            ps.setInt(2, limit);
+            return ps;
+        }, rs -> {
+            deleted.add(new TransactionSnapshot(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getLong(4),
+                    rs.getObject(5, LocalDateTime.class), TransactionType.valueOf(rs.getString(6)),
+                    rs.getObject(7, Long.class), rs.getString(8)));
+        });
+        return deleted;
+    }
+
+    private static ContentRow contentRow(ResultSet rs) throws SQLException {
+        return new ContentRow(rs.getLong(1), rs.getLong(2), rs.getObject(3, LocalDate.class), rs.getLong(4),
+                TransactionType.valueOf(rs.getString(5)), rs.getString(6));
+    }
+}
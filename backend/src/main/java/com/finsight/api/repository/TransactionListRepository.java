@@ -0,0 +1,162 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
+import com.finsight.api.model.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transaction listings that read only the requested columns: the select list
+ * follows the {@link TransactionField}s asked for and {@code categories} is
+ * joined only when the category name is read or sorted on. Plain JDBC, so no
+ * entity is hydrated and the wide {@code description} and {@code notes}
+ * columns stay on disk when a list screen does not show them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TransactionListRepository {
+
+    private final JdbcTemplate jdbc;
+
+    /** One listed transaction; components for fields that were not read are {@code null} */
+    public record Row(Long id, String description, BigDecimal amount, LocalDateTime date, TransactionType type,
+                      Long categoryId, String categoryName, String notes) {
+    }
+
+    /** Sortable properties, named as on the entity, and the column each sorts by */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "t.id",
+            "description", "t.description",
+            "amount", "t.amount",
+            "date", "t.date",
+            "type", "t.type",
+            "notes", "t.notes",
+            "categoryId", "t.category_id",
+            "category.id", "t.category_id",
+            "categoryName", "c.name",
+            "category.name", "c.name");
+
+    /**
+     * The rows of {@code pageable}'s page, reading {@code fields} only.
+     * {@code limit} is normally the page size; one more lets a slice tell
+     * whether a next page exists.
+     *
+     * @throws IllegalArgumentException for a sort property that is not a transaction field
+     */
+    public List<Row> find(long userId, TransactionFilter filter, Set<TransactionField> fields,
+                          Pageable pageable, int limit) {
+        String orderBy = orderBy(pageable.getSort());
+        boolean join = fields.contains(TransactionField.CATEGORY_NAME) || orderBy.contains("c.name");
+
+        StringBuilder sql = new StringBuilder("SELECT t.id");
+        for (TransactionField field : fields) {
+            if (field != TransactionField.ID) {
+                sql.append(", ").append(column(field));
+            }
+        }
+        sql.append(" FROM transactions t");
+        if (join) {
+            sql.append(" JOIN categories c ON c.id = t.category_id");
+        }
+        List<Object> args = new ArrayList<>();
+        where(sql, args, userId, filter);
+        sql.append(orderBy);
+        if (pageable.isPaged()) {
+            sql.append(" LIMIT ? OFFSET ?");
+            args.add(limit);
+            args.add(pageable.getOffset());
+        }
+
+        List<Row> rows = new ArrayList<>(pageable.isPaged() ? limit : 16);
+        jdbc.query(sql.toString(), rs -> {
+            rows.add(row(rs, fields));
+        }, args.toArray());
+        return rows;
+    }
+
+    public long count(long userId, TransactionFilter filter) {
+        StringBuilder sql = new StringBuilder("SELECT count(*) FROM transactions t");
+        List<Object> args = new ArrayList<>();
+        where(sql, args, userId, filter);
+        Long count = jdbc.queryForObject(sql.toString(), Long.class, args.toArray());
+        return count == null ? 0 : count;
+    }
+
+    private static void where(StringBuilder sql, List<Object> args, long userId, TransactionFilter filter) {
+        sql.append(" WHERE t.user_id = ?");
+        args.add(userId);
+        if (filter.type() != null) {
+            sql.append(" AND t.type = ?");
+            args.add(filter.type().name());
+        }
+        if (filter.start() != null) {
+            sql.append(" AND t.date >= ?");
+            args.add(filter.start());
+        }
+        if (filter.end() != null) {
+            sql.append(" AND t.date <= ?");
+            args.add(filter.end());
+        }
+        if (filter.categoryId() != null) {
+            sql.append(" AND t.category_id = ?");
+            args.add(filter.categoryId());
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(" ORDER BY ");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort transactions by '" + order.getProperty() + "'");
+            }
+            if (out.length() > " ORDER BY ".length()) {
+                out.append(", ");
+            }
+            out.append(column).append(order.isAscending() ? " ASC" : " DESC");
+        }
+        return out.toString();
+    }
+
+    private static String column(TransactionField field) {
+        return switch (field) {
+            case ID -> "t.id";
+            case DESCRIPTION -> "t.description";
+            case AMOUNT -> "t.amount";
+            case DATE -> "t.date";
+            case TYPE -> "t.type";
+            case CATEGORY_ID -> "t.category_id";
+            case CATEGORY_NAME -> "c.name AS category_name";
+            case NOTES -> "t.notes";
+        };
+    }
+
+    private static Row row(ResultSet rs, Set<TransactionField> fields) throws SQLException {
+        String type = fields.contains(TransactionField.TYPE) ? rs.getString("type") : null;
+        return new Row(
+                rs.getLong("id"),
+                fields.contains(TransactionField.DESCRIPTION) ? rs.getString("description") : null,
+                fields.contains(TransactionField.AMOUNT) ? rs.getBigDecimal("amount") : null,
+                fields.contains(TransactionField.DATE) ? rs.getObject("date", LocalDateTime.class) : null,
+                type != null ? TransactionType.valueOf(type) : null,
+                fields.contains(TransactionField.CATEGORY_ID) ? rs.getLong("category_id") : null,
+                fields.contains(TransactionField.CATEGORY_NAME) ? rs.getString("category_name") : null,
+                fields.contains(TransactionField.NOTES) ? rs.getString("notes") : null);
+    }
+}
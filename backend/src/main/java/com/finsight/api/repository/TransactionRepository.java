@@ -5,12 +5,16 @@ import com.finsight.api.model.TransactionType;
 import com.finsight.api.model.AppUser;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
@@ -34,10 +38,86 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     @EntityGraph(attributePaths = {"category", "user"})
     Page<Transaction> findByUserAndCategoryId(AppUser user, Long categoryId, Pageable pageable);
 
+    /* ---------- Slice variants: same fetch plans, no COUNT(*) ---------- */
+
+    /** All transactions for a user, without the total count */
+    @EntityGraph(attributePaths = {"category", "user"})
+    Slice<Transaction> findSliceByUser(AppUser user, Pageable pageable);
+
+    /** Transactions by user and type, without the total count */
+    @EntityGraph(attributePaths = {"category", "user"})
+    Slice<Transaction> findSliceByUserAndType(AppUser user, TransactionType type, Pageable pageable);
+
+    /** Transactions by user and date range, without the total count */
+    @EntityGraph(attributePaths = {"category", "user"})
+    Slice<Transaction> findSliceByUserAndDateBetween(AppUser user, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /** Transactions by user and category, without the total count */
+    @EntityGraph(attributePaths = {"category", "user"})
+    Slice<Transaction> findSliceByUserAndCategoryId(AppUser user, Long categoryId, Pageable pageable);
+
     /** Check if transaction belongs to user */
     @Query("SELECT COUNT(t) > 0 FROM Transaction t WHERE t.id = :txId AND t.user = :user")
     boolean existsByIdAndUser(@Param("txId") Long txId, @Param("user") AppUser user);
 
     /** Count transactions for user */
     long countByUser(AppUser user);
+
+    /** Sum and count per user and type; the source of truth for {@code user_balances} */
+    @Query("""
+            SELECT t.user.id AS userId, t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count
+            FROM Transaction t WHERE t.user.id IN :userIds
+            GROUP BY t.user.id, t.type""")
+    List<UserTypeTotal> sumByUserAndType(@Param("userIds") Collection<Long> userIds);
+
+    /** Sum and count per user, calendar month and type; the source of truth for {@code user_period_totals} */
+    @Query("""
+            SELECT t.user.id AS userId, YEAR(t.date) AS year, MONTH(t.date) AS month,
+                   t.type AS type, SUM(t.amount) AS total, COUNT(t) AS count
+            FROM Transaction t WHERE t.user.id IN :userIds
+            GROUP BY t.user.id, YEAR(t.date), MONTH(t.date), t.type""")
+    List<UserMonthTypeTotal> sumByUserMonthAndType(@Param("userIds") Collection<Long> userIds);
+
+    /** A user's spending per category in a date range, largest first */
+    @Query("""
+            SELECT c.id AS categoryId, c.name AS categoryName, SUM(t.amount) AS total
+            FROM Transaction t JOIN t.category c
+            WHERE t.user.id = :userId AND t.type = :type AND t.date >= :from AND t.date < :to
+            GROUP BY c.id, c.name
+            ORDER BY SUM(t.amount) DESC""")
+    List<CategoryTotal> sumByCategory(@Param("userId") Long userId, @Param("type") TransactionType type,
+                                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+
+    /** Some of a user's transactions by id, with their categories */
+    @EntityGraph(attributePaths = {"category"})
+    List<Transaction> findByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /** A user's transactions carrying any of these fingerprints; walks idx_transactions_user_fingerprint */
+    @Query("SELECT t.id AS id, t.fingerprint AS fingerprint FROM Transaction t WHERE t.user.id = :userId AND t.fingerprint IN :fingerprints")
+    List<FingerprintMatch> findFingerprintMatches(@Param("userId") Long userId,
+                                                  @Param("fingerprints") Collection<Long> fingerprints);
+
+    interface FingerprintMatch {
+        Long getId();
+        Long getFingerprint();
+    }
+
+    interface CategoryTotal {
+        Long getCategoryId();
+        String getCategoryName();
+        BigDecimal getTotal();
+    }
+
+    interface UserTypeTotal {
+        Long getUserId();
+        TransactionType getType();
+        BigDecimal getTotal();
+        Long getCount();
+    }
+
+    interface UserMonthTypeTotal extends UserTypeTotal {
+        Integer getYear();
+        Integer getMonth();
+    }
 }
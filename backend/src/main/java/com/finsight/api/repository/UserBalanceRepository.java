@@ -0,0 +1,53 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.UserBalance;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserBalanceRepository extends JpaRepository<UserBalance, Long> {
+
+    /**
+     * Adds a delta in one statement: no read-modify-write, so concurrent writers
+     * for the same user serialize on the row lock without losing updates.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_balances"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_balances AS b
+                   (user_id, income_cents, expense_cents, transfer_cents, transaction_count, updated_at)
+            VALUES (:userId, :income, :expense, :transfer, :count, now())
+            ON CONFLICT (user_id) DO UPDATE SET
+                income_cents      = b.income_cents      + EXCLUDED.income_cents,
+                expense_cents     = b.expense_cents     + EXCLUDED.expense_cents,
+                transfer_cents    = b.transfer_cents    + EXCLUDED.transfer_cents,
+                transaction_count = b.transaction_count + EXCLUDED.transaction_count,
+                updated_at        = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("income") long income, @Param("expense") long expense,
+                    @Param("transfer") long transfer, @Param("count") long count);
+
+    /** Creates an all-zero row if the user has none, so it can be locked */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_balances"))
+    @Modifying
+    @Query(value = "INSERT INTO user_balances (user_id) VALUES (:userId) ON CONFLICT (user_id) DO NOTHING",
+           nativeQuery = true)
+    void ensureRow(@Param("userId") Long userId);
+
+    /** The maintained transaction count; empty for a user who never had a transaction */
+    @Query("SELECT b.transactionCount FROM UserBalance b WHERE b.userId = :userId")
+    Optional<Long> findTransactionCount(@Param("userId") Long userId);
+
+    /** Locks the row; writers of this user wait until the caller commits */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM UserBalance b WHERE b.userId = :userId")
+    Optional<UserBalance> findForUpdate(@Param("userId") Long userId);
+}
@@ -0,0 +1,38 @@
+package com.finsight.api.repository;
+
+import com.finsight.api.model.UserPeriodTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserPeriodTotalRepository extends JpaRepository<UserPeriodTotal, UserPeriodTotal.Key> {
+
+    /** Same atomic upsert as {@link UserBalanceRepository#applyDelta}, keyed by month */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_period_totals"))
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_period_totals AS p
+                   (user_id, period, income_cents, expense_cents, transfer_cents, transaction_count, updated_at)
+            VALUES (:userId, :period, :income, :expense, :transfer, :count, now())
+            ON CONFLICT (user_id, period) DO UPDATE SET
+                income_cents      = p.income_cents      + EXCLUDED.income_cents,
+                expense_cents     = p.expense_cents     + EXCLUDED.expense_cents,
+                transfer_cents    = p.transfer_cents    + EXCLUDED.transfer_cents,
+                transaction_count = p.transaction_count + EXCLUDED.transaction_count,
+                updated_at        = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("period") LocalDate period, @Param("income") long income,
+                    @Param("expense") long expense, @Param("transfer") long transfer, @Param("count") long count);
+
+    List<UserPeriodTotal> findByUserIdIn(Collection<Long> userIds);
+
+    List<UserPeriodTotal> findByUserId(Long userId);
+}
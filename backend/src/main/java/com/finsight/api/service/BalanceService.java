@@ -0,0 +1,20 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.PeriodTotalsDTO;
+import com.finsight.api.dto.TotalsDTO;
+
+import java.time.YearMonth;
+
+public interface BalanceService {
+    /** All-time totals for a user. */
+    TotalsDTO getTotals(Long userId);
+
+    /** A user's totals for one month. */
+    PeriodTotalsDTO getMonthlyTotals(Long userId, YearMonth month);
+
+    /** All-time totals for the current user. */
+    TotalsDTO getCurrentUserTotals();
+
+    /** The current user's totals for one month; {@code null} means the current month. */
+    PeriodTotalsDTO getCurrentUserMonthlyTotals(YearMonth month);
+}
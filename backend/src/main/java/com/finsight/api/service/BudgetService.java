@@ -0,0 +1,20 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.BudgetDTO;
+
+import java.util.List;
+
+public interface BudgetService {
+    /** The current user's budgets with their spend in the current period, oldest first. */
+    List<BudgetDTO> getBudgets();
+
+    BudgetDTO getBudget(Long id);
+
+    /** Creates the budget and counts the user's existing expenses towards it. */
+    BudgetDTO createBudget(BudgetDTO dto);
+
+    /** Changes the limit and warning percentage; category and period are fixed. */
+    BudgetDTO updateBudget(Long id, BudgetDTO dto);
+
+    void deleteBudget(Long id);
+}
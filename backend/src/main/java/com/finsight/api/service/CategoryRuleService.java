@@ -0,0 +1,18 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.CategoryRuleDTO;
+import com.finsight.api.dto.JobDTO;
+
+import java.util.List;
+
+public interface CategoryRuleService {
+    /** The current user's own rules, oldest first. */
+    List<CategoryRuleDTO> getRules();
+
+    CategoryRuleDTO createRule(CategoryRuleDTO dto);
+
+    void deleteRule(Long id);
+
+    /** Queues re-categorising the current user's uncategorised transactions. */
+    JobDTO requestBackfill();
+}
@@ -0,0 +1,8 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.DashboardDTO;
+
+public interface DashboardService {
+    /** The current user's home screen, loaded within {@code app.dashboard.timeout}. */
+    DashboardDTO getDashboard();
+}
@@ -0,0 +1,8 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.DuplicateScanDTO;
+
+public interface DuplicateService {
+    /** Clusters of likely duplicates across the current user's transactions. */
+    DuplicateScanDTO findDuplicateClusters();
+}
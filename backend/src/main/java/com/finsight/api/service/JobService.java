@@ -0,0 +1,21 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.model.JobType;
+
+public interface JobService {
+    /**
+     * Queues a job to run as soon as a worker is free. At most one job per type
+     * and owner may be queued or running; a second one violates uq_jobs_active.
+     */
+    JobDTO enqueue(JobType type, String ownerSub, String payload);
+
+    /**
+     * Like {@link #enqueue}, but returns the owner's queued or running job of that type if there is one.
+     * Safe to call concurrently: exactly one caller queues, the others get its job.
+     */
+    JobDTO enqueueUnique(JobType type, String ownerSub, String payload);
+
+    /** Status of one of the current user's jobs. */
+    JobDTO getJob(Long id);
+}
@@ -0,0 +1,15 @@
+package com.finsight.api.service;
+
+import com.finsight.api.dto.RecurringTransactionDTO;
+
+import java.util.List;
+
+public interface RecurringTransactionService {
+    /** The current user's recurring transactions, oldest first. */
+    List<RecurringTransactionDTO> getRecurringTransactions();
+
+    RecurringTransactionDTO createRecurringTransaction(RecurringTransactionDTO dto);
+
+    /** Stops the schedule; transactions it already created are kept. */
+    void deleteRecurringTransaction(Long id);
+}
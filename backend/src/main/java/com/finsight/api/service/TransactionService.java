@@ -1,16 +1,30 @@
 package com.finsight.api.service;
 
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.TransactionBatchDTO;
 import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
 import com.finsight.api.model.TransactionType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 public interface TransactionService {
     Page<TransactionDTO> getAllTransactions(Pageable pageable);
     TransactionDTO getTransactionById(Long id);
+
+    /** The current user's transactions among {@code ids}, in request order; duplicates are returned once. */
+    TransactionBatchDTO getTransactionsByIds(List<Long> ids);
     TransactionDTO createTransaction(TransactionDTO dto);
+
+    /** Creates all rows in one transaction; rows without a category are categorised by rules. */
+    List<TransactionDTO> importTransactions(List<TransactionDTO> dtos);
+
     TransactionDTO updateTransaction(Long id, TransactionDTO dto);
     void deleteTransaction(Long id);
 
@@ -18,4 +32,22 @@ public interface TransactionService {
     Page<TransactionDTO> getTransactionsByDateRange(LocalDateTime start, LocalDateTime end,
                                                     Pageable pageable);
     Page<TransactionDTO> getTransactionsByCategory(Long categoryId, Pageable pageable);
+
+    /* No-count listings for infinite scroll: one query, no COUNT(*) */
+    Slice<TransactionDTO> getAllTransactionsSlice(Pageable pageable);
+    Slice<TransactionDTO> getTransactionsByTypeSlice(TransactionType type, Pageable pageable);
+    Slice<TransactionDTO> getTransactionsByDateRangeSlice(LocalDateTime start, LocalDateTime end,
+                                                          Pageable pageable);
+    Slice<TransactionDTO> getTransactionsByCategorySlice(Long categoryId, Pageable pageable);
+
+    /** All transactions with a total taken from a cached per-user counter instead of COUNT(*). */
+    Page<TransactionDTO> getAllTransactionsApproximate(Pageable pageable);
+
+    /**
+     * A listing that reads and fills in only {@code fields}; the other DTO
+     * properties are {@code null}. Returns a {@link Page} for {@code EXACT}
+     * and {@code APPROXIMATE} (unfiltered only) and a plain {@link Slice} for {@code NONE}.
+     */
+    Slice<TransactionDTO> findTransactions(TransactionFilter filter, Set<TransactionField> fields,
+                                           CountMode count, Pageable pageable);
 }
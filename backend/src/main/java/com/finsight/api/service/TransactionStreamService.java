@@ -0,0 +1,8 @@
+package com.finsight.api.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface TransactionStreamService {
+    /** Opens a Server-Sent Events stream of the current user's transaction changes and totals. */
+    SseEmitter subscribe();
+}
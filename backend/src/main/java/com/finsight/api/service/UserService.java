@@ -1,10 +1,14 @@
 package com.finsight.api.service;
 
+import com.finsight.api.dto.JobDTO;
 import com.finsight.api.dto.UserDTO;
 
 public interface UserService {
     UserDTO getCurrentUser();
     UserDTO updateCurrentUser(UserDTO dto);
     void deleteCurrentUser();
+
+    /** Queues deletion of the current user's account and data; poll the returned job for progress. */
+    JobDTO requestCurrentUserDeletion();
 }
 
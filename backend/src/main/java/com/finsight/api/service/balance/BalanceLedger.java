@@ -0,0 +1,169 @@
+package com.finsight.api.service.balance;
+
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.repository.UserPeriodTotalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code user_balances} and {@code user_period_totals} in step with
+ * transaction writes, inside the writing transaction.
+ * <p>
+ * Changes are summed per transaction and applied just before commit as
+ * one atomic upsert per touched row. The row lock is therefore held only
+ * for the commit itself, and edits that cancel out (description, notes,
+ * category) touch no counter row. Any other change upserts the user's
+ * balance row, if need be with a zero delta, and rows are always locked in
+ * the same order (user, then balance before months), so concurrent writers
+ * cannot deadlock.
+ */
+@Component
+@RequiredArgsConstructor
+public class BalanceLedger {
+
+    /**
+     * Where the flush runs among before-commit callbacks. Anything that relies
+     * on the user's balance row being locked orders itself after this.
+     */
+    public static final int FLUSH_ORDER = 0;
+
+    /** Sorts the all-time row (null period) ahead of the month rows */
+    static final Comparator<Key> LOCK_ORDER = Comparator.comparing(Key::userId)
+            .thenComparing(Key::period, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final UserBalanceRepository     balanceRepo;
+    private final UserPeriodTotalRepository periodRepo;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(TransactionChangedEvent event) {
+        Deltas deltas = pending();
+        if (event.before() != null) {
+            deltas.add(event.before(), -1);
+        }
+        if (event.after() != null) {
+            deltas.add(event.after(), 1);
+        }
+    }
+
+    /** Rows created in bulk, such as recurring occurrences, without an event each */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Collection<TransactionSnapshot> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        Deltas deltas = pending();
+        created.forEach(tx -> deltas.add(tx, 1));
+    }
+
+    /** The current transaction's deltas, registering the flush on first use */
+    private Deltas pending() {
+        Deltas deltas = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            deltas = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new Flush(deltas));
+        }
+        return deltas;
+    }
+
+    /**
+     * A user's balance row is upserted whenever any of their rows changes, even
+     * with a zero delta: a date-only edit that moves a transaction between
+     * months must still take the balance row lock before the month rows, as
+     * {@link BalanceReconciler} relies on.
+     */
+    void apply(Deltas deltas) {
+        Set<Long> changed = new HashSet<>();
+        deltas.rows.forEach((key, d) -> {
+            if (!d.isZero()) {
+                changed.add(key.userId());
+            }
+        });
+        deltas.rows.forEach((key, d) -> {
+            if (!changed.contains(key.userId())) {
+                return;
+            }
+            if (key.period() == null) {
+                balanceRepo.applyDelta(key.userId(), d.income, d.expense, d.transfer, d.count);
+            } else if (!d.isZero()) {
+                periodRepo.applyDelta(key.userId(), key.period(), d.income, d.expense, d.transfer, d.count);
+            }
+        });
+    }
+
+    /** First day of the transaction's month */
+    static LocalDate periodOf(TransactionSnapshot tx) {
+        return tx.date().toLocalDate().withDayOfMonth(1);
+    }
+
+    record Key(Long userId, LocalDate period) {
+    }
+
+    static final class Delta {
+        long income, expense, transfer, count;
+
+        boolean isZero() {
+            return income == 0 && expense == 0 && transfer == 0 && count == 0;
+        }
+    }
+
+    static final class Deltas {
+        final Map<Key, Delta> rows = new TreeMap<>(LOCK_ORDER);
+
+        void add(TransactionSnapshot tx, int sign) {
+            add(new Key(tx.userId(), null), tx, sign);
+            add(new Key(tx.userId(), periodOf(tx)), tx, sign);
+        }
+
+        private void add(Key key, TransactionSnapshot tx, int sign) {
+            Delta d = rows.computeIfAbsent(key, k -> new Delta());
+            long cents = sign < 0 ? Math.negateExact(tx.amountCents()) : tx.amountCents();
+            switch (tx.type()) {
+                case INCOME -> d.income = Math.addExact(d.income, cents);
+                case EXPENSE -> d.expense = Math.addExact(d.expense, cents);
+                case TRANSFER -> d.transfer = Math.addExact(d.transfer, cents);
+            }
+            d.count += sign;
+        }
+    }
+
+    private final class Flush implements TransactionSynchronization {
+
+        private final Deltas deltas;
+
+        Flush(Deltas deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public int getOrder() {
+            return FLUSH_ORDER;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(deltas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BalanceLedger.this);
+        }
+    }
+}
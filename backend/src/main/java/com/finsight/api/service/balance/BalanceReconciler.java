@@ -0,0 +1,222 @@
+package com.finsight.api.service.balance;
+
+import com.finsight.api.model.Money;
+import com.finsight.api.model.UserBalance;
+import com.finsight.api.model.UserPeriodTotal;
+import com.finsight.api.repository.BudgetBulkRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.repository.UserPeriodTotalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Compares the maintained totals and budget spend with sums over the
+ * {@code transactions} table and repairs any drift.
+ * <p>
+ * Detection runs over a batch of users without locks, so a write in flight
+ * can look like drift. {@link #reconcile} confirms under the user's balance
+ * row lock, which every writer for that user also takes before commit, even
+ * one that only moves a transaction between months and so leaves the balance
+ * itself unchanged (see {@link BalanceLedger#apply}): the
+ * sums it reads then include exactly the writes that already updated the
+ * counters, and later writers add their delta on top of the repaired row.
+ * Budget writers take the same lock, so {@code budget_spend} is repaired
+ * under it too.
+ */
+@Slf4j
+@Component
+public class BalanceReconciler {
+
+    private final TransactionRepository     txRepo;
+    private final UserBalanceRepository     balanceRepo;
+    private final UserPeriodTotalRepository periodRepo;
+    private final BudgetBulkRepository      budgetRepo;
+    private final Counter                   corrections;
+
+    public BalanceReconciler(TransactionRepository txRepo,
+                             UserBalanceRepository balanceRepo,
+                             UserPeriodTotalRepository periodRepo,
+                             BudgetBulkRepository budgetRepo,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.txRepo = txRepo;
+        this.balanceRepo = balanceRepo;
+        this.periodRepo = periodRepo;
+        this.budgetRepo = budgetRepo;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.corrections = registry == null ? null : Counter.builder("finsight.balances.corrections")
+                .description("Users whose maintained totals had drifted and were repaired")
+                .register(registry);
+    }
+
+    /** Users in the batch whose stored totals differ from their transactions */
+    @Transactional(readOnly = true)
+    public List<Long> findDrifted(List<Long> userIds) {
+        Map<Long, Totals> balances = balanceTruth(userIds);
+        Map<Long, Map<LocalDate, Totals>> periods = periodTruth(userIds);
+
+        Map<Long, Totals> storedBalances = new HashMap<>();
+        balanceRepo.findAllById(userIds).forEach(b -> storedBalances.put(b.getUserId(), Totals.of(b)));
+        Map<Long, Map<LocalDate, Totals>> storedPeriods = new HashMap<>();
+        for (UserPeriodTotal p : periodRepo.findByUserIdIn(userIds)) {
+            storedPeriods.computeIfAbsent(p.getUserId(), k -> new HashMap<>()).put(p.getPeriod(), Totals.of(p));
+        }
+
+        Set<Long> spendDrifted = new HashSet<>(budgetRepo.findDriftedSpend(userIds.toArray(Long[]::new)));
+
+        List<Long> drifted = new ArrayList<>();
+        for (Long userId : userIds) {
+            boolean balanceOk = storedBalances.getOrDefault(userId, Totals.ZERO)
+                    .equals(balances.getOrDefault(userId, Totals.ZERO));
+            if (!balanceOk || !samePeriods(storedPeriods.get(userId), periods.get(userId))
+                    || spendDrifted.contains(userId)) {
+                drifted.add(userId);
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * Recomputes one user's totals and budget spend under the balance row lock
+     * and overwrites whatever differs. Returns whether anything was corrected.
+     */
+    @Transactional
+    public boolean reconcile(Long userId) {
+        balanceRepo.ensureRow(userId);
+        UserBalance balance = balanceRepo.findForUpdate(userId).orElseThrow();
+        List<Long> ids = List.of(userId);
+        Totals truth = balanceTruth(ids).getOrDefault(userId, Totals.ZERO);
+        Map<LocalDate, Totals> truePeriods = periodTruth(ids).getOrDefault(userId, Map.of());
+        Instant now = Instant.now();
+
+        boolean corrected = false;
+        Totals stored = Totals.of(balance);
+        if (!stored.equals(truth)) {
+            log.warn("Balance of user {} drifted: stored {}, actual {}", userId, stored, truth);
+            truth.copyTo(balance);
+            balance.setUpdatedAt(now);
+            corrected = true;
+        }
+
+        Map<LocalDate, UserPeriodTotal> storedPeriods = new HashMap<>();
+        periodRepo.findByUserId(userId).forEach(p -> storedPeriods.put(p.getPeriod(), p));
+        for (Map.Entry<LocalDate, Totals> e : truePeriods.entrySet()) {
+            UserPeriodTotal row = storedPeriods.remove(e.getKey());
+            Totals before = row == null ? Totals.ZERO : Totals.of(row);
+            if (before.equals(e.getValue())) {
+                continue;
+            }
+            if (row == null) {
+                row = new UserPeriodTotal();
+                row.setUserId(userId);
+                row.setPeriod(e.getKey());
+            }
+            log.warn("Totals of user {} for {} drifted: stored {}, actual {}", userId, e.getKey(), before, e.getValue());
+            e.getValue().copyTo(row);
+            row.setUpdatedAt(now);
+            periodRepo.save(row);
+            corrected = true;
+        }
+        // Months with stored totals but no transactions left; all-zero rows are harmless
+        for (UserPeriodTotal row : storedPeriods.values()) {
+            if (!Totals.of(row).equals(Totals.ZERO)) {
+                log.warn("Totals of user {} for {} drifted: stored {}, actual none",
+                        userId, row.getPeriod(), Totals.of(row));
+                periodRepo.delete(row);
+                corrected = true;
+            }
+        }
+
+        int spendRows = budgetRepo.repairSpend(userId);
+        if (spendRows > 0) {
+            log.warn("Budget spend of user {} drifted in {} budget periods", userId, spendRows);
+            corrected = true;
+        }
+
+        if (corrected && corrections != null) {
+            corrections.increment();
+        }
+        return corrected;
+    }
+
+    private static boolean samePeriods(Map<LocalDate, Totals> stored, Map<LocalDate, Totals> truth) {
+        Map<LocalDate, Totals> s = stored == null ? Map.of() : stored;
+        Map<LocalDate, Totals> t = truth == null ? Map.of() : truth;
+        Set<LocalDate> months = new HashSet<>(s.keySet());
+        months.addAll(t.keySet());
+        for (LocalDate month : months) {
+            if (!s.getOrDefault(month, Totals.ZERO).equals(t.getOrDefault(month, Totals.ZERO))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Long, Totals> balanceTruth(Collection<Long> userIds) {
+        Map<Long, Totals> result = new HashMap<>();
+        for (TransactionRepository.UserTypeTotal row : txRepo.sumByUserAndType(userIds)) {
+            result.merge(row.getUserId(), Totals.of(row), Totals::plus);
+        }
+        return result;
+    }
+
+    private Map<Long, Map<LocalDate, Totals>> periodTruth(Collection<Long> userIds) {
+        Map<Long, Map<LocalDate, Totals>> result = new HashMap<>();
+        for (TransactionRepository.UserMonthTypeTotal row : txRepo.sumByUserMonthAndType(userIds)) {
+            LocalDate period = LocalDate.of(row.getYear(), row.getMonth(), 1);
+            result.computeIfAbsent(row.getUserId(), k -> new HashMap<>())
+                    .merge(period, Totals.of(row), Totals::plus);
+        }
+        return result;
+    }
+
+    /** Cents per type plus a row count */
+    record Totals(long income, long expense, long transfer, long count) {
+
+        static final Totals ZERO = new Totals(0, 0, 0, 0);
+
+        static Totals of(TransactionRepository.UserTypeTotal row) {
+            long cents = Money.toCents(row.getTotal());
+            return switch (row.getType()) {
+                case INCOME -> new Totals(cents, 0, 0, row.getCount());
+                case EXPENSE -> new Totals(0, cents, 0, row.getCount());
+                case TRANSFER -> new Totals(0, 0, cents, row.getCount());
+            };
+        }
+
+        static Totals of(UserBalance b) {
+            return new Totals(b.getIncomeCents(), b.getExpenseCents(), b.getTransferCents(), b.getTransactionCount());
+        }
+
+        static Totals of(UserPeriodTotal p) {
+            return new Totals(p.getIncomeCents(), p.getExpenseCents(), p.getTransferCents(), p.getTransactionCount());
+        }
+
+        Totals plus(Totals o) {
+            return new Totals(Money.add(income, o.income), Money.add(expense, o.expense),
+                    Money.add(transfer, o.transfer), count + o.count);
+        }
+
+        void copyTo(UserBalance b) {
+            b.setIncomeCents(income);
+            b.setExpenseCents(expense);
+            b.setTransferCents(transfer);
+            b.setTransactionCount(count);
+        }
+
+        void copyTo(UserPeriodTotal p) {
+            p.setIncomeCents(income);
+            p.setExpenseCents(expense);
+            p.setTransferCents(transfer);
+            p.setTransactionCount(count);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.finsight.api.service.budget;
+
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.BudgetBulkRepository;
+import com.finsight.api.repository.TransactionBulkRepository.Moved;
+import com.finsight.api.service.balance.BalanceLedger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keeps {@code budget_spend} in step with expense writes, inside the writing
+ * transaction, and publishes a {@link BudgetThresholdEvent} whenever a
+ * budget's spend reaches its warning percentage or its limit.
+ * <p>
+ * Like {@link BalanceLedger}, changes are summed per transaction and applied
+ * just before commit, here in a single statement that touches only the
+ * budgets the changed categories fall under. Income, transfers and edits that
+ * keep category, day and amount cost nothing. The flush runs after the
+ * balance ledger's and locks the balance row of every user it has a delta
+ * for, even when their totals are unchanged, as for a category-only edit.
+ * Budgets are created and seeded under that lock, so a write is counted
+ * either by the seed or here, never twice or not at all.
+ */
+@Component
+@RequiredArgsConstructor
+public class BudgetLedger {
+
+    private final BudgetBulkRepository      bulkRepo;
+    private final ApplicationEventPublisher events;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(TransactionChangedEvent event) {
+        if (!counts(event.before()) && !counts(event.after())) {
+            return;
+        }
+        Deltas deltas = pending();
+        if (counts(event.before())) {
+            deltas.add(event.before(), -1);
+        }
+        if (counts(event.after())) {
+            deltas.add(event.after(), 1);
+        }
+    }
+
+    /** Rows created in bulk, such as recurring occurrences, without an event each */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCreated(Collection<TransactionSnapshot> created) {
+        for (TransactionSnapshot tx : created) {
+            if (counts(tx)) {
+                pending().add(tx, 1);
+            }
+        }
+    }
+
+    /** Category moves made in bulk, such as the rule backfill, without an event per row */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onRecategorized(Collection<Moved> moved, long fromCategoryId) {
+        for (Moved row : moved) {
+            if (row.type() == TransactionType.EXPENSE && row.categoryId() != fromCategoryId) {
+                Deltas deltas = pending();
+                deltas.add(new Key(row.userId(), fromCategoryId, row.day()), Math.negateExact(row.amountCents()));
+                deltas.add(new Key(row.userId(), row.categoryId(), row.day()), row.amountCents());
+            }
+        }
+    }
+
+    /** Only categorised expenses count against a budget */
+    private static boolean counts(TransactionSnapshot tx) {
+        return tx != null && tx.type() == TransactionType.EXPENSE && tx.categoryId() != null;
+    }
+
+    /** The current transaction's deltas, registering the flush on first use */
+    private Deltas pending() {
+        Deltas deltas = (Deltas) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            deltas = new Deltas();
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new Flush(deltas));
+        }
+        return deltas;
+    }
+
+    void apply(Deltas deltas) {
+        deltas.cents.values().removeIf(cents -> cents == 0);
+        int n = deltas.cents.size();
+        if (n == 0) {
+            return;
+        }
+        TreeSet<Long> users = new TreeSet<>();
+        deltas.cents.keySet().forEach(key -> users.add(key.userId()));
+        bulkRepo.lockBalances(users.toArray(Long[]::new));
+
+        Long[] userIds = new Long[n], categoryIds = new Long[n], cents = new Long[n];
+        LocalDate[] days = new LocalDate[n];
+        int i = 0;
+        for (Map.Entry<Key, Long> e : deltas.cents.entrySet()) {
+            userIds[i] = e.getKey().userId();
+            categoryIds[i] = e.getKey().categoryId();
+            days[i] = e.getKey().day();
+            cents[i] = e.getValue();
+            i++;
+        }
+        for (BudgetBulkRepository.Applied row : bulkRepo.applyDeltas(userIds, categoryIds, days, cents)) {
+            long limit = Money.toCents(row.amount());
+            publishIfCrossed(row, limit, row.warnPercent());
+            if (row.warnPercent() != 100) {
+                publishIfCrossed(row, limit, 100);
+            }
+        }
+    }
+
+    private void publishIfCrossed(BudgetBulkRepository.Applied row, long limitCents, int percent) {
+        long threshold = thresholdCents(limitCents, percent);
+        if (row.spentBefore() < threshold && row.spentAfter() >= threshold) {
+            events.publishEvent(new BudgetThresholdEvent(row.budgetId(), row.userId(), row.categoryId(),
+                    row.period(), row.periodStart(), percent, limitCents, row.spentAfter()));
+        }
+    }
+
+    /** {@code percent} of the limit, rounded up to a whole cent */
+    static long thresholdCents(long limitCents, int percent) {
+        return Math.ceilDiv(Math.multiplyExact(limitCents, percent), 100);
+    }
+
+    record Key(Long userId, Long categoryId, LocalDate day) {
+    }
+
+    static final class Deltas {
+        final Map<Key, Long> cents = new LinkedHashMap<>();
+
+        void add(TransactionSnapshot tx, int sign) {
+            long amount = sign < 0 ? Math.negateExact(tx.amountCents()) : tx.amountCents();
+            add(new Key(tx.userId(), tx.categoryId(), tx.date().toLocalDate()), amount);
+        }
+
+        void add(Key key, long amount) {
+            cents.merge(key, amount, Math::addExact);
+        }
+    }
+
+    private final class Flush implements TransactionSynchronization {
+
+        private final Deltas deltas;
+
+        Flush(Deltas deltas) {
+            this.deltas = deltas;
+        }
+
+        @Override
+        public int getOrder() {
+            return BalanceLedger.FLUSH_ORDER + 1;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            apply(deltas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BudgetLedger.this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.finsight.api.service.coalesce;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Concurrent calls of the annotated read method with equal arguments share one
+ * execution; see {@link CoalescingAspect}. Every caller receives the same
+ * result instance, so the method must return values callers do not modify.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+
+    /**
+     * Whether the caller is part of the key. Leave {@code true} for anything
+     * read on behalf of the current user; {@code false} only for data that is
+     * the same for everyone, such as categories.
+     */
+    boolean perUser() default true;
+}
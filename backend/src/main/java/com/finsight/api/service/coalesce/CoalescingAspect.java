@@ -0,0 +1,90 @@
+package com.finsight.api.service.coalesce;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.exception.CoalescedCallTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-flight in front of {@link Coalesce} methods: concurrent calls with
+ * the same method, arguments and (unless {@code perUser = false}) caller run
+ * once, and the others wait at most {@code app.coalescing.timeout} for that
+ * run before failing with 503. This caps the load of a burst of identical
+ * reads (several tabs, dashboard refreshes, a cold {@code categories} cache
+ * after a deploy) at one query per key.
+ * <p>
+ * Ordered after method security, so every caller is authorised on its own,
+ * and before the cache and transaction interceptors, so the leader's run
+ * includes both. Calls made inside an existing transaction are never
+ * coalesced: they may need to see that transaction's uncommitted writes.
+ */
+@Aspect
+@Component
+@Order(CoalescingAspect.ORDER)
+public class CoalescingAspect {
+
+    /** After {@code @PreAuthorize} and {@code @PostAuthorize} (up to 500), before caching and transactions */
+    public static final int ORDER = 1_000;
+
+    private final AppProperties.Coalescing props;
+    private final SingleFlight flights = new SingleFlight();
+    private final Counter shared;
+    private final Counter timedOut;
+
+    public CoalescingAspect(AppProperties appProperties, ObjectProvider<MeterRegistry> registry) {
+        this.props = appProperties.getCoalescing();
+        MeterRegistry meters = registry.getIfAvailable();
+        this.shared = meters == null ? null : Counter.builder("finsight.coalesce.shared")
+                .description("Calls answered by an identical call already in flight")
+                .register(meters);
+        this.timedOut = meters == null ? null : Counter.builder("finsight.coalesce.timeouts")
+                .description("Calls that gave up waiting for an identical call in flight")
+                .register(meters);
+    }
+
+    /** Identifies calls that may share one execution */
+    record Key(String user, Method method, List<Object> args) {
+    }
+
+    @Around("@annotation(coalesce)")
+    public Object coalesce(ProceedingJoinPoint pjp, Coalesce coalesce) throws Throwable {
+        if (!props.isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+        String user = null;
+        if (coalesce.perUser()) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth == null || auth.getName() == null) {
+                return pjp.proceed();
+            }
+            user = auth.getName();
+        }
+        Key key = new Key(user, ((MethodSignature) pjp.getSignature()).getMethod(), Arrays.asList(pjp.getArgs()));
+        try {
+            return flights.execute(key, props.getTimeout(), pjp::proceed, role -> {
+                if (role == SingleFlight.Role.FOLLOWER && shared != null) {
+                    shared.increment();
+                }
+            });
+        } catch (CoalescedCallTimeoutException ex) {
+            if (timedOut != null) {
+                timedOut.increment();
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.finsight.api.service.coalesce;
+
+import com.finsight.api.exception.CoalescedCallTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * At most one execution per key at a time. The first caller for a key runs
+ * the call on its own thread; callers arriving while it runs wait for its
+ * outcome instead, for at most the given timeout. Nothing is kept once the
+ * call finishes, so this never serves a stale result: it is not a cache.
+ */
+public class SingleFlight {
+
+    /** A call that may throw anything the coalesced method could */
+    @FunctionalInterface
+    public interface Call {
+        Object run() throws Throwable;
+    }
+
+    /** Whether a caller ran the call or waited for someone else's */
+    public enum Role { LEADER, FOLLOWER }
+
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code call}, or waits for the run already in flight for {@code key}.
+     * A follower sees the leader's result or rethrows its exception.
+     *
+     * @throws CoalescedCallTimeoutException if a follower waited longer than {@code timeout}
+     */
+    public Object execute(Object key, Duration timeout, Call call, Consumer<Role> role)
+            throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running == null) {
+            role.accept(Role.LEADER);
+            try {
+                Object result = call.run();
+                mine.complete(result);
+                return result;
+            } catch (Throwable ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+        role.accept(Role.FOLLOWER);
+        try {
+            return running.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            throw new CoalescedCallTimeoutException("Timed out after " + timeout.toMillis()
+                    + " ms waiting for an identical request");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CoalescedCallTimeoutException("Interrupted while waiting for an identical request");
+        }
+    }
+
+    /** Keys with a call running; for tests and metrics */
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
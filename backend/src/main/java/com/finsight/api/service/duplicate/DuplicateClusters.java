@@ -0,0 +1,90 @@
+package com.finsight.api.service.duplicate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups one user's transactions into likely duplicate clusters without
+ * comparing rows pairwise. Rows are bucketed by
+ * {@link com.finsight.api.model.TransactionFingerprint#contentHash content hash}
+ * (one hash map probe each); only rows sharing a bucket are then ordered by
+ * day, and runs whose neighbours are at most {@code windowDays} apart form a
+ * cluster. Linear in the number of rows apart from sorting the buckets, which
+ * are almost always tiny.
+ */
+public final class DuplicateClusters {
+
+    /** Ids ordered by day, and the day of the latest one */
+    public record Cluster(long[] ids, LocalDate lastDay) {
+    }
+
+    private long[] ids = new long[1024];
+    private long[] days = new long[1024];
+    private long[] hashes = new long[1024];
+    private int size;
+
+    public void add(long id, LocalDate day, long contentHash) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            days = Arrays.copyOf(days, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        ids[size] = id;
+        days[size] = day.toEpochDay();
+        hashes[size] = contentHash;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Clusters of two or more rows, latest first */
+    public List<Cluster> clusters(int windowDays) {
+        // Chain rows of equal hash through next[], newest-added first
+        Map<Long, Integer> head = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        int[] next = new int[size];
+        for (int i = 0; i < size; i++) {
+            Integer previous = head.put(hashes[i], i);
+            next[i] = previous == null ? -1 : previous;
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        List<Integer> bucket = new ArrayList<>();
+        for (int first : head.values()) {
+            if (next[first] < 0) {
+                continue;
+            }
+            bucket.clear();
+            for (int i = first; i >= 0; i = next[i]) {
+                bucket.add(i);
+            }
+            bucket.sort(Comparator.<Integer>comparingLong(i -> days[i]).thenComparingLong(i -> ids[i]));
+            int start = 0;
+            for (int k = 1; k <= bucket.size(); k++) {
+                if (k == bucket.size() || days[bucket.get(k)] - days[bucket.get(k - 1)] > windowDays) {
+                    if (k - start > 1) {
+                        clusters.add(cluster(bucket.subList(start, k)));
+                    }
+                    start = k;
+                }
+            }
+        }
+        clusters.sort(Comparator.comparing(Cluster::lastDay).reversed()
+                .thenComparingLong(c -> c.ids()[0]));
+        return clusters;
+    }
+
+    private Cluster cluster(List<Integer> rows) {
+        long[] clusterIds = new long[rows.size()];
+        for (int k = 0; k < clusterIds.length; k++) {
+            clusterIds[k] = ids[rows.get(k)];
+        }
+        return new Cluster(clusterIds, LocalDate.ofEpochDay(days[rows.get(rows.size() - 1)]));
+    }
+}
@@ -0,0 +1,108 @@
+package com.finsight.api.service.duplicate;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.AppProperties.Duplicates.Mode;
+import com.finsight.api.exception.DuplicateTransactionException;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.repository.TransactionRepository.FingerprintMatch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Write-time duplicate check, run inside the writing transaction once the
+ * rows are saved. Every fingerprint a row would have on each day of the
+ * {@code app.duplicates.window-days} window is looked up in a single indexed
+ * query, so the cost does not grow with the user's history. Two identical
+ * requests committing at the same moment can both get through; this guards
+ * against re-imports and double submits, not races.
+ */
+@Component
+@RequiredArgsConstructor
+public class DuplicateGuard {
+
+    private final TransactionRepository txRepo;
+    private final AppProperties         appProperties;
+
+    /**
+     * Checks newly inserted rows against older transactions, earlier rows of
+     * the same batch included. Returns row id to the transaction it repeats,
+     * or throws {@link DuplicateTransactionException} in {@code REJECT} mode.
+     */
+    public Map<Long, Long> checkInserted(long userId, List<Transaction> inserted) {
+        return check(userId, inserted, true);
+    }
+
+    /** The transaction an edited one now repeats, if any; edits are flagged, never rejected */
+    public Long checkUpdated(long userId, Transaction updated) {
+        return check(userId, List.of(updated), false).get(updated.getId());
+    }
+
+    private Map<Long, Long> check(long userId, List<Transaction> rows, boolean inserted) {
+        AppProperties.Duplicates config = appProperties.getDuplicates();
+        if (config.getOnWrite() == Mode.OFF || rows.isEmpty()) {
+            return Map.of();
+        }
+        int window = config.getWindowDays();
+        long[][] candidates = new long[rows.size()][];
+        Set<Long> fingerprints = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Transaction tx = rows.get(i);
+            long content = TransactionFingerprint.contentHash(tx.getDescription(),
+                    Money.toCents(tx.getAmount().setScale(Money.SCALE, RoundingMode.HALF_UP)), tx.getType());
+            LocalDate day = tx.getDate().toLocalDate();
+            candidates[i] = new long[2 * window + 1];
+            for (int d = -window; d <= window; d++) {
+                long fingerprint = TransactionFingerprint.withDay(userId, day.plusDays(d), content);
+                candidates[i][d + window] = fingerprint;
+                fingerprints.add(fingerprint);
+            }
+        }
+
+        Map<Long, List<Long>> idsByFingerprint = new HashMap<>();
+        for (FingerprintMatch match : txRepo.findFingerprintMatches(userId, fingerprints)) {
+            idsByFingerprint.computeIfAbsent(match.getFingerprint(), k -> new ArrayList<>(1)).add(match.getId());
+        }
+        if (idsByFingerprint.isEmpty()) {
+            return Map.of();
+        }
+
+        // Position in the batch; ids come from pooled blocks, so they do not tell which row is older
+        Map<Long, Integer> batch = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            batch.put(rows.get(i).getId(), i);
+        }
+        Map<Long, Long> duplicates = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            long id = rows.get(i).getId();
+            Long original = null;
+            for (long fingerprint : candidates[i]) {
+                for (Long other : idsByFingerprint.getOrDefault(fingerprint, List.of())) {
+                    // A new row repeats rows already stored and earlier rows of its batch; an edited one anything but itself
+                    Integer position = batch.get(other);
+                    boolean eligible = inserted ? position == null || position < i : other != id;
+                    if (eligible && (original == null || other < original)) {
+                        original = other;
+                    }
+                }
+            }
+            if (original == null) {
+                continue;
+            }
+            if (inserted && config.getOnWrite() == Mode.REJECT) {
+                String row = rows.size() > 1 ? "Row " + (i + 1) + " " : "Transaction ";
+                throw batch.containsKey(original)
+                        ? new DuplicateTransactionException(row + "repeats an earlier row of the same import", null)
+                        : new DuplicateTransactionException(row + "looks like a duplicate of transaction " + original, original);
+            }
+            duplicates.put(id, original);
+        }
+        return duplicates;
+    }
+}
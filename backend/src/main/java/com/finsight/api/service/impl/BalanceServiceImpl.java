@@ -0,0 +1,69 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.dto.PeriodTotalsDTO;
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.UserPeriodTotal;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.repository.UserPeriodTotalRepository;
+import com.finsight.api.service.BalanceService;
+import com.finsight.api.service.CurrentUserService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+/**
+ * Reads the totals maintained by {@code BalanceLedger}: each is one
+ * primary-key lookup, however long the user's history.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BalanceServiceImpl implements BalanceService {
+
+    private final UserBalanceRepository     balanceRepo;
+    private final UserPeriodTotalRepository periodRepo;
+    private final AppUserRepository         userRepo;
+    private final CurrentUserService        currentUser;
+
+    @Override
+    public TotalsDTO getTotals(Long userId) {
+        return balanceRepo.findById(userId)
+                .map(b -> new TotalsDTO(b.getIncomeCents(), b.getExpenseCents(), b.getTransferCents(),
+                        Money.subtract(b.getIncomeCents(), b.getExpenseCents())))
+                .orElseGet(() -> new TotalsDTO(0L, 0L, 0L, 0L));   // no transactions yet
+    }
+
+    @Override
+    public PeriodTotalsDTO getMonthlyTotals(Long userId, YearMonth month) {
+        return periodRepo.findById(new UserPeriodTotal.Key(userId, month.atDay(1)))
+                .map(p -> new PeriodTotalsDTO(month, p.getIncomeCents(), p.getExpenseCents(), p.getTransferCents(),
+                        Money.subtract(p.getIncomeCents(), p.getExpenseCents()), p.getTransactionCount()))
+                .orElseGet(() -> new PeriodTotalsDTO(month, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public TotalsDTO getCurrentUserTotals() {
+        return getTotals(currentUserId());
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public PeriodTotalsDTO getCurrentUserMonthlyTotals(YearMonth month) {
+        return getMonthlyTotals(currentUserId(), month != null ? month : YearMonth.now());
+    }
+
+    private Long currentUserId() {
+        String sub = currentUser.getSub();
+        return userRepo.findByAuth0Sub(sub)
+                .map(AppUser::getId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+    }
+}
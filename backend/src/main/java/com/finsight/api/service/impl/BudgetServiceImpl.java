@@ -0,0 +1,144 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.BudgetDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Budget;
+import com.finsight.api.model.BudgetSpend;
+import com.finsight.api.model.Money;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.BudgetRepository;
+import com.finsight.api.repository.BudgetSpendRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.service.BudgetService;
+import com.finsight.api.service.CurrentUserService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BudgetServiceImpl implements BudgetService {
+
+    static final int DEFAULT_WARN_PERCENT = 80;
+
+    private final BudgetRepository      budgetRepo;
+    private final BudgetSpendRepository spendRepo;
+    private final UserBalanceRepository balanceRepo;
+    private final CategoryRepository    catRepo;
+    private final AppUserRepository     userRepo;
+    private final CurrentUserService    currentUser;
+    private final AppProperties         appProperties;
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public List<BudgetDTO> getBudgets() {
+        return withSpend(budgetRepo.findByUserIdOrderByIdAsc(findCurrentAppUser().getId()));
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public BudgetDTO getBudget(Long id) {
+        return withSpend(List.of(findOwned(id))).get(0);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public BudgetDTO createBudget(BudgetDTO dto) {
+        AppUser user = findCurrentAppUser();
+        int max = appProperties.getBudgets().getMaxPerUser();
+        if (budgetRepo.countByUserId(user.getId()) >= max) {
+            throw new IllegalArgumentException("At most " + max + " budgets per user");
+        }
+        if (!catRepo.existsById(dto.getCategoryId())) {
+            throw new EntityNotFoundException("Category not found: " + dto.getCategoryId());
+        }
+        if (budgetRepo.existsByUserIdAndCategoryIdAndPeriod(user.getId(), dto.getCategoryId(), dto.getPeriod())) {
+            throw new IllegalArgumentException("There is already a " + dto.getPeriod() + " budget for category "
+                    + dto.getCategoryId());
+        }
+
+        // Writers apply budget deltas after locking this row, so none commits between the seed and our commit
+        balanceRepo.ensureRow(user.getId());
+        balanceRepo.findForUpdate(user.getId());
+        Budget saved = budgetRepo.save(new Budget(null, user.getId(), dto.getCategoryId(), dto.getPeriod(),
+                dto.getAmount(), warnPercentOf(dto), Instant.now()));
+        int periods = spendRepo.seed(saved.getId());
+        log.debug("Created budget {} for user {} with spend in {} periods", saved.getId(), user.getAuth0Sub(), periods);
+        return withSpend(List.of(saved)).get(0);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public BudgetDTO updateBudget(Long id, BudgetDTO dto) {
+        Budget budget = findOwned(id);
+        if (!budget.getCategoryId().equals(dto.getCategoryId()) || budget.getPeriod() != dto.getPeriod()) {
+            throw new IllegalArgumentException("The category and period of a budget cannot be changed");
+        }
+        budget.setAmount(dto.getAmount());
+        budget.setWarnPercent(warnPercentOf(dto));
+        return withSpend(List.of(budget)).get(0);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public void deleteBudget(Long id) {
+        budgetRepo.delete(findOwned(id));
+    }
+
+    /** DTOs with each budget's spend in its current period, from one lookup of maintained rows */
+    private List<BudgetDTO> withSpend(List<Budget> budgets) {
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+        LocalDate today = LocalDate.now();
+        List<Long> ids = new ArrayList<>(budgets.size());
+        Set<LocalDate> starts = new HashSet<>();
+        for (Budget b : budgets) {
+            ids.add(b.getId());
+            starts.add(b.getPeriod().start(today));
+        }
+        Map<BudgetSpend.Key, Long> spent = new HashMap<>();
+        for (BudgetSpend s : spendRepo.findByBudgetIdInAndPeriodStartIn(ids, starts)) {
+            spent.put(new BudgetSpend.Key(s.getBudgetId(), s.getPeriodStart()), s.getSpentCents());
+        }
+        return budgets.stream().map(b -> {
+            LocalDate start = b.getPeriod().start(today);
+            long cents = spent.getOrDefault(new BudgetSpend.Key(b.getId(), start), 0L);
+            return toDto(b, start, cents);
+        }).toList();
+    }
+
+    private static int warnPercentOf(BudgetDTO dto) {
+        return dto.getWarnPercent() != null ? dto.getWarnPercent() : DEFAULT_WARN_PERCENT;
+    }
+
+    private Budget findOwned(Long id) {
+        return budgetRepo.findByIdAndUserId(id, findCurrentAppUser().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Budget not found: " + id));
+    }
+
+    private AppUser findCurrentAppUser() {
+        String sub = currentUser.getSub();
+        return userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+    }
+
+    static BudgetDTO toDto(Budget b, LocalDate periodStart, long spentCents) {
+        return new BudgetDTO(b.getId(), b.getCategoryId(), b.getPeriod(), b.getAmount(), b.getWarnPercent(),
+                periodStart, Money.toAmount(spentCents));
+    }
+}
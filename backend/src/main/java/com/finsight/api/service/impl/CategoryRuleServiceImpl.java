@@ -0,0 +1,101 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.CategoryRuleDTO;
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.CategoryRule;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.CategoryRuleRepository;
+import com.finsight.api.service.CategoryRuleService;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.JobService;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CategoryRuleServiceImpl implements CategoryRuleService {
+
+    private final CategoryRuleRepository ruleRepo;
+    private final CategoryRepository     catRepo;
+    private final AppUserRepository      userRepo;
+    private final CurrentUserService     currentUser;
+    private final CategoryRuleEngine     ruleEngine;
+    private final JobService             jobService;
+    private final AppProperties          appProperties;
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public List<CategoryRuleDTO> getRules() {
+        return ruleRepo.findByUserIdOrderByIdAsc(findCurrentAppUser().getId()).stream()
+                .map(CategoryRuleServiceImpl::toDto)
+                .toList();
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public CategoryRuleDTO createRule(CategoryRuleDTO dto) {
+        AppUser user = findCurrentAppUser();
+        if (dto.getMinAmount() != null && dto.getMaxAmount() != null
+                && dto.getMinAmount().compareTo(dto.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("Minimum amount must not exceed maximum amount");
+        }
+        if (!catRepo.existsById(dto.getCategoryId())) {
+            throw new EntityNotFoundException("Category not found: " + dto.getCategoryId());
+        }
+        int max = appProperties.getRules().getMaxPerUser();
+        if (ruleRepo.countByUserId(user.getId()) >= max) {
+            throw new IllegalArgumentException("At most " + max + " rules per user");
+        }
+
+        CategoryRule rule = new CategoryRule(null, user.getId(), dto.getCategoryId(), dto.getPattern().strip(),
+                dto.getType(), dto.getMinAmount(), dto.getMaxAmount(), dto.getPriority(), Instant.now());
+        CategoryRule saved = ruleRepo.save(rule);
+        ruleEngine.evict(user.getId());
+        log.debug("Created category rule {} for user {}", saved.getId(), user.getAuth0Sub());
+        return toDto(saved);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public void deleteRule(Long id) {
+        AppUser user = findCurrentAppUser();
+        CategoryRule rule = ruleRepo.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Rule not found: " + id));
+        ruleRepo.delete(rule);
+        ruleEngine.evict(user.getId());
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public JobDTO requestBackfill() {
+        AppUser user = findCurrentAppUser();
+        return jobService.enqueueUnique(JobType.CATEGORY_BACKFILL, user.getAuth0Sub(), String.valueOf(user.getId()));
+    }
+
+    private AppUser findCurrentAppUser() {
+        String sub = currentUser.getSub();
+        return userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+    }
+
+    static CategoryRuleDTO toDto(CategoryRule r) {
+        return new CategoryRuleDTO(r.getId(), r.getPattern(), r.getCategoryId(), r.getType(),
+                r.getMinAmount(), r.getMaxAmount(), r.getPriority());
+    }
+}
@@ -4,6 +4,7 @@ import com.finsight.api.dto.CategoryDTO;
 import com.finsight.api.model.Category;
 import com.finsight.api.repository.CategoryRepository;
 import com.finsight.api.service.CategoryService;
+import com.finsight.api.service.coalesce.Coalesce;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +28,7 @@ public class CategoryServiceImpl implements CategoryService {
     private CacheManager cacheManager;
 
     @Override
+    @Coalesce(perUser = false)
     @Cacheable(key = "'all-page-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort.toString()")
     public Page<CategoryDTO> getAllCategories(Pageable pageable) {
         return categoryRepo.findAll(pageable)
@@ -34,6 +36,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Coalesce(perUser = false)
     @Cacheable(key = "'id-' + #id")
     public CategoryDTO getCategoryById(Long id) {
         Category cat = categoryRepo.findById(id)
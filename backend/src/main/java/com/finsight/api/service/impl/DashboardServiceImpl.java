@@ -0,0 +1,229 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.StatementCounter;
+import com.finsight.api.config.StatementDeadline;
+import com.finsight.api.dto.CategoryDTO;
+import com.finsight.api.dto.CategorySpendDTO;
+import com.finsight.api.dto.DashboardDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.dto.UserDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.BalanceService;
+import com.finsight.api.service.CategoryService;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.DashboardService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard from independent queries run side by side on virtual
+ * threads. The user is resolved once on the request thread; the sections
+ * then go straight to repositories and caches, so they need no security
+ * context of their own.
+ * <p>
+ * Every fan-out is joined before it returns: sections still running at the
+ * deadline are cancelled and reported as unavailable rather than failing the
+ * whole response.
+ * <p>
+ * A request runs at most {@code app.dashboard.parallelism} queries at once,
+ * so a few concurrent dashboards cannot drain the interactive pool, and each
+ * query's statement timeout is the time left before the deadline, so a
+ * cancelled section also gives its connection back by then.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("date"), Sort.Order.desc("id"));
+
+    private final CurrentUserService    currentUser;
+    private final AppUserRepository     userRepo;
+    private final TransactionRepository txRepo;
+    private final BalanceService        balanceService;
+    private final CategoryService       categoryService;
+    private final AppProperties         appProperties;
+    private final StatementDeadline     statementDeadline;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public DashboardDTO getDashboard() {
+        AppProperties.Dashboard cfg = appProperties.getDashboard();
+        long deadline = System.nanoTime() + cfg.getTimeout().toNanos();
+
+        String sub = currentUser.getSub();
+        AppUser user = userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+        YearMonth month = YearMonth.now();
+
+        DashboardDTO dto = new DashboardDTO();
+        dto.setUser(new UserDTO(user.getId(), user.getAuth0Sub(), user.getName(), user.getEmail()));
+
+        Queries queries = new Queries(cfg.getParallelism());
+        Sections sections = new Sections(deadline);
+        sections.add("totals", () -> queries.run(deadline, () -> balanceService.getTotals(user.getId())),
+                dto::setTotals);
+        sections.add("monthToDate", () -> queries.run(deadline,
+                () -> balanceService.getMonthlyTotals(user.getId(), month)), dto::setMonthToDate);
+        sections.add("recentTransactions", () -> queries.run(deadline,
+                () -> recent(user, null, cfg.getRecentTransactions())), dto::setRecentTransactions);
+        sections.add("recentIncome", () -> queries.run(deadline,
+                () -> recent(user, TransactionType.INCOME, cfg.getRecentTransactions())), dto::setRecentIncome);
+        sections.add("recentExpenses", () -> queries.run(deadline,
+                () -> recent(user, TransactionType.EXPENSE, cfg.getRecentTransactions())), dto::setRecentExpenses);
+        sections.add("topCategories", () -> topCategories(user, month, cfg, queries, deadline),
+                dto::setTopCategories);
+        sections.add("categories", () -> queries.run(deadline, () -> categories(cfg.getMaxCategories())),
+                dto::setCategories);
+
+        List<String> unavailable = sections.join();
+        if (!unavailable.isEmpty()) {
+            log.warn("Dashboard for {} is missing {}", sub, unavailable);
+        }
+        dto.setUnavailable(unavailable);
+        return dto;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<TransactionDTO> recent(AppUser user, TransactionType type, int size) {
+        Pageable page = PageRequest.of(0, size, NEWEST_FIRST);
+        return (type == null ? txRepo.findSliceByUser(user, page) : txRepo.findSliceByUserAndType(user, type, page))
+                .map(TransactionServiceImpl::toDto)
+                .getContent();
+    }
+
+    /**
+     * Largest expense categories this month, then each one's latest transactions
+     * in parallel. Holds no permit while waiting for the pages, so they can use it.
+     */
+    private List<CategorySpendDTO> topCategories(AppUser user, YearMonth month, AppProperties.Dashboard cfg,
+                                                 Queries queries, long deadline)
+            throws InterruptedException, TimeoutException {
+        List<CategorySpendDTO> top = queries.run(deadline, () -> txRepo.sumByCategory(user.getId(),
+                        TransactionType.EXPENSE, month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay(), PageRequest.ofSize(cfg.getTopCategories())))
+                .stream()
+                .map(c -> new CategorySpendDTO(c.getCategoryId(), c.getCategoryName(), Money.toCents(c.getTotal()), null))
+                .toList();
+
+        // Finish a little before the outer deadline so the sums survive even if some pages are late
+        long pagesDeadline = deadline - cfg.getTimeout().toNanos() / 10;
+        Pageable page = PageRequest.of(0, cfg.getCategoryTransactions(), NEWEST_FIRST);
+        Sections pages = new Sections(pagesDeadline);
+        for (CategorySpendDTO c : top) {
+            pages.add("topCategories." + c.getCategoryId(),
+                    () -> queries.run(pagesDeadline,
+                            () -> txRepo.findSliceByUserAndCategoryId(user, c.getCategoryId(), page)
+                                    .map(TransactionServiceImpl::toDto)
+                                    .getContent()),
+                    c::setTransactions);
+        }
+        pages.join();   // a category whose page is late keeps transactions = null
+        return top;
+    }
+
+    private List<CategoryDTO> categories(int max) {
+        return categoryService.getAllCategories(PageRequest.of(0, max, Sort.by("name"))).getContent();
+    }
+
+    /** One request's share of the connection pool */
+    private final class Queries {
+
+        private final Semaphore permits;
+
+        Queries(int parallelism) {
+            this.permits = new Semaphore(parallelism);
+        }
+
+        /** Runs a query once a permit is free, with its statements cut off at {@code deadline} */
+        <T> T run(long deadline, Supplier<T> query) throws InterruptedException, TimeoutException {
+            if (!permits.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException("No query slot free before the deadline");
+            }
+            try {
+                return statementDeadline.call(deadline, query);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Named tasks run together and joined under one deadline. Results are
+     * applied on the joining thread, so the targets need no synchronization.
+     */
+    private final class Sections {
+
+        private final long deadline;
+        private final List<String> names = new ArrayList<>();
+        private final List<Callable<Runnable>> tasks = new ArrayList<>();
+
+        Sections(long deadline) {
+            this.deadline = deadline;
+        }
+
+        <T> void add(String name, Callable<T> query, Consumer<T> target) {
+            names.add(name);
+            tasks.add(StatementCounter.propagate(() -> {
+                T value = query.call();
+                return () -> target.accept(value);
+            }));
+        }
+
+        /** Waits for all tasks or the deadline; returns the names of those that failed or were cancelled */
+        List<String> join() {
+            List<Future<Runnable>> futures;
+            try {
+                // invokeAll cancels, and interrupts, whatever is still running at the deadline
+                futures = executor.invokeAll(tasks, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return List.copyOf(names);
+            }
+
+            List<String> unavailable = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                Future<Runnable> future = futures.get(i);
+                if (future.isCancelled()) {
+                    unavailable.add(names.get(i));
+                    continue;
+                }
+                try {
+                    future.get().run();
+                } catch (ExecutionException e) {
+                    log.warn("Dashboard section {} failed", names.get(i), e.getCause());
+                    unavailable.add(names.get(i));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    unavailable.add(names.get(i));
+                }
+            }
+            return unavailable;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.dto.DuplicateClusterDTO;
+import com.finsight.api.dto.DuplicateScanDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.TransactionBulkRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.DuplicateService;
+import com.finsight.api.service.duplicate.DuplicateClusters;
+import com.finsight.api.service.duplicate.DuplicateClusters.Cluster;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Scans a user's history for duplicate clusters in one streamed read of the
+ * content columns: each row costs one hash and one map probe (see
+ * {@link DuplicateClusters}), and only the transactions in the returned
+ * clusters are loaded as entities.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DuplicateServiceImpl implements DuplicateService {
+
+    private final TransactionBulkRepository bulkRepo;
+    private final TransactionRepository     txRepo;
+    private final AppUserRepository         userRepo;
+    private final CurrentUserService        currentUser;
+    private final AppProperties             appProperties;
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @UsePool(Workload.REPORTING)
+    public DuplicateScanDTO findDuplicateClusters() {
+        String sub = currentUser.getSub();
+        Long userId = userRepo.findByAuth0Sub(sub)
+                .map(AppUser::getId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+
+        DuplicateClusters scan = new DuplicateClusters();
+        bulkRepo.forEachOfUser(userId, row -> scan.add(row.id(), row.day(),
+                TransactionFingerprint.contentHash(row.description(), row.amountCents(), row.type())));
+        List<Cluster> clusters = scan.clusters(appProperties.getDuplicates().getWindowDays());
+
+        int max = appProperties.getDuplicates().getMaxClusters();
+        List<Cluster> returned = clusters.size() > max ? clusters.subList(0, max) : clusters;
+        List<Long> ids = new ArrayList<>();
+        returned.forEach(c -> Arrays.stream(c.ids()).forEach(ids::add));
+        Map<Long, TransactionDTO> byId = new HashMap<>();
+        txRepo.findByUserIdAndIdIn(userId, ids).forEach(tx -> byId.put(tx.getId(), TransactionServiceImpl.toDto(tx)));
+
+        List<DuplicateClusterDTO> result = new ArrayList<>(returned.size());
+        for (Cluster cluster : returned) {
+            // Rows deleted since the scan drop out, and with them clusters left with one row
+            List<TransactionDTO> transactions = Arrays.stream(cluster.ids())
+                    .mapToObj(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (transactions.size() > 1) {
+                result.add(new DuplicateClusterDTO(transactions));
+            }
+        }
+        return new DuplicateScanDTO(scan.size(), clusters.size() > max, result);
+    }
+}
@@ -0,0 +1,99 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.JobRepository;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.JobService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class JobServiceImpl implements JobService {
+
+    private static final EnumSet<JobStatus> ACTIVE = EnumSet.of(JobStatus.QUEUED, JobStatus.RUNNING);
+
+    private final JobRepository      jobRepo;
+    private final CurrentUserService currentUser;
+    private final AppProperties      appProperties;
+
+    @Override
+    @Transactional
+    public JobDTO enqueue(JobType type, String ownerSub, String payload) {
+        Instant now = Instant.now();
+        Job job = new Job();
+        job.setType(type);
+        job.setStatus(JobStatus.QUEUED);
+        job.setOwnerSub(ownerSub);
+        job.setPayload(payload);
+        job.setMaxAttempts(appProperties.getJobs().getMaxAttempts());
+        job.setRunAt(now);
+        job.setCreatedAt(now);
+        job.setUpdatedAt(now);
+
+        Job saved = jobRepo.save(job);
+        log.info("Queued {} job {} for {}", type, saved.getId(), ownerSub == null ? "system" : ownerSub);
+        return toDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public JobDTO enqueueUnique(JobType type, String ownerSub, String payload) {
+        // The insert and the conflict check are one statement, so two callers can
+        // never both queue. The lookup then finds our row or the one we lost to;
+        // if that one finished in between, the key is free again and we retry.
+        while (true) {
+            Instant now = Instant.now();
+            int inserted = jobRepo.insertIfNoneActive(type.name(), ownerSub, payload,
+                    appProperties.getJobs().getMaxAttempts(), now);
+            Optional<Job> active = jobRepo.findFirstByOwnerSubAndTypeAndStatusIn(ownerSub, type, ACTIVE);
+            if (active.isPresent()) {
+                if (inserted > 0) {
+                    log.info("Queued {} job {} for {}", type, active.get().getId(),
+                            ownerSub == null ? "system" : ownerSub);
+                }
+                return toDto(active.get());
+            }
+        }
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public JobDTO getJob(Long id) {
+        // Someone else's job is reported as missing rather than forbidden
+        return jobRepo.findByIdAndOwnerSub(id, currentUser.getSub())
+                .map(JobServiceImpl::toDto)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found: " + id));
+    }
+
+    static JobDTO toDto(Job j) {
+        return new JobDTO(
+                j.getId(),
+                j.getType(),
+                j.getStatus(),
+                j.getProgress(),
+                j.getProgressMessage(),
+                j.getAttempts(),
+                j.getMaxAttempts(),
+                j.getLastError(),
+                j.getResult(),
+                j.getCreatedAt(),
+                j.getUpdatedAt(),
+                j.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.RecurringTransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.RecurringTransaction;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.RecurringTransactionRepository;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.RecurringTransactionService;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RecurringTransactionServiceImpl implements RecurringTransactionService {
+
+    private final RecurringTransactionRepository recurringRepo;
+    private final CategoryRepository             catRepo;
+    private final AppUserRepository              userRepo;
+    private final CurrentUserService             currentUser;
+    private final CategoryRuleEngine             ruleEngine;
+    private final AppProperties                  appProperties;
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public List<RecurringTransactionDTO> getRecurringTransactions() {
+        return recurringRepo.findByUserIdOrderByIdAsc(findCurrentAppUser().getId()).stream()
+                .map(RecurringTransactionServiceImpl::toDto)
+                .toList();
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public RecurringTransactionDTO createRecurringTransaction(RecurringTransactionDTO dto) {
+        AppUser user = findCurrentAppUser();
+        if (dto.getEndDate() != null && dto.getEndDate().isBefore(dto.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        int max = appProperties.getRecurring().getMaxPerUser();
+        if (recurringRepo.countByUserId(user.getId()) >= max) {
+            throw new IllegalArgumentException("At most " + max + " recurring transactions per user");
+        }
+        Long categoryId = dto.getCategoryId() != null ? dto.getCategoryId()
+                : ruleEngine.categorize(user.getId(), dto.getDescription(), dto.getAmount(), dto.getType())
+                        .orElseGet(this::uncategorizedId);
+        if (!catRepo.existsById(categoryId)) {
+            throw new EntityNotFoundException("Category not found: " + categoryId);
+        }
+
+        RecurringTransaction saved = recurringRepo.save(new RecurringTransaction(null, user.getId(),
+                dto.getDescription(), dto.getAmount(), dto.getType(), categoryId, dto.getNotes(), dto.getFrequency(),
+                dto.getStartDate(), dto.getEndDate(), 0, dto.getStartDate(), Instant.now()));
+        log.debug("Created recurring transaction {} for user {}", saved.getId(), user.getAuth0Sub());
+        return toDto(saved);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional
+    public void deleteRecurringTransaction(Long id) {
+        AppUser user = findCurrentAppUser();
+        RecurringTransaction recurring = recurringRepo.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Recurring transaction not found: " + id));
+        recurringRepo.delete(recurring);
+    }
+
+    private Long uncategorizedId() {
+        return catRepo.findByName(Category.UNCATEGORIZED)
+                .map(Category::getId)
+                .orElseThrow(() -> new IllegalArgumentException("A category is required: no rule matched and there is no '"
+                        + Category.UNCATEGORIZED + "' category"));
+    }
+
+    private AppUser findCurrentAppUser() {
+        String sub = currentUser.getSub();
+        return userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+    }
+
+    static RecurringTransactionDTO toDto(RecurringTransaction r) {
+        return new RecurringTransactionDTO(r.getId(), r.getDescription(), r.getAmount(), r.getType(),
+                r.getCategoryId(), r.getNotes(), r.getFrequency(), r.getStartDate(), r.getEndDate(), r.getNextRun());
+    }
+}
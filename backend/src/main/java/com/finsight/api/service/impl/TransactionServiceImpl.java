@@ -1,21 +1,36 @@
 package com.finsight.api.service.impl;
 
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.TransactionBatchDTO;
 import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
 import com.finsight.api.model.*;
 import com.finsight.api.repository.*;
 import com.finsight.api.service.CurrentUserService;
 import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.coalesce.Coalesce;
+import com.finsight.api.service.duplicate.DuplicateGuard;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import com.finsight.api.service.rules.CompiledRules;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.annotation.Propagation;
 
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.*;
 
 @Slf4j
 @Service
@@ -27,6 +42,11 @@ public class TransactionServiceImpl implements TransactionService {
     private final CategoryRepository    catRepo;
     private final AppUserRepository     userRepo;
     private final CurrentUserService    currentUser;
+    private final UserBalanceRepository balanceRepo;
+    private final ApplicationEventPublisher events;
+    private final CategoryRuleEngine    ruleEngine;
+    private final DuplicateGuard        duplicates;
+    private final TransactionListRepository listRepo;
 
     /* -------------------------------------------------
        READ METHODS – automatically scoped to current user
@@ -34,9 +54,10 @@ public class TransactionServiceImpl implements TransactionService {
 
     @Override
     @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Coalesce
     public Page<TransactionDTO> getAllTransactions(Pageable pageable) {
         AppUser user = findCurrentAppUser();
-        return txRepo.findByUser(user, pageable).map(this::toDto);
+        return txRepo.findByUser(user, pageable).map(TransactionServiceImpl::toDto);
     }
 
     @Override
@@ -45,10 +66,32 @@ public class TransactionServiceImpl implements TransactionService {
         AppUser user = findCurrentAppUser();
         return txRepo.findById(id)
                 .filter(tx -> tx.getUser().equals(user))
-                .map(this::toDto)
+                .map(TransactionServiceImpl::toDto)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
     }
 
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public TransactionBatchDTO getTransactionsByIds(List<Long> ids) {
+        AppUser user = findCurrentAppUser();
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, TransactionDTO> found = new HashMap<>();
+        for (Transaction tx : txRepo.findByUserIdAndIdIn(user.getId(), requested)) {
+            found.put(tx.getId(), toDto(tx));
+        }
+        List<TransactionDTO> transactions = new ArrayList<>(found.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : requested) {
+            TransactionDTO dto = found.get(id);
+            if (dto != null) {
+                transactions.add(dto);
+            } else {
+                notFound.add(id);
+            }
+        }
+        return new TransactionBatchDTO(transactions, notFound);
+    }
+
     /* -------------------------------------------------
        WRITE METHODS – automatically scoped to current user
        ------------------------------------------------- */
@@ -61,11 +104,68 @@ public class TransactionServiceImpl implements TransactionService {
         AppUser user = findOrCreateCurrentUserAtomically();
         Transaction tx = toEntity(dto);
         tx.setUser(user);
+        if (tx.getCategory() == null) {
+            tx.setCategory(autoCategory(user, tx));
+        }
         
         Transaction savedTx = txRepo.save(tx);
+        Long duplicateOf = duplicates.checkInserted(user.getId(), List.of(savedTx)).get(savedTx.getId());
+        events.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(savedTx)));
         log.debug("Created transaction {} for user {}", savedTx.getId(), user.getAuth0Sub());
         
-        return toDto(savedTx);
+        TransactionDTO result = toDto(savedTx);
+        result.setDuplicateOf(duplicateOf);
+        return result;
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    @Transactional // All rows or none
+    public List<TransactionDTO> importTransactions(List<TransactionDTO> dtos) {
+        AppUser user = findOrCreateCurrentUserAtomically();
+        CompiledRules userRules = ruleEngine.userRules(user.getId());
+        CompiledRules globalRules = ruleEngine.globalRules();
+
+        // Pick every row's category first, then load them all in one query
+        Long[] categoryIds = new Long[dtos.size()];
+        for (int i = 0; i < categoryIds.length; i++) {
+            TransactionDTO d = dtos.get(i);
+            categoryIds[i] = d.getCategoryId() != null ? d.getCategoryId()
+                    : CategoryRuleEngine.categorize(userRules, globalRules, d.getDescription(),
+                            Money.toCents(d.getAmount().setScale(Money.SCALE, RoundingMode.HALF_UP)), d.getType());
+        }
+        Map<Long, Category> categories = new HashMap<>();
+        catRepo.findAllById(Arrays.stream(categoryIds).filter(Objects::nonNull).distinct().toList())
+                .forEach(c -> categories.put(c.getId(), c));
+
+        List<Transaction> rows = new ArrayList<>(dtos.size());
+        Category uncategorized = null;
+        for (int i = 0; i < categoryIds.length; i++) {
+            Category category;
+            if (categoryIds[i] == null) {
+                uncategorized = uncategorized != null ? uncategorized : uncategorized();
+                category = uncategorized;
+            } else {
+                Long id = categoryIds[i];
+                category = Optional.ofNullable(categories.get(id))
+                        .orElseThrow(() -> new EntityNotFoundException("Category not found: " + id));
+            }
+            Transaction tx = toEntity(dtos.get(i), category);
+            tx.setUser(user);
+            rows.add(tx);
+        }
+
+        List<Transaction> saved = txRepo.saveAll(rows);
+        Map<Long, Long> duplicateOf = duplicates.checkInserted(user.getId(), saved);
+        for (Transaction tx : saved) {
+            events.publishEvent(TransactionChangedEvent.created(TransactionSnapshot.of(tx)));
+        }
+        log.debug("Imported {} transactions for user {}", saved.size(), user.getAuth0Sub());
+        return saved.stream().map(tx -> {
+            TransactionDTO result = toDto(tx);
+            result.setDuplicateOf(duplicateOf.get(tx.getId()));
+            return result;
+        }).toList();
     }
 
     @Override
@@ -78,6 +178,7 @@ public class TransactionServiceImpl implements TransactionService {
         Transaction existingTx = txRepo.findById(id)
                 .filter(tx -> tx.getUser().equals(user))
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
+        TransactionSnapshot before = TransactionSnapshot.of(existingTx);
         
         existingTx.setDescription(dto.getDescription());
         existingTx.setAmount(dto.getAmount());
@@ -92,9 +193,13 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         Transaction savedTx = txRepo.save(existingTx);
+        Long duplicateOf = duplicates.checkUpdated(user.getId(), savedTx);
+        events.publishEvent(TransactionChangedEvent.updated(before, TransactionSnapshot.of(savedTx)));
         log.debug("Updated transaction {} for user {}", savedTx.getId(), user.getAuth0Sub());
         
-        return toDto(savedTx);
+        TransactionDTO result = toDto(savedTx);
+        result.setDuplicateOf(duplicateOf);
+        return result;
     }
 
     @Override
@@ -108,7 +213,9 @@ public class TransactionServiceImpl implements TransactionService {
                 .filter(transaction -> transaction.getUser().equals(user))
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + id));
         
+        TransactionSnapshot before = TransactionSnapshot.of(tx);
         txRepo.delete(tx);
+        events.publishEvent(TransactionChangedEvent.deleted(before));
         log.debug("Deleted transaction {} for user {}", id, user.getAuth0Sub());
     }
 
@@ -120,7 +227,7 @@ public class TransactionServiceImpl implements TransactionService {
     @PreAuthorize("hasAuthority('SCOPE_fin:app')")
     public Page<TransactionDTO> getTransactionsByType(TransactionType type, Pageable pageable) {
         AppUser user = findCurrentAppUser();
-        return txRepo.findByUserAndType(user, type, pageable).map(this::toDto);
+        return txRepo.findByUserAndType(user, type, pageable).map(TransactionServiceImpl::toDto);
     }
 
     @Override
@@ -128,21 +235,91 @@ public class TransactionServiceImpl implements TransactionService {
     public Page<TransactionDTO> getTransactionsByDateRange(LocalDateTime start, LocalDateTime end,
                                                            Pageable pageable) {
         AppUser user = findCurrentAppUser();
-        return txRepo.findByUserAndDateBetween(user, start, end, pageable).map(this::toDto);
+        return txRepo.findByUserAndDateBetween(user, start, end, pageable).map(TransactionServiceImpl::toDto);
     }
 
     @Override
     @PreAuthorize("hasAuthority('SCOPE_fin:app')")
     public Page<TransactionDTO> getTransactionsByCategory(Long categoryId, Pageable pageable) {
         AppUser user = findCurrentAppUser();
-        return txRepo.findByUserAndCategoryId(user, categoryId, pageable).map(this::toDto);
+        return txRepo.findByUserAndCategoryId(user, categoryId, pageable).map(TransactionServiceImpl::toDto);
+    }
+
+    /* -------------------------------------------------
+       NO-COUNT & APPROXIMATE-COUNT LISTINGS
+       ------------------------------------------------- */
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Slice<TransactionDTO> getAllTransactionsSlice(Pageable pageable) {
+        AppUser user = findCurrentAppUser();
+        return txRepo.findSliceByUser(user, pageable).map(TransactionServiceImpl::toDto);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Slice<TransactionDTO> getTransactionsByTypeSlice(TransactionType type, Pageable pageable) {
+        AppUser user = findCurrentAppUser();
+        return txRepo.findSliceByUserAndType(user, type, pageable).map(TransactionServiceImpl::toDto);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Slice<TransactionDTO> getTransactionsByDateRangeSlice(LocalDateTime start, LocalDateTime end,
+                                                                 Pageable pageable) {
+        AppUser user = findCurrentAppUser();
+        return txRepo.findSliceByUserAndDateBetween(user, start, end, pageable).map(TransactionServiceImpl::toDto);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Slice<TransactionDTO> getTransactionsByCategorySlice(Long categoryId, Pageable pageable) {
+        AppUser user = findCurrentAppUser();
+        return txRepo.findSliceByUserAndCategoryId(user, categoryId, pageable).map(TransactionServiceImpl::toDto);
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Page<TransactionDTO> getAllTransactionsApproximate(Pageable pageable) {
+        AppUser user = findCurrentAppUser();
+        Slice<TransactionDTO> slice = txRepo.findSliceByUser(user, pageable).map(TransactionServiceImpl::toDto);
+        return new PageImpl<>(slice.getContent(), pageable, approximateCount(user));
+    }
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public Slice<TransactionDTO> findTransactions(TransactionFilter filter, Set<TransactionField> fields,
+                                                  CountMode count, Pageable pageable) {
+        if (count == CountMode.APPROXIMATE && !filter.isEmpty()) {
+            throw new IllegalArgumentException("count=APPROXIMATE is only supported on GET /api/transactions");
+        }
+        AppUser user = findCurrentAppUser();
+        int size = pageable.isPaged() ? pageable.getPageSize() : 0;
+        return switch (count) {
+            case EXACT -> PageableExecutionUtils.getPage(
+                    toDtos(listRepo.find(user.getId(), filter, fields, pageable, size)), pageable,
+                    () -> listRepo.count(user.getId(), filter));
+            case NONE -> {
+                List<TransactionDTO> rows = toDtos(listRepo.find(user.getId(), filter, fields, pageable, size + 1));
+                boolean hasNext = pageable.isPaged() && rows.size() > size;
+                yield new SliceImpl<>(hasNext ? rows.subList(0, size) : rows, pageable, hasNext);
+            }
+            case APPROXIMATE -> new PageImpl<>(toDtos(listRepo.find(user.getId(), filter, fields, pageable, size)),
+                    pageable, approximateCount(user));
+        };
     }
 
     /* -------------------------------------------------
        MAPPING & HELPER METHODS
        ------------------------------------------------- */
 
-    private TransactionDTO toDto(Transaction t) {
+    /** The count {@code BalanceLedger} maintains with every write; one primary-key lookup */
+    private long approximateCount(AppUser user) {
+        return balanceRepo.findTransactionCount(user.getId()).orElse(0L);
+    }
+
+    /** Package-private and stateless so the benchmarks module can measure it in isolation. */
+    static TransactionDTO toDto(Transaction t) {
         TransactionDTO dto = new TransactionDTO();
         dto.setId(t.getId());
         dto.setDescription(t.getDescription());
@@ -157,7 +334,26 @@ public class TransactionServiceImpl implements TransactionService {
         return dto;
     }
 
+    private static List<TransactionDTO> toDtos(List<TransactionListRepository.Row> rows) {
+        List<TransactionDTO> out = new ArrayList<>(rows.size());
+        for (TransactionListRepository.Row r : rows) {
+            out.add(new TransactionDTO(r.id(), r.description(), r.amount(), r.date(), r.type(),
+                    r.categoryId(), r.categoryName(), r.notes(), null));
+        }
+        return out;
+    }
+
     private Transaction toEntity(TransactionDTO d) {
+        Category cat = null;
+        if (d.getCategoryId() != null) {
+            cat = catRepo.findById(d.getCategoryId())
+                    .orElseThrow(() -> new EntityNotFoundException("Category not found: " + d.getCategoryId()));
+        }
+        return toEntity(d, cat);
+    }
+
+    /** The entity for {@code d} with a category already resolved by the caller, or none */
+    private static Transaction toEntity(TransactionDTO d, Category category) {
         Transaction tx = new Transaction();
         tx.setId(d.getId());
         tx.setDescription(d.getDescription());
@@ -165,14 +361,23 @@ public class TransactionServiceImpl implements TransactionService {
         tx.setDate(d.getDate());
         tx.setType(d.getType());
         tx.setNotes(d.getNotes());
-        if (d.getCategoryId() != null) {
-            Category cat = catRepo.findById(d.getCategoryId())
-                    .orElseThrow(() -> new EntityNotFoundException("Category not found: " + d.getCategoryId()));
-            tx.setCategory(cat);
-        }
+        tx.setCategory(category);
         return tx;
     }
 
+    /** The category the rules pick for a transaction created without one, else {@link Category#UNCATEGORIZED} */
+    private Category autoCategory(AppUser user, Transaction tx) {
+        return ruleEngine.categorize(user.getId(), tx.getDescription(), tx.getAmount(), tx.getType())
+                .flatMap(catRepo::findById)
+                .orElseGet(this::uncategorized);
+    }
+
+    private Category uncategorized() {
+        return catRepo.findByName(Category.UNCATEGORIZED)
+                .orElseThrow(() -> new IllegalArgumentException("A category is required: no rule matched and there is no '"
+                        + Category.UNCATEGORIZED + "' category"));
+    }
+
     /**
      * Finds or creates the current user within the same transaction context.
      * This ensures atomicity - if the transaction creation fails, the user creation is rolled back.
@@ -0,0 +1,30 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.model.AppUser;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.TransactionStreamService;
+import com.finsight.api.service.stream.TransactionStreamHub;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionStreamServiceImpl implements TransactionStreamService {
+
+    private final CurrentUserService   currentUser;
+    private final AppUserRepository    userRepo;
+    private final TransactionStreamHub hub;
+
+    @Override
+    @PreAuthorize("hasAuthority('SCOPE_fin:app')")
+    public SseEmitter subscribe() {
+        String sub = currentUser.getSub();
+        AppUser user = userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+        return hub.subscribe(user.getId());
+    }
+}
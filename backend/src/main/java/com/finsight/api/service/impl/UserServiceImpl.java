@@ -1,9 +1,12 @@
 package com.finsight.api.service.impl;
 
+import com.finsight.api.dto.JobDTO;
 import com.finsight.api.dto.UserDTO;
 import com.finsight.api.model.AppUser;
+import com.finsight.api.model.JobType;
 import com.finsight.api.repository.AppUserRepository;
 import com.finsight.api.service.CurrentUserService;
+import com.finsight.api.service.JobService;
 import com.finsight.api.service.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ public class UserServiceImpl implements UserService {
 
     private final CurrentUserService currentUserService;
     private final AppUserRepository    userRepo;
+    private final JobService           jobService;
 
     @Override
     public UserDTO getCurrentUser() {
@@ -46,6 +50,15 @@ public class UserServiceImpl implements UserService {
         userRepo.delete(user);
     }
 
+    @Override
+    public JobDTO requestCurrentUserDeletion() {
+        String sub = currentUserService.getSub();
+        AppUser user = userRepo.findByAuth0Sub(sub)
+                .orElseThrow(() -> new EntityNotFoundException("User not found: " + sub));
+        // A second request while one is pending returns the same job
+        return jobService.enqueueUnique(JobType.ACCOUNT_DELETION, sub, String.valueOf(user.getId()));
+    }
+
     private UserDTO toDto(AppUser u) {
         return new UserDTO(u.getId(), u.getAuth0Sub(), u.getName(), u.getEmail());
     }
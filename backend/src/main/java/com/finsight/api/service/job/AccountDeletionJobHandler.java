@@ -0,0 +1,81 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.TransactionBulkRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Deletes a user's transactions in fixed-size batches, each in its own
+ * transaction, then the user row. Payload: the user's id.
+ * A retried attempt just carries on with whatever is left.
+ * <p>
+ * Each batch writes a {@code transaction.deleted} outbox row per deleted
+ * transaction in the same transaction as the delete, like a delete through
+ * the service, so consumers see the account's transactions go.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@UsePool(Workload.BACKGROUND)
+public class AccountDeletionJobHandler implements JobHandler {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private final AppUserRepository         userRepo;
+    private final TransactionRepository     txRepo;
+    private final TransactionBulkRepository bulkRepo;
+    private final OutboxWriter              outboxWriter;
+    private final TransactionTemplate       transactionTemplate;
+
+    @Override
+    public JobType type() {
+        return JobType.ACCOUNT_DELETION;
+    }
+
+    @Override
+    public String run(Job job, JobContext context) {
+        Long userId = Long.valueOf(job.getPayload());
+        AppUser user = userRepo.findById(userId).orElse(null);
+        if (user == null) {
+            return "Account already deleted";
+        }
+
+        long total = txRepo.countByUser(user);
+        long deleted = 0;
+        Integer batch;
+        while ((batch = transactionTemplate.execute(status -> deleteBatch(userId))) != null && batch > 0) {
+            deleted += batch;
+            if (context.shouldStop()) {
+                throw new CancellationException("Stopped after deleting " + deleted + " transactions");
+            }
+            int percent = total == 0 ? 99 : (int) Math.min(99, deleted * 100 / total);
+            context.progress(percent, "Deleted " + deleted + " of " + total + " transactions");
+        }
+
+        userRepo.deleteById(userId);
+        log.info("Deleted account {} and {} transactions", user.getAuth0Sub(), deleted);
+        return "Deleted account and " + deleted + " transactions";
+    }
+
+    /** One batch and its outbox rows; runs in the caller's transaction */
+    private int deleteBatch(long userId) {
+        List<TransactionSnapshot> gone = bulkRepo.deleteBatchOfUser(userId, BATCH_SIZE);
+        outboxWriter.onAll(gone.stream().map(TransactionChangedEvent::deleted).toList());
+        return gone.size();
+    }
+}
@@ -0,0 +1,80 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.service.JobService;
+import com.finsight.api.service.balance.BalanceReconciler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Checks every user's maintained balance, monthly totals and budget spend
+ * against the transactions table, a batch of users at a time, and repairs drift.
+ * Queued on {@code app.balances.reconcile-cron}; no payload. A retried
+ * attempt starts over, which is safe because repairs are idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@UsePool(Workload.BACKGROUND)
+public class BalanceReconciliationJobHandler implements JobHandler {
+
+    static final int BATCH_SIZE = 500;
+
+    private final AppUserRepository userRepo;
+    private final BalanceReconciler reconciler;
+    private final JobService        jobService;
+
+    @Override
+    public JobType type() {
+        return JobType.BALANCE_RECONCILIATION;
+    }
+
+    /** One queued run at a time across all replicas */
+    @Scheduled(cron = "${app.balances.reconcile-cron:0 30 3 * * *}")
+    public void schedule() {
+        jobService.enqueueUnique(JobType.BALANCE_RECONCILIATION, null, null);
+    }
+
+    @Override
+    public String run(Job job, JobContext context) {
+        long total = userRepo.count();
+        long checked = 0;
+        int corrected = 0;
+        long after = 0;
+        List<Long> ids;
+        while (!(ids = userRepo.findIdsAfter(after, PageRequest.ofSize(BATCH_SIZE))).isEmpty()) {
+            for (Long userId : reconciler.findDrifted(ids)) {
+                try {
+                    if (reconciler.reconcile(userId)) {
+                        corrected++;
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("User {} was deleted during reconciliation", userId);
+                }
+            }
+            checked += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (context.shouldStop()) {
+                throw new CancellationException("Stopped after checking " + checked + " users");
+            }
+            int percent = total == 0 ? 99 : (int) Math.min(99, checked * 100 / total);
+            context.progress(percent, "Checked " + checked + " of " + total + " users, corrected " + corrected);
+        }
+
+        if (corrected > 0) {
+            log.warn("Balance reconciliation corrected {} of {} users", corrected, checked);
+        }
+        return "Checked " + checked + " users, corrected " + corrected;
+    }
+}
@@ -0,0 +1,117 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.TransactionBulkRepository;
+import com.finsight.api.repository.TransactionBulkRepository.Moved;
+import com.finsight.api.repository.TransactionBulkRepository.Row;
+import com.finsight.api.service.budget.BudgetLedger;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import com.finsight.api.service.rules.CompiledRules;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Runs the categorisation rules over transactions still in
+ * {@link Category#UNCATEGORIZED}. Payload: a user id, or empty for every user.
+ * <p>
+ * Walks the category in id order in chunks of
+ * {@code app.rules.backfill-chunk-size}. Each chunk is one index range read
+ * and one set-based {@code UPDATE}, with every rule set compiled once per
+ * user rather than per row. Rows edited meanwhile are left alone, and a
+ * retry simply finds fewer uncategorised rows. Category moves do not change
+ * totals and are not published as change events, but expenses moved carry
+ * their budget spend with them: each chunk's {@code UPDATE} returns the rows
+ * it moved, and {@link BudgetLedger} applies their deltas in the same
+ * transaction.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@UsePool(Workload.BACKGROUND)
+public class CategoryBackfillJobHandler implements JobHandler {
+
+    /** Compiled user rule sets kept during one run */
+    static final int MAX_CACHED_USERS = 10_000;
+
+    private final CategoryRepository        catRepo;
+    private final TransactionBulkRepository bulkRepo;
+    private final CategoryRuleEngine        ruleEngine;
+    private final BudgetLedger              budgetLedger;
+    private final TransactionTemplate       transactionTemplate;
+    private final AppProperties             appProperties;
+
+    @Override
+    public JobType type() {
+        return JobType.CATEGORY_BACKFILL;
+    }
+
+    @Override
+    public String run(Job job, JobContext context) {
+        Long userId = job.getPayload() == null || job.getPayload().isBlank() ? null : Long.valueOf(job.getPayload());
+        Category fallback = catRepo.findByName(Category.UNCATEGORIZED).orElse(null);
+        if (fallback == null) {
+            return "No '" + Category.UNCATEGORIZED + "' category";
+        }
+        long from = fallback.getId();
+        int chunk = appProperties.getRules().getBackfillChunkSize();
+        long total = bulkRepo.countInCategory(from, userId);
+
+        CompiledRules global = ruleEngine.globalRules();
+        Map<Long, CompiledRules> userRules = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CompiledRules> eldest) {
+                return size() > MAX_CACHED_USERS;
+            }
+        };
+
+        long scanned = 0, categorised = 0, after = 0;
+        List<Row> rows;
+        while (!(rows = bulkRepo.findInCategoryAfter(from, userId, after, chunk)).isEmpty()) {
+            List<Long> ids = new ArrayList<>();
+            List<Long> categories = new ArrayList<>();
+            for (Row row : rows) {
+                CompiledRules own = userRules.computeIfAbsent(row.userId(), ruleEngine::compileUserRules);
+                Long category = CategoryRuleEngine.categorize(own, global, row.description(), row.amountCents(), row.type());
+                if (category != null && category != from) {
+                    ids.add(row.id());
+                    categories.add(category);
+                }
+            }
+            if (!ids.isEmpty()) {
+                Integer count = transactionTemplate.execute(status -> {
+                    List<Moved> moved = bulkRepo.reassignCategories(ids.toArray(Long[]::new),
+                            categories.toArray(Long[]::new), from);
+                    budgetLedger.onRecategorized(moved, from);
+                    return moved.size();
+                });
+                categorised += count == null ? 0 : count;
+            }
+            scanned += rows.size();
+            after = rows.get(rows.size() - 1).id();
+
+            if (context.shouldStop()) {
+                throw new CancellationException("Stopped after scanning " + scanned + " transactions");
+            }
+            int percent = total == 0 ? 99 : (int) Math.min(99, scanned * 100 / total);
+            context.progress(percent, "Scanned " + scanned + " of " + total + ", categorised " + categorised);
+        }
+
+        log.info("Category backfill for {} scanned {} and categorised {} transactions",
+                userId == null ? "all users" : "user " + userId, scanned, categorised);
+        return "Scanned " + scanned + " uncategorised transactions, categorised " + categorised;
+    }
+}
@@ -0,0 +1,80 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.repository.TransactionBulkRepository;
+import com.finsight.api.repository.TransactionBulkRepository.ContentRow;
+import com.finsight.api.service.JobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Fills in {@code transactions.fingerprint} for rows written before it
+ * existed, or cleared by a migration after the hash changed. Queued at
+ * startup whenever such rows exist; no payload. Rows are read in id order
+ * from the partial index of missing fingerprints and updated one chunk per
+ * statement; a row saved by the application meanwhile already has one and
+ * is left alone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@UsePool(Workload.BACKGROUND)
+public class FingerprintBackfillJobHandler implements JobHandler {
+
+    static final int CHUNK_SIZE = 5_000;
+
+    private final TransactionBulkRepository bulkRepo;
+    private final JobService                jobService;
+
+    @Override
+    public JobType type() {
+        return JobType.FINGERPRINT_BACKFILL;
+    }
+
+    /** One queued run at a time across all replicas */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleIfNeeded() {
+        if (bulkRepo.existsWithoutFingerprint()) {
+            jobService.enqueueUnique(JobType.FINGERPRINT_BACKFILL, null, null);
+        }
+    }
+
+    @Override
+    public String run(Job job, JobContext context) {
+        long total = bulkRepo.countWithoutFingerprint();
+        long scanned = 0, updated = 0, after = 0;
+        List<ContentRow> rows;
+        while (!(rows = bulkRepo.findWithoutFingerprintAfter(after, CHUNK_SIZE)).isEmpty()) {
+            Long[] ids = new Long[rows.size()];
+            Long[] fingerprints = new Long[rows.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ContentRow row = rows.get(i);
+                ids[i] = row.id();
+                fingerprints[i] = TransactionFingerprint.of(row.userId(), row.day(), row.amountCents(), row.type(),
+                        row.description());
+            }
+            updated += bulkRepo.setFingerprints(ids, fingerprints);
+            scanned += ids.length;
+            after = ids[ids.length - 1];
+
+            if (context.shouldStop()) {
+                throw new CancellationException("Stopped after fingerprinting " + updated + " transactions");
+            }
+            int percent = total == 0 ? 99 : (int) Math.min(99, scanned * 100 / total);
+            context.progress(percent, "Fingerprinted " + updated + " of " + total + " transactions");
+        }
+
+        log.info("Fingerprint backfill updated {} transactions", updated);
+        return "Fingerprinted " + updated + " transactions";
+    }
+}
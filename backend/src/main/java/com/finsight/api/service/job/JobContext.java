@@ -0,0 +1,11 @@
+package com.finsight.api.service.job;
+
+/** What a running {@link JobHandler} can tell, and ask, the engine. */
+public interface JobContext {
+
+    /** Publishes progress (0–100) to the status API and renews the lease. */
+    void progress(int percent, String message);
+
+    /** True once the worker is shutting down or the lease was lost; stop at the next safe point. */
+    boolean shouldStop();
+}
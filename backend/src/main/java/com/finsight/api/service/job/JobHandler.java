@@ -0,0 +1,25 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+
+/**
+ * Runs one {@link JobType}. Handlers are Spring beans; {@link JobWorker} gives
+ * each type its own thread pool, so a slow type cannot starve the others.
+ * <p>
+ * An attempt may be retried after a crash or a lost lease, so {@link #run}
+ * must be safe to repeat: commit work in batches and skip what is already done.
+ */
+public interface JobHandler {
+
+    JobType type();
+
+    /**
+     * Runs one attempt. Return a short summary to store on the job, or throw to
+     * fail the attempt; it is retried with backoff until attempts run out.
+     * Throw {@link java.util.concurrent.CancellationException} when
+     * {@link JobContext#shouldStop()} turns true to hand the job back without
+     * using up an attempt.
+     */
+    String run(Job job, JobContext context) throws Exception;
+}
@@ -0,0 +1,168 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * State transitions of the {@code jobs} table, each in its own short transaction.
+ * Every transition after the claim is fenced on {@code locked_by}: a worker whose
+ * lease expired and was handed to someone else can no longer complete or fail the job.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@UsePool(Workload.BACKGROUND)
+public class JobQueue {
+
+    private static final int MAX_TEXT = 4000;
+
+    private final JobRepository jobRepo;
+    private final AppProperties appProperties;
+
+    /** Claims up to {@code limit} ready jobs of one type for {@code workerId}. */
+    @Transactional
+    public List<Job> claim(JobType type, String workerId, int limit) {
+        Instant now = Instant.now();
+        List<Job> jobs = jobRepo.lockReady(type.name(), now, limit);
+        Instant until = now.plus(jobs().getLease());
+        for (Job job : jobs) {
+            job.setStatus(JobStatus.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(workerId);
+            job.setLockedUntil(until);
+            job.setUpdatedAt(now);
+        }
+        return jobs;   // flushed on commit, which also releases the row locks
+    }
+
+    /** Returns false if the lease is no longer held by {@code workerId}. */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean progress(Long id, String workerId, int percent, String message) {
+        Instant now = Instant.now();
+        int clamped = Math.max(0, Math.min(100, percent));
+        return jobRepo.updateProgress(id, workerId, clamped, truncate(message),
+                now.plus(jobs().getLease()), now) == 1;
+    }
+
+    @Transactional
+    public int renewLeases(Collection<Long> ids, String workerId) {
+        return jobRepo.renewLeases(ids, workerId, Instant.now().plus(jobs().getLease()));
+    }
+
+    @Transactional
+    public void complete(Long id, String workerId, String result) {
+        Job job = owned(id, workerId);
+        if (job == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        job.setStatus(JobStatus.SUCCEEDED);
+        job.setProgress(100);
+        job.setResult(truncate(result));
+        job.setLastError(null);
+        release(job, now);
+        job.setFinishedAt(now);
+    }
+
+    /** Schedules a retry with backoff, or fails the job once its attempts are used up. */
+    @Transactional
+    public void fail(Long id, String workerId, Throwable error) {
+        Job job = owned(id, workerId);
+        if (job == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        job.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        release(job, now);
+        if (job.getAttempts() >= job.getMaxAttempts()) {
+            job.setStatus(JobStatus.FAILED);
+            job.setFinishedAt(now);
+            log.error("Job {} ({}) failed after {} attempts", id, job.getType(), job.getAttempts());
+        } else {
+            Duration delay = backoff(job.getAttempts(), jobs().getBackoffBase(), jobs().getBackoffMax(),
+                    ThreadLocalRandom.current().nextDouble());
+            job.setStatus(JobStatus.QUEUED);
+            job.setRunAt(now.plus(delay));
+            log.warn("Job {} ({}) attempt {} failed, retrying in {}", id, job.getType(), job.getAttempts(), delay);
+        }
+    }
+
+    /** Hands an interrupted job back to the queue without charging the attempt. */
+    @Transactional
+    public void requeue(Long id, String workerId) {
+        Job job = owned(id, workerId);
+        if (job == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        job.setStatus(JobStatus.QUEUED);
+        job.setAttempts(Math.max(0, job.getAttempts() - 1));
+        job.setRunAt(now);
+        release(job, now);
+    }
+
+    /** Requeues (or, on their last attempt, fails) jobs whose worker stopped renewing the lease. */
+    @Transactional
+    public int recoverExpiredLeases() {
+        Instant now = Instant.now();
+        int failed = jobRepo.failExpired(now);
+        int requeued = jobRepo.requeueExpired(now);
+        if (failed + requeued > 0) {
+            log.warn("Recovered expired job leases: {} requeued, {} failed", requeued, failed);
+        }
+        return failed + requeued;
+    }
+
+    /**
+     * Exponential backoff with jitter: attempt {@code n} waits between half and all of
+     * {@code base * 2^(n-1)}, capped at {@code max}, so retries of jobs that failed
+     * together do not all come back at the same moment.
+     */
+    static Duration backoff(int attempt, Duration base, Duration max, double random) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        long ceiling = base.toMillis() << shift;
+        if (ceiling < 0 || ceiling > max.toMillis()) {
+            ceiling = max.toMillis();
+        }
+        return Duration.ofMillis(ceiling / 2 + (long) (random * (ceiling - ceiling / 2)));
+    }
+
+    private Job owned(Long id, String workerId) {
+        Job job = jobRepo.findById(id).orElse(null);
+        if (job == null || job.getStatus() != JobStatus.RUNNING || !workerId.equals(job.getLockedBy())) {
+            log.warn("Job {} is no longer leased to {}, dropping result", id, workerId);
+            return null;
+        }
+        return job;
+    }
+
+    private static void release(Job job, Instant now) {
+        job.setLockedBy(null);
+        job.setLockedUntil(null);
+        job.setUpdatedAt(now);
+    }
+
+    private static String truncate(String s) {
+        return s == null || s.length() <= MAX_TEXT ? s : s.substring(0, MAX_TEXT);
+    }
+
+    private AppProperties.Jobs jobs() {
+        return appProperties.getJobs();
+    }
+}
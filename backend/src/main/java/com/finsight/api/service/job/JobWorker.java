@@ -0,0 +1,214 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the {@code jobs} table and runs claimed jobs on a fixed pool per
+ * {@link JobType}. Each poll claims at most as many jobs as a pool has idle
+ * threads, so jobs wait in the database, where any replica can pick them up,
+ * rather than in a local executor queue.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.jobs", name = "enabled", havingValue = "true", matchIfMissing = true)
+@UsePool(Workload.BACKGROUND)
+public class JobWorker {
+
+    static final String JOB_TIMER = "finsight.jobs";
+
+    private final JobQueue queue;
+    private final AppProperties.Jobs props;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<JobType, Lane> lanes = new EnumMap<>(JobType.class);
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final String workerId;
+    private volatile boolean stopping;
+
+    public JobWorker(JobQueue queue,
+                     List<JobHandler> handlers,
+                     AppProperties appProperties,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.queue = queue;
+        this.props = appProperties.getJobs();
+        this.meterRegistry = meterRegistry;
+        this.workerId = workerId();
+        for (JobHandler handler : handlers) {
+            int size = props.getConcurrency().getOrDefault(handler.type(), props.getDefaultConcurrency());
+            Lane previous = lanes.put(handler.type(), new Lane(handler, size));
+            if (previous != null) {
+                throw new IllegalStateException("More than one JobHandler for " + handler.type());
+            }
+        }
+        log.info("Job worker {} started with pools {}", workerId, lanes.values());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval:PT1S}")
+    public void poll() {
+        for (Lane lane : lanes.values()) {
+            int idle = lane.size - lane.inFlight.get();
+            if (stopping || idle <= 0) {
+                continue;
+            }
+            try {
+                for (Job job : queue.claim(lane.handler.type(), workerId, idle)) {
+                    dispatch(lane, job);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not claim {} jobs", lane.handler.type(), e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        try {
+            queue.renewLeases(Set.copyOf(running), workerId);
+        } catch (RuntimeException e) {
+            log.warn("Could not renew job leases", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.recovery-interval:PT1M}")
+    public void recoverExpiredLeases() {
+        try {
+            queue.recoverExpiredLeases();
+        } catch (RuntimeException e) {
+            log.warn("Could not recover expired job leases", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        lanes.values().forEach(lane -> lane.executor.shutdown());
+        long deadline = System.nanoTime() + props.getShutdownGrace().toNanos();
+        for (Lane lane : lanes.values()) {
+            long remaining = deadline - System.nanoTime();
+            if (!lane.executor.awaitTermination(Math.max(remaining, 0), TimeUnit.NANOSECONDS)) {
+                log.warn("{} jobs still running at shutdown; their leases will expire", lane.handler.type());
+                lane.executor.shutdownNow();
+            }
+        }
+    }
+
+    private void dispatch(Lane lane, Job job) {
+        lane.inFlight.incrementAndGet();
+        running.add(job.getId());
+        try {
+            lane.executor.execute(() -> {
+                try {
+                    execute(lane.handler, job);
+                } finally {
+                    running.remove(job.getId());
+                    lane.inFlight.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor already shut down: the lease expires and another worker takes it
+            running.remove(job.getId());
+            lane.inFlight.decrementAndGet();
+        }
+    }
+
+    private void execute(JobHandler handler, Job job) {
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            String result = handler.run(job, new Context(job.getId()));
+            queue.complete(job.getId(), workerId, result);
+            outcome = "success";
+        } catch (CancellationException e) {
+            queue.requeue(job.getId(), workerId);
+            outcome = "requeued";
+        } catch (Exception e) {
+            log.warn("Job {} ({}) attempt {} threw", job.getId(), job.getType(), job.getAttempts(), e);
+            try {
+                queue.fail(job.getId(), workerId, e);
+            } catch (RuntimeException recordFailure) {
+                log.error("Could not record failure of job {}; lease recovery will retry it", job.getId(), recordFailure);
+            }
+            outcome = "failure";
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Timer.builder(JOB_TIMER)
+                    .tag("type", job.getType().name())
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String workerId() {
+        String host = System.getenv().getOrDefault("HOSTNAME", "local");
+        return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private final class Context implements JobContext {
+        private final Long jobId;
+        private volatile boolean leaseLost;
+
+        private Context(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void progress(int percent, String message) {
+            if (!queue.progress(jobId, workerId, percent, message)) {
+                leaseLost = true;
+            }
+        }
+
+        @Override
+        public boolean shouldStop() {
+            return stopping || leaseLost;
+        }
+    }
+
+    private static final class Lane {
+        private final JobHandler handler;
+        private final int size;
+        private final ExecutorService executor;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private Lane(JobHandler handler, int size) {
+            this.handler = handler;
+            this.size = size;
+            this.executor = Executors.newFixedThreadPool(size, Thread.ofPlatform()
+                    .name("job-" + handler.type().name().toLowerCase().replace('_', '-') + "-", 1)
+                    .factory());
+        }
+
+        @Override
+        public String toString() {
+            return handler.type() + "=" + size;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.finsight.api.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.config.AppProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to {@code app.outbox.http.url}. Any non-2xx
+ * response fails the batch, which is then retried.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "http")
+class HttpOutboxSink implements OutboxSink {
+
+    private final URI url;
+    private final Duration timeout;
+    private final String authorization;
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+
+    HttpOutboxSink(AppProperties appProperties, ObjectMapper objectMapper) {
+        AppProperties.Outbox.Http http = appProperties.getOutbox().getHttp();
+        if (http.getUrl() == null || http.getUrl().isBlank()) {
+            throw new IllegalStateException("app.outbox.http.url is required when app.outbox.sink=http");
+        }
+        this.url = URI.create(http.getUrl());
+        this.timeout = http.getTimeout();
+        this.authorization = http.getAuthorization();
+        this.objectMapper = objectMapper;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> batch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)));
+        if (authorization != null && !authorization.isBlank()) {
+            request.header("Authorization", authorization);
+        }
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Outbox endpoint " + url + " answered " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.finsight.api.service.outbox;
+
+import com.finsight.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One relay step per transaction: take the relay lock, read the oldest
+ * unpublished batch, hand it to the sink, mark it published. If the sink
+ * throws, the transaction rolls back and the same batch is offered again.
+ * If the commit fails after the sink accepted it, it is delivered twice;
+ * the guarantee is at-least-once.
+ */
+@Component
+@RequiredArgsConstructor
+class OutboxDispatcher {
+
+    /** Advisory lock key shared by all replicas ("finout") */
+    static final long RELAY_LOCK_KEY = 0x66696e6f7574L;
+
+    private final OutboxEventRepository outboxRepo;
+
+    /** Returns the delivered batch; empty if there was nothing to send or another replica holds the lock. */
+    @Transactional(rollbackFor = Exception.class)
+    public List<OutboxMessage> dispatch(OutboxSink sink, int batchSize) throws Exception {
+        if (!outboxRepo.tryAdvisoryXactLock(RELAY_LOCK_KEY)) {
+            return List.of();
+        }
+        List<OutboxMessage> batch = outboxRepo.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize))
+                .stream()
+                .map(OutboxMessage::of)
+                .toList();
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        sink.publish(batch);
+        outboxRepo.markPublished(batch.stream().map(OutboxMessage::id).toList(), Instant.now());
+        return batch;
+    }
+
+    @Transactional
+    public int purgePublishedBefore(Instant cutoff, int limit) {
+        return outboxRepo.deletePublishedBefore(cutoff, limit);
+    }
+}
@@ -0,0 +1,26 @@
+package com.finsight.api.service.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.finsight.api.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * What a sink receives: the outbox row with its JSON payload inlined. Delivery
+ * is at-least-once, so consumers should de-duplicate on {@code id}.
+ */
+public record OutboxMessage(
+        long id,
+        String aggregateType,
+        long aggregateId,
+        String eventType,
+        Long userId,
+        Instant createdAt,
+        @JsonRawValue String payload
+) {
+
+    static OutboxMessage of(OutboxEvent e) {
+        return new OutboxMessage(e.getId(), e.getAggregateType(), e.getAggregateId(), e.getEventType(),
+                e.getUserId(), e.getCreatedAt(), e.getPayload());
+    }
+}
@@ -0,0 +1,154 @@
+package com.finsight.api.service.outbox;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code outbox_events} into the configured {@link OutboxSink}. Every
+ * replica polls, but only the one holding the relay's advisory lock sends, so
+ * events leave in id order. After a failure the relay backs off exponentially
+ * (capped at {@code app.outbox.max-backoff}) and then retries the same batch.
+ */
+@Slf4j
+@Component
+@UsePool(Workload.BACKGROUND)
+public class OutboxRelay {
+
+    static final String PUBLISHED = "finsight.outbox.published";
+    static final String FAILURES  = "finsight.outbox.failures";
+    static final String DELIVERY  = "finsight.outbox.delivery";
+    static final String LAG       = "finsight.outbox.lag";
+    static final String PENDING   = "finsight.outbox.pending";
+
+    private static final int MAX_BATCHES_PER_POLL = 20;
+    private static final int PURGE_BATCH = 5_000;
+
+    private final OutboxDispatcher dispatcher;
+    private final OutboxEventRepository outboxRepo;
+    private final OutboxSink sink;
+    private final AppProperties.Outbox props;
+    private final MeterRegistry registry;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private int consecutiveFailures;
+    private Instant pausedUntil = Instant.MIN;
+
+    public OutboxRelay(OutboxDispatcher dispatcher,
+                       OutboxEventRepository outboxRepo,
+                       ObjectProvider<OutboxSink> sink,
+                       AppProperties appProperties,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this.dispatcher = dispatcher;
+        this.outboxRepo = outboxRepo;
+        this.sink = sink.getIfAvailable();
+        this.props = appProperties.getOutbox();
+        this.registry = meterRegistry.getIfAvailable();
+        if (this.sink == null) {
+            log.info("No outbox sink configured (app.outbox.sink=none); events are kept until one is");
+        }
+        if (registry != null) {
+            Gauge.builder(LAG, lagMillis, v -> v.get() / 1000.0)
+                    .description("Age of the oldest unpublished outbox event")
+                    .baseUnit("seconds")
+                    .register(registry);
+            Gauge.builder(PENDING, pending, AtomicLong::get)
+                    .description("Outbox events waiting to be published")
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        if (sink == null || Instant.now().isBefore(pausedUntil)) {
+            return;
+        }
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_POLL; i++) {
+                List<OutboxMessage> batch = dispatcher.dispatch(sink, props.getBatchSize());
+                record(batch);
+                if (batch.size() < props.getBatchSize()) {
+                    break;
+                }
+            }
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            consecutiveFailures++;
+            Duration pause = backoff(consecutiveFailures, props.getPollInterval(), props.getMaxBackoff());
+            pausedUntil = Instant.now().plus(pause);
+            increment(FAILURES);
+            log.warn("Outbox relay failed ({} in a row), pausing {}", consecutiveFailures, pause, e);
+        } finally {
+            refreshLag();
+        }
+    }
+
+    /** Drops published events older than {@code app.outbox.retention}. */
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:PT1H}")
+    public void purge() {
+        if (sink == null) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(props.getRetention());
+        int deleted;
+        long total = 0;
+        do {
+            deleted = dispatcher.purgePublishedBefore(cutoff, PURGE_BATCH);
+            total += deleted;
+        } while (deleted == PURGE_BATCH);
+        if (total > 0) {
+            log.info("Purged {} published outbox events older than {}", total, props.getRetention());
+        }
+    }
+
+    static Duration backoff(int failures, Duration base, Duration max) {
+        int shift = Math.min(failures, 20);
+        Duration candidate = base.multipliedBy(1L << shift);
+        return candidate.compareTo(max) > 0 ? max : candidate;
+    }
+
+    private void record(List<OutboxMessage> batch) {
+        if (registry == null || batch.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        Timer delivery = Timer.builder(DELIVERY)
+                .description("Time from commit of a change to its delivery to the sink")
+                .register(registry);
+        for (OutboxMessage message : batch) {
+            delivery.record(Duration.between(message.createdAt(), now));
+        }
+        Counter.builder(PUBLISHED).register(registry).increment(batch.size());
+    }
+
+    private void increment(String counter) {
+        if (registry != null) {
+            Counter.builder(counter).register(registry).increment();
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            Instant oldest = outboxRepo.findOldestUnpublishedCreatedAt();
+            lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+            pending.set(outboxRepo.countByPublishedAtIsNull());
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox lag", e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.finsight.api.service.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for relayed outbox events. Exactly one implementation is active,
+ * chosen by {@code app.outbox.sink}; with {@code none} events accumulate in the
+ * table until a sink is configured.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch in id order. Return only once the whole batch is durably
+     * accepted; throw to have the whole batch delivered again later.
+     */
+    void publish(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,91 @@
+package com.finsight.api.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.model.OutboxEvent;
+import com.finsight.api.repository.OutboxBulkRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Appends an outbox row for every transaction change and every budget
+ * threshold reached. Runs synchronously in the service method's transaction,
+ * so the event exists if and only if the change committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    static final String TRANSACTION_AGGREGATE = "transaction";
+    static final String BUDGET_AGGREGATE = "budget";
+
+    private final OutboxEventRepository outboxRepo;
+    private final OutboxBulkRepository  bulkRepo;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)   // never write an event without the change
+    public void on(TransactionChangedEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setAggregateType(TRANSACTION_AGGREGATE);
+        row.setAggregateId(event.transactionId());
+        row.setEventType(TRANSACTION_AGGREGATE + "." + event.changeType().name().toLowerCase());
+        row.setUserId(event.userId());
+        row.setPayload(toJson(event, event.changeType() + " event for transaction " + event.transactionId()));
+        row.setCreatedAt(Instant.now());
+        outboxRepo.save(row);
+    }
+
+    /**
+     * Rows for changes made in bulk, such as recurring materialisation, written
+     * in one statement; the payloads are the same as {@link #on(TransactionChangedEvent)} writes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAll(List<TransactionChangedEvent> events) {
+        int n = events.size();
+        if (n == 0) {
+            return;
+        }
+        Long[] aggregateIds = new Long[n], userIds = new Long[n];
+        String[] eventTypes = new String[n], payloads = new String[n];
+        for (int i = 0; i < n; i++) {
+            TransactionChangedEvent event = events.get(i);
+            aggregateIds[i] = event.transactionId();
+            eventTypes[i] = TRANSACTION_AGGREGATE + "." + event.changeType().name().toLowerCase();
+            userIds[i] = event.userId();
+            payloads[i] = toJson(event, event.changeType() + " event for transaction " + event.transactionId());
+        }
+        bulkRepo.insertAll(TRANSACTION_AGGREGATE, aggregateIds, eventTypes, userIds, payloads, Instant.now());
+    }
+
+    /** Published by the budget ledger before commit, so the alert commits with the write that caused it */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(BudgetThresholdEvent event) {
+        OutboxEvent row = new OutboxEvent();
+        row.setAggregateType(BUDGET_AGGREGATE);
+        row.setAggregateId(event.budgetId());
+        row.setEventType(BUDGET_AGGREGATE + ".threshold_reached");
+        row.setUserId(event.userId());
+        row.setPayload(toJson(event, "threshold event for budget " + event.budgetId()));
+        row.setCreatedAt(Instant.now());
+        outboxRepo.save(row);
+    }
+
+    private String toJson(Object event, String what) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + what, e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.finsight.api.service.recurring;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.repository.RecurringBulkRepository;
+import com.finsight.api.repository.RecurringBulkRepository.Due;
+import com.finsight.api.repository.RecurringBulkRepository.Inserted;
+import com.finsight.api.repository.RecurringBulkRepository.Occurrence;
+import com.finsight.api.repository.RecurringTransactionRepository;
+import com.finsight.api.service.balance.BalanceLedger;
+import com.finsight.api.service.budget.BudgetLedger;
+import com.finsight.api.service.outbox.OutboxWriter;
+import com.finsight.api.service.stream.PgChangeBridge;
+import com.finsight.api.service.stream.TransactionStreamHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One materialisation step per transaction: take the scheduler's advisory
+ * lock, lock a batch of due templates, insert every occurrence due by today
+ * in one statement and advance the templates in another.
+ * <p>
+ * Occurrences are keyed by (template, date) with a unique index and inserted
+ * with {@code ON CONFLICT DO NOTHING}, so a retried or overlapping batch never
+ * creates one twice. Created rows are handed to their consumers as one batch
+ * rather than as a {@link TransactionChangedEvent} each: the balance and
+ * budget ledgers fold them into their usual before-commit upserts, the outbox
+ * gets all its rows in one statement, and each affected user's streams get a
+ * single resync, locally after commit and on other replicas by one NOTIFY.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecurringMaterializer {
+
+    /** Advisory lock key shared by all replicas ("finrec") */
+    static final long LOCK_KEY = 0x66696e726563L;
+
+    private final RecurringBulkRepository        bulkRepo;
+    private final RecurringTransactionRepository recurringRepo;
+    private final BalanceLedger                  balanceLedger;
+    private final BudgetLedger                   budgetLedger;
+    private final OutboxWriter                   outboxWriter;
+    private final TransactionStreamHub           streamHub;
+    private final ObjectProvider<PgChangeBridge> peers;
+    private final AppProperties                  appProperties;
+
+    /** Outcome of one step; {@code locked} if another replica holds the lock */
+    public record Batch(boolean locked, int templates, int created) {
+        static final Batch LOCKED = new Batch(true, 0, 0);
+        static final Batch NOTHING_DUE = new Batch(false, 0, 0);
+    }
+
+    @Transactional
+    public Batch materializeBatch(LocalDate today) {
+        if (!recurringRepo.tryAdvisoryXactLock(LOCK_KEY)) {
+            return Batch.LOCKED;
+        }
+        AppProperties.Recurring props = appProperties.getRecurring();
+        List<Due> due = bulkRepo.lockDue(today, props.getBatchSize());
+        if (due.isEmpty()) {
+            return Batch.NOTHING_DUE;
+        }
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        Map<Long, Due> templates = new HashMap<>();
+        Long[] ids = new Long[due.size()];
+        Integer[] nextIndex = new Integer[due.size()];
+        LocalDate[] nextRun = new LocalDate[due.size()];
+        for (int i = 0; i < due.size(); i++) {
+            Due t = due.get(i);
+            long cents = Money.toCents(t.amount());
+            int n = t.nextIndex();
+            int limit = n + props.getMaxCatchUp();      // the rest follows in a later batch of this run
+            LocalDate day = t.frequency().occurrence(t.startDate(), n);
+            while (n < limit && !day.isAfter(today) && !ended(t, day)) {
+                occurrences.add(new Occurrence(t.id(), t.userId(), t.description(), t.amount(), day, t.type(),
+                        t.categoryId(), t.notes(),
+                        TransactionFingerprint.of(t.userId(), day, cents, t.type(), t.description())));
+                day = t.frequency().occurrence(t.startDate(), ++n);
+            }
+            templates.put(t.id(), t);
+            ids[i] = t.id();
+            nextIndex[i] = n;
+            nextRun[i] = ended(t, day) ? null : day;
+        }
+
+        List<Inserted> inserted = occurrences.isEmpty() ? List.of() : bulkRepo.insertOccurrences(occurrences);
+        publish(inserted, templates);
+        bulkRepo.advance(ids, nextIndex, nextRun);
+        return new Batch(false, due.size(), inserted.size());
+    }
+
+    private void publish(List<Inserted> inserted, Map<Long, Due> templates) {
+        if (inserted.isEmpty()) {
+            return;
+        }
+        List<TransactionSnapshot> created = new ArrayList<>(inserted.size());
+        List<TransactionChangedEvent> changes = new ArrayList<>(inserted.size());
+        Set<Long> users = new TreeSet<>();
+        for (Inserted row : inserted) {
+            Due t = templates.get(row.recurringId());
+            TransactionSnapshot tx = new TransactionSnapshot(row.id(), t.userId(), t.description(),
+                    Money.toCents(t.amount()), row.day().atStartOfDay(), t.type(), t.categoryId(), t.notes());
+            created.add(tx);
+            changes.add(TransactionChangedEvent.created(tx));
+            users.add(t.userId());
+        }
+        balanceLedger.onCreated(created);
+        budgetLedger.onCreated(created);
+        outboxWriter.onAll(changes);
+        streamHub.resyncAfterCommit(users);
+        PgChangeBridge bridge = peers.getIfAvailable();
+        if (bridge != null) {
+            bridge.resync(users);
+        }
+    }
+
+    private static boolean ended(Due t, LocalDate day) {
+        return t.endDate() != null && day.isAfter(t.endDate());
+    }
+}
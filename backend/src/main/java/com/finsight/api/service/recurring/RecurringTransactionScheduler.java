@@ -0,0 +1,68 @@
+package com.finsight.api.service.recurring;
+
+import com.finsight.api.config.UsePool;
+import com.finsight.api.config.Workload;
+import com.finsight.api.service.recurring.RecurringMaterializer.Batch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Materialises due recurring transactions on {@code app.recurring.cron}.
+ * Every replica fires, but each batch first takes a Postgres advisory lock,
+ * and a replica that finds it held stops: one node does the run while the
+ * others return at once. Runs after downtime catch up on every missed
+ * occurrence, {@code app.recurring.max-catch-up} per template per batch.
+ */
+@Slf4j
+@Component
+@UsePool(Workload.BACKGROUND)
+public class RecurringTransactionScheduler {
+
+    static final String MATERIALIZED = "finsight.recurring.materialized";
+
+    private final RecurringMaterializer materializer;
+    private final Counter               materialized;
+
+    public RecurringTransactionScheduler(RecurringMaterializer materializer,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.materializer = materializer;
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        this.materialized = registry == null ? null : Counter.builder(MATERIALIZED)
+                .description("Transactions created from recurring templates")
+                .register(registry);
+    }
+
+    @Scheduled(cron = "${app.recurring.cron:0 5 * * * *}")
+    public void run() {
+        materializeDue(LocalDate.now());
+    }
+
+    /** Materialises everything due by {@code today}; returns the number of transactions created */
+    public long materializeDue(LocalDate today) {
+        long started = System.nanoTime();
+        long templates = 0, created = 0;
+        Batch batch;
+        while (!(batch = materializer.materializeBatch(today)).locked() && batch.templates() > 0) {
+            templates += batch.templates();
+            created += batch.created();
+            if (materialized != null) {
+                materialized.increment(batch.created());
+            }
+        }
+        if (batch.locked() && templates == 0) {
+            log.debug("Recurring transactions are being materialised by another replica");
+        }
+        if (templates > 0) {
+            log.info("Materialised {} recurring transactions from {} templates in {}", created, templates,
+                    Duration.ofNanos(System.nanoTime() - started));
+        }
+        return created;
+    }
+}
@@ -0,0 +1,95 @@
+package com.finsight.api.service.rules;
+
+import com.finsight.api.model.CategoryRule;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.CategoryRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Picks a category for a transaction from its owner's rules, falling back to
+ * the global rules; a matching user rule always wins over a global one.
+ * Compiled rule sets are kept in the {@code category-rules} cache, keyed by
+ * user id ({@link #GLOBAL} for the global set), and evicted when rules change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryRuleEngine {
+
+    static final String CACHE_NAME = "category-rules";
+
+    /** Cache key of the global rule set; user ids start at 1 */
+    static final Long GLOBAL = 0L;
+
+    private final CategoryRuleRepository ruleRepo;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    /** The category the rules assign, if any */
+    public Optional<Long> categorize(Long userId, String description, BigDecimal amount, TransactionType type) {
+        long cents = Money.toCents(amount.setScale(Money.SCALE, RoundingMode.HALF_UP));
+        return Optional.ofNullable(categorize(userRules(userId), globalRules(), description, cents, type));
+    }
+
+    /** Same as {@link #categorize(Long, String, BigDecimal, TransactionType)} with rule sets fetched once by the caller */
+    public static Long categorize(CompiledRules user, CompiledRules global,
+                                  String description, long amountCents, TransactionType type) {
+        Long category = user.match(description, amountCents, type);
+        return category != null ? category : global.match(description, amountCents, type);
+    }
+
+    public CompiledRules userRules(Long userId) {
+        return load(userId, () -> ruleRepo.findByUserIdOrderByIdAsc(userId));
+    }
+
+    /** Compiles a user's rules without going through the cache, for bulk passes over many users */
+    public CompiledRules compileUserRules(Long userId) {
+        return compile(userId, ruleRepo.findByUserIdOrderByIdAsc(userId));
+    }
+
+    public CompiledRules globalRules() {
+        return load(GLOBAL, ruleRepo::findByUserIdIsNull);
+    }
+
+    /** Drops a user's compiled rules after they change */
+    public void evict(Long userId) {
+        Cache cache = cache();
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+
+    private CompiledRules load(Long key, Supplier<List<CategoryRule>> rules) {
+        Cache cache = cache();
+        if (cache == null) {
+            return compile(key, rules.get());
+        }
+        return cache.get(key, () -> compile(key, rules.get()));
+    }
+
+    private static CompiledRules compile(Long key, List<CategoryRule> rules) {
+        if (rules.isEmpty()) {
+            return CompiledRules.EMPTY;
+        }
+        CompiledRules compiled = CompiledRules.compile(rules);
+        log.debug("Compiled {} category rules for {}", compiled.size(), GLOBAL.equals(key) ? "all users" : "user " + key);
+        return compiled;
+    }
+
+    private Cache cache() {
+        return cacheManager == null ? null : cacheManager.getCache(CACHE_NAME);
+    }
+}
@@ -0,0 +1,83 @@
+package com.finsight.api.service.rules;
+
+import com.finsight.api.model.CategoryRule;
+import com.finsight.api.model.Money;
+import com.finsight.api.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * One owner's rules compiled for matching: the patterns go into a single
+ * {@link PatternAutomaton}, and the type and amount filters are checked only
+ * for the patterns that occur. Among matching rules the highest priority
+ * wins, then the longest pattern, then the oldest rule.
+ */
+public final class CompiledRules {
+
+    public static final CompiledRules EMPTY = compile(List.of());
+
+    private final PatternAutomaton automaton;
+    private final Rule[] rules;
+
+    private CompiledRules(PatternAutomaton automaton, Rule[] rules) {
+        this.automaton = automaton;
+        this.rules = rules;
+    }
+
+    public static CompiledRules compile(List<CategoryRule> source) {
+        Rule[] rules = new Rule[source.size()];
+        for (int i = 0; i < rules.length; i++) {
+            CategoryRule r = source.get(i);
+            rules[i] = new Rule(r.getId(), r.getCategoryId(), r.getType(),
+                    r.getMinAmount() == null ? Long.MIN_VALUE : toCents(r.getMinAmount()),
+                    r.getMaxAmount() == null ? Long.MAX_VALUE : toCents(r.getMaxAmount()),
+                    r.getPriority(), PatternAutomaton.normalize(r.getPattern()).length());
+        }
+        PatternAutomaton automaton = PatternAutomaton.compile(source.stream().map(CategoryRule::getPattern).toList());
+        return new CompiledRules(automaton, rules);
+    }
+
+    /** The category of the best matching rule, or {@code null} */
+    public Long match(String description, long amountCents, TransactionType type) {
+        if (rules.length == 0 || description == null) {
+            return null;
+        }
+        Rule[] best = new Rule[1];
+        automaton.forEachMatch(description, i -> {
+            Rule r = rules[i];
+            if ((r.type == null || r.type == type)
+                    && amountCents >= r.minCents && amountCents <= r.maxCents
+                    && r.beats(best[0])) {
+                best[0] = r;
+            }
+        });
+        return best[0] == null ? null : best[0].categoryId;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return Money.toCents(amount.setScale(Money.SCALE, RoundingMode.HALF_UP));
+    }
+
+    private record Rule(long id, long categoryId, TransactionType type, long minCents, long maxCents,
+                        int priority, int length) {
+
+        boolean beats(Rule other) {
+            if (other == null) {
+                return true;
+            }
+            if (priority != other.priority) {
+                return priority > other.priority;
+            }
+            if (length != other.length) {
+                return length > other.length;
+            }
+            return id < other.id;
+        }
+    }
+}
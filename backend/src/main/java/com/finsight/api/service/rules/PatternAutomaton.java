@@ -0,0 +1,154 @@
+package com.finsight.api.service.rules;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho–Corasick automaton over a fixed list of patterns, matched
+ * case-insensitively. One left-to-right pass over a text reports every
+ * pattern occurring in it, in time proportional to the text length plus the
+ * number of matches, independent of how many patterns were compiled.
+ * <p>
+ * Immutable and thread-safe once built. States are stored in flat arrays:
+ * each state's outgoing characters are sorted for binary search, and each
+ * state's output list already includes the outputs reachable through its
+ * failure links, so matching never walks the dictionary-suffix chain.
+ */
+public final class PatternAutomaton {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final int[] NONE = new int[0];
+
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[][] outputs;
+
+    private PatternAutomaton(char[][] keys, int[][] targets, int[] fail, int[][] outputs) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    /** Pattern {@code i} is reported as {@code i}; blank patterns never match. */
+    public static PatternAutomaton compile(List<String> patterns) {
+        // 1. Trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> out = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        out.add(new ArrayList<>());
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = normalize(patterns.get(p));
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    out.add(new ArrayList<>());
+                    trie.get(state).put(c, next);
+                }
+                state = next;
+            }
+            out.get(state).add(p);
+        }
+
+        // 2. Flatten
+        int n = trie.size();
+        char[][] keys = new char[n][];
+        int[][] targets = new int[n][];
+        for (int s = 0; s < n; s++) {
+            TreeMap<Character, Integer> edges = trie.get(s);
+            keys[s] = edges.isEmpty() ? NO_KEYS : new char[edges.size()];
+            targets[s] = edges.isEmpty() ? NONE : new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> e : edges.entrySet()) {
+                keys[s][i] = e.getKey();
+                targets[s][i++] = e.getValue();
+            }
+        }
+
+        // 3. Failure links and merged outputs, breadth first so a state's fail target is done before it
+        int[] fail = new int[n];
+        int[][] outputs = new int[n][];
+        outputs[0] = toArray(out.get(0));
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            outputs[child] = toArray(out.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            for (int i = 0; i < keys[s].length; i++) {
+                char c = keys[s][i];
+                int child = targets[s][i];
+                int f = fail[s];
+                int next;
+                while ((next = step(keys, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = Math.max(next, 0);
+                outputs[child] = concat(out.get(child), outputs[fail[child]]);
+                queue.add(child);
+            }
+        }
+        return new PatternAutomaton(keys, targets, fail, outputs);
+    }
+
+    /** Calls {@code onMatch} with the index of every pattern found, once per occurrence. */
+    public void forEachMatch(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = step(keys, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+            for (int p : outputs[state]) {
+                onMatch.accept(p);
+            }
+        }
+    }
+
+    public int stateCount() {
+        return fail.length;
+    }
+
+    /** Per-char lower-casing, exactly as {@link #forEachMatch} folds the text */
+    static String normalize(String pattern) {
+        if (pattern == null) {
+            return "";
+        }
+        String s = pattern.strip();
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            sb.append(Character.toLowerCase(s.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static int step(char[][] keys, int[][] targets, int state, char c) {
+        int i = Arrays.binarySearch(keys[state], c);
+        return i >= 0 ? targets[state][i] : -1;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.isEmpty() ? NONE : list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] concat(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(toArray(own), own.size() + inherited.length);
+        System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+        return merged;
+    }
+}
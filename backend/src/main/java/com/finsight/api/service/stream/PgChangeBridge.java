@@ -0,0 +1,273 @@
+package com.finsight.api.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.Workload;
+import com.finsight.api.dto.TransactionChangeDTO;
+import com.finsight.api.event.TransactionChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Carries transaction changes to the {@link TransactionStreamHub} of every other
+ * replica using Postgres LISTEN/NOTIFY. The NOTIFY is issued inside the write
+ * transaction, so peers only hear about committed changes. Each replica keeps
+ * one pooled connection parked in LISTEN. After that connection drops, local
+ * streams are told to resync, because notifications sent while it was down are lost.
+ * <p>
+ * Postgres serialises the commits of all transactions that sent a NOTIFY, so
+ * writes only notify for users another replica is streaming. Every
+ * {@code app.stream.presence-interval} the listener connection records in
+ * {@code stream_presence} which users this replica streams and reads which
+ * users the others do. A peer may not know about a new stream until its next
+ * refresh, so that stream gets a {@code resync} once every peer has refreshed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.stream", name = "postgres-notify", havingValue = "true", matchIfMissing = true)
+@RegisterReflectionForBinding(PgChangeBridge.PeerMessage.class)
+public class PgChangeBridge implements SmartLifecycle {
+
+    static final String CHANNEL = "transaction_changes";
+
+    /** NOTIFY payloads must stay under 8000 bytes; larger changes are sent as a bare resync. */
+    private static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionStreamHub hub;
+    private final long presenceNanos;
+
+    /** Users streamed by another replica, as of the last presence refresh */
+    private volatile Set<Long> watched = Set.of();
+
+    // Listener thread only
+    private Set<Long> announced = Set.of();
+    private final Map<Long, Long> resyncAt = new HashMap<>();
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PgChangeBridge(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                          ObjectMapper objectMapper, TransactionStreamHub hub,
+                          AppProperties appProperties) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.hub = hub;
+        this.presenceNanos = appProperties.getStream().getPresenceInterval().toNanos();
+    }
+
+    record PeerMessage(String origin, Long userId, TransactionChangeDTO change) {
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void on(TransactionChangedEvent event) throws JsonProcessingException {
+        if (!watched.contains(event.userId())) {
+            return;
+        }
+        String payload = objectMapper.writeValueAsString(
+                new PeerMessage(origin, event.userId(), TransactionChangeDTO.of(event)));
+        if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+            payload = objectMapper.writeValueAsString(new PeerMessage(origin, event.userId(), null));
+        }
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> { }, CHANNEL, payload);
+    }
+
+    /**
+     * Tells other replicas to resync these users' streams, one bare notification
+     * each, all in one statement. For changes made in bulk, where sending every
+     * row would cost a notification per row and overflow the streams anyway.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void resync(Collection<Long> userIds) {
+        Set<Long> peers = watched;
+        List<Long> streamed = userIds.stream().filter(peers::contains).toList();
+        if (streamed.isEmpty()) {
+            return;
+        }
+        String[] payloads = new String[streamed.size()];
+        int i = 0;
+        for (Long userId : streamed) {
+            try {
+                payloads[i++] = objectMapper.writeValueAsString(new PeerMessage(origin, userId, null));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize resync for user " + userId, e);
+            }
+        }
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT pg_notify(?, p) FROM unnest(?::text[]) AS p");
+            ps.setString(1, CHANNEL);
+            ps.setArray(2, con.createArrayOf("text", payloads));
+            return ps;
+        }, rs -> { });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // Platform thread: the driver blocks in synchronized socket reads, which would pin a virtual thread.
+        // The parked connection comes from the background pool, not one a request could use.
+        listener = Thread.ofPlatform().name("pg-listen-" + CHANNEL).daemon(true)
+                .start(() -> Workload.BACKGROUND.run(this::listen));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long backoffMillis = 1_000;
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                if (reconnecting) {
+                    hub.resyncAll();
+                    log.info("Re-subscribed to {} notifications", CHANNEL);
+                }
+                backoffMillis = 1_000;
+                announced = Set.of();      // peers may have expired our rows meanwhile
+                long nextRefresh = System.nanoTime();
+                while (running) {
+                    if (System.nanoTime() - nextRefresh >= 0) {
+                        refreshPresence(connection);
+                        nextRefresh = System.nanoTime() + presenceNanos;
+                    }
+                    PGNotification[] notifications = pg.getNotifications(1_000);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                reconnecting = true;
+                log.warn("Lost {} listener connection, retrying in {} ms", CHANNEL, backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, 30_000);
+            }
+        }
+    }
+
+    /**
+     * Records the users streamed here, drops rows of replicas that stopped
+     * refreshing and reads the users streamed elsewhere, in one statement.
+     * Streams opened since the last refresh are resynced two intervals later,
+     * by when every peer has refreshed and notifies for them.
+     */
+    private void refreshPresence(Connection connection) throws SQLException {
+        Long[] mine = hub.streamedUsers().toArray(Long[]::new);
+        long expiryMillis = 3 * presenceNanos / 1_000_000;
+        Set<Long> others = new HashSet<>();
+        try (PreparedStatement ps = connection.prepareStatement("""
+                WITH seen AS (
+                    INSERT INTO stream_presence (origin, user_id, seen_at)
+                    SELECT ?, u, now() FROM unnest(?::bigint[]) AS u
+                    ON CONFLICT (origin, user_id) DO UPDATE SET seen_at = EXCLUDED.seen_at
+                ), gone AS (
+                    DELETE FROM stream_presence
+                    WHERE (origin = ? AND user_id <> ALL (?::bigint[]))
+                       OR (origin <> ? AND seen_at < now() - ? * interval '1 millisecond')
+                )
+                SELECT DISTINCT user_id FROM stream_presence
+                WHERE origin <> ? AND seen_at >= now() - ? * interval '1 millisecond'""")) {
+            ps.setString(1, origin);
+            ps.setArray(2, connection.createArrayOf("bigint", mine));
+            ps.setString(3, origin);
+            ps.setArray(4, connection.createArrayOf("bigint", mine));
+            ps.setString(5, origin);
+            ps.setLong(6, expiryMillis);
+            ps.setString(7, origin);
+            ps.setLong(8, expiryMillis);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    others.add(rs.getLong(1));
+                }
+            }
+        }
+        watched = Set.copyOf(others);
+
+        long now = System.nanoTime();
+        Set<Long> current = Set.of(mine);
+        for (Long userId : current) {
+            if (!announced.contains(userId)) {
+                resyncAt.putIfAbsent(userId, now + 2 * presenceNanos);
+            }
+        }
+        for (Iterator<Map.Entry<Long, Long>> it = resyncAt.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Long, Long> due = it.next();
+            if (!current.contains(due.getKey())) {
+                it.remove();
+            } else if (now - due.getValue() >= 0) {
+                hub.resync(due.getKey());
+                it.remove();
+            }
+        }
+        announced = current;
+    }
+
+    private void deliver(String payload) {
+        try {
+            PeerMessage message = objectMapper.readValue(payload, PeerMessage.class);
+            if (origin.equals(message.origin())) {
+                return;     // already delivered locally after commit
+            }
+            if (message.change() == null) {
+                hub.resync(message.userId());
+            } else {
+                hub.onChange(message.userId(), message.change());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Ignoring malformed {} notification", CHANNEL, e);
+        }
+    }
+}
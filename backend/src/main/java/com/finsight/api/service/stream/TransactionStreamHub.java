@@ -0,0 +1,332 @@
+package com.finsight.api.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.TransactionChangeDTO;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.exception.StreamLimitExceededException;
+import com.finsight.api.service.BalanceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans transaction changes out to the SSE connections of the affected user.
+ * <ul>
+ *   <li>Idle connections hold no thread. Servlet async keeps them parked, and
+ *       a connection only gets a (virtual) sender thread while it has frames queued.</li>
+ *   <li>Changes are coalesced per user for {@code app.stream.coalesce-window}.
+ *       Each burst is serialized once and ends with a single {@code totals} event.</li>
+ *   <li>Backpressure: a client more than {@code app.stream.max-queued-events}
+ *       frames behind loses its backlog. It gets a {@code resync} event telling
+ *       it to refetch, followed by the latest totals.</li>
+ *   <li>Changes committed on other replicas arrive through {@link PgChangeBridge}.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class TransactionStreamHub {
+
+    static final String EVENT_TRANSACTION = "transaction";
+    static final String EVENT_TOTALS = "totals";
+    static final String EVENT_RESYNC = "resync";
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event().name(EVENT_RESYNC).data("{}").build();
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+
+    private final BalanceService balanceService;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Stream props;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, PendingChanges> dirty = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter resyncs;
+
+    public TransactionStreamHub(BalanceService balanceService,
+                                ObjectMapper objectMapper,
+                                AppProperties appProperties,
+                                ObjectProvider<MeterRegistry> meterRegistry) {
+        this.balanceService = balanceService;
+        this.objectMapper = objectMapper;
+        this.props = appProperties.getStream();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            Gauge.builder("finsight.stream.connections", connections, AtomicInteger::get)
+                    .description("Open transaction event streams on this instance")
+                    .register(registry);
+            this.resyncs = Counter.builder("finsight.stream.resyncs")
+                    .description("Streams that fell behind or missed changes and were told to refetch")
+                    .register(registry);
+        } else {
+            this.resyncs = null;
+        }
+    }
+
+    /** Opens a stream for the user and queues their current totals as the first event. */
+    public SseEmitter subscribe(Long userId) {
+        if (connections.incrementAndGet() > props.getMaxConnections()) {
+            connections.decrementAndGet();
+            throw new StreamLimitExceededException("Too many open event streams, retry later");
+        }
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(props.getTimeout().toMillis()));
+        boolean[] added = {false};
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (current.size() < props.getMaxConnectionsPerUser()) {
+                added[0] = current.add(subscriber);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!added[0]) {
+            connections.decrementAndGet();
+            throw new StreamLimitExceededException("Too many open event streams for this user");
+        }
+
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscriber.offer(List.of(totalsFrame(userId)));
+        return emitter;
+    }
+
+    /** Changes committed on this instance. */
+    @TransactionalEventListener
+    public void onCommitted(TransactionChangedEvent event) {
+        onChange(event.userId(), TransactionChangeDTO.of(event));
+    }
+
+    /** Queues a change for the next flush; a no-op for users with no stream on this instance. */
+    public void onChange(Long userId, TransactionChangeDTO change) {
+        if (userId == null || !subscribers.containsKey(userId)) {
+            return;
+        }
+        dirty.compute(userId, (id, pending) -> {
+            PendingChanges p = pending != null ? pending : new PendingChanges();
+            p.add(change, props.getMaxChangesPerFlush());
+            return p;
+        });
+    }
+
+    /** Tells the user's streams to refetch, e.g. after changes may have been missed. */
+    public void resync(Long userId) {
+        if (userId == null || !subscribers.containsKey(userId)) {
+            return;
+        }
+        dirty.compute(userId, (id, pending) -> {
+            PendingChanges p = pending != null ? pending : new PendingChanges();
+            p.overflowed = true;
+            return p;
+        });
+    }
+
+    /** Resyncs the users' streams once the current transaction commits; for changes made in bulk. */
+    public void resyncAfterCommit(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userIds.forEach(TransactionStreamHub.this::resync);
+            }
+        });
+    }
+
+    /** Tells every stream on this instance to refetch. */
+    public void resyncAll() {
+        subscribers.keySet().forEach(this::resync);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.coalesce-window:PT0.25S}")
+    public void flush() {
+        for (Long userId : dirty.keySet()) {
+            PendingChanges pending = dirty.remove(userId);
+            Set<Subscriber> targets = subscribers.get(userId);
+            if (pending == null || targets == null) {
+                continue;
+            }
+            List<Set<DataWithMediaType>> frames = new ArrayList<>(pending.changes.size() + 2);
+            if (pending.overflowed) {
+                frames.add(RESYNC);
+                countResync();
+            } else {
+                for (TransactionChangeDTO change : pending.changes) {
+                    frames.add(frame(EVENT_TRANSACTION, change));
+                }
+            }
+            try {
+                frames.add(totalsFrame(userId));
+            } catch (RuntimeException e) {
+                log.warn("Could not read totals for user {}", userId, e);
+            }
+            targets.forEach(subscriber -> subscriber.offer(frames));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval:PT20S}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.offer(List.of(HEARTBEAT))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdown();
+    }
+
+    /** Users with at least one stream on this instance */
+    public Set<Long> streamedUsers() {
+        return Set.copyOf(subscribers.keySet());
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    private Set<DataWithMediaType> totalsFrame(Long userId) {
+        return frame(EVENT_TOTALS, balanceService.getTotals(userId));
+    }
+
+    private Set<DataWithMediaType> frame(String name, Object payload) {
+        try {
+            // Serialized once per burst and shared by all of the user's connections
+            return SseEmitter.event()
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + name + " event", e);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.close()) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private void countResync() {
+        if (resyncs != null) {
+            resyncs.increment();
+        }
+    }
+
+    /** Changes for one user since the last flush. Guarded by the {@code dirty} map's compute. */
+    private static final class PendingChanges {
+        private final List<TransactionChangeDTO> changes = new ArrayList<>();
+        private boolean overflowed;
+
+        void add(TransactionChangeDTO change, int max) {
+            if (overflowed) {
+                return;
+            }
+            if (changes.size() >= max) {
+                overflowed = true;
+                changes.clear();
+            } else {
+                changes.add(change);
+            }
+        }
+    }
+
+    /** One connection. At most one sender task runs per subscriber, so frames stay in order. */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Set<DataWithMediaType>> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(List<Set<DataWithMediaType>> frames) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() + frames.size() > props.getMaxQueuedEvents()) {
+                    // Too slow to keep up: replace the backlog with "refetch" and the newest frame
+                    queue.clear();
+                    queue.add(RESYNC);
+                    queue.add(frames.get(frames.size() - 1));
+                    countResync();
+                } else {
+                    queue.addAll(frames);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RuntimeException e) {
+                remove(this);   // shutting down
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> frame;
+                synchronized (this) {
+                    frame = queue.poll();
+                    if (frame == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(frame);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Dropping stream for user {}: {}", userId, e.toString());
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        /** Returns true only for the call that actually closed it. */
+        synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            queue.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- ---------- BUDGETS ---------------------------------------------
+-- A spending limit per user, category and period. Spend is maintained
+-- in budget_spend by BudgetLedger in the same transaction as every
+-- transaction write, so reading a budget's status never scans transactions.
+CREATE TABLE budgets (
+                         id           BIGSERIAL     PRIMARY KEY,
+                         user_id      BIGINT        NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                         category_id  BIGINT        NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+                         period       VARCHAR(20)   NOT NULL,   -- matches BudgetPeriod enum
+                         amount       NUMERIC(12,2) NOT NULL,
+                         warn_percent INT           NOT NULL DEFAULT 80,
+                         created_at   TIMESTAMPTZ   NOT NULL DEFAULT now(),
+                         CONSTRAINT uq_budgets_user_category_period UNIQUE (user_id, category_id, period)
+);
+-- The unique index also serves the write path's (user_id, category_id) lookup
+
+-- Expense total per budget and period; period_start is the period's first day.
+-- Rows are updated on every matching write, so leave page space for HOT updates.
+CREATE TABLE budget_spend (
+                              budget_id    BIGINT      NOT NULL REFERENCES budgets(id) ON DELETE CASCADE,
+                              period_start DATE        NOT NULL,
+                              spent_cents  BIGINT      NOT NULL DEFAULT 0,
+                              updated_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+                              PRIMARY KEY (budget_id, period_start)
+) WITH (fillfactor = 70);
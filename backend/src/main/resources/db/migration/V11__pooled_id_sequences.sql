@@ -0,0 +1,14 @@
+-- ---------- POOLED ID ALLOCATION ----------------------------------
+-- Transaction, Category and AppUser take their ids from the sequences behind
+-- the BIGSERIAL columns, a block at a time: one nextval reserves INCREMENT BY
+-- ids, which Hibernate hands out in memory, so inserts can be batched instead
+-- of each one waiting for its generated key. The increments must equal the
+-- allocationSize of the entity's @SequenceGenerator.
+--
+-- The column defaults stay, so native inserts (recurring materialisation,
+-- seed scripts) keep working; each such row uses up a whole block, which only
+-- leaves gaps. Ids already handed out are below the next block, so nothing
+-- collides, but ids no longer follow insertion order across connections.
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+ALTER SEQUENCE categories_id_seq   INCREMENT BY 10;
+ALTER SEQUENCE users_id_seq        INCREMENT BY 10;
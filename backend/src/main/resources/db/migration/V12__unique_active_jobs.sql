@@ -0,0 +1,27 @@
+-- ---------- ONE ACTIVE JOB PER TYPE AND OWNER ----------------------
+-- enqueueUnique inserts with ON CONFLICT DO NOTHING against this index, so
+-- concurrent requests (or replicas scheduling the same system job) can no
+-- longer both see "none active" and queue two. System jobs have no owner;
+-- COALESCE makes them collide with each other too.
+
+-- Duplicates queued before the index existed: keep one per key, preferring
+-- a running job, then the oldest, and fail the rest so the index can build
+WITH ranked AS (
+    SELECT id,
+           row_number() OVER (PARTITION BY type, COALESCE(owner_sub, '')
+                              ORDER BY status = 'RUNNING' DESC, id) AS rn
+    FROM jobs
+    WHERE status IN ('QUEUED', 'RUNNING')
+)
+UPDATE jobs j
+SET status       = 'FAILED',
+    locked_by    = NULL,
+    locked_until = NULL,
+    last_error   = 'Duplicate of another active job',
+    finished_at  = now(),
+    updated_at   = now()
+FROM ranked r
+WHERE j.id = r.id AND r.rn > 1;
+
+CREATE UNIQUE INDEX uq_jobs_active ON jobs(type, COALESCE(owner_sub, ''))
+    WHERE status IN ('QUEUED', 'RUNNING');
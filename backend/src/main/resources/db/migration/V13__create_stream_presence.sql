@@ -0,0 +1,14 @@
+-- ---------- STREAM PRESENCE -------------------------------------
+-- Which replica has an open transaction stream for which user, refreshed
+-- by each replica's PgChangeBridge every app.stream.presence-interval.
+-- Writers send a NOTIFY only for users some other replica is streaming:
+-- every committing transaction that has notified queues on one cluster-wide
+-- lock, so the write path must not pay for it when nobody is listening.
+-- Rows of a replica that stopped refreshing expire. Unlogged: after a crash
+-- the table is empty and the next refresh rebuilds it.
+CREATE UNLOGGED TABLE stream_presence (
+                                          origin  TEXT        NOT NULL,   -- PgChangeBridge instance id
+                                          user_id BIGINT      NOT NULL,
+                                          seen_at TIMESTAMPTZ NOT NULL,
+                                          PRIMARY KEY (origin, user_id)
+);
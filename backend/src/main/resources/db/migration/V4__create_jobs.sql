@@ -0,0 +1,29 @@
+-- ---------- BACKGROUND JOBS -------------------------------------
+-- Work queue for long-running tasks. Workers on every replica claim rows
+-- with SELECT ... FOR UPDATE SKIP LOCKED, so no external broker is needed.
+CREATE TABLE jobs (
+                      id               BIGSERIAL PRIMARY KEY,
+                      type             VARCHAR(40)  NOT NULL,        -- matches JobType enum
+                      status           VARCHAR(20)  NOT NULL,        -- matches JobStatus enum
+                      owner_sub        VARCHAR(60),                  -- requesting user's Auth0 sub; NULL for system jobs
+                      payload          TEXT,
+                      attempts         INT          NOT NULL DEFAULT 0,
+                      max_attempts     INT          NOT NULL,
+                      run_at           TIMESTAMPTZ  NOT NULL,
+                      locked_by        VARCHAR(100),
+                      locked_until     TIMESTAMPTZ,
+                      progress         INT          NOT NULL DEFAULT 0,
+                      progress_message TEXT,
+                      last_error       TEXT,
+                      result           TEXT,
+                      created_at       TIMESTAMPTZ  NOT NULL,
+                      updated_at       TIMESTAMPTZ  NOT NULL,
+                      finished_at      TIMESTAMPTZ
+);
+
+-- Claim path: ready jobs of one type, oldest first
+CREATE INDEX idx_jobs_ready   ON jobs(type, run_at, id) WHERE status = 'QUEUED';
+-- Lease recovery: running jobs whose worker stopped heart-beating
+CREATE INDEX idx_jobs_running ON jobs(locked_until)     WHERE status = 'RUNNING';
+-- Status API and duplicate checks
+CREATE INDEX idx_jobs_owner   ON jobs(owner_sub, type)  WHERE owner_sub IS NOT NULL;
@@ -0,0 +1,18 @@
+-- ---------- OUTBOX ----------------------------------------------
+-- Change events written in the same transaction as the transaction row they
+-- describe, then relayed to downstream consumers and marked published.
+CREATE TABLE outbox_events (
+                               id             BIGSERIAL PRIMARY KEY,
+                               aggregate_type VARCHAR(40) NOT NULL,     -- e.g. 'transaction'
+                               aggregate_id   BIGINT      NOT NULL,
+                               event_type     VARCHAR(40) NOT NULL,     -- e.g. 'transaction.updated'
+                               user_id        BIGINT,
+                               payload        TEXT        NOT NULL,     -- JSON
+                               created_at     TIMESTAMPTZ NOT NULL,
+                               published_at   TIMESTAMPTZ
+);
+
+-- Relay path: unpublished events in id order; stays small once the relay keeps up
+CREATE INDEX idx_outbox_unpublished ON outbox_events(id) WHERE published_at IS NULL;
+-- Retention sweep of published events
+CREATE INDEX idx_outbox_published   ON outbox_events(published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,44 @@
+-- ---------- MAINTAINED BALANCES ---------------------------------
+-- Running totals per user, updated in the same transaction as every
+-- transaction write with an atomic INSERT ... ON CONFLICT DO UPDATE.
+-- Amounts are in cents. Rows are updated often, so leave page space for HOT updates.
+CREATE TABLE user_balances (
+                               user_id           BIGINT      PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+                               income_cents      BIGINT      NOT NULL DEFAULT 0,
+                               expense_cents     BIGINT      NOT NULL DEFAULT 0,
+                               transfer_cents    BIGINT      NOT NULL DEFAULT 0,
+                               transaction_count BIGINT      NOT NULL DEFAULT 0,
+                               updated_at        TIMESTAMPTZ NOT NULL DEFAULT now()
+) WITH (fillfactor = 70);
+
+-- Same totals per calendar month of the transaction date; period is the month's first day
+CREATE TABLE user_period_totals (
+                                    user_id           BIGINT      NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                                    period            DATE        NOT NULL,
+                                    income_cents      BIGINT      NOT NULL DEFAULT 0,
+                                    expense_cents     BIGINT      NOT NULL DEFAULT 0,
+                                    transfer_cents    BIGINT      NOT NULL DEFAULT 0,
+                                    transaction_count BIGINT      NOT NULL DEFAULT 0,
+                                    updated_at        TIMESTAMPTZ NOT NULL DEFAULT now(),
+                                    PRIMARY KEY (user_id, period)
+) WITH (fillfactor = 70);
+
+-- Backfill from existing transactions
+INSERT INTO user_balances (user_id, income_cents, expense_cents, transfer_cents, transaction_count)
+SELECT user_id,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'INCOME'),   0) * 100,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'EXPENSE'),  0) * 100,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER'), 0) * 100,
+       COUNT(*)
+FROM transactions
+GROUP BY user_id;
+
+INSERT INTO user_period_totals (user_id, period, income_cents, expense_cents, transfer_cents, transaction_count)
+SELECT user_id,
+       date_trunc('month', date)::date,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'INCOME'),   0) * 100,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'EXPENSE'),  0) * 100,
+       COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER'), 0) * 100,
+       COUNT(*)
+FROM transactions
+GROUP BY user_id, date_trunc('month', date);
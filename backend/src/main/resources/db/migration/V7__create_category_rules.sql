@@ -0,0 +1,25 @@
+-- ---------- CATEGORISATION RULES --------------------------------
+-- A rule maps descriptions containing `pattern` (case-insensitive), optionally
+-- restricted by type and amount range, to a category. user_id NULL = global rule.
+CREATE TABLE category_rules (
+                                id          BIGSERIAL     PRIMARY KEY,
+                                user_id     BIGINT        REFERENCES users(id) ON DELETE CASCADE,
+                                category_id BIGINT        NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+                                pattern     TEXT          NOT NULL,
+                                type        TEXT,                            -- matches TransactionType enum
+                                min_amount  NUMERIC(12,2),
+                                max_amount  NUMERIC(12,2),
+                                priority    INT           NOT NULL DEFAULT 0,
+                                created_at  TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_category_rules_user ON category_rules(user_id);
+
+-- Where transactions go when no category is given and no rule matches
+INSERT INTO categories (name, description)
+VALUES ('Uncategorized', 'Not yet assigned to a category')
+ON CONFLICT (name) DO NOTHING;
+
+-- The backfill walks one category in id order; this replaces the single-column index
+CREATE INDEX idx_transactions_category_id ON transactions(category_id, id);
+DROP INDEX idx_transactions_category;
@@ -0,0 +1,10 @@
+-- ---------- DUPLICATE DETECTION ---------------------------------
+-- Hash of (user, day, amount, type, normalised description), maintained by
+-- the application (see TransactionFingerprint). Existing rows start NULL and
+-- are filled in by the FINGERPRINT_BACKFILL job.
+ALTER TABLE transactions ADD COLUMN fingerprint BIGINT;
+
+-- Write-time lookup of a new row's fingerprints for its day and neighbours
+CREATE INDEX idx_transactions_user_fingerprint ON transactions(user_id, fingerprint);
+-- Backfill walk; empties as it runs
+CREATE INDEX idx_transactions_fingerprint_missing ON transactions(id) WHERE fingerprint IS NULL;
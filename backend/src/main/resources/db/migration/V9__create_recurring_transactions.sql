@@ -0,0 +1,31 @@
+-- ---------- RECURRING TRANSACTIONS ------------------------------
+-- Templates materialised into `transactions` by RecurringTransactionScheduler.
+-- Occurrence n falls on start_date + n periods; next_index counts the ones
+-- already materialised and next_run is the date of the next one (NULL once
+-- the schedule has ended).
+CREATE TABLE recurring_transactions (
+                                        id          BIGSERIAL     PRIMARY KEY,
+                                        user_id     BIGINT        NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+                                        description TEXT          NOT NULL,
+                                        amount      NUMERIC(12,2) NOT NULL,
+                                        type        TEXT          NOT NULL,   -- matches TransactionType enum
+                                        category_id BIGINT        NOT NULL REFERENCES categories(id),
+                                        notes       TEXT,
+                                        frequency   VARCHAR(20)   NOT NULL,   -- matches RecurrenceFrequency enum
+                                        start_date  DATE          NOT NULL,
+                                        end_date    DATE,
+                                        next_index  INT           NOT NULL DEFAULT 0,
+                                        next_run    DATE,
+                                        created_at  TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
+
+-- Scheduler: due templates in date order; ended schedules drop out
+CREATE INDEX idx_recurring_due  ON recurring_transactions(next_run, id) WHERE next_run IS NOT NULL;
+CREATE INDEX idx_recurring_user ON recurring_transactions(user_id);
+
+-- Each occurrence is inserted at most once, however often a run is retried
+ALTER TABLE transactions
+    ADD COLUMN recurring_id         BIGINT REFERENCES recurring_transactions(id) ON DELETE SET NULL,
+    ADD COLUMN recurring_occurrence DATE;
+CREATE UNIQUE INDEX uq_transactions_recurring_occurrence
+    ON transactions(recurring_id, recurring_occurrence) WHERE recurring_id IS NOT NULL;
@@ -0,0 +1,120 @@
+package com.finsight.api;
+
+import com.finsight.api.model.AppUser;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The controller scenarios of the WebMvc tests, run through the whole
+ * application without mocks, so they also run inside the native test image
+ * ({@code mvn -PnativeTest test}). Covers what breaks first when a hint is
+ * missing: JSON binding, Hibernate, method security, SpEL and error mapping.
+ * Reads only, since the test profile's H2 cannot run the Postgres upserts of the write path.
+ */
+@Tag("native")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NativeSmokeTest {
+
+    private static final String SUB = "auth0|native-smoke";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new AppUser(null, SUB, "Native Smoke", "native@example.com"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        catRepo.findByName("Native Groceries").ifPresent(catRepo::delete);
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);
+    }
+
+    @Test
+    void withoutToken_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/transactions"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void currentUser_ShouldBeReturned() throws Exception {
+        mockMvc.perform(get("/api/users/me").with(user()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Native Smoke"));
+    }
+
+    @Test
+    void transactions_ShouldBePagedAsDto() throws Exception {
+        mockMvc.perform(get("/api/transactions").with(user()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.page.totalElements").value(0));
+    }
+
+    @Test
+    void categories_ShouldBeCreatedAndRead() throws Exception {
+        String location = mockMvc.perform(post("/api/categories").with(user())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Native Groceries\",\"description\":\"Food\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location).with(user()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Native Groceries"));
+        mockMvc.perform(get("/api/categories").param("size", "100").with(user()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[?(@.name == 'Native Groceries')]").exists());
+    }
+
+    @Test
+    void budgets_ShouldBeListed() throws Exception {
+        mockMvc.perform(get("/api/budgets").with(user()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void missingTransaction_ShouldBeProblemDetail404() throws Exception {
+        mockMvc.perform(get("/api/transactions/987654321").with(user()))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON));
+    }
+
+    @Test
+    void invalidTransaction_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/api/transactions").with(user())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\":-5}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestPostProcessor user() {
+        return jwt().jwt(j -> j.subject(SUB)).authorities(new SimpleGrantedAuthority("SCOPE_fin:app"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.finsight.api.config;
+
+import com.finsight.api.config.ConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private AppProperties.LoadShedding props;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppProperties().getLoadShedding();
+        props.setInitialLimit(20);
+        props.setMinLimit(4);
+        props.setMaxLimit(100);
+    }
+
+    @Test
+    void steadyLatencyUnderLoad_RaisesTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(props);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, limiter.limit());
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(20);
+    }
+
+    @Test
+    void risingLatency_LowersTheLimitToTheFloor() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(props);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, limiter.limit());
+        }
+
+        for (int i = 0; i < 150; i++) {
+            limiter.onSample(SLOW, limiter.limit());
+        }
+
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void idleLimit_IsNotRaised() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(props);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 1);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void bulkReads_AreRefusedFirst() {
+        props.setInitialLimit(10);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(props);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire(Priority.LOW, 0)).isPositive();
+        }
+        assertThat(limiter.acquire(Priority.LOW, 0)).isEqualTo(-1);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.acquire(Priority.NORMAL, 0)).isPositive();
+        }
+        assertThat(limiter.acquire(Priority.NORMAL, 0)).isEqualTo(-1);
+        assertThat(limiter.acquire(Priority.HIGH, 0)).isEqualTo(10);
+        assertThat(limiter.acquire(Priority.HIGH, 0)).isEqualTo(-1);
+
+        limiter.release(FAST, 10);
+        assertThat(limiter.inFlight()).isEqualTo(9);
+        assertThat(limiter.acquire(Priority.HIGH, 0)).isEqualTo(10);
+    }
+
+    @Test
+    void waitingCaller_TakesTheNextReleasedPermit() throws Exception {
+        props.setInitialLimit(4);
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(props);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire(Priority.HIGH, 0);
+        }
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            limiter.release(FAST, 4);
+        });
+        releaser.start();
+
+        assertThat(limiter.acquire(Priority.HIGH, TimeUnit.SECONDS.toNanos(5))).isEqualTo(4);
+        releaser.join();
+    }
+}
@@ -0,0 +1,110 @@
+package com.finsight.api.config;
+
+import com.finsight.api.config.ConcurrencyLimiter.Priority;
+import com.finsight.api.dto.TransactionColumnsDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoadSheddingFilterTest {
+
+    private final MeterRegistry meters = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final FilterChain chain = (req, res) -> calls.incrementAndGet();
+
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getLoadShedding().setInitialLimit(4);
+        props.getLoadShedding().setMaxQueueWait(Duration.ZERO);
+        ObjectProvider<MeterRegistry> registry = mock(ObjectProvider.class);
+        when(registry.getIfAvailable()).thenReturn(meters);
+        filter = new LoadSheddingFilter(props, registry);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest req) throws Exception {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, chain);
+        return res;
+    }
+
+    private void fill() {
+        for (int i = 0; i < 4; i++) {
+            filter.limiter().acquire(Priority.HIGH, 0);
+        }
+    }
+
+    @Test
+    void belowTheLimit_PassesAndReleases() throws Exception {
+        MockHttpServletResponse res = run(new MockHttpServletRequest("GET", "/api/transactions"));
+
+        assertThat(res.getStatus()).isEqualTo(200);
+        assertThat(calls).hasValue(1);
+        assertThat(filter.limiter().inFlight()).isZero();
+    }
+
+    @Test
+    void atTheLimit_ShedsWith503AndRetryAfter() throws Exception {
+        fill();
+
+        MockHttpServletResponse res = run(new MockHttpServletRequest("POST", "/api/transactions"));
+
+        assertThat(res.getStatus()).isEqualTo(503);
+        assertThat(res.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(res.getContentType()).isEqualTo("application/problem+json");
+        assertThat(calls).hasValue(0);
+        assertThat(meters.get("finsight.load.shed").tag("priority", "high").counter().count()).isEqualTo(1);
+        assertThat(meters.get("finsight.load.limit").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void streamAndNonApiPaths_AreNotLimited() throws Exception {
+        fill();
+
+        assertThat(run(new MockHttpServletRequest("GET", "/api/transactions/stream")).getStatus()).isEqualTo(200);
+        assertThat(run(new MockHttpServletRequest("GET", "/actuator/health")).getStatus()).isEqualTo(200);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void bulkRequests_RunOnTheReportingPool() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/transactions/duplicates");
+        AtomicReference<Workload> seen = new AtomicReference<>();
+
+        filter.doFilter(req, new MockHttpServletResponse(), (rq, rs) -> seen.set(Workload.current()));
+
+        assertThat(seen).hasValue(Workload.REPORTING);
+        assertThat(Workload.current()).isEqualTo(Workload.INTERACTIVE);
+    }
+
+    @Test
+    void classify_RanksWritesOverReadsOverBulk() {
+        MockHttpServletRequest bigPage = new MockHttpServletRequest("GET", "/api/transactions");
+        bigPage.setParameter("size", "500");
+        MockHttpServletRequest columnar = new MockHttpServletRequest("GET", "/api/transactions");
+        columnar.addHeader(HttpHeaders.ACCEPT, TransactionColumnsDTO.CBOR);
+
+        assertThat(filter.classify(new MockHttpServletRequest("DELETE", "/api/transactions/1"))).isEqualTo(Priority.HIGH);
+        assertThat(filter.classify(new MockHttpServletRequest("GET", "/api/transactions/1"))).isEqualTo(Priority.NORMAL);
+        assertThat(filter.classify(bigPage)).isEqualTo(Priority.LOW);
+        assertThat(filter.classify(columnar)).isEqualTo(Priority.LOW);
+        assertThat(filter.classify(new MockHttpServletRequest("POST", "/api/transactions/import"))).isEqualTo(Priority.LOW);
+    }
+}
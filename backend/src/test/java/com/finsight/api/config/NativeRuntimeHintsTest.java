@@ -0,0 +1,49 @@
+package com.finsight.api.config;
+
+import com.finsight.api.dto.DuplicateClusterDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.model.BudgetSpend;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.data.projection.TargetAware;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void modelTypes_ShouldBeReflective() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Transaction.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TransactionType.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BudgetSpend.Key.class)).accepts(hints);
+    }
+
+    @Test
+    void dtosAndEvents_ShouldBeBindable() throws Exception {
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(TransactionDTO.class.getMethod("getAmount")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(DuplicateClusterDTO.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(BudgetThresholdEvent.class.getMethod("spentCents")))
+                .accepts(hints);
+    }
+
+    @Test
+    void projections_ShouldHaveJdkProxies() {
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(AopProxyUtils.completeJdkProxyInterfaces(
+                TransactionRepository.FingerprintMatch.class, TargetAware.class))).accepts(hints);
+    }
+}
@@ -0,0 +1,124 @@
+package com.finsight.api.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCompressionFilterTest {
+
+    private AppProperties props;
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        props = new AppProperties();
+        props.getCompression().setMinResponseBytes(100);
+        props.getCompression().setLargeResponseBytes(10_000);
+        filter = new ResponseCompressionFilter(props);
+    }
+
+    private static byte[] json(int bytes) {
+        StringBuilder out = new StringBuilder("[");
+        while (out.length() < bytes - 1) {
+            out.append("{\"categoryName\":\"Food\"},");
+        }
+        out.setLength(bytes - 1);
+        return out.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private MockHttpServletResponse run(String acceptEncoding, String contentType, byte[] body) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/transactions");
+        if (acceptEncoding != null) {
+            req.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        FilterChain chain = (rq, rs) -> {
+            rs.setContentType(contentType);
+            rs.getOutputStream().write(body);
+            rs.getOutputStream().flush();
+        };
+        filter.doFilter(req, res, chain);
+        return res;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void smallBody_isSentAsIs() throws Exception {
+        byte[] body = json(50);
+
+        MockHttpServletResponse res = run("gzip", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(res.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(res.getContentLength()).isEqualTo(50);
+        assertThat(res.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void mediumBody_isGzippedWithExactLength() throws Exception {
+        byte[] body = json(5_000);
+
+        MockHttpServletResponse res = run("br, gzip;q=0.8", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(res.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(res.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(res.getContentLength()).isEqualTo(res.getContentAsByteArray().length).isLessThan(1_000);
+        assertThat(gunzip(res.getContentAsByteArray())).isEqualTo(body);
+    }
+
+    @Test
+    void largeBody_isStreamedAtTheLargeLevel() throws Exception {
+        byte[] body = json(50_000);
+
+        MockHttpServletResponse res = run("gzip", "application/cbor", body);
+
+        assertThat(res.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(res.getHeader(HttpHeaders.CONTENT_LENGTH)).isNull();
+        assertThat(gunzip(res.getContentAsByteArray())).isEqualTo(body);
+    }
+
+    @Test
+    void eventStream_passesThrough() throws Exception {
+        byte[] body = json(5_000);
+
+        MockHttpServletResponse res = run("gzip", MediaType.TEXT_EVENT_STREAM_VALUE, body);
+
+        assertThat(res.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(res.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void clientWithoutGzip_getsPlainBody() throws Exception {
+        byte[] body = json(5_000);
+
+        MockHttpServletResponse res = run(null, MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(res.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(res.getContentAsByteArray()).isEqualTo(body);
+    }
+
+    @Test
+    void acceptsGzip_honoursQualityZero() {
+        assertThat(ResponseCompressionFilter.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(ResponseCompressionFilter.acceptsGzip("*")).isTrue();
+        assertThat(ResponseCompressionFilter.acceptsGzip("GZIP;q=0.5")).isTrue();
+        assertThat(ResponseCompressionFilter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ResponseCompressionFilter.acceptsGzip("identity")).isFalse();
+        assertThat(ResponseCompressionFilter.acceptsGzip(null)).isFalse();
+    }
+}
@@ -0,0 +1,36 @@
+package com.finsight.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The decoder must be buildable with the issuer unreachable: replicas start without calling it. */
+class SecurityConfigTest {
+
+    @Test
+    void jwtDecoder_WithJwkSetUri_ShouldSkipDiscovery() {
+        AppProperties props = props();
+        props.getAuth0().setJwkSetUri("https://unreachable.invalid/.well-known/jwks.json");
+
+        JwtDecoder decoder = new SecurityConfig(props).jwtDecoder();
+
+        assertThat(decoder).isInstanceOf(NimbusJwtDecoder.class);
+    }
+
+    @Test
+    void jwtDecoder_WithoutJwkSetUri_ShouldDeferDiscoveryToFirstToken() {
+        JwtDecoder decoder = new SecurityConfig(props()).jwtDecoder();
+
+        assertThat(decoder).isInstanceOf(SupplierJwtDecoder.class);
+    }
+
+    private static AppProperties props() {
+        AppProperties props = new AppProperties();
+        props.getAuth0().setIssuerUri("https://unreachable.invalid/");
+        props.getAuth0().setAudience("https://test-api");
+        return props;
+    }
+}
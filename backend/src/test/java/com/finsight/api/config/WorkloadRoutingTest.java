@@ -0,0 +1,84 @@
+package com.finsight.api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.sql.Connection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingTest {
+
+    @UsePool(Workload.BACKGROUND)
+    public static class Worker {
+
+        public Workload work() {
+            return Workload.current();
+        }
+
+        @UsePool(Workload.REPORTING)
+        public Workload report() {
+            return Workload.current();
+        }
+    }
+
+    public static class Service {
+
+        @UsePool(Workload.REPORTING)
+        public Workload report(Worker worker) {
+            return worker.work();
+        }
+
+        public Workload plain() {
+            return Workload.current();
+        }
+    }
+
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadAspect());
+        return factory.getProxy();
+    }
+
+    @Test
+    void annotations_SetTheWorkloadForTheCall() {
+        Worker worker = proxy(new Worker());
+        Service service = proxy(new Service());
+
+        assertThat(service.plain()).isEqualTo(Workload.INTERACTIVE);
+        assertThat(worker.work()).isEqualTo(Workload.BACKGROUND);
+        assertThat(worker.report()).isEqualTo(Workload.REPORTING);
+        assertThat(service.report(worker)).isEqualTo(Workload.BACKGROUND);
+        assertThat(Workload.current()).isEqualTo(Workload.INTERACTIVE);
+    }
+
+    @Test
+    void routingDataSource_UsesThePoolOfTheCurrentWorkload() throws Exception {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        Map<Workload, Connection> connections = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = mock(HikariDataSource.class);
+            Connection connection = mock(Connection.class);
+            when(pool.getConnection()).thenReturn(connection);
+            pools.put(workload, pool);
+            connections.put(workload, connection);
+        }
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(new WorkloadPools(pools));
+
+        assertThat(dataSource.getConnection()).isSameAs(connections.get(Workload.INTERACTIVE));
+        Workload.REPORTING.run(() -> {
+            try {
+                assertThat(dataSource.getConnection()).isSameAs(connections.get(Workload.REPORTING));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertThat(dataSource.getConnection()).isSameAs(connections.get(Workload.INTERACTIVE));
+    }
+}
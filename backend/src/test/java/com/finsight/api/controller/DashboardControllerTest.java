@@ -0,0 +1,54 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.dto.DashboardDTO;
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.dto.UserDTO;
+import com.finsight.api.service.DashboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DashboardController.class)
+@Import(WebSliceTestConfig.class)
+@ActiveProfiles("test")
+class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DashboardService dashboardService;
+
+    @Test
+    void getDashboard_ShouldReturnPartialResultWithUnavailableSections() throws Exception {
+        DashboardDTO dto = new DashboardDTO();
+        dto.setUser(new UserDTO(1L, "auth0|dash", "Dash", "dash@example.com"));
+        dto.setTotals(new TotalsDTO(10_000L, 4_000L, 0L, 6_000L));
+        dto.setUnavailable(List.of("topCategories"));
+        when(dashboardService.getDashboard()).thenReturn(dto);
+
+        mockMvc.perform(get("/api/dashboard").with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.name").value("Dash"))
+                .andExpect(jsonPath("$.totals.balance").value(60.00))
+                .andExpect(jsonPath("$.topCategories").doesNotExist())
+                .andExpect(jsonPath("$.unavailable[0]").value("topCategories"));
+    }
+
+    @Test
+    void getDashboard_WithoutAuth_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,8 +1,16 @@
 package com.finsight.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.DuplicateClusterDTO;
+import com.finsight.api.dto.DuplicateScanDTO;
+import com.finsight.api.dto.TransactionBatchDTO;
 import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.exception.DuplicateTransactionException;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
 import com.finsight.api.model.TransactionType;
+import com.finsight.api.service.DuplicateService;
 import com.finsight.api.service.TransactionService;
 import com.finsight.api.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +18,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -21,7 +32,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +43,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransactionController.class)
+@Import(WebSliceTestConfig.class)
 @ActiveProfiles("test")
 class TransactionControllerTest {
 
@@ -45,6 +59,9 @@ class TransactionControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private DuplicateService duplicateService;
+
     private TransactionDTO sampleTransaction;
 
     @BeforeEach
@@ -147,6 +164,29 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.content").isArray());
     }
 
+    @Test
+    void importTransactions_ShouldReturnCreatedRows() throws Exception {
+        when(transactionService.importTransactions(anyList())).thenReturn(List.of(sampleTransaction));
+
+        mockMvc.perform(post("/api/transactions/import")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(sampleTransaction))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].categoryName").value("Food"));
+    }
+
+    @Test
+    void importTransactions_WithInvalidRow_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/transactions/import")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(sampleTransaction, new TransactionDTO()))))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionService, never()).importTransactions(anyList());
+    }
+
     @Test
     void createTransaction_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         TransactionDTO invalidTransaction = new TransactionDTO();
@@ -159,6 +199,145 @@ class TransactionControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void getAllTransactions_WithCountNone_ShouldReturnSlice() throws Exception {
+        Slice<TransactionDTO> slice = new SliceImpl<>(List.of(sampleTransaction), PageRequest.of(0, 1), true);
+        when(transactionService.getAllTransactionsSlice(any(PageRequest.class)))
+                .thenReturn(slice);
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("count", "NONE")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].description").value("Test Transaction"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.page").doesNotExist());
+        verify(transactionService, never()).getAllTransactions(any());
+    }
+
+    @Test
+    void getAllTransactions_WithCountApproximate_ShouldFlagTotal() throws Exception {
+        Page<TransactionDTO> page = new PageImpl<>(List.of(sampleTransaction), PageRequest.of(0, 1), 500);
+        when(transactionService.getAllTransactionsApproximate(any(PageRequest.class)))
+                .thenReturn(page);
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("count", "APPROXIMATE")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count-Approximate", "true"))
+                .andExpect(jsonPath("$.page.totalElements").value(500));
+    }
+
+    @Test
+    void getAllTransactions_WithFields_ShouldWriteOnlyThoseFields() throws Exception {
+        TransactionDTO narrow = new TransactionDTO(1L, null, new BigDecimal("12.50"),
+                LocalDateTime.of(2025, 3, 1, 9, 0), null, null, "Food", null, null);
+        when(transactionService.findTransactions(eq(TransactionFilter.NONE),
+                eq(EnumSet.of(TransactionField.ID, TransactionField.DATE, TransactionField.AMOUNT, TransactionField.CATEGORY_NAME)),
+                eq(CountMode.EXACT), any(PageRequest.class)))
+                .thenReturn(new PageImpl<>(List.of(narrow), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("fields", "date,amount,categoryName")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].amount").value(12.50))
+                .andExpect(jsonPath("$.content[0].date").value("2025-03-01T09:00:00"))
+                .andExpect(jsonPath("$.content[0].categoryName").value("Food"))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].notes").doesNotExist())
+                .andExpect(jsonPath("$.content[0].type").doesNotExist());
+        verify(transactionService, never()).getAllTransactions(any());
+    }
+
+    @Test
+    void getTransactionsByCategory_WithFieldsAndCountNone_ShouldReturnSparseSlice() throws Exception {
+        TransactionDTO narrow = new TransactionDTO(1L, null, null, null, TransactionType.EXPENSE, null, null, null, null);
+        when(transactionService.findTransactions(eq(TransactionFilter.inCategory(4L)), any(), eq(CountMode.NONE), any(PageRequest.class)))
+                .thenReturn(new SliceImpl<>(List.of(narrow), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/api/transactions/category/4")
+                        .param("fields", "type")
+                        .param("count", "NONE")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].type").value("EXPENSE"))
+                .andExpect(jsonPath("$.content[0].amount").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void getAllTransactions_WithUnknownField_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/transactions")
+                        .param("fields", "date,balance")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isBadRequest());
+        verify(transactionService, never()).findTransactions(any(), any(), any(), any());
+    }
+
+    @Test
+    void getByIds_ShouldReturnFoundAndNotFound() throws Exception {
+        when(transactionService.getTransactionsByIds(List.of(1L, 99L)))
+                .thenReturn(new TransactionBatchDTO(List.of(sampleTransaction), List.of(99L)));
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("ids", "1,99")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions[0].description").value("Test Transaction"))
+                .andExpect(jsonPath("$.notFound[0]").value(99));
+        verify(transactionService, never()).getAllTransactions(any());
+    }
+
+    @Test
+    void getByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        String ids = String.join(",", LongStream.rangeClosed(1, TransactionController.MAX_BATCH_GET + 1)
+                .mapToObj(Long::toString).toList());
+
+        mockMvc.perform(get("/api/transactions")
+                        .param("ids", ids)
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isBadRequest());
+        verify(transactionService, never()).getTransactionsByIds(anyList());
+    }
+
+    @Test
+    void getTransactionsByType_WithCountApproximate_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/transactions/type/EXPENSE")
+                        .param("count", "APPROXIMATE")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTransaction_WhenDuplicateRejected_ShouldReturnConflict() throws Exception {
+        when(transactionService.createTransaction(any(TransactionDTO.class)))
+                .thenThrow(new DuplicateTransactionException("Transaction looks like a duplicate of transaction 12", 12L));
+
+        mockMvc.perform(post("/api/transactions")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sampleTransaction)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.duplicateOf").value(12));
+    }
+
+    @Test
+    void findDuplicates_ShouldReturnClusters() throws Exception {
+        TransactionDTO repeat = new TransactionDTO();
+        repeat.setId(2L);
+        when(duplicateService.findDuplicateClusters()).thenReturn(
+                new DuplicateScanDTO(2, false, List.of(new DuplicateClusterDTO(List.of(sampleTransaction, repeat)))));
+
+        mockMvc.perform(get("/api/transactions/duplicates")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.scanned").value(2))
+                .andExpect(jsonPath("$.clusters[0].transactions[1].id").value(2));
+    }
+
     @Test
     void accessWithoutAuth_ShouldReturnUnauthorized() throws Exception {
         mockMvc.perform(get("/api/transactions"))
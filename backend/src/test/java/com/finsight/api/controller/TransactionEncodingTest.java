@@ -0,0 +1,147 @@
+package com.finsight.api.controller;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.finsight.api.config.WebConfig;
+import com.finsight.api.dto.TransactionColumnsDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.service.DuplicateService;
+import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TransactionController.class)
+@Import({WebConfig.class, WebSliceTestConfig.class})
+@ActiveProfiles("test")
+class TransactionEncodingTest {
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2024, 3, 1, 12, 30);
+
+    private final CBORMapper cbor = CBORMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionService transactionService;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private DuplicateService duplicateService;
+
+    private static TransactionDTO tx(long id, String amount, Long categoryId, String categoryName) {
+        return new TransactionDTO(id, "Row " + id, new BigDecimal(amount), DATE, TransactionType.EXPENSE,
+                categoryId, categoryName, null, null);
+    }
+
+    @Test
+    void columnarJson_dictionaryEncodesCategoriesAndTypes() throws Exception {
+        when(transactionService.getAllTransactions(any(PageRequest.class))).thenReturn(new PageImpl<>(
+                List.of(tx(1, "12.50", 7L, "Food"), tx(2, "3.00", 7L, "Food"), tx(3, "1.00", null, null)),
+                PageRequest.of(0, 20), 3));
+
+        mockMvc.perform(get("/api/transactions")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .accept(TransactionColumnsDTO.JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TransactionColumnsDTO.JSON))
+                .andExpect(jsonPath("$.id[2]").value(3))
+                .andExpect(jsonPath("$.amountCents[0]").value(1250))
+                .andExpect(jsonPath("$.date[0]").value(DATE.toEpochSecond(ZoneOffset.UTC)))
+                .andExpect(jsonPath("$.types.length()").value(1))
+                .andExpect(jsonPath("$.type[1]").value(0))
+                .andExpect(jsonPath("$.categories.length()").value(1))
+                .andExpect(jsonPath("$.categories[0].name").value("Food"))
+                .andExpect(jsonPath("$.category[1]").value(0))
+                .andExpect(jsonPath("$.category[2]").doesNotExist())
+                .andExpect(jsonPath("$.page.totalElements").value(3))
+                .andExpect(jsonPath("$.page.hasNext").doesNotExist());
+    }
+
+    @Test
+    void columnarCbor_sliceKeepsHasNext() throws Exception {
+        when(transactionService.getAllTransactionsSlice(any(PageRequest.class))).thenReturn(new SliceImpl<>(
+                List.of(tx(1, "12.50", 7L, "Food")), PageRequest.of(0, 1), true));
+
+        byte[] body = mockMvc.perform(get("/api/transactions")
+                        .param("count", "NONE")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .accept(TransactionColumnsDTO.CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(TransactionColumnsDTO.CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TransactionColumnsDTO columns = cbor.readValue(body, TransactionColumnsDTO.class);
+        assertThat(columns.getDescription()).containsExactly("Row 1");
+        assertThat(columns.getPage().hasNext()).isTrue();
+        assertThat(columns.getPage().totalElements()).isNull();
+    }
+
+    @Test
+    void cbor_encodesSingleTransaction() throws Exception {
+        when(transactionService.getTransactionById(anyLong())).thenReturn(tx(1, "12.50", 7L, "Food"));
+
+        byte[] body = mockMvc.perform(get("/api/transactions/1")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        TransactionDTO read = cbor.readValue(body, TransactionDTO.class);
+        assertThat(read.getAmount()).isEqualByComparingTo("12.50");
+        assertThat(read.getDate()).isEqualTo(DATE);
+        assertThat(read.getCategoryName()).isEqualTo("Food");
+    }
+
+    @Test
+    void columnar_nonListingKeepsRowShapeAndSaysSo() throws Exception {
+        when(transactionService.getTransactionById(anyLong())).thenReturn(tx(1, "12.50", 7L, "Food"));
+
+        mockMvc.perform(get("/api/transactions/1")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .accept(TransactionColumnsDTO.JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.description").value("Row 1"));
+    }
+
+    @Test
+    void json_remainsTheDefault() throws Exception {
+        when(transactionService.getAllTransactions(any(PageRequest.class))).thenReturn(new PageImpl<>(
+                List.of(tx(1, "12.50", 7L, "Food")), PageRequest.of(0, 20), 1));
+
+        mockMvc.perform(get("/api/transactions")
+                        .with(jwt().authorities(() -> "fin:app"))
+                        .header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].categoryName").value("Food"));
+    }
+}
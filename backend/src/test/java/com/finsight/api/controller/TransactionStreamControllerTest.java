@@ -0,0 +1,55 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.exception.StreamLimitExceededException;
+import com.finsight.api.service.TransactionStreamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(TransactionStreamController.class)
+@Import(WebSliceTestConfig.class)
+@ActiveProfiles("test")
+class TransactionStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionStreamService streamService;
+
+    @Test
+    void stream_ShouldStartAsyncEventStream() throws Exception {
+        when(streamService.subscribe()).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/transactions/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void stream_WhenOverLimit_ShouldReturnTooManyRequests() throws Exception {
+        when(streamService.subscribe()).thenThrow(new StreamLimitExceededException("Too many open event streams for this user"));
+
+        mockMvc.perform(get("/api/transactions/stream")
+                        .with(jwt().authorities(() -> "fin:app")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void stream_WithoutAuth_ShouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/transactions/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,16 @@
+package com.finsight.api.controller;
+
+import com.finsight.api.config.AppProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+
+/**
+ * Beans a {@code @WebMvcTest} slice needs beyond its controller. The servlet
+ * filters the slice registers (rate limiting, load shedding, compression,
+ * query counting) read {@link AppProperties}, which is a plain component and
+ * so left out of the slice.
+ */
+@TestConfiguration
+@EnableConfigurationProperties(AppProperties.class)
+class WebSliceTestConfig {
+}
@@ -0,0 +1,54 @@
+package com.finsight.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void toCents_ShouldConvertExactly() {
+        assertThat(Money.toCents(new BigDecimal("12.34"))).isEqualTo(1234L);
+        assertThat(Money.toCents(new BigDecimal("12.3"))).isEqualTo(1230L);
+        assertThat(Money.toCents(new BigDecimal("100"))).isEqualTo(10000L);
+        assertThat(Money.toCents(new BigDecimal("-0.01"))).isEqualTo(-1L);
+        assertThat(Money.toCents(new BigDecimal("5.000"))).isEqualTo(500L);
+    }
+
+    @Test
+    void toCents_WithSubCentDigits_ShouldThrow() {
+        assertThatThrownBy(() -> Money.toCents(new BigDecimal("1.005")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void toAmount_ShouldRoundTrip() {
+        BigDecimal amount = new BigDecimal("9999999999.99");   // NUMERIC(12,2) max
+        assertThat(Money.toAmount(Money.toCents(amount))).isEqualTo(amount);
+        assertThat(Money.toAmount(5L)).isEqualTo(new BigDecimal("0.05"));
+    }
+
+    @Test
+    void arithmetic_ShouldDetectOverflow() {
+        assertThat(Money.add(150L, 250L)).isEqualTo(400L);
+        assertThat(Money.subtract(150L, 250L)).isEqualTo(-100L);
+        assertThat(Money.sum(new long[]{1L, 2L, 3L})).isEqualTo(6L);
+
+        assertThatThrownBy(() -> Money.add(Long.MAX_VALUE, 1L))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.negate(Long.MIN_VALUE))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void converter_ShouldMapNullsAndValues() {
+        MoneyConverter converter = new MoneyConverter();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToDatabaseColumn(1999L)).isEqualTo(new BigDecimal("19.99"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("19.99"))).isEqualTo(1999L);
+    }
+}
@@ -0,0 +1,29 @@
+package com.finsight.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceFrequencyTest {
+
+    @Test
+    void occurrence_Monthly_ShouldClampToMonthEndAndReturnToAnchorDay() {
+        LocalDate start = LocalDate.of(2025, 1, 31);
+
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(start, 1)).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(RecurrenceFrequency.MONTHLY.occurrence(start, 2)).isEqualTo(LocalDate.of(2025, 3, 31));
+        assertThat(RecurrenceFrequency.QUARTERLY.occurrence(start, 1)).isEqualTo(LocalDate.of(2025, 4, 30));
+    }
+
+    @Test
+    void occurrence_ShouldCountFromStart() {
+        LocalDate start = LocalDate.of(2024, 2, 29);
+
+        assertThat(RecurrenceFrequency.DAILY.occurrence(start, 0)).isEqualTo(start);
+        assertThat(RecurrenceFrequency.WEEKLY.occurrence(start, 2)).isEqualTo(LocalDate.of(2024, 3, 14));
+        assertThat(RecurrenceFrequency.YEARLY.occurrence(start, 1)).isEqualTo(LocalDate.of(2025, 2, 28));
+        assertThat(RecurrenceFrequency.YEARLY.occurrence(start, 4)).isEqualTo(LocalDate.of(2028, 2, 29));
+    }
+}
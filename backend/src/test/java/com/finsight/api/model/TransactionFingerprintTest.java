@@ -0,0 +1,54 @@
+package com.finsight.api.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionFingerprintTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void normalize_ShouldKeepLowerCaseWordsOnly() {
+        assertThat(TransactionFingerprint.normalize("CARD 4411 TESCO-STORES  3021*")).isEqualTo("tesco stores");
+        assertThat(TransactionFingerprint.normalize("  Café  Nero ")).isEqualTo("café nero");
+        assertThat(TransactionFingerprint.normalize("12/03")).isEmpty();
+    }
+
+    @Test
+    void of_ShouldIgnoreDescriptionNoise() {
+        assertThat(TransactionFingerprint.of(1L, DAY, 4_250, TransactionType.EXPENSE, "CARD 4411 TESCO STORES 3021"))
+                .isEqualTo(TransactionFingerprint.of(1L, DAY, 4_250, TransactionType.EXPENSE, "Tesco  stores"));
+    }
+
+    @Test
+    void of_ShouldDependOnUserDayAmountAndType() {
+        long base = TransactionFingerprint.of(1L, DAY, 4_250, TransactionType.EXPENSE, "Tesco");
+
+        assertThat(TransactionFingerprint.of(2L, DAY, 4_250, TransactionType.EXPENSE, "Tesco")).isNotEqualTo(base);
+        assertThat(TransactionFingerprint.of(1L, DAY.plusDays(1), 4_250, TransactionType.EXPENSE, "Tesco")).isNotEqualTo(base);
+        assertThat(TransactionFingerprint.of(1L, DAY, 4_251, TransactionType.EXPENSE, "Tesco")).isNotEqualTo(base);
+        assertThat(TransactionFingerprint.of(1L, DAY, 4_250, TransactionType.INCOME, "Tesco")).isNotEqualTo(base);
+    }
+
+    @Test
+    void of_Entity_ShouldUseDayAndRoundedCents() {
+        AppUser user = new AppUser(7L, "auth0|fp", "FP", null);
+        Transaction tx = new Transaction(null, "Tesco", new BigDecimal("42.5"), DAY.atTime(18, 30),
+                TransactionType.EXPENSE, null, null, user);
+
+        assertThat(TransactionFingerprint.of(tx))
+                .isEqualTo(TransactionFingerprint.of(7L, DAY, 4_250, TransactionType.EXPENSE, "Tesco"));
+
+        tx.setDate(LocalDateTime.of(2025, 3, 14, 0, 1));
+        assertThat(TransactionFingerprint.of(tx))
+                .isEqualTo(TransactionFingerprint.of(7L, DAY, 4_250, TransactionType.EXPENSE, "Tesco"));
+
+        tx.setUser(null);
+        assertThat(TransactionFingerprint.of(tx)).isNull();
+    }
+}
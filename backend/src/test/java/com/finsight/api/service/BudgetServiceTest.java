@@ -0,0 +1,149 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.BudgetDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Budget;
+import com.finsight.api.model.BudgetPeriod;
+import com.finsight.api.model.BudgetSpend;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.BudgetRepository;
+import com.finsight.api.repository.BudgetSpendRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.service.impl.BudgetServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetServiceTest {
+
+    private static final String SUB = "auth0|budgets";
+
+    @Mock
+    private BudgetRepository budgetRepo;
+
+    @Mock
+    private BudgetSpendRepository spendRepo;
+
+    @Mock
+    private UserBalanceRepository balanceRepo;
+
+    @Mock
+    private CategoryRepository catRepo;
+
+    @Mock
+    private AppUserRepository userRepo;
+
+    @Mock
+    private CurrentUserService currentUser;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private BudgetServiceImpl budgetService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUser.getSub()).thenReturn(SUB);
+        when(userRepo.findByAuth0Sub(SUB)).thenReturn(Optional.of(new AppUser(7L, SUB, "Budgets", null)));
+    }
+
+    @Test
+    void create_ShouldSeedSpendUnderTheBalanceLock() {
+        when(catRepo.existsById(3L)).thenReturn(true);
+        when(budgetRepo.save(any(Budget.class))).thenAnswer(inv -> {
+            Budget b = inv.getArgument(0);
+            b.setId(5L);
+            return b;
+        });
+        LocalDate start = BudgetPeriod.MONTHLY.start(LocalDate.now());
+        when(spendRepo.findByBudgetIdInAndPeriodStartIn(List.of(5L), Set.of(start)))
+                .thenReturn(List.of(new BudgetSpend(5L, start, 4_250, Instant.now())));
+
+        BudgetDTO saved = budgetService.createBudget(dto(3L, BudgetPeriod.MONTHLY, "200.00", null));
+
+        assertThat(saved.getId()).isEqualTo(5L);
+        assertThat(saved.getWarnPercent()).isEqualTo(80);
+        assertThat(saved.getPeriodStart()).isEqualTo(start);
+        assertThat(saved.getSpent()).isEqualByComparingTo("42.50");
+        InOrder order = inOrder(balanceRepo, budgetRepo, spendRepo);
+        order.verify(balanceRepo).findForUpdate(7L);
+        order.verify(budgetRepo).save(any(Budget.class));
+        order.verify(spendRepo).seed(5L);
+    }
+
+    @Test
+    void create_ShouldRejectASecondBudgetForTheSameCategoryAndPeriod() {
+        when(catRepo.existsById(3L)).thenReturn(true);
+        when(budgetRepo.existsByUserIdAndCategoryIdAndPeriod(7L, 3L, BudgetPeriod.WEEKLY)).thenReturn(true);
+
+        assertThatThrownBy(() -> budgetService.createBudget(dto(3L, BudgetPeriod.WEEKLY, "50.00", 90)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(budgetRepo, never()).save(any());
+    }
+
+    @Test
+    void list_ShouldReadEachBudgetsCurrentPeriodFromMaintainedRows() {
+        LocalDate today = LocalDate.now();
+        Budget weekly = budget(1L, BudgetPeriod.WEEKLY);
+        Budget yearly = budget(2L, BudgetPeriod.YEARLY);
+        when(budgetRepo.findByUserIdOrderByIdAsc(7L)).thenReturn(List.of(weekly, yearly));
+        when(spendRepo.findByBudgetIdInAndPeriodStartIn(eq(List.of(1L, 2L)), anyCollection())).thenReturn(List.of(
+                new BudgetSpend(1L, BudgetPeriod.WEEKLY.start(today), 1_999, Instant.now()),
+                new BudgetSpend(2L, BudgetPeriod.WEEKLY.start(today), 99_999, Instant.now())));   // not its period
+
+        List<BudgetDTO> budgets = budgetService.getBudgets();
+
+        assertThat(budgets).extracting(BudgetDTO::getSpent)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("19.99"), BigDecimal.ZERO);
+        assertThat(budgets.get(1).getPeriodStart()).isEqualTo(today.withDayOfYear(1));
+    }
+
+    @Test
+    void update_ShouldChangeLimitButNotCategory() {
+        Budget budget = budget(1L, BudgetPeriod.MONTHLY);
+        when(budgetRepo.findByIdAndUserId(1L, 7L)).thenReturn(Optional.of(budget));
+
+        assertThatThrownBy(() -> budgetService.updateBudget(1L, dto(4L, BudgetPeriod.MONTHLY, "10.00", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        budgetService.updateBudget(1L, dto(3L, BudgetPeriod.MONTHLY, "150.00", 90));
+        assertThat(budget.getAmount()).isEqualByComparingTo("150.00");
+        assertThat(budget.getWarnPercent()).isEqualTo(90);
+    }
+
+    private static Budget budget(Long id, BudgetPeriod period) {
+        return new Budget(id, 7L, 3L, period, new BigDecimal("100.00"), 80, Instant.now());
+    }
+
+    private static BudgetDTO dto(Long categoryId, BudgetPeriod period, String amount, Integer warnPercent) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setCategoryId(categoryId);
+        dto.setPeriod(period);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setWarnPercent(warnPercent);
+        return dto;
+    }
+}
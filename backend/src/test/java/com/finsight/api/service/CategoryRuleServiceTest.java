@@ -0,0 +1,119 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.CategoryRuleDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.CategoryRule;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.CategoryRuleRepository;
+import com.finsight.api.service.impl.CategoryRuleServiceImpl;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryRuleServiceTest {
+
+    private static final String SUB = "auth0|rules";
+
+    @Mock
+    private CategoryRuleRepository ruleRepo;
+
+    @Mock
+    private CategoryRepository catRepo;
+
+    @Mock
+    private AppUserRepository userRepo;
+
+    @Mock
+    private CurrentUserService currentUser;
+
+    @Mock
+    private CategoryRuleEngine ruleEngine;
+
+    @Mock
+    private JobService jobService;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private CategoryRuleServiceImpl ruleService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUser.getSub()).thenReturn(SUB);
+        when(userRepo.findByAuth0Sub(SUB)).thenReturn(Optional.of(new AppUser(7L, SUB, "Rules", "rules@example.com")));
+    }
+
+    @Test
+    void createRule_ShouldSaveForCurrentUserAndRecompile() {
+        when(catRepo.existsById(3L)).thenReturn(true);
+        when(ruleRepo.save(any(CategoryRule.class))).thenAnswer(inv -> {
+            CategoryRule r = inv.getArgument(0);
+            r.setId(11L);
+            return r;
+        });
+
+        CategoryRuleDTO saved = ruleService.createRule(dto(" Netflix ", null, null));
+
+        assertThat(saved.getId()).isEqualTo(11L);
+        assertThat(saved.getPattern()).isEqualTo("Netflix");
+        verify(ruleRepo).save(argThat(r -> r.getUserId() == 7L && r.getCreatedAt() != null));
+        verify(ruleEngine).evict(7L);
+    }
+
+    @Test
+    void createRule_WithInvertedAmountRange_ShouldThrow() {
+        assertThatThrownBy(() -> ruleService.createRule(dto("rent", "100.00", "50.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(ruleRepo, never()).save(any());
+    }
+
+    @Test
+    void createRule_OverTheLimit_ShouldThrow() {
+        appProperties.getRules().setMaxPerUser(2);
+        when(catRepo.existsById(3L)).thenReturn(true);
+        when(ruleRepo.countByUserId(7L)).thenReturn(2L);
+
+        assertThatThrownBy(() -> ruleService.createRule(dto("rent", null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2 rules");
+    }
+
+    @Test
+    void deleteRule_OfAnotherUser_ShouldReportNotFound() {
+        when(ruleRepo.findByIdAndUserId(5L, 7L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ruleService.deleteRule(5L)).isInstanceOf(EntityNotFoundException.class);
+        verify(ruleEngine, never()).evict(any());
+    }
+
+    @Test
+    void requestBackfill_ShouldQueueOneJobPerUser() {
+        ruleService.requestBackfill();
+
+        verify(jobService).enqueueUnique(JobType.CATEGORY_BACKFILL, SUB, "7");
+    }
+
+    private static CategoryRuleDTO dto(String pattern, String min, String max) {
+        return new CategoryRuleDTO(null, pattern, 3L, null,
+                min == null ? null : new BigDecimal(min), max == null ? null : new BigDecimal(max), 0);
+    }
+}
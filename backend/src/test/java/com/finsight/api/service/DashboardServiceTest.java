@@ -0,0 +1,188 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.StatementDeadline;
+import com.finsight.api.dto.CategoryDTO;
+import com.finsight.api.dto.DashboardDTO;
+import com.finsight.api.dto.PeriodTotalsDTO;
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.impl.DashboardServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)   // not every test reaches every section
+class DashboardServiceTest {
+
+    private static final String SUB = "auth0|dash";
+
+    @Mock
+    private CurrentUserService currentUser;
+
+    @Mock
+    private AppUserRepository userRepo;
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private StatementDeadline statementDeadline;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    private AppUser user;
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        user = new AppUser(1L, SUB, "Dash", "dash@example.com");
+        groceries = new Category(4L, "Groceries", null);
+        appProperties.getDashboard().setTimeout(Duration.ofMillis(500));
+
+        when(statementDeadline.call(anyLong(), any())).thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+        when(currentUser.getSub()).thenReturn(SUB);
+        when(userRepo.findByAuth0Sub(SUB)).thenReturn(Optional.of(user));
+        when(balanceService.getTotals(1L)).thenReturn(new TotalsDTO(10_000L, 4_000L, 0L, 6_000L));
+        when(balanceService.getMonthlyTotals(eq(1L), any(YearMonth.class)))
+                .thenAnswer(inv -> new PeriodTotalsDTO(inv.getArgument(1), 0L, 4_000L, 0L, -4_000L, 1L));
+        when(txRepo.findSliceByUser(eq(user), any())).thenReturn(new SliceImpl<>(List.of(tx(10L))));
+        when(txRepo.findSliceByUserAndType(eq(user), any(), any())).thenReturn(new SliceImpl<>(List.of(tx(11L))));
+        when(txRepo.findSliceByUserAndCategoryId(eq(user), eq(4L), any())).thenReturn(new SliceImpl<>(List.of(tx(12L))));
+        when(txRepo.sumByCategory(eq(1L), eq(TransactionType.EXPENSE), any(), any(), any()))
+                .thenReturn(List.of(categoryTotal(4L, "Groceries", "40.00")));
+        when(categoryService.getAllCategories(any()))
+                .thenReturn(new PageImpl<>(List.of(new CategoryDTO(4L, "Groceries", null))));
+    }
+
+    @Test
+    void getDashboard_ShouldResolveUserOnceAndFillEverySection() {
+        DashboardDTO dto = dashboardService.getDashboard();
+
+        assertThat(dto.getUnavailable()).isEmpty();
+        assertThat(dto.getUser().getAuth0Sub()).isEqualTo(SUB);
+        assertThat(dto.getTotals().getBalance()).isEqualTo(6_000L);
+        assertThat(dto.getMonthToDate().getMonth()).isEqualTo(YearMonth.now());
+        assertThat(dto.getRecentTransactions()).extracting("id").containsExactly(10L);
+        assertThat(dto.getRecentIncome()).extracting("id").containsExactly(11L);
+        assertThat(dto.getRecentExpenses()).extracting("id").containsExactly(11L);
+        assertThat(dto.getTopCategories()).singleElement().satisfies(c -> {
+            assertThat(c.getSpent()).isEqualTo(4_000L);
+            assertThat(c.getTransactions()).extracting("id").containsExactly(12L);
+        });
+        assertThat(dto.getCategories()).extracting(CategoryDTO::getName).containsExactly("Groceries");
+        verify(userRepo, times(1)).findByAuth0Sub(SUB);
+    }
+
+    @Test
+    void getDashboard_WhenASectionIsSlow_ShouldReturnTheRestByTheDeadline() {
+        when(balanceService.getTotals(1L)).thenAnswer(inv -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+
+        long start = System.nanoTime();
+        DashboardDTO dto = dashboardService.getDashboard();
+        long tookMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(tookMillis).isLessThan(2_000);
+        assertThat(dto.getUnavailable()).containsExactly("totals");
+        assertThat(dto.getTotals()).isNull();
+        assertThat(dto.getRecentTransactions()).isNotNull();
+    }
+
+    @Test
+    void getDashboard_ShouldRunNoMoreQueriesAtOnceThanItsParallelism() throws Exception {
+        appProperties.getDashboard().setParallelism(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        // doAnswer: when(...) would invoke the setUp answer with a null Supplier
+        doAnswer(inv -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+                return inv.<Supplier<?>>getArgument(1).get();
+            } finally {
+                running.decrementAndGet();
+            }
+        }).when(statementDeadline).call(anyLong(), any());
+
+        DashboardDTO dto = dashboardService.getDashboard();
+
+        assertThat(dto.getUnavailable()).isEmpty();
+        assertThat(peak.get()).isEqualTo(2);
+        verify(statementDeadline, times(8)).call(anyLong(), any());   // 7 sections' queries and 1 category page
+    }
+
+    @Test
+    void getDashboard_WhenASectionFails_ShouldListItAsUnavailable() {
+        when(categoryService.getAllCategories(any())).thenThrow(new IllegalStateException("cache down"));
+
+        DashboardDTO dto = dashboardService.getDashboard();
+
+        assertThat(dto.getUnavailable()).containsExactly("categories");
+        assertThat(dto.getCategories()).isNull();
+        assertThat(dto.getTopCategories()).isNotNull();
+    }
+
+    @Test
+    void getDashboard_WhenUserUnknown_ShouldThrow() {
+        when(userRepo.findByAuth0Sub(SUB)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> dashboardService.getDashboard())
+                .isInstanceOf(EntityNotFoundException.class);
+        verifyNoInteractions(txRepo, balanceService, categoryService);
+    }
+
+    private Transaction tx(Long id) {
+        return new Transaction(id, "Tx " + id, new BigDecimal("1.00"), LocalDateTime.now(),
+                TransactionType.EXPENSE, groceries, null, user);
+    }
+
+    private static TransactionRepository.CategoryTotal categoryTotal(Long id, String name, String total) {
+        return new TransactionRepository.CategoryTotal() {
+            public Long getCategoryId() { return id; }
+            public String getCategoryName() { return name; }
+            public BigDecimal getTotal() { return new BigDecimal(total); }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.JobRepository;
+import com.finsight.api.service.impl.JobServiceImpl;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    @Mock
+    private JobRepository jobRepo;
+
+    @Mock
+    private CurrentUserService currentUser;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private JobServiceImpl jobService;
+
+    private Job runningJob;
+
+    @BeforeEach
+    void setUp() {
+        Instant now = Instant.now();
+        runningJob = new Job(7L, JobType.ACCOUNT_DELETION, JobStatus.RUNNING, "auth0|owner", "1",
+                1, 5, now, "worker-1", now.plusSeconds(60), 40, "Deleted 400 of 1000 transactions",
+                null, null, now, now, null);
+    }
+
+    @Test
+    void enqueue_ShouldQueueJobReadyToRunNow() {
+        when(jobRepo.save(any(Job.class))).thenAnswer(inv -> {
+            Job job = inv.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        JobDTO result = jobService.enqueue(JobType.ACCOUNT_DELETION, "auth0|owner", "1");
+
+        ArgumentCaptor<Job> saved = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepo).save(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(saved.getValue().getMaxAttempts()).isEqualTo(appProperties.getJobs().getMaxAttempts());
+        assertThat(saved.getValue().getRunAt()).isNotNull();
+        assertThat(result.getId()).isEqualTo(1L);
+        assertThat(result.getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    @Test
+    void enqueueUnique_WhenJobActive_ShouldReturnExistingJob() {
+        when(jobRepo.insertIfNoneActive(eq("ACCOUNT_DELETION"), eq("auth0|owner"), eq("1"), anyInt(), any()))
+                .thenReturn(0);
+        when(jobRepo.findFirstByOwnerSubAndTypeAndStatusIn(eq("auth0|owner"), eq(JobType.ACCOUNT_DELETION), anyCollection()))
+                .thenReturn(Optional.of(runningJob));
+
+        JobDTO result = jobService.enqueueUnique(JobType.ACCOUNT_DELETION, "auth0|owner", "1");
+
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getProgress()).isEqualTo(40);
+        verify(jobRepo, never()).save(any());
+    }
+
+    @Test
+    void enqueueUnique_WhenActiveJobFinishesBeforeLookup_ShouldRetryInsert() {
+        Job queued = new Job();
+        queued.setId(8L);
+        queued.setType(JobType.ACCOUNT_DELETION);
+        queued.setStatus(JobStatus.QUEUED);
+        when(jobRepo.insertIfNoneActive(eq("ACCOUNT_DELETION"), eq("auth0|owner"), eq("1"), anyInt(), any()))
+                .thenReturn(0, 1);
+        when(jobRepo.findFirstByOwnerSubAndTypeAndStatusIn(eq("auth0|owner"), eq(JobType.ACCOUNT_DELETION), anyCollection()))
+                .thenReturn(Optional.empty(), Optional.of(queued));
+
+        JobDTO result = jobService.enqueueUnique(JobType.ACCOUNT_DELETION, "auth0|owner", "1");
+
+        assertThat(result.getId()).isEqualTo(8L);
+        verify(jobRepo, times(2)).insertIfNoneActive(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void getJob_WhenOwnedByCurrentUser_ShouldReturnStatus() {
+        when(currentUser.getSub()).thenReturn("auth0|owner");
+        when(jobRepo.findByIdAndOwnerSub(7L, "auth0|owner")).thenReturn(Optional.of(runningJob));
+
+        JobDTO result = jobService.getJob(7L);
+
+        assertThat(result.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(result.getProgressMessage()).isEqualTo("Deleted 400 of 1000 transactions");
+    }
+
+    @Test
+    void getJob_WhenOwnedBySomeoneElse_ShouldThrowNotFound() {
+        when(currentUser.getSub()).thenReturn("auth0|intruder");
+        when(jobRepo.findByIdAndOwnerSub(7L, "auth0|intruder")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jobService.getJob(7L))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Job not found");
+    }
+}
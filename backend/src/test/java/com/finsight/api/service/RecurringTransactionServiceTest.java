@@ -0,0 +1,110 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.RecurringTransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.RecurrenceFrequency;
+import com.finsight.api.model.RecurringTransaction;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.RecurringTransactionRepository;
+import com.finsight.api.service.impl.RecurringTransactionServiceImpl;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionServiceTest {
+
+    private static final String SUB = "auth0|recurring";
+
+    @Mock
+    private RecurringTransactionRepository recurringRepo;
+
+    @Mock
+    private CategoryRepository catRepo;
+
+    @Mock
+    private AppUserRepository userRepo;
+
+    @Mock
+    private CurrentUserService currentUser;
+
+    @Mock
+    private CategoryRuleEngine ruleEngine;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private RecurringTransactionServiceImpl recurringService;
+
+    @BeforeEach
+    void setUp() {
+        when(currentUser.getSub()).thenReturn(SUB);
+        when(userRepo.findByAuth0Sub(SUB)).thenReturn(Optional.of(new AppUser(7L, SUB, "Recurring", null)));
+    }
+
+    @Test
+    void create_ShouldCategorizeByRulesAndScheduleFromStart() {
+        when(ruleEngine.categorize(7L, "Netflix", new BigDecimal("9.99"), TransactionType.EXPENSE))
+                .thenReturn(Optional.of(12L));
+        when(catRepo.existsById(12L)).thenReturn(true);
+        when(recurringRepo.save(any(RecurringTransaction.class))).thenAnswer(inv -> {
+            RecurringTransaction r = inv.getArgument(0);
+            r.setId(3L);
+            return r;
+        });
+
+        RecurringTransactionDTO saved = recurringService.createRecurringTransaction(
+                dto(LocalDate.of(2025, 6, 15), null));
+
+        assertThat(saved.getId()).isEqualTo(3L);
+        assertThat(saved.getCategoryId()).isEqualTo(12L);
+        assertThat(saved.getNextRun()).isEqualTo(LocalDate.of(2025, 6, 15));
+        verify(recurringRepo).save(argThat(r -> r.getUserId() == 7L && r.getNextIndex() == 0));
+    }
+
+    @Test
+    void create_WithEndBeforeStart_ShouldFail() {
+        assertThatThrownBy(() -> recurringService.createRecurringTransaction(
+                dto(LocalDate.of(2025, 6, 15), LocalDate.of(2025, 6, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(recurringRepo, never()).save(any());
+    }
+
+    @Test
+    void create_OverLimit_ShouldFail() {
+        when(recurringRepo.countByUserId(7L)).thenReturn(100L);
+
+        assertThatThrownBy(() -> recurringService.createRecurringTransaction(dto(LocalDate.of(2025, 6, 15), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("100");
+    }
+
+    private static RecurringTransactionDTO dto(LocalDate start, LocalDate end) {
+        RecurringTransactionDTO dto = new RecurringTransactionDTO();
+        dto.setDescription("Netflix");
+        dto.setAmount(new BigDecimal("9.99"));
+        dto.setType(TransactionType.EXPENSE);
+        dto.setFrequency(RecurrenceFrequency.MONTHLY);
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        return dto;
+    }
+}
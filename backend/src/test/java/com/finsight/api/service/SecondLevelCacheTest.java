@@ -0,0 +1,95 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.StatementCounter;
+import com.finsight.api.dto.CategoryDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Categories and users come from the second-level and query caches once read,
+ * and writes through the services and repositories are seen by the next read.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    private static final String SUB = "auth0|second-level";
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @AfterEach
+    void tearDown() {
+        catRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void categoryById_isReadOnceThenServedFromCache() {
+        Long id = catRepo.save(new Category(null, "L2 Travel", null)).getId();
+        catRepo.findById(id);
+
+        StatementCounter.reset();
+        assertThat(catRepo.findById(id)).get().extracting(Category::getName).isEqualTo("L2 Travel");
+        assertThat(StatementCounter.count()).isZero();
+    }
+
+    @Test
+    void categoryUpdate_isVisibleToTheNextRead() {
+        Long id = catRepo.save(new Category(null, "L2 Rent", null)).getId();
+        catRepo.findById(id);
+
+        categoryService.updateCategory(id, new CategoryDTO(null, "L2 Housing", "Rent and bills"));
+
+        assertThat(catRepo.findById(id)).get().satisfies(c -> {
+            assertThat(c.getName()).isEqualTo("L2 Housing");
+            assertThat(c.getDescription()).isEqualTo("Rent and bills");
+        });
+        assertThat(catRepo.findByName("L2 Rent")).isEmpty();
+        assertThat(catRepo.findByName("L2 Housing")).isPresent();
+    }
+
+    @Test
+    void userBySub_isAnsweredFromQueryCacheUntilUsersChange() {
+        assertThat(userRepo.findByAuth0Sub(SUB)).isEmpty();
+
+        // the cached empty result must not outlive the insert
+        userRepo.save(new AppUser(null, SUB, "Second Level", "l2@example.com"));
+        assertThat(userRepo.findByAuth0Sub(SUB)).isPresent();
+
+        StatementCounter.reset();
+        assertThat(userRepo.findByAuth0Sub(SUB)).get().extracting(AppUser::getName).isEqualTo("Second Level");
+        assertThat(StatementCounter.count()).isZero();
+    }
+
+    @Test
+    void userUpdate_isVisibleToTheNextLookup() {
+        AppUser user = userRepo.save(new AppUser(null, SUB, "Before", "l2@example.com"));
+        userRepo.findByAuth0Sub(SUB);
+
+        user.setName("After");
+        userRepo.save(user);
+
+        assertThat(userRepo.findByAuth0Sub(SUB)).get().extracting(AppUser::getName).isEqualTo("After");
+    }
+}
@@ -0,0 +1,166 @@
+package com.finsight.api.service;
+
+import com.finsight.api.config.StatementCounter;
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the {@code @EntityGraph} fetch plans in {@code TransactionRepository}:
+ * listing must not issue a query per row for {@code category} or {@code user}.
+ * Writing many rows must not issue an insert or id fetch per row either.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionServiceQueryCountTest {
+
+    private static final String SUB = "auth0|query-count";
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    private AppUser user;
+
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepo.save(new AppUser(null, SUB, "Query Count", "qc@example.com"));
+        groceries = catRepo.save(new Category(null, "QC Groceries", null));
+        Category dining = catRepo.save(new Category(null, "QC Dining", null));
+
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            rows.add(new Transaction(null, "Row " + i, BigDecimal.valueOf(1_000 + i, 2),
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusDays(i),
+                    i % 2 == 0 ? TransactionType.EXPENSE : TransactionType.INCOME,
+                    i % 3 == 0 ? dining : groceries, null, user));
+        }
+        txRepo.saveAll(rows);
+
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        txRepo.deleteAll();
+        catRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    void listingPartialPage_ShouldExecuteAtMostTwoStatements() {
+        StatementCounter.reset();
+
+        Page<TransactionDTO> page = transactionService.getAllTransactions(PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(30).allSatisfy(dto -> assertThat(dto.getCategoryName()).isNotNull());
+        // user lookup + page select; Spring Data skips COUNT(*) for a partial first page
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void listingFullPage_ShouldAddOnlyTheCountQuery() {
+        StatementCounter.reset();
+
+        Page<TransactionDTO> page = transactionService.getAllTransactions(PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        // user lookup + page select + COUNT(*), independent of page size
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void filteredListings_ShouldNotLoadAssociationsPerRow() {
+        StatementCounter.reset();
+        transactionService.getTransactionsByType(TransactionType.EXPENSE, PageRequest.of(0, 50));
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+
+        StatementCounter.reset();
+        transactionService.getTransactionsByCategory(groceries.getId(), PageRequest.of(0, 50));
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void sparseListing_ShouldReadOnlyRequestedFieldsWithoutExtraStatements() {
+        StatementCounter.reset();
+
+        Slice<TransactionDTO> slice = transactionService.findTransactions(TransactionFilter.ofType(TransactionType.EXPENSE),
+                EnumSet.of(TransactionField.ID, TransactionField.DATE, TransactionField.CATEGORY_NAME),
+                CountMode.NONE, PageRequest.of(0, 10, Sort.by(Sort.Order.desc("date"))));
+
+        assertThat(slice.getContent()).hasSize(10).allSatisfy(dto -> {
+            assertThat(dto.getCategoryName()).startsWith("QC ");
+            assertThat(dto.getDescription()).isNull();
+            assertThat(dto.getAmount()).isNull();
+        });
+        assertThat(slice.getContent().get(0).getDate()).isEqualTo(LocalDateTime.of(2025, 1, 29, 0, 0));
+        assertThat(slice.hasNext()).isTrue();
+        // user lookup + one select; no COUNT(*) and no per-row category load
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void savingManyRows_ShouldBatchInsertsAndIdFetches() {
+        List<Transaction> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(new Transaction(null, "Import " + i, BigDecimal.valueOf(500 + i, 2),
+                    LocalDateTime.of(2025, 2, 1, 0, 0).plusHours(i), TransactionType.EXPENSE, groceries, null, user));
+        }
+        StatementCounter.reset();
+
+        txRepo.saveAll(rows);
+
+        assertThat(rows).extracting(Transaction::getId).doesNotContainNull().doesNotHaveDuplicates();
+        // a sequence call per block of 50 ids and one JDBC batch per 50 inserts, not a round trip per row
+        assertThat(StatementCounter.count()).isLessThanOrEqualTo(6);
+    }
+}
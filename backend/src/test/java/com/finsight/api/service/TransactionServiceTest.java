@@ -1,14 +1,25 @@
 package com.finsight.api.service;
 
+import com.finsight.api.dto.CountMode;
+import com.finsight.api.dto.TransactionBatchDTO;
 import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.event.TransactionChangedEvent;
 import com.finsight.api.model.AppUser;
 import com.finsight.api.model.Category;
+import com.finsight.api.model.CategoryRule;
 import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionField;
+import com.finsight.api.model.TransactionFilter;
 import com.finsight.api.model.TransactionType;
 import com.finsight.api.repository.AppUserRepository;
 import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.TransactionListRepository;
 import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.service.duplicate.DuplicateGuard;
 import com.finsight.api.service.impl.TransactionServiceImpl;
+import com.finsight.api.service.rules.CategoryRuleEngine;
+import com.finsight.api.service.rules.CompiledRules;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,20 +27,32 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -47,6 +70,21 @@ class TransactionServiceTest {
     
     @Mock
     private CurrentUserService currentUser;
+
+    @Mock
+    private UserBalanceRepository balanceRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private CategoryRuleEngine ruleEngine;
+
+    @Mock
+    private DuplicateGuard duplicates;
+
+    @Mock
+    private TransactionListRepository listRepo;
     
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -132,6 +170,113 @@ class TransactionServiceTest {
         assertThat(captor.getValue().getDescription()).isEqualTo("New Transaction");
     }
 
+    @Test
+    void shouldListSliceWithoutCountQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(txRepo.findSliceByUser(eq(testUser), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(testTransaction), pageable, true));
+
+        // When
+        Slice<TransactionDTO> result = transactionService.getAllTransactionsSlice(pageable);
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.hasNext()).isTrue();
+        verify(txRepo, never()).findByUser(any(), any());
+        verify(txRepo, never()).countByUser(any());
+    }
+
+    @Test
+    void shouldUseMaintainedCountForApproximateTotal() {
+        // Given
+        Pageable pageable = PageRequest.of(0, 1);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(txRepo.findSliceByUser(eq(testUser), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(testTransaction), pageable, true));
+        when(balanceRepo.findTransactionCount(testUser.getId())).thenReturn(Optional.of(42L));
+
+        // When
+        Page<TransactionDTO> result = transactionService.getAllTransactionsApproximate(pageable);
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(42L);
+        assertThat(result.getContent()).hasSize(1);
+        verify(txRepo, never()).countByUser(any());
+    }
+
+    @Test
+    void shouldFlagLikelyDuplicateOnCreate() {
+        // Given
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription("Test Transaction");
+        dto.setAmount(BigDecimal.valueOf(100.00));
+        dto.setDate(testTransaction.getDate());
+        dto.setType(TransactionType.EXPENSE);
+        dto.setCategoryId(1L);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(catRepo.findById(1L)).thenReturn(Optional.of(testCategory));
+        when(txRepo.save(any(Transaction.class))).thenReturn(testTransaction);
+        when(duplicates.checkInserted(1L, List.of(testTransaction))).thenReturn(Map.of(1L, 99L));
+
+        // When
+        TransactionDTO result = transactionService.createTransaction(dto);
+
+        // Then
+        assertThat(result.getDuplicateOf()).isEqualTo(99L);
+        verify(events).publishEvent(any(TransactionChangedEvent.class));
+    }
+
+    @Test
+    void shouldPublishUpdatedEventWithBeforeAndAfterSnapshots() {
+        // Given
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription("Edited");
+        dto.setAmount(new BigDecimal("12.34"));
+        dto.setDate(testTransaction.getDate());
+        dto.setType(TransactionType.EXPENSE);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(txRepo.findById(1L)).thenReturn(Optional.of(testTransaction));
+        when(txRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        transactionService.updateTransaction(1L, dto);
+
+        // Then
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue().changeType()).isEqualTo(TransactionChangedEvent.ChangeType.UPDATED);
+        assertThat(event.getValue().before().description()).isEqualTo("Test Transaction");
+        assertThat(event.getValue().before().amountCents()).isEqualTo(10_000L);
+        assertThat(event.getValue().after().description()).isEqualTo("Edited");
+        assertThat(event.getValue().after().amountCents()).isEqualTo(1_234L);
+        assertThat(event.getValue().userId()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldPublishDeletedEventAfterDelete() {
+        // Given
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(txRepo.findById(1L)).thenReturn(Optional.of(testTransaction));
+
+        // When
+        transactionService.deleteTransaction(1L);
+
+        // Then
+        ArgumentCaptor<TransactionChangedEvent> event = ArgumentCaptor.forClass(TransactionChangedEvent.class);
+        verify(txRepo).delete(testTransaction);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue().changeType()).isEqualTo(TransactionChangedEvent.ChangeType.DELETED);
+        assertThat(event.getValue().before().id()).isEqualTo(1L);
+        assertThat(event.getValue().after()).isNull();
+    }
+
     @Test
     void shouldThrowExceptionWhenUserNotFound() {
         // Given
@@ -143,4 +288,129 @@ class TransactionServiceTest {
                 .isInstanceOf(jakarta.persistence.EntityNotFoundException.class)
                 .hasMessageContaining("User not found");
     }
-} 
\ No newline at end of file
+
+    @Test
+    void createWithoutCategory_ShouldUseTheCategoryChosenByRules() {
+        Category subscriptions = new Category(9L, "Subscriptions", null);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(ruleEngine.categorize(eq(1L), eq("NETFLIX.COM"), any(), eq(TransactionType.EXPENSE)))
+                .thenReturn(Optional.of(9L));
+        when(catRepo.findById(9L)).thenReturn(Optional.of(subscriptions));
+        when(txRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionDTO result = transactionService.createTransaction(uncategorized("NETFLIX.COM", "15.99"));
+
+        assertThat(result.getCategoryName()).isEqualTo("Subscriptions");
+    }
+
+    @Test
+    void createWithoutCategory_WhenNoRuleMatches_ShouldUseUncategorized() {
+        Category fallback = new Category(99L, Category.UNCATEGORIZED, null);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(ruleEngine.categorize(eq(1L), any(), any(), any())).thenReturn(Optional.empty());
+        when(catRepo.findByName(Category.UNCATEGORIZED)).thenReturn(Optional.of(fallback));
+        when(txRepo.save(any(Transaction.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionDTO result = transactionService.createTransaction(uncategorized("Corner shop", "3.20"));
+
+        assertThat(result.getCategoryId()).isEqualTo(99L);
+    }
+
+    @Test
+    void importTransactions_ShouldCategorizeWithOneRuleSetAndLoadCategoriesOnce() {
+        Category subscriptions = new Category(9L, "Subscriptions", null);
+        CompiledRules userRules = CompiledRules.compile(List.of(
+                new CategoryRule(1L, 1L, 9L, "netflix", null, null, null, 0, null)));
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(ruleEngine.userRules(1L)).thenReturn(userRules);
+        when(ruleEngine.globalRules()).thenReturn(CompiledRules.EMPTY);
+        when(catRepo.findAllById(anyList())).thenReturn(List.of(subscriptions, testCategory));
+        when(txRepo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionDTO explicit = uncategorized("Groceries", "20.00");
+        explicit.setCategoryId(1L);
+        List<TransactionDTO> result = transactionService.importTransactions(
+                List.of(uncategorized("Netflix monthly", "15.99"), explicit, uncategorized("NETFLIX", "15.99")));
+
+        assertThat(result).extracting(TransactionDTO::getCategoryId).containsExactly(9L, 1L, 9L);
+        verify(catRepo, times(1)).findAllById(anyList());
+        verify(catRepo, never()).findById(any());
+        verify(events, times(3)).publishEvent(any(TransactionChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTransactionsByIds_ShouldQueryOnceScopedToUserAndReportTheRest() {
+        Transaction other = new Transaction(5L, "Other", BigDecimal.ONE, LocalDateTime.now(),
+                TransactionType.INCOME, testCategory, null, testUser);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(txRepo.findByUserIdAndIdIn(eq(1L), any())).thenReturn(List.of(testTransaction, other));
+
+        TransactionBatchDTO result = transactionService.getTransactionsByIds(List.of(5L, 42L, 1L, 5L));
+
+        assertThat(result.getTransactions()).extracting(TransactionDTO::getId).containsExactly(5L, 1L);
+        assertThat(result.getNotFound()).containsExactly(42L);
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(txRepo).findByUserIdAndIdIn(eq(1L), ids.capture());
+        assertThat(ids.getValue()).containsExactly(5L, 42L, 1L);
+        verify(txRepo, never()).findById(any());
+    }
+
+    @Test
+    void findTransactions_WithCountNone_ShouldReadOneRowAheadAndDropIt() {
+        Pageable pageable = PageRequest.of(0, 2);
+        Set<TransactionField> fields = EnumSet.of(TransactionField.ID, TransactionField.AMOUNT);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(listRepo.find(1L, TransactionFilter.NONE, fields, pageable, 3)).thenReturn(List.of(
+                amountRow(1L, "1.00"), amountRow(2L, "2.00"), amountRow(3L, "3.00")));
+
+        Slice<TransactionDTO> result = transactionService.findTransactions(TransactionFilter.NONE, fields, CountMode.NONE, pageable);
+
+        assertThat(result).isNotInstanceOf(Page.class);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).extracting(TransactionDTO::getId).containsExactly(1L, 2L);
+        assertThat(result.getContent().get(0).getDescription()).isNull();
+        verify(listRepo, never()).count(anyLong(), any());
+    }
+
+    @Test
+    void findTransactions_WithCountExactOnFullPage_ShouldCount() {
+        Pageable pageable = PageRequest.of(0, 1);
+        TransactionFilter filter = TransactionFilter.ofType(TransactionType.EXPENSE);
+        when(currentUser.getSub()).thenReturn("auth0|test123");
+        when(userRepo.findByAuth0Sub("auth0|test123")).thenReturn(Optional.of(testUser));
+        when(listRepo.find(1L, filter, TransactionField.ALL, pageable, 1)).thenReturn(List.of(amountRow(1L, "1.00")));
+        when(listRepo.count(1L, filter)).thenReturn(7L);
+
+        Slice<TransactionDTO> result = transactionService.findTransactions(filter, TransactionField.ALL, CountMode.EXACT, pageable);
+
+        assertThat(result).isInstanceOf(Page.class);
+        assertThat(((Page<TransactionDTO>) result).getTotalElements()).isEqualTo(7);
+    }
+
+    @Test
+    void findTransactions_WithApproximateAndFilter_ShouldBeRejected() {
+        assertThatThrownBy(() -> transactionService.findTransactions(TransactionFilter.inCategory(1L),
+                TransactionField.ALL, CountMode.APPROXIMATE, PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(listRepo, never()).find(anyLong(), any(), any(), any(), anyInt());
+    }
+
+    private static TransactionListRepository.Row amountRow(Long id, String amount) {
+        return new TransactionListRepository.Row(id, null, new BigDecimal(amount), null, null, null, null, null);
+    }
+
+    private static TransactionDTO uncategorized(String description, String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setDate(LocalDateTime.of(2025, 4, 1, 9, 30));
+        dto.setType(TransactionType.EXPENSE);
+        return dto;
+    }
+}
@@ -1,7 +1,10 @@
 package com.finsight.api.service;
 
+import com.finsight.api.dto.JobDTO;
 import com.finsight.api.dto.UserDTO;
 import com.finsight.api.model.AppUser;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
 import com.finsight.api.repository.AppUserRepository;
 import com.finsight.api.service.impl.UserServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
@@ -28,6 +31,9 @@ class UserServiceTest {
     @Mock
     private CurrentUserService currentUserService;
 
+    @Mock
+    private JobService jobService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -137,4 +143,23 @@ class UserServiceTest {
         assertThatThrownBy(() -> userService.deleteCurrentUser())
                 .isInstanceOf(EntityNotFoundException.class);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void requestCurrentUserDeletion_ShouldQueueJobInsteadOfDeletingInline() {
+        // Given
+        JobDTO queued = new JobDTO();
+        queued.setId(9L);
+        queued.setType(JobType.ACCOUNT_DELETION);
+        queued.setStatus(JobStatus.QUEUED);
+        when(currentUserService.getSub()).thenReturn("auth0|123456");
+        when(userRepository.findByAuth0Sub("auth0|123456")).thenReturn(Optional.of(sampleUser));
+        when(jobService.enqueueUnique(JobType.ACCOUNT_DELETION, "auth0|123456", "1")).thenReturn(queued);
+
+        // When
+        JobDTO result = userService.requestCurrentUserDeletion();
+
+        // Then
+        assertThat(result.getId()).isEqualTo(9L);
+        verify(userRepository, never()).delete(any());
+    }
+}
@@ -0,0 +1,189 @@
+package com.finsight.api.service.balance;
+
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.model.UserBalance;
+import com.finsight.api.model.UserPeriodTotal;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.repository.UserPeriodTotalRepository;
+import com.finsight.api.service.BalanceService;
+import com.finsight.api.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Maintained totals through the service layer: exact under concurrent writers
+ * and repaired by the reconciler after drift. Needs Postgres for the upserts;
+ * skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class BalanceIntegrationTest {
+
+    private static final String SUB = "auth0|balances";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private BalanceReconciler reconciler;
+
+    @Autowired
+    private UserBalanceRepository balanceRepo;
+
+    @Autowired
+    private UserPeriodTotalRepository periodRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    private Category category;
+    private Long userId;
+    private Authentication auth;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepo.save(new AppUser(null, SUB, "Balances", "balances@example.com")).getId();
+        category = catRepo.save(new Category(null, "Balance Test", null));
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        auth = new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app"));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        catRepo.delete(category);
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);   // cascades to the totals
+    }
+
+    @Test
+    void writes_ShouldKeepBalanceAndMonthlyTotalsInStep() {
+        TransactionDTO salary = transactionService.createTransaction(dto("Salary", "2500.00", TransactionType.INCOME, 4));
+        TransactionDTO rent = transactionService.createTransaction(dto("Rent", "900.00", TransactionType.EXPENSE, 4));
+        transactionService.updateTransaction(rent.getId(), dto("Rent", "950.00", TransactionType.EXPENSE, 5));
+        transactionService.createTransaction(dto("Coffee", "3.50", TransactionType.EXPENSE, 5));
+        transactionService.deleteTransaction(salary.getId());
+
+        assertThat(balanceService.getCurrentUserTotals()).isEqualTo(new TotalsDTO(0L, 95_350L, 0L, -95_350L));
+        assertThat(balanceService.getCurrentUserMonthlyTotals(YearMonth.of(2025, 4)).getTransactionCount()).isZero();
+        assertThat(balanceService.getCurrentUserMonthlyTotals(YearMonth.of(2025, 5)).getExpense()).isEqualTo(95_350L);
+        assertThat(reconciler.findDrifted(List.of(userId))).isEmpty();
+    }
+
+    @Test
+    void concurrentWriters_ShouldNotLoseUpdates() throws Exception {
+        int writers = 8, perWriter = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(pool.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                    for (int i = 0; i < perWriter; i++) {
+                        transactionService.createTransaction(dto("Tick", "1.01", TransactionType.INCOME, 4));
+                    }
+                    SecurityContextHolder.clearContext();
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        UserBalance balance = balanceRepo.findById(userId).orElseThrow();
+        assertThat(balance.getTransactionCount()).isEqualTo(writers * perWriter);
+        assertThat(balance.getIncomeCents()).isEqualTo(101L * writers * perWriter);
+    }
+
+    @Test
+    void reconcile_ShouldRepairDrift() {
+        transactionService.createTransaction(dto("Salary", "2500.00", TransactionType.INCOME, 4));
+        UserBalance balance = balanceRepo.findById(userId).orElseThrow();
+        balance.setIncomeCents(1L);
+        balanceRepo.save(balance);
+        periodRepo.save(new UserPeriodTotal(userId, LocalDate.of(2024, 1, 1), 0, 999, 0, 1, balance.getUpdatedAt()));
+
+        assertThat(reconciler.findDrifted(List.of(userId))).containsExactly(userId);
+        assertThat(reconciler.reconcile(userId)).isTrue();
+
+        assertThat(balanceRepo.findById(userId).orElseThrow().getIncomeCents()).isEqualTo(250_000L);
+        assertThat(periodRepo.findByUserId(userId)).extracting(UserPeriodTotal::getPeriod)
+                .containsExactly(LocalDate.of(2025, 4, 1));
+        assertThat(reconciler.findDrifted(List.of(userId))).isEmpty();
+        assertThat(reconciler.reconcile(userId)).isFalse();
+    }
+
+    private TransactionDTO dto(String description, String amount, TransactionType type, int month) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setDate(LocalDateTime.of(2025, month, 1, 9, 30));
+        dto.setType(type);
+        dto.setCategoryId(category.getId());
+        return dto;
+    }
+}
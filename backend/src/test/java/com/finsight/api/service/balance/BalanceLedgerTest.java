@@ -0,0 +1,146 @@
+package com.finsight.api.service.balance;
+
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.UserBalanceRepository;
+import com.finsight.api.repository.UserPeriodTotalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceLedgerTest {
+
+    private static final LocalDate APRIL = LocalDate.of(2025, 4, 1);
+    private static final LocalDate MAY = LocalDate.of(2025, 5, 1);
+
+    @Mock
+    private UserBalanceRepository balanceRepo;
+
+    @Mock
+    private UserPeriodTotalRepository periodRepo;
+
+    @InjectMocks
+    private BalanceLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(ledger);
+    }
+
+    @Test
+    void changes_ShouldBeAppliedOnlyBeforeCommit() {
+        ledger.on(TransactionChangedEvent.created(tx(1L, 4_210, TransactionType.EXPENSE, 4)));
+
+        verifyNoInteractions(balanceRepo, periodRepo);
+
+        commit();
+        verify(balanceRepo).applyDelta(7L, 0, 4_210, 0, 1);
+        verify(periodRepo).applyDelta(7L, APRIL, 0, 4_210, 0, 1);
+    }
+
+    @Test
+    void severalChanges_ShouldBeSummedIntoOneUpsertPerRow() {
+        ledger.on(TransactionChangedEvent.created(tx(1L, 1_000, TransactionType.INCOME, 4)));
+        ledger.on(TransactionChangedEvent.created(tx(2L, 2_500, TransactionType.INCOME, 4)));
+        ledger.on(TransactionChangedEvent.created(tx(3L, 300, TransactionType.EXPENSE, 4)));
+
+        commit();
+
+        verify(balanceRepo).applyDelta(7L, 3_500, 300, 0, 3);
+        verify(periodRepo).applyDelta(7L, APRIL, 3_500, 300, 0, 3);
+        verifyNoMoreInteractions(balanceRepo, periodRepo);
+    }
+
+    @Test
+    void updateThatKeepsAmountTypeAndMonth_ShouldTouchNoRow() {
+        TransactionSnapshot before = tx(1L, 4_210, TransactionType.EXPENSE, 4);
+        TransactionSnapshot after = new TransactionSnapshot(1L, 7L, "Renamed", 4_210, before.date(),
+                TransactionType.EXPENSE, 9L, "new notes");
+
+        ledger.on(TransactionChangedEvent.updated(before, after));
+        commit();
+
+        verifyNoInteractions(balanceRepo, periodRepo);
+    }
+
+    @Test
+    void updateMovingMonthAndType_ShouldShiftBetweenRows() {
+        ledger.on(TransactionChangedEvent.updated(
+                tx(1L, 4_210, TransactionType.EXPENSE, 4),
+                tx(1L, 5_000, TransactionType.INCOME, 5)));
+
+        commit();
+
+        InOrder order = inOrder(balanceRepo, periodRepo);
+        order.verify(balanceRepo).applyDelta(7L, 5_000, -4_210, 0, 0);   // balance row is locked first
+        order.verify(periodRepo).applyDelta(7L, APRIL, 0, -4_210, 0, -1);
+        order.verify(periodRepo).applyDelta(7L, MAY, 5_000, 0, 0, 1);
+    }
+
+    @Test
+    void updateMovingOnlyTheMonth_ShouldStillLockTheBalanceRowFirst() {
+        ledger.on(TransactionChangedEvent.updated(
+                tx(1L, 4_210, TransactionType.EXPENSE, 4),
+                tx(1L, 4_210, TransactionType.EXPENSE, 5)));
+
+        commit();
+
+        InOrder order = inOrder(balanceRepo, periodRepo);
+        order.verify(balanceRepo).applyDelta(7L, 0, 0, 0, 0);
+        order.verify(periodRepo).applyDelta(7L, APRIL, 0, -4_210, 0, -1);
+        order.verify(periodRepo).applyDelta(7L, MAY, 0, 4_210, 0, 1);
+    }
+
+    @Test
+    void delete_ShouldSubtract() {
+        ledger.on(TransactionChangedEvent.deleted(tx(1L, 2_000, TransactionType.TRANSFER, 4)));
+
+        commit();
+
+        verify(balanceRepo).applyDelta(7L, 0, 0, -2_000, -1);
+        verify(periodRepo).applyDelta(7L, APRIL, 0, 0, -2_000, -1);
+    }
+
+    @Test
+    void completion_ShouldReleaseTheTransactionsDeltas() {
+        ledger.on(TransactionChangedEvent.created(tx(1L, 100, TransactionType.INCOME, 4)));
+        commit();
+
+        assertThat(TransactionSynchronizationManager.hasResource(ledger)).isFalse();
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private static TransactionSnapshot tx(Long id, long cents, TransactionType type, int month) {
+        return new TransactionSnapshot(id, 7L, "Tx " + id, cents, LocalDateTime.of(2025, month, 12, 9, 30),
+                type, 3L, null);
+    }
+}
@@ -0,0 +1,209 @@
+package com.finsight.api.service.budget;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.dto.BudgetDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.BudgetPeriod;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.OutboxEvent;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.BudgetService;
+import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.balance.BalanceReconciler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Budget spend maintained through the service layer, including the seed on
+ * creation and the threshold events in the outbox. Needs Postgres for the
+ * upserts; skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class BudgetIntegrationTest {
+
+    private static final String SUB = "auth0|budgets";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @Autowired
+    private BalanceReconciler reconciler;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private Category groceries;
+    private Category dining;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new AppUser(null, SUB, "Budgets", "budgets@example.com"));
+        groceries = catRepo.save(new Category(null, "Budget Groceries", null));
+        dining = catRepo.save(new Category(null, "Budget Dining", null));
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);   // cascades to budgets and their spend
+        catRepo.delete(groceries);
+        catRepo.delete(dining);
+    }
+
+    @Test
+    void writes_ShouldKeepSpendCurrentAndRaiseEachThresholdOnce() {
+        transactionService.createTransaction(dto("Market", "30.00", TransactionType.EXPENSE, groceries, 0));
+        transactionService.createTransaction(dto("Old market", "99.00", TransactionType.EXPENSE, groceries, 400));
+
+        BudgetDTO budget = budgetService.createBudget(budget(groceries, BudgetPeriod.MONTHLY, "100.00", 50));
+        assertThat(budget.getSpent()).isEqualByComparingTo("30.00");      // seeded from this month only
+
+        TransactionDTO bakery = transactionService.createTransaction(
+                dto("Bakery", "25.00", TransactionType.EXPENSE, groceries, 0));
+        transactionService.createTransaction(dto("Refund", "500.00", TransactionType.INCOME, groceries, 0));
+        transactionService.updateTransaction(bakery.getId(),
+                dto("Bakery", "50.00", TransactionType.EXPENSE, groceries, 0));
+        assertThat(budgetService.getBudget(budget.getId()).getSpent()).isEqualByComparingTo("80.00");
+        assertThat(thresholdsReached()).containsExactly(50);
+
+        TransactionDTO deli = transactionService.createTransaction(
+                dto("Deli", "20.00", TransactionType.EXPENSE, groceries, 0));
+        assertThat(thresholdsReached()).containsExactly(50, 100);
+
+        transactionService.updateTransaction(deli.getId(), dto("Deli", "20.00", TransactionType.EXPENSE, dining, 0));
+        transactionService.deleteTransaction(bakery.getId());
+        assertThat(budgetService.getBudgets()).singleElement()
+                .satisfies(b -> assertThat(b.getSpent()).isEqualByComparingTo("30.00"));
+        assertThat(thresholdsReached()).containsExactly(50, 100);
+    }
+
+    @Test
+    void budgetsOfOtherCategoriesAndPeriods_ShouldEachCountTheirOwnSpend() {
+        budgetService.createBudget(budget(groceries, BudgetPeriod.WEEKLY, "40.00", null));
+        budgetService.createBudget(budget(groceries, BudgetPeriod.YEARLY, "2000.00", null));
+        budgetService.createBudget(budget(dining, BudgetPeriod.MONTHLY, "60.00", null));
+
+        transactionService.createTransaction(dto("Market", "45.00", TransactionType.EXPENSE, groceries, 0));
+
+        assertThat(budgetService.getBudgets()).extracting(BudgetDTO::getSpent)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("45.00"), new BigDecimal("45.00"), BigDecimal.ZERO);
+        assertThat(thresholdsReached()).containsExactly(80, 100);                // the weekly one only
+    }
+
+    @Test
+    void reconcile_ShouldRepairDriftedSpend() {
+        transactionService.createTransaction(dto("Market", "45.00", TransactionType.EXPENSE, groceries, 0));
+        BudgetDTO budget = budgetService.createBudget(budget(groceries, BudgetPeriod.MONTHLY, "100.00", null));
+        Long userId = userRepo.findByAuth0Sub(SUB).orElseThrow().getId();
+        assertThat(reconciler.findDrifted(List.of(userId))).isEmpty();
+
+        jdbc.update("UPDATE budget_spend SET spent_cents = spent_cents + 1234 WHERE budget_id = ?", budget.getId());
+        jdbc.update("INSERT INTO budget_spend (budget_id, period_start, spent_cents) VALUES (?, DATE '2001-01-01', 500)",
+                budget.getId());
+
+        assertThat(reconciler.findDrifted(List.of(userId))).containsExactly(userId);
+        assertThat(reconciler.reconcile(userId)).isTrue();
+        assertThat(budgetService.getBudget(budget.getId()).getSpent()).isEqualByComparingTo("45.00");
+        assertThat(reconciler.findDrifted(List.of(userId))).isEmpty();
+        assertThat(reconciler.reconcile(userId)).isFalse();
+    }
+
+    private List<Integer> thresholdsReached() {
+        return outboxRepo.findAll().stream()
+                .filter(e -> e.getEventType().equals("budget.threshold_reached"))
+                .sorted(Comparator.comparing(OutboxEvent::getId))
+                .map(e -> {
+                    try {
+                        return objectMapper.readTree(e.getPayload()).get("thresholdPercent").asInt();
+                    } catch (JsonProcessingException ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                })
+                .toList();
+    }
+
+    private static BudgetDTO budget(Category category, BudgetPeriod period, String amount, Integer warnPercent) {
+        BudgetDTO dto = new BudgetDTO();
+        dto.setCategoryId(category.getId());
+        dto.setPeriod(period);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setWarnPercent(warnPercent);
+        return dto;
+    }
+
+    private static TransactionDTO dto(String description, String amount, TransactionType type, Category category,
+                                      int daysAgo) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setDate(LocalDate.now().minusDays(daysAgo).atTime(9, 30));
+        dto.setType(type);
+        dto.setCategoryId(category.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,176 @@
+package com.finsight.api.service.budget;
+
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.BudgetPeriod;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.BudgetBulkRepository;
+import com.finsight.api.repository.TransactionBulkRepository.Moved;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetLedgerTest {
+
+    private static final LocalDate APRIL = LocalDate.of(2025, 4, 1);
+
+    @Mock
+    private BudgetBulkRepository bulkRepo;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @InjectMocks
+    private BudgetLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.unbindResourceIfPossible(ledger);
+    }
+
+    @Test
+    void expenses_ShouldBeSummedIntoOneStatementBeforeCommit() {
+        ledger.on(TransactionChangedEvent.created(tx(1L, 1_000, TransactionType.EXPENSE, 3L, 12)));
+        ledger.on(TransactionChangedEvent.created(tx(2L, 250, TransactionType.EXPENSE, 3L, 12)));
+        ledger.on(TransactionChangedEvent.created(tx(3L, 400, TransactionType.EXPENSE, 4L, 12)));
+
+        verifyNoInteractions(bulkRepo);
+        commit();
+
+        verify(bulkRepo).applyDeltas(
+                new Long[]{7L, 7L}, new Long[]{3L, 4L},
+                new LocalDate[]{APRIL.withDayOfMonth(12), APRIL.withDayOfMonth(12)}, new Long[]{1_250L, 400L});
+    }
+
+    @Test
+    void incomeTransfersAndUnchangedExpenses_ShouldTouchNothing() {
+        ledger.on(TransactionChangedEvent.created(tx(1L, 1_000, TransactionType.INCOME, 3L, 12)));
+        ledger.on(TransactionChangedEvent.created(tx(2L, 1_000, TransactionType.TRANSFER, 3L, 12)));
+        TransactionSnapshot before = tx(3L, 700, TransactionType.EXPENSE, 3L, 12);
+        ledger.on(TransactionChangedEvent.updated(before, new TransactionSnapshot(3L, 7L, "Renamed", 700,
+                before.date(), TransactionType.EXPENSE, 3L, "notes")));
+
+        commit();
+
+        verifyNoInteractions(bulkRepo, events);
+    }
+
+    @Test
+    void categoryChange_ShouldMoveSpendBetweenCategoriesUnderTheBalanceLock() {
+        ledger.on(TransactionChangedEvent.updated(
+                tx(1L, 900, TransactionType.EXPENSE, 3L, 12),
+                tx(1L, 900, TransactionType.EXPENSE, 4L, 12)));
+
+        commit();
+
+        // Totals are unchanged, so the balance ledger took no lock; budget creation relies on one
+        InOrder order = inOrder(bulkRepo);
+        order.verify(bulkRepo).lockBalances(new Long[]{7L});
+        order.verify(bulkRepo).applyDeltas(
+                new Long[]{7L, 7L}, new Long[]{3L, 4L},
+                new LocalDate[]{APRIL.withDayOfMonth(12), APRIL.withDayOfMonth(12)}, new Long[]{-900L, 900L});
+    }
+
+    @Test
+    void bulkRecategorization_ShouldMoveExpenseSpendOnly() {
+        LocalDate day = APRIL.withDayOfMonth(12);
+        ledger.onRecategorized(List.of(
+                new Moved(1L, 9L, day, 900, TransactionType.EXPENSE, 4L),
+                new Moved(2L, 7L, day, 300, TransactionType.EXPENSE, 5L),
+                new Moved(3L, 7L, day, 5_000, TransactionType.INCOME, 6L)), 1L);
+
+        commit();
+
+        InOrder order = inOrder(bulkRepo);
+        order.verify(bulkRepo).lockBalances(new Long[]{7L, 9L});
+        order.verify(bulkRepo).applyDeltas(
+                new Long[]{9L, 9L, 7L, 7L}, new Long[]{1L, 4L, 1L, 5L},
+                new LocalDate[]{day, day, day, day}, new Long[]{-900L, 900L, -300L, 300L});
+    }
+
+    @Test
+    void crossingWarningAndLimit_ShouldPublishOneEventPerThreshold() {
+        when(bulkRepo.applyDeltas(any(), any(), any(), any())).thenReturn(List.of(
+                applied(11L, 7_000, 8_500),       // passes 80 %
+                applied(12L, 8_500, 10_000),      // reaches the limit exactly
+                applied(13L, 7_999, 12_000),      // passes both at once
+                applied(14L, 9_000, 9_500)));     // already past 80 %, still under the limit
+        ledger.on(TransactionChangedEvent.created(tx(1L, 1_500, TransactionType.EXPENSE, 3L, 12)));
+
+        commit();
+
+        ArgumentCaptor<BudgetThresholdEvent> published = ArgumentCaptor.forClass(BudgetThresholdEvent.class);
+        verify(events, times(4)).publishEvent(published.capture());
+        assertThat(published.getAllValues())
+                .extracting(BudgetThresholdEvent::budgetId, BudgetThresholdEvent::thresholdPercent)
+                .containsExactly(
+                        tuple(11L, 80),
+                        tuple(12L, 100),
+                        tuple(13L, 80),
+                        tuple(13L, 100));
+        assertThat(published.getValue().limitCents()).isEqualTo(10_000L);
+        assertThat(published.getValue().spentCents()).isEqualTo(12_000L);
+    }
+
+    @Test
+    void droppingBelowAThreshold_ShouldPublishNothing() {
+        when(bulkRepo.applyDeltas(any(), any(), any(), any())).thenReturn(List.of(applied(11L, 10_500, 7_000)));
+        ledger.on(TransactionChangedEvent.deleted(tx(1L, 3_500, TransactionType.EXPENSE, 3L, 12)));
+
+        commit();
+
+        verifyNoInteractions(events);
+    }
+
+    @Test
+    void thresholds_ShouldRoundUpToWholeCents() {
+        assertThat(BudgetLedger.thresholdCents(999, 50)).isEqualTo(500L);
+        assertThat(BudgetLedger.thresholdCents(10_000, 80)).isEqualTo(8_000L);
+    }
+
+    private static void commit() {
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.beforeCommit(false);
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+    }
+
+    private static BudgetBulkRepository.Applied applied(long budgetId, long before, long after) {
+        return new BudgetBulkRepository.Applied(budgetId, 7L, 3L, BudgetPeriod.MONTHLY, APRIL,
+                new BigDecimal("100.00"), 80, before, after);
+    }
+
+    private static TransactionSnapshot tx(Long id, long cents, TransactionType type, Long categoryId, int day) {
+        return new TransactionSnapshot(id, 7L, "Tx " + id, cents, LocalDateTime.of(2025, 4, day, 9, 30),
+                type, categoryId, null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.finsight.api.service.coalesce;
+
+import com.finsight.api.exception.CoalescedCallTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SingleFlight flights = new SingleFlight();
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+    private final AtomicInteger runs = new AtomicInteger();
+    private final CountDownLatch leading = new CountDownLatch(1);
+    private final CountDownLatch following = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    /** Runs {@code execute} on the pool, returning its result or what it threw */
+    private Future<Object> submit(Object key, SingleFlight.Call call) {
+        Callable<Object> task = () -> {
+            try {
+                return flights.execute(key, TIMEOUT, call, role -> {
+                    if (role == SingleFlight.Role.FOLLOWER) {
+                        following.countDown();
+                    }
+                });
+            } catch (Throwable ex) {
+                return ex;
+            }
+        };
+        return pool.submit(task);
+    }
+
+    /** A call that counts its runs and holds until {@link #release} opens */
+    private SingleFlight.Call blocking(Object result) {
+        return () -> {
+            runs.incrementAndGet();
+            leading.countDown();
+            release.await();
+            if (result instanceof RuntimeException ex) {
+                throw ex;
+            }
+            return result;
+        };
+    }
+
+    @Test
+    void concurrentCallsWithSameKey_ShareOneRun() throws Exception {
+        Object result = new Object();
+        Future<Object> leader = submit("k", blocking(result));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Object> follower = submit("k", blocking(new Object()));
+        assertThat(following.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        assertThat(runs).hasValue(1);
+        assertThat(flights.inFlight()).isZero();
+    }
+
+    @Test
+    void differentKeys_RunIndependently() throws Throwable {
+        submit("a", blocking("a"));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Object b = flights.execute("b", TIMEOUT, () -> "b",
+                role -> assertThat(role).isEqualTo(SingleFlight.Role.LEADER));
+
+        assertThat(b).isEqualTo("b");
+        assertThat(flights.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void follower_GivesUpAfterTimeout() throws Exception {
+        submit("k", blocking("late"));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> flights.execute("k", Duration.ofMillis(50), () -> "never", role -> { }))
+                .isInstanceOf(CoalescedCallTimeoutException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void leaderFailure_IsRethrownToFollowersAndNotKept() throws Throwable {
+        IllegalStateException failure = new IllegalStateException("db down");
+        Future<Object> leader = submit("k", blocking(failure));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Object> follower = submit("k", () -> "unused");
+        assertThat(following.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(failure);
+        assertThat(flights.execute("k", TIMEOUT, () -> "ok", role -> { })).isEqualTo("ok");
+    }
+}
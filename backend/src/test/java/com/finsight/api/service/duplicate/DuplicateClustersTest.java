@@ -0,0 +1,62 @@
+package com.finsight.api.service.duplicate;
+
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DuplicateClustersTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    @Test
+    void clusters_ShouldGroupSameContentWithinWindow() {
+        DuplicateClusters scan = new DuplicateClusters();
+        scan.add(1, DAY, hash("TESCO STORES 3021", 4_250));
+        scan.add(2, DAY.plusDays(1), hash("Tesco Stores", 4_250));
+        scan.add(3, DAY.plusDays(2), hash("tesco stores 99", 4_250));    // chained through row 2
+        scan.add(4, DAY.plusDays(10), hash("Tesco Stores", 4_250));      // too far from the rest
+        scan.add(5, DAY, hash("Tesco Stores", 4_251));                   // other amount
+        scan.add(6, DAY.plusDays(20), hash("Netflix", 999));
+        scan.add(7, DAY.plusDays(20), hash("NETFLIX.COM", 999));
+
+        List<DuplicateClusters.Cluster> clusters = scan.clusters(1);
+
+        assertThat(clusters).hasSize(2);
+        assertThat(clusters.get(0).ids()).containsExactly(6, 7);
+        assertThat(clusters.get(0).lastDay()).isEqualTo(DAY.plusDays(20));
+        assertThat(clusters.get(1).ids()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void clusters_WithZeroWindow_ShouldRequireSameDay() {
+        DuplicateClusters scan = new DuplicateClusters();
+        scan.add(1, DAY, hash("Rent", 100_000));
+        scan.add(2, DAY.plusDays(1), hash("Rent", 100_000));
+
+        assertThat(scan.clusters(0)).isEmpty();
+        assertThat(scan.clusters(1)).hasSize(1);
+    }
+
+    @Test
+    void clusters_ShouldHandleLargeHistories() {
+        DuplicateClusters scan = new DuplicateClusters();
+        for (int i = 0; i < 100_000; i++) {
+            scan.add(i, DAY.plusDays(i % 365), hash("Shop " + (i % 5_000) + " x", 100 + i));
+        }
+        for (int i = 0; i < 50; i++) {                                      // one repeat every 2000 rows
+            scan.add(100_000 + i, DAY.plusDays((i * 2_000) % 365), hash("Shop " + ((i * 2_000) % 5_000) + " x", 100 + i * 2_000));
+        }
+
+        assertThat(scan.size()).isEqualTo(100_050);
+        assertThat(scan.clusters(1)).hasSize(50).allSatisfy(c -> assertThat(c.ids()).hasSize(2));
+    }
+
+    private static long hash(String description, long cents) {
+        return TransactionFingerprint.contentHash(description, cents, TransactionType.EXPENSE);
+    }
+}
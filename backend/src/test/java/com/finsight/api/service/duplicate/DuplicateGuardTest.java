@@ -0,0 +1,135 @@
+package com.finsight.api.service.duplicate;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.config.AppProperties.Duplicates.Mode;
+import com.finsight.api.exception.DuplicateTransactionException;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionFingerprint;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.repository.TransactionRepository.FingerprintMatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateGuardTest {
+
+    private static final long USER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Mock
+    private TransactionRepository txRepo;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private DuplicateGuard guard;
+
+    @Test
+    void checkInserted_ShouldLookUpEveryDayOfTheWindowInOneQuery() {
+        guard.checkInserted(USER_ID, List.of(tx(50L, "Tesco", DAY)));
+
+        verify(txRepo).findFingerprintMatches(eq(USER_ID), argThat((Collection<Long> fps) -> fps.size() == 3
+                && fps.contains(fingerprint("Tesco", DAY.minusDays(1)))
+                && fps.contains(fingerprint("Tesco", DAY.plusDays(1)))));
+    }
+
+    @Test
+    void checkInserted_ShouldFlagOlderMatchOnNearbyDay() {
+        long yesterday = fingerprint("Tesco", DAY.minusDays(1));
+        when(txRepo.findFingerprintMatches(eq(USER_ID), any())).thenReturn(List.of(match(12L, yesterday)));
+
+        assertThat(guard.checkInserted(USER_ID, List.of(tx(50L, "TESCO 4411", DAY)))).containsEntry(50L, 12L);
+    }
+
+    @Test
+    void checkInserted_ShouldFlagLaterRowOfSameBatchOnly() {
+        long today = fingerprint("Tesco", DAY);
+        when(txRepo.findFingerprintMatches(eq(USER_ID), any()))
+                .thenReturn(List.of(match(50L, today), match(51L, today)));
+
+        assertThat(guard.checkInserted(USER_ID, List.of(tx(50L, "Tesco", DAY), tx(51L, "Tesco", DAY))))
+                .containsExactly(Map.entry(51L, 50L));
+    }
+
+    @Test
+    void checkInserted_ShouldFlagStoredRowWithHigherId() {
+        // Another replica's id block can be above this one's
+        when(txRepo.findFingerprintMatches(eq(USER_ID), any()))
+                .thenReturn(List.of(match(50L, fingerprint("Tesco", DAY)), match(120L, fingerprint("Tesco", DAY))));
+
+        assertThat(guard.checkInserted(USER_ID, List.of(tx(50L, "Tesco", DAY)))).containsExactly(Map.entry(50L, 120L));
+    }
+
+    @Test
+    void checkInserted_WhenRejecting_ShouldThrowWithOriginal() {
+        appProperties.getDuplicates().setOnWrite(Mode.REJECT);
+        when(txRepo.findFingerprintMatches(eq(USER_ID), any()))
+                .thenReturn(List.of(match(12L, fingerprint("Tesco", DAY))));
+
+        assertThatThrownBy(() -> guard.checkInserted(USER_ID, List.of(tx(50L, "Tesco", DAY))))
+                .isInstanceOf(DuplicateTransactionException.class)
+                .hasFieldOrPropertyWithValue("duplicateOf", 12L);
+    }
+
+    @Test
+    void checkUpdated_ShouldFlagEvenWhenRejectingAndIgnoreItself() {
+        appProperties.getDuplicates().setOnWrite(Mode.REJECT);
+        long today = fingerprint("Tesco", DAY);
+        when(txRepo.findFingerprintMatches(eq(USER_ID), any()))
+                .thenReturn(List.of(match(50L, today), match(80L, today)));
+
+        assertThat(guard.checkUpdated(USER_ID, tx(50L, "Tesco", DAY))).isEqualTo(80L);
+    }
+
+    @Test
+    void check_WhenOff_ShouldNotQuery() {
+        appProperties.getDuplicates().setOnWrite(Mode.OFF);
+
+        assertThat(guard.checkInserted(USER_ID, List.of(tx(50L, "Tesco", DAY)))).isEmpty();
+        verify(txRepo, never()).findFingerprintMatches(anyLong(), any());
+    }
+
+    private static Transaction tx(Long id, String description, LocalDate day) {
+        return new Transaction(id, description, new BigDecimal("42.50"), day.atTime(12, 0), TransactionType.EXPENSE,
+                null, null, new AppUser(USER_ID, "auth0|dup", "Dup", null));
+    }
+
+    private static long fingerprint(String description, LocalDate day) {
+        return TransactionFingerprint.of(USER_ID, day, 4_250, TransactionType.EXPENSE, description);
+    }
+
+    private static FingerprintMatch match(Long id, Long fingerprint) {
+        return new FingerprintMatch() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getFingerprint() {
+                return fingerprint;
+            }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.finsight.api.service.duplicate;
+
+import com.finsight.api.dto.DuplicateScanDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.DuplicateService;
+import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.job.FingerprintBackfillJobHandler;
+import com.finsight.api.service.job.JobContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fingerprints maintained on write, restored by the backfill job and used by
+ * the cluster scan, against the real schema; skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class DuplicateIntegrationTest {
+
+    private static final String SUB = "auth0|duplicates";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DuplicateService duplicateService;
+
+    @Autowired
+    private FingerprintBackfillJobHandler backfill;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new AppUser(null, SUB, "Duplicates", "duplicates@example.com"));
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);
+    }
+
+    @Test
+    void create_ShouldFlagRepeatOnNearbyDay() {
+        TransactionDTO first = transactionService.createTransaction(dto("TESCO STORES 3021", 1));
+        TransactionDTO repeat = transactionService.createTransaction(dto("Tesco Stores", 2));
+        TransactionDTO later = transactionService.createTransaction(dto("Tesco Stores", 9));
+
+        assertThat(first.getDuplicateOf()).isNull();
+        assertThat(repeat.getDuplicateOf()).isEqualTo(first.getId());
+        assertThat(later.getDuplicateOf()).isNull();
+    }
+
+    @Test
+    void import_ShouldFlagRepeatsWithinTheBatch() {
+        List<TransactionDTO> imported = transactionService.importTransactions(
+                List.of(dto("Netflix", 1), dto("Rent", 1), dto("NETFLIX", 1)));
+
+        assertThat(imported).extracting(TransactionDTO::getDuplicateOf)
+                .containsExactly(null, null, imported.get(0).getId());
+    }
+
+    @Test
+    void backfillAndScan_ShouldWorkFromScratch() {
+        List<TransactionDTO> imported = transactionService.importTransactions(
+                List.of(dto("Coffee #12", 3), dto("coffee", 4), dto("Coffee", 20), dto("Books", 3)));
+        List<Long> before = jdbc.queryForList("SELECT fingerprint FROM transactions ORDER BY id", Long.class);
+        jdbc.update("UPDATE transactions SET fingerprint = NULL");
+
+        String result = backfill.run(new Job(), new JobContext() {
+            public void progress(int percent, String message) { }
+            public boolean shouldStop() { return false; }
+        });
+
+        assertThat(result).contains("Fingerprinted 4");
+        assertThat(jdbc.queryForList("SELECT fingerprint FROM transactions ORDER BY id", Long.class))
+                .doesNotContainNull()
+                .isEqualTo(before);
+
+        DuplicateScanDTO scan = duplicateService.findDuplicateClusters();
+        assertThat(scan.getScanned()).isEqualTo(4);
+        assertThat(scan.getClusters()).singleElement()
+                .satisfies(c -> assertThat(c.getTransactions()).extracting(TransactionDTO::getId)
+                        .containsExactly(imported.get(0).getId(), imported.get(1).getId()));
+    }
+
+    private static TransactionDTO dto(String description, int day) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal("3.20"));
+        dto.setDate(LocalDateTime.of(2025, 5, day, 8, 15));
+        dto.setType(TransactionType.EXPENSE);
+        return dto;
+    }
+}
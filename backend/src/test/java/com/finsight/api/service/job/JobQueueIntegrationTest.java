@@ -0,0 +1,176 @@
+package com.finsight.api.service.job;
+
+import com.finsight.api.dto.JobDTO;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.JobStatus;
+import com.finsight.api.model.JobType;
+import com.finsight.api.repository.JobRepository;
+import com.finsight.api.service.JobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the claim protocol against a real Postgres: H2 does not implement
+ * {@code SKIP LOCKED} the same way, and the guarantees here depend on it.
+ * Skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "app.jobs.max-attempts=2",
+        "app.jobs.backoff-base=PT0S"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class JobQueueIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private JobQueue queue;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepo;
+
+    @AfterEach
+    void tearDown() {
+        jobRepo.deleteAll();
+    }
+
+    @Test
+    void concurrentClaims_ShouldNeverHandOutTheSameJobTwice() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            jobService.enqueue(JobType.ACCOUNT_DELETION, "auth0|load-" + i, String.valueOf(i));
+        }
+
+        ConcurrentLinkedQueue<Long> claimed = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < 8; w++) {
+                String workerId = "worker-" + w;
+                workers.add(pool.submit(() -> {
+                    List<Job> batch;
+                    while (!(batch = queue.claim(JobType.ACCOUNT_DELETION, workerId, 5)).isEmpty()) {
+                        batch.forEach(job -> claimed.add(job.getId()));
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(claimed).hasSize(200).doesNotHaveDuplicates();
+        assertThat(jobRepo.findAll()).allSatisfy(job -> {
+            assertThat(job.getStatus()).isEqualTo(JobStatus.RUNNING);
+            assertThat(job.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void concurrentEnqueueUnique_ShouldQueueExactlyOneJob() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<JobDTO>> callers = new ArrayList<>();
+        try {
+            for (int c = 0; c < 8; c++) {
+                callers.add(pool.submit(() -> jobService.enqueueUnique(JobType.BALANCE_RECONCILIATION, null, null)));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<JobDTO> caller : callers) {
+                ids.add(caller.get().getId());
+            }
+            assertThat(ids).containsOnly(ids.get(0));
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(jobRepo.findAll()).hasSize(1);
+    }
+
+    @Test
+    void failedAttempts_ShouldRetryUntilMaxAttemptsThenFail() {
+        JobDTO queued = jobService.enqueue(JobType.ACCOUNT_DELETION, "auth0|retry", "1");
+
+        assertThat(queue.claim(JobType.ACCOUNT_DELETION, "w1", 1)).hasSize(1);
+        queue.fail(queued.getId(), "w1", new IllegalStateException("boom"));
+        Job afterFirst = jobRepo.findById(queued.getId()).orElseThrow();
+        assertThat(afterFirst.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(afterFirst.getLastError()).contains("boom");
+
+        assertThat(queue.claim(JobType.ACCOUNT_DELETION, "w1", 1)).hasSize(1);
+        queue.fail(queued.getId(), "w1", new IllegalStateException("boom again"));
+        Job afterSecond = jobRepo.findById(queued.getId()).orElseThrow();
+        assertThat(afterSecond.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(afterSecond.getAttempts()).isEqualTo(2);
+        assertThat(afterSecond.getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void expiredLease_ShouldBeRequeuedAndFenceOutTheOldWorker() {
+        JobDTO queued = jobService.enqueue(JobType.ACCOUNT_DELETION, "auth0|lease", "1");
+        assertThat(queue.claim(JobType.ACCOUNT_DELETION, "stale", 1)).hasSize(1);
+        expireLease(queued.getId());
+
+        assertThat(queue.recoverExpiredLeases()).isEqualTo(1);
+        assertThat(queue.claim(JobType.ACCOUNT_DELETION, "fresh", 1)).hasSize(1);
+
+        queue.complete(queued.getId(), "stale", "late result");
+        assertThat(queue.progress(queued.getId(), "stale", 50, "late progress")).isFalse();
+
+        Job job = jobRepo.findById(queued.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(JobStatus.RUNNING);
+        assertThat(job.getLockedBy()).isEqualTo("fresh");
+        assertThat(job.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void progress_ShouldBeVisibleThroughTheStatusRow() {
+        JobDTO queued = jobService.enqueue(JobType.ACCOUNT_DELETION, "auth0|progress", "1");
+        queue.claim(JobType.ACCOUNT_DELETION, "w1", 1);
+
+        assertThat(queue.progress(queued.getId(), "w1", 40, "Deleted 400 of 1000 transactions")).isTrue();
+        queue.complete(queued.getId(), "w1", "done");
+
+        Job job = jobRepo.findById(queued.getId()).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.getProgress()).isEqualTo(100);
+        assertThat(job.getLockedBy()).isNull();
+    }
+
+    private void expireLease(Long id) {
+        Job job = jobRepo.findById(id).orElseThrow();
+        job.setLockedUntil(Instant.now().minusSeconds(1));
+        jobRepo.save(job);
+    }
+}
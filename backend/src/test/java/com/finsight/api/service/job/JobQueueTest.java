@@ -0,0 +1,28 @@
+package com.finsight.api.service.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobQueueTest {
+
+    private static final Duration BASE = Duration.ofSeconds(10);
+    private static final Duration MAX = Duration.ofMinutes(30);
+
+    @Test
+    void backoff_ShouldDoubleEachAttemptWithinJitterBounds() {
+        assertThat(JobQueue.backoff(1, BASE, MAX, 0.0)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(JobQueue.backoff(1, BASE, MAX, 1.0)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(JobQueue.backoff(3, BASE, MAX, 0.0)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(JobQueue.backoff(3, BASE, MAX, 1.0)).isEqualTo(Duration.ofSeconds(40));
+    }
+
+    @Test
+    void backoff_ShouldBeCappedAndNeverOverflow() {
+        assertThat(JobQueue.backoff(12, BASE, MAX, 1.0)).isEqualTo(MAX);
+        assertThat(JobQueue.backoff(1_000, BASE, MAX, 1.0)).isEqualTo(MAX);
+        assertThat(JobQueue.backoff(1_000, BASE, MAX, 0.0)).isEqualTo(MAX.dividedBy(2));
+    }
+}
@@ -0,0 +1,178 @@
+package com.finsight.api.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.Job;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.job.AccountDeletionJobHandler;
+import com.finsight.api.service.job.JobContext;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * End to end through the service layer: outbox rows commit with the change,
+ * vanish with a rollback, and reach the sink in order exactly once per relay pass.
+ * Needs Postgres for the relay's advisory lock; skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "app.outbox.sink=memory",
+        "app.outbox.poll-interval=PT1H"      // drive the relay by hand
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxIntegrationTest {
+
+    private static final String SUB = "auth0|outbox";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountDeletionJobHandler accountDeletion;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new AppUser(null, SUB, "Outbox", "outbox@example.com"));
+        category = catRepo.save(new Category(null, "Outbox Test", null));
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        sink.clear();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        catRepo.delete(category);
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);
+    }
+
+    @Test
+    void writes_ShouldBeRelayedInOrderWithTheirPayloads() throws Exception {
+        TransactionDTO created = transactionService.createTransaction(dto("Groceries", "42.10"));
+        transactionService.updateTransaction(created.getId(), dto("Groceries", "40.00"));
+        transactionService.deleteTransaction(created.getId());
+
+        relay.relay();
+
+        List<OutboxMessage> delivered = sink.delivered();
+        assertThat(delivered).extracting(OutboxMessage::eventType)
+                .containsExactly("transaction.created", "transaction.updated", "transaction.deleted");
+        assertThat(delivered).extracting(OutboxMessage::aggregateId).containsOnly(created.getId());
+        assertThat(delivered).extracting(OutboxMessage::id).isSorted();
+        assertThat(objectMapper.readTree(delivered.get(1).payload()).at("/before/amountCents").asLong()).isEqualTo(4_210L);
+        assertThat(objectMapper.readTree(delivered.get(1).payload()).at("/after/amountCents").asLong()).isEqualTo(4_000L);
+        assertThat(outboxRepo.countByPublishedAtIsNull()).isZero();
+
+        relay.relay();
+        assertThat(sink.delivered()).hasSize(3);   // published rows are not sent again
+    }
+
+    @Test
+    void accountDeletion_ShouldWriteADeletedEventPerTransaction() throws Exception {
+        TransactionDTO first = transactionService.createTransaction(dto("Rent", "900.00"));
+        TransactionDTO second = transactionService.createTransaction(dto("Groceries", "42.10"));
+        outboxRepo.deleteAll();
+
+        Job job = new Job();
+        job.setPayload(String.valueOf(userRepo.findByAuth0Sub(SUB).orElseThrow().getId()));
+        accountDeletion.run(job, new JobContext() {
+            public void progress(int percent, String message) { }
+            public boolean shouldStop() { return false; }
+        });
+        relay.relay();
+
+        List<OutboxMessage> delivered = sink.delivered();
+        assertThat(delivered).extracting(OutboxMessage::eventType).containsOnly("transaction.deleted");
+        assertThat(delivered).extracting(OutboxMessage::aggregateId)
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(delivered).extracting(m -> objectMapper.readTree(m.payload()).at("/before/amountCents").asLong())
+                .containsExactlyInAnyOrder(90_000L, 4_210L);
+        assertThat(userRepo.findByAuth0Sub(SUB)).isEmpty();
+    }
+
+    @Test
+    void failedWrite_ShouldLeaveNoEvent() {
+        TransactionDTO bad = dto("Unknown category", "1.00");
+        bad.setCategoryId(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> transactionService.createTransaction(bad))
+                .isInstanceOf(EntityNotFoundException.class);
+
+        assertThat(outboxRepo.count()).isZero();
+    }
+
+    private TransactionDTO dto(String description, String amount) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setDate(LocalDateTime.of(2025, 4, 1, 9, 30));
+        dto.setType(TransactionType.EXPENSE);
+        dto.setCategoryId(category.getId());
+        return dto;
+    }
+}
@@ -0,0 +1,125 @@
+package com.finsight.api.service.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.finsight.api.event.BudgetThresholdEvent;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.BudgetPeriod;
+import com.finsight.api.model.OutboxEvent;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.OutboxBulkRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxWriterTest {
+
+    @Mock
+    private OutboxEventRepository outboxRepo;
+
+    @Mock
+    private OutboxBulkRepository bulkRepo;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private OutboxWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OutboxWriter(outboxRepo, bulkRepo, objectMapper);
+    }
+
+    @Test
+    void update_ShouldWriteRowWithBeforeAndAfterInCents() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 12, 0);
+        TransactionSnapshot before = new TransactionSnapshot(5L, 9L, "Coffee", 350L, date, TransactionType.EXPENSE, 2L, null);
+        TransactionSnapshot after = new TransactionSnapshot(5L, 9L, "Coffee", 425L, date, TransactionType.EXPENSE, 2L, "oat");
+
+        writer.on(TransactionChangedEvent.updated(before, after));
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepo).save(row.capture());
+        assertThat(row.getValue().getAggregateType()).isEqualTo("transaction");
+        assertThat(row.getValue().getAggregateId()).isEqualTo(5L);
+        assertThat(row.getValue().getEventType()).isEqualTo("transaction.updated");
+        assertThat(row.getValue().getUserId()).isEqualTo(9L);
+        assertThat(row.getValue().getCreatedAt()).isNotNull();
+        assertThat(row.getValue().getPublishedAt()).isNull();
+
+        JsonNode payload = objectMapper.readTree(row.getValue().getPayload());
+        assertThat(payload.at("/before/amountCents").asLong()).isEqualTo(350L);
+        assertThat(payload.at("/after/amountCents").asLong()).isEqualTo(425L);
+        assertThat(payload.at("/after/date").asText()).isEqualTo("2025-03-01T12:00:00");
+    }
+
+    @Test
+    void delete_ShouldWriteRowWithoutAfterState() throws Exception {
+        TransactionSnapshot before = new TransactionSnapshot(6L, 9L, "Rent", 120_000L,
+                LocalDateTime.of(2025, 3, 1, 0, 0), TransactionType.EXPENSE, 3L, null);
+
+        writer.on(TransactionChangedEvent.deleted(before));
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepo).save(row.capture());
+        assertThat(row.getValue().getEventType()).isEqualTo("transaction.deleted");
+        assertThat(objectMapper.readTree(row.getValue().getPayload()).get("after").isNull()).isTrue();
+    }
+
+    @Test
+    void bulkCreates_ShouldWriteAllRowsInOneStatementWithTheSamePayloads() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2025, 3, 1, 0, 0);
+        List<TransactionChangedEvent> events = List.of(
+                TransactionChangedEvent.created(new TransactionSnapshot(7L, 9L, "Rent", 120_000L, date,
+                        TransactionType.EXPENSE, 3L, null)),
+                TransactionChangedEvent.created(new TransactionSnapshot(8L, 4L, "Salary", 300_000L, date,
+                        TransactionType.INCOME, null, null)));
+
+        writer.onAll(events);
+
+        ArgumentCaptor<String[]> payloads = ArgumentCaptor.forClass(String[].class);
+        verify(bulkRepo).insertAll(eq("transaction"), eq(new Long[]{7L, 8L}),
+                eq(new String[]{"transaction.created", "transaction.created"}), eq(new Long[]{9L, 4L}),
+                payloads.capture(), any());
+        assertThat(payloads.getValue()[0]).isEqualTo(objectMapper.writeValueAsString(events.get(0)));
+        assertThat(objectMapper.readTree(payloads.getValue()[1]).at("/after/amountCents").asLong())
+                .isEqualTo(300_000L);
+        verify(outboxRepo, never()).save(any());
+    }
+
+    @Test
+    void budgetThreshold_ShouldWriteBudgetRow() throws Exception {
+        writer.on(new BudgetThresholdEvent(4L, 9L, 2L, BudgetPeriod.MONTHLY, LocalDate.of(2025, 3, 1),
+                80, 50_000L, 41_250L));
+
+        ArgumentCaptor<OutboxEvent> row = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxRepo).save(row.capture());
+        assertThat(row.getValue().getAggregateType()).isEqualTo("budget");
+        assertThat(row.getValue().getAggregateId()).isEqualTo(4L);
+        assertThat(row.getValue().getEventType()).isEqualTo("budget.threshold_reached");
+        assertThat(row.getValue().getUserId()).isEqualTo(9L);
+
+        JsonNode payload = objectMapper.readTree(row.getValue().getPayload());
+        assertThat(payload.get("thresholdPercent").asInt()).isEqualTo(80);
+        assertThat(payload.get("spentCents").asLong()).isEqualTo(41_250L);
+        assertThat(payload.get("periodStart").asText()).isEqualTo("2025-03-01");
+    }
+}
@@ -0,0 +1,150 @@
+package com.finsight.api.service.recurring;
+
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.event.TransactionSnapshot;
+import com.finsight.api.model.RecurrenceFrequency;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.RecurringBulkRepository;
+import com.finsight.api.repository.RecurringBulkRepository.Due;
+import com.finsight.api.repository.RecurringBulkRepository.Inserted;
+import com.finsight.api.repository.RecurringBulkRepository.Occurrence;
+import com.finsight.api.repository.RecurringTransactionRepository;
+import com.finsight.api.service.balance.BalanceLedger;
+import com.finsight.api.service.budget.BudgetLedger;
+import com.finsight.api.service.outbox.OutboxWriter;
+import com.finsight.api.service.recurring.RecurringMaterializer.Batch;
+import com.finsight.api.service.stream.PgChangeBridge;
+import com.finsight.api.service.stream.TransactionStreamHub;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringMaterializerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private RecurringBulkRepository bulkRepo;
+
+    @Mock
+    private RecurringTransactionRepository recurringRepo;
+
+    @Mock
+    private BalanceLedger balanceLedger;
+
+    @Mock
+    private BudgetLedger budgetLedger;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private TransactionStreamHub streamHub;
+
+    @Mock
+    private ObjectProvider<PgChangeBridge> peers;
+
+    @Mock
+    private PgChangeBridge bridge;
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
+    @InjectMocks
+    private RecurringMaterializer materializer;
+
+    @Test
+    void materializeBatch_ShouldCatchUpMissedOccurrencesAndAdvance() {
+        when(peers.getIfAvailable()).thenReturn(bridge);
+        when(recurringRepo.tryAdvisoryXactLock(RecurringMaterializer.LOCK_KEY)).thenReturn(true);
+        when(bulkRepo.lockDue(TODAY, 1_000)).thenReturn(List.of(
+                due(1L, RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 3, 1), null, 1)));   // Apr, May, Jun missed
+        when(bulkRepo.insertOccurrences(anyList())).thenReturn(List.of(
+                new Inserted(100L, 1L, LocalDate.of(2025, 4, 1)),
+                new Inserted(101L, 1L, LocalDate.of(2025, 5, 1)),
+                new Inserted(102L, 1L, LocalDate.of(2025, 6, 1))));
+
+        Batch batch = materializer.materializeBatch(TODAY);
+
+        assertThat(batch).isEqualTo(new Batch(false, 1, 3));
+        ArgumentCaptor<List<Occurrence>> occurrences = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepo).insertOccurrences(occurrences.capture());
+        assertThat(occurrences.getValue()).extracting(Occurrence::day).containsExactly(
+                LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1));
+        verify(bulkRepo).advance(new Long[]{1L}, new Integer[]{4}, new LocalDate[]{LocalDate.of(2025, 7, 1)});
+
+        // One batch for each consumer, one resync for the user, no event per row
+        ArgumentCaptor<Collection<TransactionSnapshot>> created = ArgumentCaptor.forClass(Collection.class);
+        verify(balanceLedger).onCreated(created.capture());
+        assertThat(created.getValue()).extracting(TransactionSnapshot::id).containsExactly(100L, 101L, 102L);
+        assertThat(created.getValue()).allSatisfy(tx -> assertThat(tx.amountCents()).isEqualTo(95_000L));
+        verify(budgetLedger).onCreated(created.getValue());
+        ArgumentCaptor<List<TransactionChangedEvent>> changes = ArgumentCaptor.forClass(List.class);
+        verify(outboxWriter).onAll(changes.capture());
+        assertThat(changes.getValue()).extracting(TransactionChangedEvent::transactionId)
+                .containsExactly(100L, 101L, 102L);
+        verify(streamHub).resyncAfterCommit(Set.of(7L));
+        verify(bridge).resync(Set.of(7L));
+    }
+
+    @Test
+    void materializeBatch_ShouldStopAtEndDateAndCatchUpLimit() {
+        appProperties.getRecurring().setMaxCatchUp(2);
+        when(recurringRepo.tryAdvisoryXactLock(RecurringMaterializer.LOCK_KEY)).thenReturn(true);
+        when(bulkRepo.lockDue(TODAY, 1_000)).thenReturn(List.of(
+                due(1L, RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 5, 15), LocalDate.of(2025, 5, 31), 0),
+                due(2L, RecurrenceFrequency.DAILY, LocalDate.of(2025, 5, 1), null, 0)));
+
+        materializer.materializeBatch(TODAY);
+
+        ArgumentCaptor<List<Occurrence>> occurrences = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepo).insertOccurrences(occurrences.capture());
+        assertThat(occurrences.getValue()).extracting(Occurrence::recurringId).containsExactly(1L, 2L, 2L);
+        verify(bulkRepo).advance(new Long[]{1L, 2L}, new Integer[]{1, 2},
+                new LocalDate[]{null, LocalDate.of(2025, 5, 3)});
+    }
+
+    @Test
+    void materializeBatch_WhenOccurrencesExist_ShouldPublishOnlyNewRows() {
+        when(recurringRepo.tryAdvisoryXactLock(RecurringMaterializer.LOCK_KEY)).thenReturn(true);
+        when(bulkRepo.lockDue(TODAY, 1_000)).thenReturn(List.of(
+                due(1L, RecurrenceFrequency.MONTHLY, TODAY, null, 0)));
+        when(bulkRepo.insertOccurrences(anyList())).thenReturn(List.of());   // a retried batch
+
+        assertThat(materializer.materializeBatch(TODAY)).isEqualTo(new Batch(false, 1, 0));
+        verifyNoInteractions(balanceLedger, budgetLedger, outboxWriter, streamHub, peers);
+        verify(bulkRepo).advance(new Long[]{1L}, new Integer[]{1}, new LocalDate[]{LocalDate.of(2025, 7, 1)});
+    }
+
+    @Test
+    void materializeBatch_WhenAnotherReplicaHoldsTheLock_ShouldDoNothing() {
+        when(recurringRepo.tryAdvisoryXactLock(RecurringMaterializer.LOCK_KEY)).thenReturn(false);
+
+        assertThat(materializer.materializeBatch(TODAY).locked()).isTrue();
+        verify(bulkRepo, never()).lockDue(any(), anyInt());
+    }
+
+    private static Due due(Long id, RecurrenceFrequency frequency, LocalDate start, LocalDate end, int nextIndex) {
+        return new Due(id, 7L, "Rent", new BigDecimal("950.00"), TransactionType.EXPENSE, 4L, null,
+                frequency, start, end, nextIndex);
+    }
+}
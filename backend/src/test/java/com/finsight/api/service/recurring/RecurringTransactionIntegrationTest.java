@@ -0,0 +1,158 @@
+package com.finsight.api.service.recurring;
+
+import com.finsight.api.dto.RecurringTransactionDTO;
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.RecurrenceFrequency;
+import com.finsight.api.model.TransactionType;
+import com.finsight.api.repository.AppUserRepository;
+import com.finsight.api.repository.CategoryRepository;
+import com.finsight.api.repository.OutboxEventRepository;
+import com.finsight.api.repository.TransactionRepository;
+import com.finsight.api.service.BalanceService;
+import com.finsight.api.service.RecurringTransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Materialisation against the real schema (array inserts, ON CONFLICT and
+ * advisory locks are Postgres-specific); skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "app.recurring.batch-size=2"            // several batches from a handful of templates
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class RecurringTransactionIntegrationTest {
+
+    private static final String SUB = "auth0|recurring";
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private RecurringTransactionService recurringService;
+
+    @Autowired
+    private RecurringTransactionScheduler scheduler;
+
+    @Autowired
+    private BalanceService balanceService;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new AppUser(null, SUB, "Recurring", "recurring@example.com"));
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);   // cascades to templates and balances
+    }
+
+    @Test
+    void materializeDue_ShouldCatchUpOnceAndKeepBalancesInStep() {
+        Long housing = catRepo.findByName("Housing").orElseThrow().getId();
+        recurringService.createRecurringTransaction(template("Rent", "950.00", TransactionType.EXPENSE, housing,
+                RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 3, 1), null));
+        recurringService.createRecurringTransaction(template("Salary", "3000.00", TransactionType.INCOME, null,
+                RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 5, 31), null));
+        recurringService.createRecurringTransaction(template("Gym", "30.00", TransactionType.EXPENSE, null,
+                RecurrenceFrequency.WEEKLY, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 5)));
+
+        // Rent Mar–Jun, salary May 31, gym Jun 1
+        assertThat(scheduler.materializeDue(TODAY)).isEqualTo(6);
+        assertThat(scheduler.materializeDue(TODAY)).isZero();
+        assertThat(balanceService.getCurrentUserTotals())
+                .isEqualTo(new TotalsDTO(300_000L, 383_000L, 0L, -83_000L));
+        assertThat(outboxRepo.findAll())
+                .filteredOn(e -> e.getAggregateType().equals("transaction"))
+                .extracting(e -> e.getEventType())
+                .containsOnly("transaction.created")
+                .hasSize(6);
+
+        // Rewinding the templates finds every occurrence already there
+        jdbc.update("UPDATE recurring_transactions SET next_index = 0, next_run = start_date");
+        assertThat(scheduler.materializeDue(TODAY)).isZero();
+        assertThat(txRepo.count()).isEqualTo(6);
+
+        assertThat(recurringService.getRecurringTransactions())
+                .extracting(RecurringTransactionDTO::getNextRun)
+                .containsExactly(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 6, 30), null);
+        assertThat(scheduler.materializeDue(LocalDate.of(2025, 7, 1))).isEqualTo(2);
+    }
+
+    @Test
+    void delete_ShouldStopScheduleAndKeepCreatedTransactions() {
+        RecurringTransactionDTO rent = recurringService.createRecurringTransaction(template("Rent", "950.00",
+                TransactionType.EXPENSE, null, RecurrenceFrequency.MONTHLY, LocalDate.of(2025, 6, 1), null));
+        assertThat(scheduler.materializeDue(TODAY)).isEqualTo(1);
+
+        recurringService.deleteRecurringTransaction(rent.getId());
+
+        assertThat(scheduler.materializeDue(LocalDate.of(2025, 8, 1))).isZero();
+        assertThat(txRepo.count()).isEqualTo(1);
+    }
+
+    private static RecurringTransactionDTO template(String description, String amount, TransactionType type,
+                                                    Long categoryId, RecurrenceFrequency frequency,
+                                                    LocalDate start, LocalDate end) {
+        RecurringTransactionDTO dto = new RecurringTransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal(amount));
+        dto.setType(type);
+        dto.setCategoryId(categoryId);
+        dto.setFrequency(frequency);
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        return dto;
+    }
+}
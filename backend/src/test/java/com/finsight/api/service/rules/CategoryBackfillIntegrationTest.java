@@ -0,0 +1,156 @@
+package com.finsight.api.service.rules;
+
+import com.finsight.api.dto.BudgetDTO;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.*;
+import com.finsight.api.repository.*;
+import com.finsight.api.service.BudgetService;
+import com.finsight.api.service.TransactionService;
+import com.finsight.api.service.job.CategoryBackfillJobHandler;
+import com.finsight.api.service.job.JobContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rules applied on write and by the backfill job, against the real schema
+ * (the backfill's array UPDATE is Postgres-specific); skipped without Docker.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "app.rules.backfill-chunk-size=2"      // several chunks from a handful of rows
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CategoryBackfillIntegrationTest {
+
+    private static final String SUB = "auth0|backfill";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockBean
+    private JwtDecoder jwtDecoder;          // no issuer discovery during context startup
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryBackfillJobHandler backfill;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private BudgetSpendRepository spendRepo;
+
+    @Autowired
+    private BudgetBulkRepository budgetBulkRepo;
+
+    @Autowired
+    private CategoryRuleEngine ruleEngine;
+
+    @Autowired
+    private CategoryRuleRepository ruleRepo;
+
+    @Autowired
+    private CategoryRepository catRepo;
+
+    @Autowired
+    private TransactionRepository txRepo;
+
+    @Autowired
+    private OutboxEventRepository outboxRepo;
+
+    @Autowired
+    private AppUserRepository userRepo;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepo.save(new AppUser(null, SUB, "Backfill", "backfill@example.com")).getId();
+        Jwt jwt = Jwt.withTokenValue("test").header("alg", "none").subject(SUB).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, AuthorityUtils.createAuthorityList("SCOPE_fin:app")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        outboxRepo.deleteAll();
+        txRepo.deleteAll();
+        userRepo.findByAuth0Sub(SUB).ifPresent(userRepo::delete);   // cascades to the rules
+        ruleEngine.evict(userId);
+    }
+
+    @Test
+    void backfill_ShouldCategorizeExistingRowsAndCreateShouldUseNewRules() throws Exception {
+        Long subscriptions = catRepo.findByName("Subscriptions").orElseThrow().getId();
+        Long uncategorized = catRepo.findByName(Category.UNCATEGORIZED).orElseThrow().getId();
+
+        List<TransactionDTO> imported = transactionService.importTransactions(List.of(
+                dto("NETFLIX.COM"), dto("Corner shop"), dto("Netflix annual"), dto("SPOTIFY")));
+        assertThat(imported).extracting(TransactionDTO::getCategoryId).containsOnly(uncategorized);
+
+        BudgetDTO budget = new BudgetDTO();
+        budget.setCategoryId(subscriptions);
+        budget.setPeriod(BudgetPeriod.MONTHLY);
+        budget.setAmount(new BigDecimal("50.00"));
+        Long budgetId = budgetService.createBudget(budget).getId();
+
+        ruleRepo.save(new CategoryRule(null, userId, subscriptions, "netflix", null, null, null, 0, Instant.now()));
+        ruleRepo.save(new CategoryRule(null, userId, subscriptions, "spotify", null, null, null, 0, Instant.now()));
+        ruleEngine.evict(userId);
+
+        Job job = new Job();
+        job.setPayload(String.valueOf(userId));
+        String result = backfill.run(job, new JobContext() {
+            public void progress(int percent, String message) { }
+            public boolean shouldStop() { return false; }
+        });
+
+        assertThat(result).contains("categorised 3");
+        assertThat(txRepo.findAllById(imported.stream().map(TransactionDTO::getId).toList()))
+                .extracting(t -> t.getCategory().getName())
+                .containsExactlyInAnyOrder("Subscriptions", "Subscriptions", "Subscriptions", Category.UNCATEGORIZED);
+        // The moved expenses now count against the budget, committed with the move
+        assertThat(spendRepo.findById(new BudgetSpend.Key(budgetId, LocalDate.of(2025, 4, 1))))
+                .hasValueSatisfying(s -> assertThat(s.getSpentCents()).isEqualTo(2_997L));
+        assertThat(budgetBulkRepo.findDriftedSpend(new Long[]{userId})).isEmpty();
+        assertThat(transactionService.createTransaction(dto("Spotify family")).getCategoryId()).isEqualTo(subscriptions);
+    }
+
+    private static TransactionDTO dto(String description) {
+        TransactionDTO dto = new TransactionDTO();
+        dto.setDescription(description);
+        dto.setAmount(new BigDecimal("9.99"));
+        dto.setDate(LocalDateTime.of(2025, 4, 1, 9, 30));
+        dto.setType(TransactionType.EXPENSE);
+        return dto;
+    }
+}
@@ -0,0 +1,55 @@
+package com.finsight.api.service.rules;
+
+import com.finsight.api.model.CategoryRule;
+import com.finsight.api.model.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledRulesTest {
+
+    @Test
+    void match_ShouldPreferPriorityThenLongestPatternThenOldestRule() {
+        CompiledRules rules = CompiledRules.compile(List.of(
+                rule(1L, "amazon", 10L, null, null, null, 0),
+                rule(2L, "amazon prime", 20L, null, null, null, 0),
+                rule(3L, "prime", 30L, null, null, null, 5),
+                rule(4L, "amazon", 40L, null, null, null, 0)));
+
+        assertThat(rules.match("AMAZON PRIME*2K4", 899, TransactionType.EXPENSE)).isEqualTo(30L);
+        assertThat(rules.match("Amazon Marketplace", 2_500, TransactionType.EXPENSE)).isEqualTo(10L);
+    }
+
+    @Test
+    void match_ShouldApplyTypeAndAmountFilters() {
+        CompiledRules rules = CompiledRules.compile(List.of(
+                rule(1L, "transfer", 10L, TransactionType.INCOME, null, null, 0),
+                rule(2L, "tfl", 20L, null, "0.00", "10.00", 0)));
+
+        assertThat(rules.match("Transfer from savings", 5_000, TransactionType.EXPENSE)).isNull();
+        assertThat(rules.match("Transfer from savings", 5_000, TransactionType.INCOME)).isEqualTo(10L);
+        assertThat(rules.match("TFL TRAVEL CH", 1_000, TransactionType.EXPENSE)).isEqualTo(20L);
+        assertThat(rules.match("TFL TRAVEL CH", 1_001, TransactionType.EXPENSE)).isNull();
+    }
+
+    @Test
+    void categorize_ShouldLetAnyUserRuleWinOverGlobalRules() {
+        CompiledRules user = CompiledRules.compile(List.of(rule(1L, "coffee", 10L, null, null, null, 0)));
+        CompiledRules global = CompiledRules.compile(List.of(rule(2L, "costa coffee", 20L, null, null, null, 100)));
+
+        assertThat(CategoryRuleEngine.categorize(user, global, "COSTA COFFEE", 350, TransactionType.EXPENSE)).isEqualTo(10L);
+        assertThat(CategoryRuleEngine.categorize(CompiledRules.EMPTY, global, "COSTA COFFEE", 350, TransactionType.EXPENSE))
+                .isEqualTo(20L);
+        assertThat(CategoryRuleEngine.categorize(CompiledRules.EMPTY, CompiledRules.EMPTY, "COSTA", 350, TransactionType.EXPENSE))
+                .isNull();
+    }
+
+    private static CategoryRule rule(Long id, String pattern, Long categoryId, TransactionType type,
+                                     String min, String max, int priority) {
+        return new CategoryRule(id, 1L, categoryId, pattern, type,
+                min == null ? null : new BigDecimal(min), max == null ? null : new BigDecimal(max), priority, null);
+    }
+}
@@ -0,0 +1,52 @@
+package com.finsight.api.service.rules;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatternAutomatonTest {
+
+    @Test
+    void forEachMatch_ShouldFindOverlappingAndNestedPatterns() {
+        PatternAutomaton automaton = PatternAutomaton.compile(List.of("he", "she", "his", "hers"));
+
+        assertThat(matches(automaton, "ushers")).containsExactlyInAnyOrder(0, 1, 3);
+        assertThat(matches(automaton, "this")).containsExactly(2);
+        assertThat(matches(automaton, "nothing")).isEmpty();
+    }
+
+    @Test
+    void forEachMatch_ShouldIgnoreCaseAndSurroundingBlanks() {
+        PatternAutomaton automaton = PatternAutomaton.compile(List.of("  Netflix ", "UBER"));
+
+        assertThat(matches(automaton, "NETFLIX.COM 866-579")).containsExactly(0);
+        assertThat(matches(automaton, "Uber *Trip")).containsExactly(1);
+    }
+
+    @Test
+    void compile_ShouldSkipBlankPatternsAndKeepDuplicates() {
+        PatternAutomaton automaton = PatternAutomaton.compile(List.of("", "tesco", "  ", "tesco"));
+
+        assertThat(matches(automaton, "TESCO STORES 2231")).containsExactlyInAnyOrder(1, 3);
+        assertThat(matches(automaton, "")).isEmpty();
+    }
+
+    @Test
+    void forEachMatch_ShouldScaleWithTextNotPatternCount() {
+        List<String> patterns = IntStream.range(0, 20_000).mapToObj(i -> "merchant" + i + "x").toList();
+        PatternAutomaton automaton = PatternAutomaton.compile(patterns);
+
+        assertThat(matches(automaton, "CARD PAYMENT MERCHANT12345X LONDON")).containsExactly(12_345);
+        assertThat(automaton.stateCount()).isLessThan(20_000 * 15);
+    }
+
+    private static List<Integer> matches(PatternAutomaton automaton, String text) {
+        List<Integer> found = new ArrayList<>();
+        automaton.forEachMatch(text, found::add);
+        return found;
+    }
+}
@@ -0,0 +1,86 @@
+package com.finsight.api.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.finsight.api.config.AppProperties;
+import com.finsight.api.dto.TotalsDTO;
+import com.finsight.api.dto.TransactionChangeDTO;
+import com.finsight.api.event.TransactionChangedEvent;
+import com.finsight.api.exception.StreamLimitExceededException;
+import com.finsight.api.service.BalanceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionStreamHubTest {
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private TransactionStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties props = new AppProperties();
+        props.getStream().setMaxConnectionsPerUser(2);
+        props.getStream().setMaxConnections(3);
+        lenient().when(balanceService.getTotals(anyLong())).thenReturn(new TotalsDTO(1_000L, 400L, 0L, 600L));
+        hub = new TransactionStreamHub(balanceService, new ObjectMapper().findAndRegisterModules(), props, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void burstOfChanges_ShouldReadTotalsOncePerUserPerFlush() {
+        hub.subscribe(1L);
+        hub.subscribe(1L);
+        clearInvocations(balanceService);          // initial totals on subscribe
+
+        for (long id = 1; id <= 10; id++) {
+            hub.onChange(1L, new TransactionChangeDTO(TransactionChangedEvent.ChangeType.CREATED, id, null));
+        }
+        hub.flush();
+        hub.flush();                               // nothing left to send
+
+        verify(balanceService, times(1)).getTotals(1L);
+    }
+
+    @Test
+    void changesForUsersWithoutStreams_ShouldCostNothing() {
+        hub.onChange(42L, new TransactionChangeDTO(TransactionChangedEvent.ChangeType.DELETED, 7L, null));
+        hub.resync(42L);
+        hub.flush();
+
+        verifyNoInteractions(balanceService);
+    }
+
+    @Test
+    void subscribe_ShouldEnforcePerUserAndInstanceLimits() {
+        hub.subscribe(1L);
+        hub.subscribe(1L);
+        assertThatThrownBy(() -> hub.subscribe(1L))
+                .isInstanceOf(StreamLimitExceededException.class)
+                .hasMessageContaining("for this user");
+
+        hub.subscribe(2L);
+        assertThatThrownBy(() -> hub.subscribe(3L))
+                .isInstanceOf(StreamLimitExceededException.class);
+        assertThat(hub.connectionCount()).isEqualTo(3);
+    }
+}
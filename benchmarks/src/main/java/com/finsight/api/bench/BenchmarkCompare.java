@@ -0,0 +1,86 @@
+package com.finsight.api.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files (baseline, candidate) and prints the
+ * relative change in score and allocated bytes per operation.
+ * Exits with status 1 when any benchmark allocates more than the allowed
+ * growth, so it can gate CI:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.finsight.api.bench.BenchmarkCompare \
+ *      baseline.json target/jmh-result.json [maxAllocGrowthPercent]
+ * </pre>
+ */
+public final class BenchmarkCompare {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    private BenchmarkCompare() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkCompare <baseline.json> <candidate.json> [maxAllocGrowthPercent]");
+            System.exit(2);
+        }
+        double maxAllocGrowth = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> candidate = load(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-80s %14s %14s %9s %12s %12s %9s%n",
+                "benchmark", "base score", "new score", "Δ%", "base B/op", "new B/op", "Δ%");
+        for (var entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            double allocBefore = alloc(before);
+            double allocAfter = alloc(after);
+            double allocDelta = percent(allocBefore, allocAfter);
+
+            System.out.printf("%-80s %14.3f %14.3f %8.1f%% %12.1f %12.1f %8.1f%%%n",
+                    entry.getKey(), scoreBefore, scoreAfter, percent(scoreBefore, scoreAfter),
+                    allocBefore, allocAfter, allocDelta);
+
+            // Growth from ~0 B/op is always a regression worth flagging
+            if ((allocBefore < 1.0 && allocAfter >= 1.0) || allocDelta > maxAllocGrowth) {
+                regressed = true;
+            }
+        }
+        if (regressed) {
+            System.out.println("Allocation regression above " + maxAllocGrowth + "% detected");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws Exception {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(p ->
+                    key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            byKey.put(key.toString(), run);
+        }
+        return byKey;
+    }
+
+    private static double alloc(JsonNode run) {
+        return run.path("secondaryMetrics").path(ALLOC_NORM).path("score").asDouble(Double.NaN);
+    }
+
+    private static double percent(double before, double after) {
+        return before == 0.0 ? 0.0 : (after - before) / before * 100.0;
+    }
+}
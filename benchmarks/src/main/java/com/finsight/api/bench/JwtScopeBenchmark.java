@@ -0,0 +1,45 @@
+package com.finsight.api.bench;
+
+import com.finsight.api.security.JwtToScopeConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Scope claim → authorities conversion, run on every authenticated request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtScopeBenchmark {
+
+    @Param({"fin:app", "openid profile email fin:app offline_access"})
+    String scope;
+
+    Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        jwt = Jwt.withTokenValue("bench-token")
+                .header("alg", "RS256")
+                .subject("auth0|bench")
+                .issuer("https://bench.auth0.com/")
+                .audience(List.of("https://bench-api"))
+                .issuedAt(now)
+                .expiresAt(now.plusSeconds(3600))
+                .claim("scope", scope)
+                .build();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        return JwtToScopeConverter.INSTANCE.convert(jwt);
+    }
+}
@@ -0,0 +1,68 @@
+package com.finsight.api.bench;
+
+import com.finsight.api.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing a user's amounts: {@link BigDecimal} (what the entity carries)
+ * versus {@link Money} cents. Run with {@code -prof gc}: the cents path must
+ * stay at ~0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneySumBenchmark {
+
+    @Param({"100", "10000"})
+    int rows;
+
+    BigDecimal[] amounts;
+    long[] cents;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        amounts = new BigDecimal[rows];
+        cents = new long[rows];
+        for (int i = 0; i < rows; i++) {
+            long c = random.nextLong(1, 500_000);      // 0.01 .. 5 000.00
+            amounts[i] = BigDecimal.valueOf(c, Money.SCALE);
+            cents[i] = c;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long centsSum() {
+        long total = 0L;
+        for (long c : cents) {
+            total = Money.add(total, c);
+        }
+        return total;
+    }
+
+    /** Cost of crossing the JPA boundary once per row, then summing as cents. */
+    @Benchmark
+    public long convertThenCentsSum() {
+        long total = 0L;
+        for (BigDecimal amount : amounts) {
+            total = Money.add(total, Money.toCents(amount));
+        }
+        return total;
+    }
+}
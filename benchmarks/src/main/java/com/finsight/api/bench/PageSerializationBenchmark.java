@@ -0,0 +1,62 @@
+package com.finsight.api.bench;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialisation of a listing response the way {@code WebConfig}'s
+ * {@code VIA_DTO} mode renders it: the page is wrapped in a {@link PagedModel}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Groceries", "Dining Out", "Transportation", "Utilities"};
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    ObjectWriter writer;
+    PagedModel<TransactionDTO> model;
+
+    @Setup
+    public void setUp() {
+        // Mirrors Boot's defaults: java.time module registered, ISO dates
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writer();
+
+        List<TransactionDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new TransactionDTO((long) i, "Card payment #" + i, BigDecimal.valueOf(1_999 + i, 2),
+                    LocalDateTime.of(2025, 3, 1, 9, 30).plusHours(i), TransactionType.EXPENSE,
+                    (long) (i % CATEGORIES.length + 1), CATEGORIES[i % CATEGORIES.length],
+                    i % 2 == 0 ? "split with flatmate" : null));
+        }
+        model = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000));
+    }
+
+    @Benchmark
+    public byte[] viaDto() throws Exception {
+        return writer.writeValueAsBytes(model);
+    }
+}
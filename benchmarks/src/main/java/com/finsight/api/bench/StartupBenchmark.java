@@ -0,0 +1,110 @@
+package com.finsight.api.bench;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time to first request: starts the API command, polls a URL until
+ * it answers 200 and kills the process, {@code runs} times. Prints each run
+ * and min / median / max in milliseconds. Compare the plain jar with the
+ * fast-start build (AOT + AppCDS, see the backend's {@code fast-start} profile):
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.finsight.api.bench.StartupBenchmark --runs=10 -- \
+ *      java -jar ../backend/target/finance-tracker-api-0.0.1-SNAPSHOT-exec.jar
+ * java -cp target/benchmarks.jar com.finsight.api.bench.StartupBenchmark --runs=10 \
+ *      --dir=../backend/target/fast-start -- \
+ *      java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+ *      -jar finance-tracker-api-0.0.1-SNAPSHOT-exec.jar --spring.profiles.active=fast-start
+ * </pre>
+ *
+ * The command inherits the environment, so the datasource and {@code APP_AUTH0_*}
+ * settings are taken from it. {@code /actuator/health} is the default URL: it
+ * needs no token and answers 200 only once the database is reachable.
+ */
+public final class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        String url = "http://localhost:8080/actuator/health";
+        Duration timeout = Duration.ofSeconds(120);
+        Path dir = Path.of(".");
+        int split = Arrays.asList(args).indexOf("--");
+        if (split < 0 || split == args.length - 1) {
+            System.err.println("usage: StartupBenchmark [--runs=5] [--url=...] [--timeout=120] [--dir=.] -- <command...>");
+            System.exit(2);
+        }
+        for (String arg : Arrays.copyOfRange(args, 0, split)) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(value);
+            } else if (arg.startsWith("--url=")) {
+                url = value;
+            } else if (arg.startsWith("--timeout=")) {
+                timeout = Duration.ofSeconds(Long.parseLong(value));
+            } else if (arg.startsWith("--dir=")) {
+                dir = Path.of(value);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, split + 1, args.length));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        long[] millis = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            millis[run] = timeToFirstRequest(command, dir, http, probe, timeout);
+            System.out.printf("run %2d: %6d ms%n", run + 1, millis[run]);
+        }
+        Arrays.sort(millis);
+        System.out.printf("time to first request over %d runs: min %d ms, median %d ms, max %d ms%n",
+                runs, millis[0], millis[runs / 2], millis[runs - 1]);
+    }
+
+    private static long timeToFirstRequest(List<String> command, Path dir, HttpClient http, HttpRequest probe,
+                                           Duration timeout) throws IOException, InterruptedException {
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+        long start = System.nanoTime();
+        Process app = new ProcessBuilder(command).directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < timeout.toNanos()) {
+                if (!app.isAlive()) {
+                    throw new IllegalStateException("Exited with " + app.exitValue() + " before serving; see " + log);
+                }
+                try {
+                    if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+                    }
+                } catch (ConnectException notListeningYet) {
+                    // keep polling
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No 200 from " + probe.uri() + " within " + timeout + "; see " + log);
+        } finally {
+            app.destroy();
+            if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                app.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
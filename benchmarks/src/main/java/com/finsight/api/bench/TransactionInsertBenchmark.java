@@ -0,0 +1,169 @@
+package com.finsight.api.bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting {@code rows} transactions in one database transaction, with the
+ * statements Hibernate sends for each id strategy:
+ * <ul>
+ *   <li>{@code identity}: one {@code INSERT ... RETURNING id} round trip per row,
+ *       as {@code GenerationType.IDENTITY} must to learn each id;</li>
+ *   <li>{@code pooled}: one {@code nextval} per 50 ids and one JDBC batch per 50
+ *       rows, sent as multi-row inserts ({@code reWriteBatchedInserts}), as the
+ *       pooled sequences and {@code app.jdbc.batch-size} do.</li>
+ * </ul>
+ * Needs a Postgres server, taken from the same environment variables as the
+ * API ({@code SPRING_DATASOURCE_URL}, {@code POSTGRES_USER},
+ * {@code POSTGRES_PASSWORD}). Rows go to a temporary table shaped like
+ * {@code transactions}, so nothing in the database is touched:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar TransactionInsert
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionInsertBenchmark {
+
+    /** The transactions sequence increment and the default JDBC batch size */
+    private static final int BLOCK = 50;
+
+    private static final String INSERT = "INSERT INTO bench_transactions "
+            + "(description, amount, date, type, notes, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_WITH_ID = "INSERT INTO bench_transactions "
+            + "(id, description, amount, date, type, notes, category_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"1", "50", "1000"})
+    int rows;
+
+    @Param({"identity", "pooled"})
+    String ids;
+
+    Connection connection;
+    long nextId;
+    long blockEnd;
+
+    @Setup
+    public void setUp() throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", env("POSTGRES_USER", "postgres"));
+        props.setProperty("password", env("POSTGRES_PASSWORD", ""));
+        props.setProperty("reWriteBatchedInserts", Boolean.toString(ids.equals("pooled")));
+        connection = DriverManager.getConnection(
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/finsight"), props);
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TEMPORARY TABLE bench_transactions (
+                        id          BIGSERIAL PRIMARY KEY,
+                        description TEXT          NOT NULL,
+                        amount      NUMERIC(12,2) NOT NULL,
+                        date        TIMESTAMP     NOT NULL,
+                        type        TEXT          NOT NULL,
+                        notes       TEXT,
+                        category_id BIGINT        NOT NULL,
+                        user_id     BIGINT        NOT NULL)""");
+            // As after V11: the first nextval is the top of the first block
+            ddl.execute("ALTER SEQUENCE bench_transactions_id_seq INCREMENT BY " + BLOCK + " RESTART WITH " + BLOCK);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement truncate = connection.createStatement()) {
+            truncate.execute("TRUNCATE bench_transactions");
+        }
+        connection.commit();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long insert() throws SQLException {
+        long last = ids.equals("pooled") ? pooled() : identity();
+        connection.commit();
+        return last;
+    }
+
+    private long identity() throws SQLException {
+        long last = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT, new String[]{"id"})) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, 1, i);
+                insert.executeUpdate();
+                try (ResultSet key = insert.getGeneratedKeys()) {
+                    key.next();
+                    last = key.getLong(1);
+                }
+            }
+        }
+        return last;
+    }
+
+    private long pooled() throws SQLException {
+        long last = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID)) {
+            for (int i = 0; i < rows; i++) {
+                last = nextId();
+                insert.setLong(1, last);
+                bind(insert, 2, i);
+                insert.addBatch();
+                if ((i + 1) % BLOCK == 0) {
+                    insert.executeBatch();
+                }
+            }
+            if (rows % BLOCK != 0) {
+                insert.executeBatch();
+            }
+        }
+        return last;
+    }
+
+    /** Hibernate's pooled optimizer: each {@code nextval} is the top of a block of {@link #BLOCK} ids */
+    private long nextId() throws SQLException {
+        if (nextId == blockEnd) {
+            try (Statement seq = connection.createStatement();
+                 ResultSet next = seq.executeQuery("SELECT nextval('bench_transactions_id_seq')")) {
+                next.next();
+                blockEnd = next.getLong(1) + 1;
+                nextId = blockEnd - BLOCK;
+            }
+        }
+        return nextId++;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private static void bind(PreparedStatement insert, int first, int i) throws SQLException {
+        insert.setString(first, "Card payment #" + i);
+        insert.setBigDecimal(first + 1, BigDecimal.valueOf(1_999 + i, 2));
+        insert.setTimestamp(first + 2, Timestamp.valueOf(LocalDateTime.of(2025, 3, 1, 9, 30).plusMinutes(i)));
+        insert.setString(first + 3, "EXPENSE");
+        insert.setString(first + 4, i % 2 == 0 ? "split with flatmate" : null);
+        insert.setLong(first + 5, 3);
+        insert.setLong(first + 6, 1);
+    }
+}
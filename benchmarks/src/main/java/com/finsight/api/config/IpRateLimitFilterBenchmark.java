@@ -0,0 +1,56 @@
+package com.finsight.api.config;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link IpRateLimitFilter}: bucket lookup for a hot
+ * client, and bucket creation when every request comes from a new address.
+ * Lives in the config package to call {@code doFilterInternal} directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IpRateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (req, res) -> { };
+
+    @Param({"1", "65536"})
+    int distinctClients;
+
+    IpRateLimitFilter filter;
+    MockHttpServletRequest[] requests;
+    MockHttpServletResponse response;
+    int next;
+
+    @Setup
+    public void setUp() {
+        AppProperties props = new AppProperties();
+        props.getRateLimit().setRequestsPerWindow(Integer.MAX_VALUE);   // never reject
+        props.getRateLimit().setWindowMinutes(1);
+        filter = new IpRateLimitFilter(props);
+        filter.initializeBandwidth();
+
+        requests = new MockHttpServletRequest[distinctClients];
+        for (int i = 0; i < distinctClients; i++) {
+            MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/transactions");
+            req.setRemoteAddr("10." + ((i >> 16) & 0xff) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff));
+            requests[i] = req;
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilterInternal() throws Exception {
+        MockHttpServletRequest req = requests[next];
+        next = (next + 1) % requests.length;
+        filter.doFilterInternal(req, response, NO_OP_CHAIN);
+    }
+}
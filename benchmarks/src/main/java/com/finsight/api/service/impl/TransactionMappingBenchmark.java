@@ -0,0 +1,54 @@
+package com.finsight.api.service.impl;
+
+import com.finsight.api.dto.TransactionDTO;
+import com.finsight.api.model.AppUser;
+import com.finsight.api.model.Category;
+import com.finsight.api.model.Transaction;
+import com.finsight.api.model.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → DTO mapping done once per row of every listing page.
+ * Lives in the service.impl package to reach the package-private
+ * {@link TransactionServiceImpl#toDto(Transaction)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMappingBenchmark {
+
+    Transaction[] page;
+
+    @Setup
+    public void setUp() {
+        AppUser user = new AppUser(1L, "auth0|bench", "Bench User", "bench@example.com");
+        Category category = new Category(3L, "Groceries", "Food & household supplies");
+        page = new Transaction[20];                      // default Spring Data page size
+        for (int i = 0; i < page.length; i++) {
+            page[i] = new Transaction((long) i, "Weekly shop #" + i, BigDecimal.valueOf(4_250 + i, 2),
+                    LocalDateTime.of(2025, 1, 1, 12, 0).plusDays(i), TransactionType.EXPENSE,
+                    category, i % 3 == 0 ? "card" : null, user);
+        }
+    }
+
+    @Benchmark
+    public TransactionDTO toDtoSingle() {
+        return TransactionServiceImpl.toDto(page[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(20)
+    public void toDtoPage(Blackhole bh) {
+        for (Transaction t : page) {
+            bh.consume(TransactionServiceImpl.toDto(t));
+        }
+    }
+}
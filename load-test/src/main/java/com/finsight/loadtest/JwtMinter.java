@@ -0,0 +1,95 @@
+package com.finsight.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Mints RS256 access tokens that the API accepts when
+ * {@code app.auth0.issuer-uri} points at {@link StubJwksServer}. The signing
+ * key is persisted to {@code --key-file} so the JWKS server and the workload
+ * driver (separate processes) share it.
+ */
+final class JwtMinter {
+
+    static final String DEFAULT_ISSUER = "http://localhost:9999/";
+    static final String DEFAULT_AUDIENCE = "https://finsight-api";
+    static final String DEFAULT_KEY_FILE = "target/loadtest-signing-key.json";
+
+    private final RSAKey key;
+    private final RSASSASigner signer;
+    private final String issuer;
+    private final String audience;
+    private final Duration ttl;
+
+    JwtMinter(RSAKey key, String issuer, String audience, Duration ttl) throws JOSEException {
+        this.key = key;
+        this.signer = new RSASSASigner(key);
+        this.issuer = issuer;
+        this.audience = audience;
+        this.ttl = ttl;
+    }
+
+    static JwtMinter from(Options options) throws Exception {
+        return new JwtMinter(
+                loadOrCreateKey(Path.of(options.get("key-file", DEFAULT_KEY_FILE))),
+                options.get("issuer", DEFAULT_ISSUER),
+                options.get("audience", DEFAULT_AUDIENCE),
+                Duration.ofHours(options.getLong("token-ttl-hours", 24)));
+    }
+
+    static RSAKey loadOrCreateKey(Path file) throws Exception {
+        if (Files.exists(file)) {
+            return RSAKey.parse(Files.readString(file));
+        }
+        RSAKey key = new RSAKeyGenerator(2048)
+                .keyUse(KeyUse.SIGNATURE)
+                .algorithm(JWSAlgorithm.RS256)
+                .keyID("loadtest-" + Instant.now().getEpochSecond())
+                .generate();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, key.toJSONString());
+        return key;
+    }
+
+    RSAKey publicKey() {
+        return key.toPublicJWK();
+    }
+
+    String issuer() {
+        return issuer;
+    }
+
+    /** A token for {@code sub} carrying the {@code fin:app} scope the API requires. */
+    String mint(String sub) throws JOSEException {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(sub)
+                .audience(List.of(audience))
+                .issueTime(Date.from(now))
+                .notBeforeTime(Date.from(now.minusSeconds(5)))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .claim("scope", "openid profile email fin:app")
+                .build();
+        SignedJWT jwt = new SignedJWT(
+                new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(signer);
+        return jwt.serialize();
+    }
+}
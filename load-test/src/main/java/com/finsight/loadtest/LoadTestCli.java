@@ -0,0 +1,41 @@
+package com.finsight.loadtest;
+
+/**
+ * Entry point of {@code load-test.jar}.
+ *
+ * <pre>
+ * seed   --jdbc-url=... --db-user=... --db-password=... --users=10000 --transactions=10000000
+ * jwks   --port=9999                      (stub OIDC discovery + JWKS, keep running)
+ * token  --sub=loadtest|user-0000001      (print a bearer token for manual calls)
+ * run    --base-url=http://localhost:8080 --users=10000 --concurrency=64 --duration=120
+ * </pre>
+ *
+ * Every option can also be supplied as an environment variable, e.g.
+ * {@code --db-password} as {@code LOADTEST_DB_PASSWORD}.
+ */
+public final class LoadTestCli {
+
+    private LoadTestCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        Options options = Options.parse(args, 1);
+        switch (args[0]) {
+            case "seed" -> new SyntheticDataGenerator(options).run();
+            case "jwks" -> StubJwksServer.start(options).join();
+            case "token" -> System.out.println(JwtMinter.from(options)
+                    .mint(options.get("sub", SyntheticDataGenerator.subject(0))));
+            case "run" -> new WorkloadDriver(options).run();
+            default -> usage();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: java -jar load-test.jar <seed|jwks|token|run> [--option=value ...]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,48 @@
+package com.finsight.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** {@code --key=value} command-line options with typed, defaulted getters. */
+final class Options {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    static Options parse(String[] args, int from) {
+        Options options = new Options();
+        for (int i = from; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.values.put(arg.substring(2), "true");
+            } else {
+                options.values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    String get(String key, String defaultValue) {
+        String env = System.getenv("LOADTEST_" + key.toUpperCase().replace('-', '_'));
+        return values.getOrDefault(key, env != null ? env : defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return Integer.parseInt(get(key, Integer.toString(defaultValue)).replace("_", ""));
+    }
+
+    long getLong(String key, long defaultValue) {
+        return Long.parseLong(get(key, Long.toString(defaultValue)).replace("_", ""));
+    }
+
+    double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(get(key, Double.toString(defaultValue)));
+    }
+
+    boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, Boolean.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,76 @@
+package com.finsight.loadtest;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal OIDC provider stub so {@code SecurityConfig} works offline. Serves
+ * {@code /.well-known/openid-configuration} (fetched by
+ * {@code JwtDecoders.fromOidcIssuerLocation} at startup) and the JWKS holding
+ * the public half of the {@link JwtMinter} signing key.
+ *
+ * <p>Start it before the API and run the API with
+ * {@code APP_AUTH0_ISSUER_URI=http://localhost:9999/} and
+ * {@code APP_AUTH0_AUDIENCE=https://finsight-api}.
+ */
+final class StubJwksServer {
+
+    private final HttpServer server;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private StubJwksServer(HttpServer server) {
+        this.server = server;
+    }
+
+    static StubJwksServer start(Options options) throws Exception {
+        JwtMinter minter = JwtMinter.from(options);
+        String issuer = minter.issuer();
+        int port = options.getInt("port", URI.create(issuer).getPort());
+
+        String jwks = new JWKSet(minter.publicKey()).toString();
+        String discovery = """
+                {"issuer":"%1$s","jwks_uri":"%1$s.well-known/jwks.json",\
+                "authorization_endpoint":"%1$sauthorize","token_endpoint":"%1$soauth/token",\
+                "response_types_supported":["code","token"],"subject_types_supported":["public"],\
+                "id_token_signing_alg_values_supported":["RS256"]}""".formatted(issuer);
+
+        HttpServer http = HttpServer.create(new InetSocketAddress(port), 0);
+        http.createContext("/.well-known/openid-configuration", ex -> json(ex, discovery));
+        http.createContext("/.well-known/jwks.json", ex -> json(ex, jwks));
+        http.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        http.start();
+        System.out.printf("Stub OIDC issuer %s listening on :%d (key id %s)%n",
+                issuer, port, minter.publicKey().getKeyID());
+
+        StubJwksServer stub = new StubJwksServer(http);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop));
+        return stub;
+    }
+
+    void join() throws InterruptedException {
+        stopped.await();
+    }
+
+    void stop() {
+        server.stop(0);
+        stopped.countDown();
+    }
+
+    private static void json(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.finsight.loadtest;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds a local Postgres (schema created by the API's Flyway migrations)
+ * with synthetic users and transactions.
+ *
+ * <ul>
+ *   <li>Users are {@code loadtest|user-NNNNNNN}; inserting is idempotent.</li>
+ *   <li>Transactions per user follow a Zipf distribution ({@code --skew}),
+ *       so a few heavy users own most rows, as in production.</li>
+ *   <li>Every category seeded by {@code R__seed_categories.sql} is used,
+ *       with per-category frequency and log-normal amount profiles.</li>
+ *   <li>Rows are streamed with {@code COPY ... FROM STDIN}, which keeps tens of
+ *       millions of rows in the range of minutes on a laptop.</li>
+ * </ul>
+ */
+final class SyntheticDataGenerator {
+
+    static final String SUB_PREFIX = "loadtest|user-";
+
+    /** Category name → {relative frequency, median amount, log-normal sigma}. */
+    private static final Map<String, double[]> EXPENSE_PROFILE = Map.ofEntries(
+            Map.entry("Housing",        new double[]{3, 1400, 0.25}),
+            Map.entry("Utilities",      new double[]{6, 90, 0.40}),
+            Map.entry("Groceries",      new double[]{20, 55, 0.60}),
+            Map.entry("Transportation", new double[]{12, 25, 0.70}),
+            Map.entry("Insurance",      new double[]{2, 180, 0.35}),
+            Map.entry("Medical",        new double[]{3, 60, 0.90}),
+            Map.entry("Debt",           new double[]{2, 350, 0.50}),
+            Map.entry("Dining Out",     new double[]{14, 28, 0.60}),
+            Map.entry("Entertainment",  new double[]{7, 35, 0.80}),
+            Map.entry("Subscriptions",  new double[]{6, 12, 0.50}),
+            Map.entry("Personal Care",  new double[]{4, 40, 0.60}),
+            Map.entry("Clothing",       new double[]{5, 65, 0.80}),
+            Map.entry("Savings",        new double[]{2, 250, 0.70}),
+            Map.entry("Gifts",          new double[]{3, 45, 0.90}),
+            Map.entry("Travel",         new double[]{3, 320, 1.00}));
+
+    private static final Map<String, String[]> MERCHANTS = Map.ofEntries(
+            Map.entry("Housing",        new String[]{"Monthly rent", "Mortgage payment", "HOA fee"}),
+            Map.entry("Utilities",      new String[]{"Electricity bill", "Water bill", "Internet", "Gas bill"}),
+            Map.entry("Groceries",      new String[]{"Whole Foods", "Trader Joe's", "Costco", "Local market"}),
+            Map.entry("Transportation", new String[]{"Uber", "Shell", "Metro card", "Parking"}),
+            Map.entry("Insurance",      new String[]{"Car insurance", "Health premium", "Home insurance"}),
+            Map.entry("Medical",        new String[]{"Pharmacy", "Dentist", "GP visit"}),
+            Map.entry("Debt",           new String[]{"Credit card payment", "Student loan"}),
+            Map.entry("Dining Out",     new String[]{"Starbucks", "Chipotle", "Sushi place", "Pizza night"}),
+            Map.entry("Entertainment",  new String[]{"Cinema", "Concert tickets", "Bowling"}),
+            Map.entry("Subscriptions",  new String[]{"Netflix", "Spotify", "iCloud", "Gym app"}),
+            Map.entry("Personal Care",  new String[]{"Haircut", "Gym membership", "Cosmetics"}),
+            Map.entry("Clothing",       new String[]{"Uniqlo", "Zara", "Shoe store"}),
+            Map.entry("Savings",        new String[]{"Emergency fund", "Index fund"}),
+            Map.entry("Gifts",          new String[]{"Birthday gift", "Charity donation"}),
+            Map.entry("Travel",         new String[]{"Airline ticket", "Hotel", "Car rental"}));
+
+    private static final int FLUSH_BYTES = 1 << 20;
+
+    private final String jdbcUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int users;
+    private final long transactions;
+    private final double skew;
+    private final int days;
+    private final SplittableRandom random;
+
+    SyntheticDataGenerator(Options options) {
+        this.jdbcUrl = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/finance_db");
+        this.dbUser = options.get("db-user", "finance_user");
+        this.dbPassword = options.get("db-password", "");
+        this.users = options.getInt("users", 1_000);
+        this.transactions = options.getLong("transactions", 1_000_000L);
+        this.skew = options.getDouble("skew", 1.1);
+        this.days = options.getInt("days", 730);
+        this.random = new SplittableRandom(options.getLong("seed", 42L));
+    }
+
+    static String subject(int userIndex) {
+        return SUB_PREFIX + String.format("%07d", userIndex);
+    }
+
+    void run() throws Exception {
+        try (Connection conn = DriverManager.getConnection(jdbcUrl, dbUser, dbPassword)) {
+            Map<String, Long> categories = loadCategories(conn);
+            long[] userIds = upsertUsers(conn);
+            copyTransactions(conn, categories, userIds);
+            try (Statement st = conn.createStatement()) {
+                st.execute("ANALYZE users");
+                st.execute("ANALYZE transactions");
+            }
+        }
+    }
+
+    /* ---------- categories ---------- */
+
+    private Map<String, Long> loadCategories(Connection conn) throws Exception {
+        Map<String, Long> byName = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id, name FROM categories")) {
+            while (rs.next()) {
+                byName.put(rs.getString("name"), rs.getLong("id"));
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (String name : EXPENSE_PROFILE.keySet()) {
+            if (!byName.containsKey(name)) {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Seed categories missing " + missing
+                    + " – start the API once so Flyway applies R__seed_categories.sql");
+        }
+        return byName;
+    }
+
+    /* ---------- users ---------- */
+
+    private long[] upsertUsers(Connection conn) throws Exception {
+        conn.setAutoCommit(false);
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO users (auth0_sub, name, email) VALUES (?, ?, ?) ON CONFLICT (auth0_sub) DO NOTHING")) {
+            for (int i = 0; i < users; i++) {
+                ps.setString(1, subject(i));
+                ps.setString(2, "Load Test User " + i);
+                ps.setString(3, "loadtest+" + i + "@finsight.test");
+                ps.addBatch();
+                if (i % 5_000 == 4_999) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        conn.commit();
+
+        long[] ids = new long[users];
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT id, auth0_sub FROM users WHERE auth0_sub LIKE ?")) {
+            ps.setString(1, SUB_PREFIX + "%");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int index = Integer.parseInt(rs.getString(2).substring(SUB_PREFIX.length()));
+                    if (index < users) {
+                        ids[index] = rs.getLong(1);
+                    }
+                }
+            }
+        }
+        conn.setAutoCommit(true);
+        System.out.printf("Users ready: %,d%n", users);
+        return ids;
+    }
+
+    /* ---------- transactions ---------- */
+
+    private void copyTransactions(Connection conn, Map<String, Long> categories, long[] userIds) throws Exception {
+        long[] perUser = zipfCounts(users, transactions, skew);
+        String[] names = EXPENSE_PROFILE.keySet().toArray(String[]::new);
+        double[] cumulative = new double[names.length];
+        double acc = 0;
+        for (int i = 0; i < names.length; i++) {
+            acc += EXPENSE_PROFILE.get(names[i])[0];
+            cumulative[i] = acc;
+        }
+        long savingsId = categories.get("Savings");
+        LocalDateTime start = LocalDate.now().minusDays(days).atStartOfDay();
+
+        CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY transactions (description, amount, date, type, notes, category_id, user_id) "
+                        + "FROM STDIN WITH (FORMAT csv)");
+        StringBuilder buf = new StringBuilder(FLUSH_BYTES + 512);
+        long written = 0;
+        long began = System.nanoTime();
+        try {
+            for (int u = 0; u < users; u++) {
+                long userId = userIds[u];
+                for (long n = 0; n < perUser[u]; n++) {
+                    LocalDateTime date = start.plusSeconds(random.nextLong((long) days * 86_400));
+                    double roll = random.nextDouble();
+                    if (roll < 0.05) {
+                        row(buf, "Salary", amount(3_800, 0.30), date, "INCOME", null, savingsId, userId);
+                    } else if (roll < 0.08) {
+                        row(buf, "Transfer to savings", amount(300, 0.60), date, "TRANSFER", null, savingsId, userId);
+                    } else {
+                        String category = names[pick(cumulative)];
+                        double[] profile = EXPENSE_PROFILE.get(category);
+                        String[] merchants = MERCHANTS.get(category);
+                        row(buf, merchants[random.nextInt(merchants.length)], amount(profile[1], profile[2]),
+                                date, "EXPENSE", random.nextInt(10) == 0 ? "imported" : null,
+                                categories.get(category), userId);
+                    }
+                    if (buf.length() >= FLUSH_BYTES) {
+                        byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+                        copy.writeToCopy(bytes, 0, bytes.length);
+                        buf.setLength(0);
+                    }
+                    if (++written % 1_000_000 == 0) {
+                        double secs = (System.nanoTime() - began) / 1e9;
+                        System.out.printf("  %,d rows (%,.0f rows/s)%n", written, written / secs);
+                    }
+                }
+            }
+            byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+        double secs = (System.nanoTime() - began) / 1e9;
+        System.out.printf("Transactions copied: %,d in %.1fs; heaviest user has %,d rows%n",
+                written, secs, perUser[0]);
+    }
+
+    /** Splits {@code total} rows over {@code n} users with weight 1/(rank+1)^s. */
+    static long[] zipfCounts(int n, long total, double s) {
+        double[] weights = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            weights[i] = 1.0 / Math.pow(i + 1, s);
+            sum += weights[i];
+        }
+        long[] counts = new long[n];
+        long assigned = 0;
+        for (int i = 0; i < n; i++) {
+            counts[i] = (long) Math.floor(total * weights[i] / sum);
+            assigned += counts[i];
+        }
+        for (int i = 0; assigned < total; i = (i + 1) % n) {   // hand out rounding remainder
+            counts[i]++;
+            assigned++;
+        }
+        return counts;
+    }
+
+    private int pick(double[] cumulative) {
+        double x = random.nextDouble() * cumulative[cumulative.length - 1];
+        int i = 0;
+        while (cumulative[i] < x) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Log-normal amount around {@code median}, as cents, at least 0.01. */
+    private long amount(double median, double sigma) {
+        double value = median * Math.exp(sigma * random.nextGaussian());
+        return Math.max(1L, Math.round(value * 100));
+    }
+
+    private static void row(StringBuilder buf, String description, long cents, LocalDateTime date, String type,
+                            String notes, long categoryId, long userId) {
+        csv(buf, description).append(',')
+                .append(cents / 100).append('.').append(cents % 100 < 10 ? "0" : "").append(cents % 100).append(',')
+                .append(date).append(',')
+                .append(type).append(',');
+        if (notes != null) {
+            csv(buf, notes);
+        }
+        buf.append(',').append(categoryId).append(',').append(userId).append('\n');
+    }
+
+    private static StringBuilder csv(StringBuilder buf, String value) {
+        return buf.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,400 @@
+package com.finsight.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP workload against {@code TransactionController} and
+ * {@code CategoryController}. Each of {@code --concurrency} virtual threads
+ * picks a user (Zipf-skewed like the seed data) and an operation from
+ * {@code --mix}, sends it with that user's token, and records latency in an
+ * HdrHistogram per operation. Samples from the first {@code --warmup} seconds
+ * are discarded. Prints interval throughput while running and a final table;
+ * {@code --report} also writes the summary as JSON.
+ *
+ * <p>The API's per-IP limiter must be raised for the run, e.g.
+ * {@code APP_RATE_LIMIT_REQUESTS_PER_WINDOW=100000000}.
+ */
+final class WorkloadDriver {
+
+    enum Op {
+        LIST, BY_CATEGORY, BY_TYPE, DATE_RANGE, GET, CATEGORIES, CREATE, UPDATE, DELETE
+    }
+
+    private static final String DEFAULT_MIX =
+            "list=40,by_category=12,by_type=8,date_range=8,get=10,categories=5,create=12,update=3,delete=2";
+    private static final String[] TYPES = {"INCOME", "EXPENSE", "TRANSFER"};
+    private static final long HIGHEST_TRACKABLE_NANOS = Duration.ofMinutes(1).toNanos();
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final String baseUrl;
+    private final int users;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final int pageSize;
+    private final String report;
+    private final double[] userCdf;
+    private final Op[] ops;
+    private final double[] opCdf;
+    private final JwtMinter minter;
+    private final HttpClient http;
+
+    private final Map<Integer, String> tokens = new ConcurrentHashMap<>();
+    private final Map<Integer, ConcurrentLinkedDeque<Long>> knownIds = new ConcurrentHashMap<>();
+    private final Map<Op, Recorder> recorders = new EnumMap<>(Op.class);
+    private final Map<Op, Histogram> totals = new EnumMap<>(Op.class);
+    private final Map<Op, LongAdder> errors = new EnumMap<>(Op.class);
+    private final LongAdder throttled = new LongAdder();
+    private volatile long[] categoryIds = new long[0];
+    private volatile boolean measuring;
+
+    WorkloadDriver(Options options) throws Exception {
+        this.baseUrl = options.get("base-url", "http://localhost:8080");
+        this.users = options.getInt("users", 1_000);
+        this.concurrency = options.getInt("concurrency", 64);
+        this.duration = Duration.ofSeconds(options.getLong("duration", 120));
+        this.warmup = Duration.ofSeconds(options.getLong("warmup", 15));
+        this.pageSize = options.getInt("page-size", 20);
+        this.report = options.get("report", "target/loadtest-report.json");
+        this.userCdf = zipfCdf(users, options.getDouble("skew", 1.1));
+        this.minter = JwtMinter.from(options);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Op> opList = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        for (String part : options.get("mix", DEFAULT_MIX).split(",")) {
+            String[] kv = part.trim().split("=");
+            opList.add(Op.valueOf(kv[0].trim().toUpperCase()));
+            weights.add(Double.parseDouble(kv[1].trim()));
+        }
+        this.ops = opList.toArray(Op[]::new);
+        this.opCdf = new double[ops.length];
+        double acc = 0;
+        for (int i = 0; i < ops.length; i++) {
+            acc += weights.get(i);
+            opCdf[i] = acc;
+        }
+        for (Op op : Op.values()) {
+            recorders.put(op, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            totals.put(op, new Histogram(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(op, new LongAdder());
+        }
+    }
+
+    void run() throws Exception {
+        loadCategoryIds();
+        System.out.printf("Driving %s with %d workers for %ds (+%ds warmup), %d users%n",
+                baseUrl, concurrency, duration.toSeconds(), warmup.toSeconds(), users);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long deadline = measureFrom + duration.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> worker(deadline));
+            }
+            long lastTick = start;
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(5_000);
+                long now = System.nanoTime();
+                if (!measuring && now >= measureFrom) {
+                    drain(false);             // discard warmup samples
+                    measuring = true;
+                    lastTick = now;
+                    continue;
+                }
+                if (measuring) {
+                    printInterval(drain(true), (now - lastTick) / 1e9);
+                    lastTick = now;
+                }
+            }
+        }
+        drain(true);
+        printSummary(duration.toNanos() / 1e9);
+    }
+
+    /* ---------- worker loop ---------- */
+
+    private void worker(long deadline) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int user = pick(userCdf, rnd.nextDouble());
+            Op op = ops[pick(opCdf, rnd.nextDouble() * opCdf[opCdf.length - 1])];
+            HttpRequest request;
+            try {
+                request = build(op, user, rnd);
+                if (request == null) {
+                    op = Op.LIST;              // no known id for this user yet
+                    request = build(Op.LIST, user, rnd);
+                }
+            } catch (Exception e) {
+                errors.get(op).increment();
+                continue;
+            }
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                long elapsed = System.nanoTime() - t0;
+                recorders.get(op).recordValue(Math.min(elapsed, HIGHEST_TRACKABLE_NANOS));
+                int status = response.statusCode();
+                if (status == 429 || status == 503) {
+                    throttled.increment();
+                } else if (status >= 400) {
+                    errors.get(op).increment();
+                } else {
+                    remember(op, user, request, response.body());
+                }
+            } catch (Exception e) {
+                errors.get(op).increment();
+            }
+        }
+    }
+
+    private HttpRequest build(Op op, int user, ThreadLocalRandom rnd) throws Exception {
+        long[] cats = categoryIds;
+        String page = "page=" + rnd.nextInt(3) + "&size=" + pageSize;
+        return switch (op) {
+            case LIST -> get(user, "/api/transactions?" + page + "&sort=date,desc");
+            case BY_CATEGORY -> get(user, "/api/transactions/category/" + cats[rnd.nextInt(cats.length)] + "?" + page);
+            case BY_TYPE -> get(user, "/api/transactions/type/" + TYPES[rnd.nextInt(TYPES.length)] + "?" + page);
+            case DATE_RANGE -> {
+                LocalDateTime end = LocalDateTime.now().minusDays(rnd.nextInt(365)).withNano(0);
+                yield get(user, "/api/transactions/date-range?startDate=" + end.minusDays(30)
+                        + "&endDate=" + end + "&" + page);
+            }
+            case GET -> {
+                Long id = someId(user);
+                yield id == null ? null : get(user, "/api/transactions/" + id);
+            }
+            case CATEGORIES -> get(user, "/api/categories?size=50");
+            case CREATE -> send(user, "POST", "/api/transactions", body(rnd, cats));
+            case UPDATE -> {
+                Long id = someId(user);
+                yield id == null ? null : send(user, "PUT", "/api/transactions/" + id, body(rnd, cats));
+            }
+            case DELETE -> {
+                Long id = takeId(user);
+                yield id == null ? null : send(user, "DELETE", "/api/transactions/" + id, null);
+            }
+        };
+    }
+
+    private HttpRequest get(int user, String path) throws Exception {
+        return send(user, "GET", path, null);
+    }
+
+    private HttpRequest send(int user, String method, String path, String body) throws Exception {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token(user))
+                .header("Accept", "application/json");
+        if (body != null) {
+            b.header("Content-Type", "application/json");
+            b.method(method, HttpRequest.BodyPublishers.ofString(body));
+        } else {
+            b.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return b.build();
+    }
+
+    private String body(ThreadLocalRandom rnd, long[] cats) throws Exception {
+        ObjectNode node = json.createObjectNode();
+        node.put("description", "Load test purchase");
+        node.put("amount", String.format("%d.%02d", 1 + rnd.nextInt(300), rnd.nextInt(100)));
+        node.put("date", LocalDateTime.now().minusMinutes(rnd.nextInt(100_000)).withNano(0).toString());
+        node.put("type", "EXPENSE");
+        node.put("categoryId", cats[rnd.nextInt(cats.length)]);
+        return json.writeValueAsString(node);
+    }
+
+    private String token(int user) {
+        return tokens.computeIfAbsent(user, u -> {
+            try {
+                return minter.mint(SyntheticDataGenerator.subject(u));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /* ---------- id bookkeeping for GET/PUT/DELETE ---------- */
+
+    private void remember(Op op, int user, HttpRequest request, String body) throws Exception {
+        if (body == null || body.isEmpty()) {
+            return;
+        }
+        if (op == Op.CREATE) {
+            ids(user).addFirst(json.readTree(body).path("id").asLong());
+        } else if (op == Op.LIST || op == Op.BY_CATEGORY || op == Op.BY_TYPE || op == Op.DATE_RANGE) {
+            ConcurrentLinkedDeque<Long> known = ids(user);
+            if (known.size() < 64) {
+                for (JsonNode tx : json.readTree(body).path("content")) {
+                    known.addLast(tx.path("id").asLong());
+                }
+            }
+        }
+        while (ids(user).size() > 128) {
+            ids(user).pollLast();
+        }
+    }
+
+    private ConcurrentLinkedDeque<Long> ids(int user) {
+        return knownIds.computeIfAbsent(user, u -> new ConcurrentLinkedDeque<>());
+    }
+
+    private Long someId(int user) {
+        return ids(user).peekFirst();
+    }
+
+    private Long takeId(int user) {
+        return ids(user).pollFirst();
+    }
+
+    private void loadCategoryIds() throws Exception {
+        HttpResponse<String> response = http.send(get(0, "/api/categories?size=100"),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/categories returned " + response.statusCode()
+                    + " – is the API running against the stub issuer? " + response.body());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode c : json.readTree(response.body()).path("content")) {
+            ids.add(c.path("id").asLong());
+        }
+        categoryIds = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /* ---------- reporting ---------- */
+
+    private Map<Op, Histogram> drain(boolean keep) {
+        Map<Op, Histogram> interval = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) {
+            Histogram h = recorders.get(op).getIntervalHistogram();
+            interval.put(op, h);
+            if (keep) {
+                totals.get(op).add(h);
+            }
+        }
+        return interval;
+    }
+
+    private void printInterval(Map<Op, Histogram> interval, double secs) {
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        interval.values().forEach(all::add);
+        System.out.printf("  %,8.0f req/s   p50 %6.1fms   p99 %7.1fms   max %7.1fms%n",
+                all.getTotalCount() / secs, ms(all.getValueAtPercentile(50)),
+                ms(all.getValueAtPercentile(99)), ms(all.getMaxValue()));
+    }
+
+    private void printSummary(double secs) throws Exception {
+        ObjectNode summary = json.createObjectNode();
+        summary.put("baseUrl", baseUrl);
+        summary.put("concurrency", concurrency);
+        summary.put("durationSeconds", secs);
+        summary.put("throttled", throttled.sum());
+        ObjectNode perOp = summary.putObject("operations");
+
+        Histogram all = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+        System.out.printf("%n%-12s %10s %9s %9s %9s %9s %9s %9s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+        for (Op op : Op.values()) {
+            Histogram h = totals.get(op);
+            all.add(h);
+            if (h.getTotalCount() == 0) {
+                continue;
+            }
+            line(op.name().toLowerCase(), h, secs, errors.get(op).sum());
+            ObjectNode o = perOp.putObject(op.name().toLowerCase());
+            o.put("requests", h.getTotalCount());
+            o.put("throughput", h.getTotalCount() / secs);
+            o.put("p50Ms", ms(h.getValueAtPercentile(50)));
+            o.put("p90Ms", ms(h.getValueAtPercentile(90)));
+            o.put("p99Ms", ms(h.getValueAtPercentile(99)));
+            o.put("p999Ms", ms(h.getValueAtPercentile(99.9)));
+            o.put("maxMs", ms(h.getMaxValue()));
+            o.put("errors", errors.get(op).sum());
+        }
+        long totalErrors = errors.values().stream().mapToLong(LongAdder::sum).sum();
+        line("TOTAL", all, secs, totalErrors);
+        System.out.printf("throttled (429/503): %,d%n", throttled.sum());
+
+        summary.put("requests", all.getTotalCount());
+        summary.put("throughput", all.getTotalCount() / secs);
+        summary.put("p99Ms", ms(all.getValueAtPercentile(99)));
+        summary.put("errors", totalErrors);
+        Path out = Path.of(report);
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        json.writerWithDefaultPrettyPrinter().writeValue(out.toFile(), summary);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private static void line(String name, Histogram h, double secs, long errors) {
+        System.out.printf("%-12s %,10d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %,8d%n",
+                name, h.getTotalCount(), h.getTotalCount() / secs,
+                ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)),
+                ms(h.getMaxValue()), errors);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /* ---------- sampling ---------- */
+
+    private static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double acc = 0;
+        for (int i = 0; i < n; i++) {
+            acc += 1.0 / Math.pow(i + 1, s);
+            cdf[i] = acc;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= acc;
+        }
+        return cdf;
+    }
+
+    /** Binary search for the first cumulative weight ≥ x. */
+    private static int pick(double[] cdf, double x) {
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < x) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}